@@ -3,12 +3,12 @@ import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 
-import loot.GameFrame;
-import loot.GameFrameSettings;
+import loot.ITimerCallback;
+import loot.InputManager;
+import loot.Scene;
 import loot.graphics.DrawableObject;
 
-@SuppressWarnings("serial")
-public class DeskFrame extends GameFrame
+public class DeskScene extends Scene
 {
 	static long interval_play_ms = 0;
 
@@ -35,9 +35,6 @@ public class DeskFrame extends GameFrame
 			btn_Quit       = new Button("btn_Quit",  settings.canvas_width/2 - 60, 700, 132, 51, "image", "btn_Quit");
 			
 			setPorts();
-			
-			settings.canvas_width = 1280;
-			settings.canvas_height = 900;
 
 			x = 0;
 			y = 0;
@@ -65,7 +62,7 @@ public class DeskFrame extends GameFrame
 		public void callGenerator(long timeStamp)
 		{
 			int connetedPorts = 0; 
-			if (isInPlay == false && timeStamp - timeStamp_lastPlayed > interval_play_ms)
+			if (isInPlay == false)
 			{
 				for (int i=0; i<12; i++)
 				{
@@ -78,10 +75,10 @@ public class DeskFrame extends GameFrame
 
 				if (isAllConnected == false)
 				{
-					callerPort = (int) ((Math.random() * 12) + 0);		// Caller Port
-					receiverPort = (int) ((Math.random() * 12) + 0);	// Receiver Port
-					k1 = (int) ((Math.random() * 2) + 0);				// Caller Port 숨기기 여부를 위한 임의의 수
-					k2 = (int) ((Math.random() * 2) + 0);				// Receiver Port 숨기기 여부를 위한 임의의 수
+					callerPort = random.NextInt(12);		// Caller Port
+					receiverPort = random.NextInt(12);		// Receiver Port
+					k1 = random.NextInt(2);				// Caller Port 숨기기 여부를 위한 임의의 수
+					k2 = random.NextInt(2);				// Receiver Port 숨기기 여부를 위한 임의의 수
 						
 					if ("Port_Off".equals(port[callerPort].getImageName()) 
 							&& "Port_Off".equals(port[receiverPort].getImageName())
@@ -161,8 +158,40 @@ public class DeskFrame extends GameFrame
 
 	Desk desk;
 	
-	//호출 간격을 재기 위해 마지막으로 생성했던 프레임의 실행 시각을 담아 두는 필드
-	long timeStamp_lastPlayed = 0;
+	//새 전화를 걸기 위해 예약한 타이머의 ID
+	long timerID_call;
+	
+	//예약한 시각마다 새 전화 걸기를 시도하고, 아직 걸리지 않았다면 다음 시도를 다시 예약
+	ITimerCallback timer_call = new ITimerCallback()
+	{
+		@Override
+		public void OnTimer(long timerID, long timeStamp)
+		{
+			desk.callGenerator(timeStamp);
+			
+			if (desk.isInPlay == false && desk.isAllConnected == false)
+				timerID_call = loop.GetTimers().Schedule(interval_play_ms, this);
+		}
+	};
+
+	//마지막으로 그린, 커서를 따라다니는 선의 양 끝 좌표
+	int cable_x0, cable_y0, cable_x1, cable_y1;
+	
+	//안내 문구를 적는 영역
+	static final int text_left = 940;
+	static final int text_top = 220;
+	static final int text_height = 240;
+	
+	//안내 문구에 적는 포트 번호 - 매 프레임 문자열을 이어 붙이지 않도록 미리 만들어 둠
+	static final String[] portNumbers = new String[12];
+	
+	static
+	{
+		for(int i=0; i<12; i++)
+		{
+			portNumbers[i] = "" + (100 + i * 50);
+		}
+	}
 
 	
 	/* -------------------------------------------
@@ -171,11 +200,12 @@ public class DeskFrame extends GameFrame
 	 * 
 	 */
 
-	public DeskFrame(GameFrameSettings settings)
+	@Override
+	public boolean Initialize()
 	{
-		super(settings);
-		System.out.println("DeskFrame()");
+		System.out.println("DeskScene.Initialize()");
 		
+		// 이미 읽어 둔 Image(btn_Quit 등)는 다시 읽지 않음
 		images.LoadImage("Images/desk.png",      "Desk");
 		images.LoadImage("Images/PortGuide.png", "PortGuide");
 		images.LoadImage("Images/Port_Off.png",  "Port_Off");
@@ -183,13 +213,15 @@ public class DeskFrame extends GameFrame
 		images.LoadImage("Images/Port_On.png",  "Port_On");
 		images.LoadImage("Images/Port_OnPlugged.png",  "Port_OnPlugged");
 		images.LoadImage("Images/btn_Quit.jpg",  "btn_Quit");
+
+		desk = new Desk();
+		
+		return true;
 	}
 
 	@Override
-	public boolean Initialize()
+	public void OnEnter()
 	{
-		desk = new Desk();
-		
 		LoadColor(Color.red);
 		LoadFont("궁서체 23");		
 		
@@ -198,7 +230,24 @@ public class DeskFrame extends GameFrame
 		
 		inputs.BindMouseButton(MouseEvent.BUTTON1, 2);
 		
-		return true;
+		// 모습이 바뀔 수 있는 요소 등록 - 바뀐 요소의 영역만 다시 그림(배경인 desk는 바뀌지 않으므로 등록하지 않음)
+		dirtyRegion.Track(desk.btn_PortGuide);
+		for(int i=0; i<12; i++)
+		{
+			dirtyRegion.Track(desk.port[i]);
+		}
+		dirtyRegion.Track(desk.portGuide);
+		dirtyRegion.Track(desk.btn_Quit);
+		
+		// 새 전화 걸기 시작 - 걸릴 때까지 매 프레임(interval_play_ms마다) 다시 시도
+		timerID_call = loop.GetTimers().Schedule(interval_play_ms, timer_call);
+	}
+
+	@Override
+	public void OnExit()
+	{
+		// 다른 화면으로 넘어가면 새 전화 걸기 중지
+		loop.GetTimers().Cancel(timerID_call);
 	}
 
 	@Override
@@ -207,88 +256,147 @@ public class DeskFrame extends GameFrame
 		//입력을 버튼에 반영. 이 메서드는 항상 Update()의 시작 부분에서 호출해 주어야 함
 		inputs.AcceptInputs();
 
-		desk.callGenerator(timeStamp);
+		// 새 전화를 찾는 중에는 화면의 번호가 계속 바뀌므로 매번 그려야 함
+		boolean isRedrawRequired = desk.isInPlay == false && desk.isAllConnected == false;
+		
+		boolean isConnectionChanged = false;
 		
-		if (inputs.buttons[2].IsReleasedNow() == true)		// 마우스 clicked
+		// 한 프레임 안에 여러 번 클릭했을 수도 있으므로 이번 프레임에 들어온 클릭들을 모두 순서대로, 클릭한 위치에서 처리
+		for (InputManager.InputEvent event : inputs.events)
 		{
-//			System.out.println(inputs.pos_mouseCursor);
-			
-			// btn_PortGuide 버튼이 클릭됨
-			if (inputs.pos_mouseCursor.x >= desk.btn_PortGuide.x 
-					&& inputs.pos_mouseCursor.x <= desk.btn_PortGuide.x + desk.btn_PortGuide.width
-					&& inputs.pos_mouseCursor.y >= desk.btn_PortGuide.y
-					&& inputs.pos_mouseCursor.y <= desk.btn_PortGuide.y + desk.btn_PortGuide.height
-				)
+			if (event.type == InputManager.InputEventType.Release && event.buttonID == 2)		// 마우스 clicked
 			{
-				System.out.println("btn_PortGuide Clicked");
-				if (desk.portGuide.width > 0)
-				{
-					desk.portGuide.width  = 0;
-					desk.portGuide.height = 0;
-				}
-				else
-				{
-					desk.portGuide.width  = 820;
-					desk.portGuide.height = 600;
-				}
+				if (handleClick(event.x, event.y, timeStamp))
+					isConnectionChanged = true;
 			}
-			// PortGuide 가 클릭됨
-			if (inputs.pos_mouseCursor.x >= desk.portGuide.x 
-					&& inputs.pos_mouseCursor.x <= desk.portGuide.x + desk.portGuide.width
-					&& inputs.pos_mouseCursor.y >= desk.portGuide.y
-					&& inputs.pos_mouseCursor.y <= desk.portGuide.y + desk.portGuide.height
-				)
+		}
+		
+		// 연결을 기다리는 동안에는 입력이 있거나 마우스가 움직였을 때(선을 다시 그려야 함)만 그림
+		boolean isDrawRequired = isRedrawRequired || inputs.isMouseCursorMoved || inputs.events.isEmpty() == false;
+		
+		if (isDrawRequired)
+		{
+			addDirtyRegions(isConnectionChanged);
+		}
+		
+		return isDrawRequired;
+	}
+	
+	/**
+	 * (x, y) 위치에서의 클릭 한 번을 처리합니다.
+	 * 
+	 * @return 포트 연결이 바뀌었는지 여부를 return합니다.
+	 */
+	boolean handleClick(int x, int y, long timeStamp)
+	{
+		boolean isConnectionChanged = false;
+		
+//		System.out.println(x + ", " + y);
+		
+		// btn_PortGuide 버튼이 클릭됨
+		if (x >= desk.btn_PortGuide.x 
+				&& x <= desk.btn_PortGuide.x + desk.btn_PortGuide.width
+				&& y >= desk.btn_PortGuide.y
+				&& y <= desk.btn_PortGuide.y + desk.btn_PortGuide.height
+			)
+		{
+			System.out.println("btn_PortGuide Clicked");
+			if (desk.portGuide.width > 0)
 			{
-				System.out.println("PortGuide Clicked");
 				desk.portGuide.width  = 0;
 				desk.portGuide.height = 0;
 			}
-			// Port[] 가 클릭됨
-			for(int i=0; i<12; i++)
+			else
 			{
-				if (inputs.pos_mouseCursor.x >= desk.port[i].x 
-						&& inputs.pos_mouseCursor.x <= desk.port[i].x + desk.port[i].width
-						&& inputs.pos_mouseCursor.y >= desk.port[i].y
-						&& inputs.pos_mouseCursor.y <= desk.port[i].y + desk.port[i].height
-						)
-				{
-					System.out.println("Port["+ i +"] Clicked : "+ desk.port[i].imageName);
-					desk.selectedReceiverPort = i;
-					desk.port[desk.callerPort].setConnetedPort(i);
-					
-					if (desk.receiverPort == i)
-					{
-						System.out.println("Update()::Matched : "+ desk.callerPort +", "+ i);
-						desk.isInPlay = false;
-						desk.port[desk.callerPort].setImageName("Port_OnPlugged");
-						desk.port[i].setImageName("Port_OnPlugged");
-						desk.callGenerator(timeStamp);
-					}
-					else if ("Port_Off".equals(desk.port[i].getImageName()))
-					{
-						desk.port[i].setImageName("Port_On");
-					}
-					else if ("Port_On".equals(desk.port[i].getImageName()))
-					{
-						desk.port[i].setImageName("Port_Off");
-						
-					}
-				}				
+				desk.portGuide.width  = 820;
+				desk.portGuide.height = 600;
 			}
-			// Quit 버튼이 클릭됨
-			if (inputs.pos_mouseCursor.x >= desk.btn_Quit.x 
-					&& inputs.pos_mouseCursor.x <= desk.btn_Quit.x + desk.btn_Quit.width
-					&& inputs.pos_mouseCursor.y >= desk.btn_Quit.y
-					&& inputs.pos_mouseCursor.y <= desk.btn_Quit.y + desk.btn_Quit.height
-				)
+		}
+		// PortGuide 가 클릭됨
+		if (x >= desk.portGuide.x 
+				&& x <= desk.portGuide.x + desk.portGuide.width
+				&& y >= desk.portGuide.y
+				&& y <= desk.portGuide.y + desk.portGuide.height
+			)
+		{
+			System.out.println("PortGuide Clicked");
+			desk.portGuide.width  = 0;
+			desk.portGuide.height = 0;
+		}
+		// Port[] 가 클릭됨
+		for(int i=0; i<12; i++)
+		{
+			if (x >= desk.port[i].x 
+					&& x <= desk.port[i].x + desk.port[i].width
+					&& y >= desk.port[i].y
+					&& y <= desk.port[i].y + desk.port[i].height
+					)
 			{
-				System.out.println("Quit Clicked");
-				(new MainFrame(settings)).setVisible(true);
-				this.setVisible(false);
-			}
+				System.out.println("Port["+ i +"] Clicked : "+ desk.port[i].imageName);
+				desk.selectedReceiverPort = i;
+				desk.port[desk.callerPort].setConnetedPort(i);
+				isConnectionChanged = true;
+				
+				if (desk.receiverPort == i)
+				{
+					System.out.println("Update()::Matched : "+ desk.callerPort +", "+ i);
+					desk.isInPlay = false;
+					desk.port[desk.callerPort].setImageName("Port_OnPlugged");
+					desk.port[i].setImageName("Port_OnPlugged");
+					timerID_call = loop.GetTimers().Schedule(interval_play_ms, timer_call);
+				}
+				else if ("Port_Off".equals(desk.port[i].getImageName()))
+				{
+					desk.port[i].setImageName("Port_On");
+				}
+				else if ("Port_On".equals(desk.port[i].getImageName()))
+				{
+					desk.port[i].setImageName("Port_Off");
+					
+				}
+			}				
+		}
+		// Quit 버튼이 클릭됨
+		if (x >= desk.btn_Quit.x 
+				&& x <= desk.btn_Quit.x + desk.btn_Quit.width
+				&& y >= desk.btn_Quit.y
+				&& y <= desk.btn_Quit.y + desk.btn_Quit.height
+			)
+		{
+			System.out.println("Quit Clicked");
+			frame.PopScene();		// 타이틀 화면으로 돌아감
 		}
 		
-		return true;
+		return isConnectionChanged;
+	}
+	
+	/**
+	 * 요소가 아닌 선과 안내 문구의 영역을 다시 그릴 영역에 추가
+	 */
+	void addDirtyRegions(boolean isConnectionChanged)
+	{
+		// 포트 사이의 선이 바뀌는 경우는 드물기 때문에 그냥 전체를 다시 그림
+		if (isConnectionChanged)
+		{
+			dirtyRegion.AddAll();
+		}
+		
+		// 커서를 따라다니는 선 - 이전 위치와 새 위치
+		addLineRegion(cable_x0, cable_y0, cable_x1, cable_y1);
+		
+		cable_x0 = desk.port[desk.callerPort].x;
+		cable_y0 = desk.port[desk.callerPort].y;
+		cable_x1 = inputs.pos_mouseCursor.x;
+		cable_y1 = inputs.pos_mouseCursor.y;
+		addLineRegion(cable_x0, cable_y0, cable_x1, cable_y1);
+		
+		// 안내 문구
+		dirtyRegion.Add(text_left, text_top, settings.canvas_width - text_left, text_height);
+	}
+	
+	void addLineRegion(int x0, int y0, int x1, int y1)
+	{
+		dirtyRegion.Add(Math.min(x0, x1) - 1, Math.min(y0, y1) - 1, Math.abs(x1 - x0) + 3, Math.abs(y1 - y0) + 3);
 	}
 
 	@Override
@@ -311,15 +419,12 @@ public class DeskFrame extends GameFrame
 
 		DrawLine((Graphics2D) g);
 		
-		String callerPortNo = "" + (100 + desk.callerPort * 50) ;
-		if (desk.k1 == 0) callerPortNo = "***" ;
-		
-		String receiverPortNo = "" + (100 + desk.receiverPort * 50) ;
-		if (desk.k2 == 0) receiverPortNo = "***" ;
+		String callerPortNo = desk.k1 == 0 ? "***" : portNumbers[desk.callerPort];
+		String receiverPortNo = desk.k2 == 0 ? "***" : portNumbers[desk.receiverPort];
 		
 		DrawString(950, 250, "Incoming call");
-		DrawString(960, 290, "from ["+ callerPortNo + "] "+ desk.port[desk.callerPort].city);
-		DrawString(960, 310, "to ["+ receiverPortNo +"] "+ desk.port[desk.receiverPort].city);
+		DrawString(960, 290, "from [%s] %s", callerPortNo, desk.port[desk.callerPort].city);
+		DrawString(960, 310, "to [%s] %s", receiverPortNo, desk.port[desk.receiverPort].city);
 		if (desk.isAllConnected == true)
 		{
 			DrawString(950, 400, "모든 연결에");
@@ -2,8 +2,8 @@ import java.awt.Color;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 
-import loot.GameFrame;
-import loot.GameFrameSettings;
+import loot.ITimerCallback;
+import loot.Scene;
 import loot.graphics.DrawableObject;
 
 /**
@@ -12,8 +12,7 @@ import loot.graphics.DrawableObject;
  * @author racin
  *
  */
-@SuppressWarnings("serial")
-public class MainFrame extends GameFrame
+public class MainScene extends Scene
 {
 
 	//각 Play() 호출 사이의 최소 간격을 지정합니다. (실제 간격은 프레임 실행에 따라 오차가 발생할 수 있습니다)
@@ -66,8 +65,19 @@ public class MainFrame extends GameFrame
 	 */
 
 	MainTitle mainTitle;
-	//호출 간격을 재기 위해 마지막으로 재생을 시작했던 프레임의 실행 시각을 담아 두는 필드
-	long timeStamp_lastPlayed = 0;
+	//배경음악을 곡 길이마다 다시 재생하기 위해 예약한 타이머의 ID
+	long timerID_music;
+	
+	//예약한 시각마다 배경음악 재생
+	ITimerCallback timer_music = new ITimerCallback()
+	{
+		@Override
+		public void OnTimer(long timerID, long timeStamp)
+		{
+			if (isPaused == false)
+				audios.Play("MainTheme");
+		}
+	};
 
 	
 	/* -------------------------------------------
@@ -76,10 +86,10 @@ public class MainFrame extends GameFrame
 	 * 
 	 */
 
-	public MainFrame(GameFrameSettings settings)
+	@Override
+	public boolean Initialize()
 	{
-		super(settings);
-		System.out.println("MainFrame()");
+		System.out.println("MainScene.Initialize()");
 		
 		images.LoadImage("Images/title.jpg",     "mainTitle");
 		images.LoadImage("Images/btn_Start.jpg", "btn_Start");
@@ -87,24 +97,36 @@ public class MainFrame extends GameFrame
 
 		audios.LoadAudio("Audios/MainTheme.wav", "MainTheme", number_of_channels);
 
+		mainTitle = new MainTitle();
+		
+		interval_play_ms = audios.GetLength("MainTheme");
+
+		return true;
 	}
 
 	@Override
-	public boolean Initialize()
+	public void OnEnter()
 	{
-		mainTitle = new MainTitle();
-		
 		LoadColor(Color.MAGENTA);
 		LoadFont("궁서체 18");		
 		
-		interval_play_ms = audios.GetLength("MainTheme");
+		// 배경음악 플레이 - 타이틀 화면으로 돌아올 때마다 처음부터 곡 길이마다 반복
+		isPaused = false;
+		timerID_music = loop.GetTimers().ScheduleRepeating(0, interval_play_ms, timer_music);
 
 		inputs.BindKey(KeyEvent.VK_Q,     0);
 		inputs.BindKey(KeyEvent.VK_SPACE, 1);
 		
 		inputs.BindMouseButton(MouseEvent.BUTTON1, 2);
+	}
 
-		return true;
+	@Override
+	public void OnExit()
+	{
+		// 다른 화면으로 넘어가면 배경음악 정지
+		isPaused = true;
+		loop.GetTimers().Cancel(timerID_music);
+		audios.Stop("MainTheme");
 	}
 
 	@Override
@@ -113,19 +135,6 @@ public class MainFrame extends GameFrame
 		//입력을 버튼에 반영. 이 메서드는 항상 Update()의 시작 부분에서 호출해 주어야 함
 		inputs.AcceptInputs();
 		
-		// 배경음악 플레이
-		// 처음실행 / 마지막으로 재생을 시작한지 일정 시간 이상 경과한 경우
-		if (isPaused == false
-				&& (timeStamp_lastPlayed == 0 
-					|| timeStamp - timeStamp_lastPlayed > interval_play_ms
-				)
-			)
-		{
-			//현재 시각을 기록해 두고 재생 시작
-			timeStamp_lastPlayed = timeStamp;
-			audios.Play("MainTheme");
-		}
-		
 		if (inputs.buttons[0].isPressed == true)		// Q KEY
 		{
 			System.out.println("Q KEY pressed");
@@ -134,7 +143,9 @@ public class MainFrame extends GameFrame
 		if (inputs.buttons[1].isPressed == true)		// SPACE KEY
 		{
 			System.out.println("SPACE KEY pressed");
-			timeStamp_lastPlayed = 0;
+			// 지금 다시 재생하고 반복 주기도 지금부터 다시 셈
+			loop.GetTimers().Cancel(timerID_music);
+			timerID_music = loop.GetTimers().ScheduleRepeating(interval_play_ms, interval_play_ms, timer_music);
 			audios.Play("MainTheme");
 		}
 		if (inputs.buttons[2].IsReleasedNow() == true)		// 마우스 clicked
@@ -147,10 +158,7 @@ public class MainFrame extends GameFrame
 				)
 			{
 				System.out.println("Start Clicked");
-				audios.Stop("MainTheme");
-				isPaused = true;
-				(new DeskFrame(settings)).setVisible(true);
-				this.setVisible(false);
+				frame.PushScene(new DeskScene());		// 배경음악은 OnExit()에서 정지, Quit을 누르면 다시 이 화면으로 돌아옴
 			}
 			// Quit 버튼이 클릭됨
 			if (inputs.pos_mouseCursor.x >= mainTitle.btn_Quit.x 
@@ -165,7 +173,8 @@ public class MainFrame extends GameFrame
 			}
 		}
 		
-		return true;
+		// 타이틀 화면은 움직이는 요소가 없으므로 따로 다시 그릴 필요가 없음(처음 열렸을 때나 가려졌다 보일 때는 게임 루프가 알아서 그림)
+		return false;
 	}
 
 	@Override
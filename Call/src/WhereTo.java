@@ -1,5 +1,6 @@
 import loot.GameFrame;
 import loot.GameFrameSettings;
+import loot.SceneFrame;
 
 
 public class WhereTo
@@ -15,6 +16,12 @@ public class WhereTo
 //		settings.canvas_height = 800;
 		settings.canvas_width = 1280;
 		settings.canvas_height = 900;
+//		settings.window_fullscreenMode = GameFrameSettings.FullscreenMode.Exclusive;	//키오스크에서는 전용 전체 화면 사용(지원하지 않으면 테두리 없는 창)
+//		settings.window_fullscreen_displayWidth = 1280;
+//		settings.window_fullscreen_displayHeight = 900;
+		settings.canvas_use_logicalResolution = true;	//1280x900 기준으로 그린 화면을 창 크기에 맞게 확대 / 축소하여 표시
+		settings.canvas_use_dirtyRegions = true;	//커서를 따라 움직이는 선 등 바뀐 부분만 다시 그림
+		settings.canvas_textCache_maxBytes = 4 << 20;	//안내 문구와 도시 이름은 한 번 그려 둔 Image를 다시 사용(최대 4MB)
 
 		
 //		settings.gameLoop_interval_ns = 10000000;	//100FPS에 해당 - 이를 버틸 수 있는 컴퓨터는 그리 많지 않을테니 보통 실제 FPS는 이보다 떨어지게 됨
@@ -22,9 +29,16 @@ public class WhereTo
 		settings.gameLoop_interval_ns = 100000000;	//10FPS에 해당 - 화면이 초당 10번밖에 갱신되지 않으면 버벅거리는게 눈에 보임
 		
 		settings.gameLoop_use_virtualTimingMode = false;
+		settings.gameLoop_use_fixedTimestepMode = true;		//Draw()가 느려지더라도 Update()는 항상 100ms 간격으로 진행
+		settings.gameLoop_use_sharedScheduler = true;		//창을 여러 개 만들더라도 게임 루프 스레드는 하나만 사용
+		settings.gameLoop_idleFrames = 10;					//1초 동안 화면에 변화가 없으면 유휴 상태로 전환
+		settings.gameLoop_idleInterval_ns = 500000000;		//유휴 상태에서는 0.5초마다 한 번만 진행(입력이 들어오면 바로 원래 속도로 복귀)
+		settings.gameLoop_stallThreshold = 20;				//한 단계에서 2초 이상 멈춰 있으면 호출 스택을 기록
+//		settings.input_recordFile = "session.loir";			//성능 회귀 시험용으로 입력을 기록(재생할 때는 input_replayFile과 가상 타이밍 모드를 사용)
+//		settings.random_seed = 1;							//seed를 고정하면 새 전화가 항상 같은 순서로 걸려 옴
 //		settings.numberOfButtons = 3; default is 8
 		
-		GameFrame window = new MainFrame(settings);
+		GameFrame window = new SceneFrame(settings, new MainScene());	//타이틀 화면과 책상 화면은 창 하나를 함께 사용
 		window.setVisible(true);
 		
 	}
@@ -43,6 +43,32 @@ public class AudioManager
 	 * @return 성공적으로 등록한 경우 true를 return합니다.
 	 */
 	public boolean LoadAudio(String fileName, String clipName, int numberOfChannels)
+	{
+		//JFR 이벤트 - 기록 중이 아니라면 아무 일도 하지 않음
+		LootEvents.LoadAudio event = new LootEvents.LoadAudio();
+		event.begin();
+		
+		boolean isSucceeded = ReadAudio(fileName, clipName, numberOfChannels);
+		
+		if ( event.isEnabled() )
+		{
+			event.end();
+			event.file = fileName;
+			event.bytes = new File(fileName).length();
+			event.numberOfChannels = numberOfChannels;
+			event.isSucceeded = isSucceeded;
+			event.commit();
+		}
+		
+		return isSucceeded;
+	}
+	
+	/**
+	 * LoadAudio()에서 실제로 파일을 읽어와 음원을 등록하는 부분입니다.
+	 * 
+	 * @return 성공적으로 등록한 경우 true를 return합니다.
+	 */
+	private boolean ReadAudio(String fileName, String clipName, int numberOfChannels)
 	{
 		try
 		{
@@ -97,6 +123,10 @@ public class AudioManager
 		
 		Clip[] channels = clips.get(clipName);
 		
+		//JFR 이벤트 - 기록 중이 아니라면 아무 일도 하지 않음
+		LootEvents.Play event = new LootEvents.Play();
+		event.begin();
+		
 		//사용하고 있지 않은 채널이 있는 경우 사용
 		for ( Clip clip : channels )
 		{
@@ -104,6 +134,7 @@ public class AudioManager
 			{
 				clip.setFramePosition(0);
 				clip.start();
+				CommitPlayEvent(event, clipName, 0, false);
 				return;
 			}
 		}
@@ -125,6 +156,7 @@ public class AudioManager
 		clip_max_framePosition.flush();
 		clip_max_framePosition.setFramePosition(0);
 		clip_max_framePosition.start();
+		CommitPlayEvent(event, clipName, 0, true);
 	}
 	
 	/**
@@ -149,6 +181,10 @@ public class AudioManager
 		
 		Clip[] channels = clips.get(clipName);
 		
+		//JFR 이벤트 - 기록 중이 아니라면 아무 일도 하지 않음
+		LootEvents.Play event = new LootEvents.Play();
+		event.begin();
+		
 		//사용하고 있지 않은 채널이 있는 경우 사용
 		for ( Clip clip : channels )
 		{
@@ -156,6 +192,7 @@ public class AudioManager
 			{
 				clip.setFramePosition(0);
 				clip.loop(count);
+				CommitPlayEvent(event, clipName, count, false);
 				return;
 			}
 			
@@ -180,6 +217,21 @@ public class AudioManager
 		clip_max_framePosition.flush();
 		clip_max_framePosition.setFramePosition(0);
 		clip_max_framePosition.loop(count);
+		CommitPlayEvent(event, clipName, count, true);
+	}
+	
+	/**
+	 * JFR 기록 중인 경우 재생 이벤트의 값을 채워 남깁니다.
+	 */
+	private static void CommitPlayEvent(LootEvents.Play event, String clipName, int loopCount, boolean isChannelStolen)
+	{
+		if ( event.isEnabled() == false )
+			return;
+		
+		event.clipName = clipName;
+		event.loopCount = loopCount;
+		event.isChannelStolen = isChannelStolen;
+		event.commit();
 	}
 	
 	/**
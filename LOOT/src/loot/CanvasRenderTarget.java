@@ -0,0 +1,452 @@
+package loot;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.ImageCapabilities;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.VolatileImage;
+
+import loot.graphics.DirtyRegion;
+
+/**
+ * 창 안의 Canvas에 BufferStrategy를 사용하여 게임 화면을 그리는 RenderTarget입니다.<br>
+ * GameFrame이 만들어 사용하며, 설정에 따라 이중 / 삼중 버퍼링, 페이지 넘기기 / 복사, 바뀐 영역만 다시 그리기를 처리합니다.<br>
+ * 논리 해상도 모드에서는 게임 화면을 고정된 크기의 VolatileImage에 그린 다음 창 크기에 맞게 한 번에 확대 / 축소하여 표시합니다.
+ * 
+ * @author Racin
+ *
+ */
+final class CanvasRenderTarget implements RenderTarget
+{
+	private Canvas canvas;
+	private GameFrameSettings settings;
+	private DirtyRegion dirtyRegion;
+	private GameLoop loop;
+	private FrameCapture capture;
+	
+	/**
+	 * 게임 화면의 이중 버퍼링 기능을 사용하기 위해 필요한 필드입니다.<br>
+	 * 창을 만들 때 한 번 만들어 두고 계속 사용합니다.
+	 */
+	private BufferStrategy buf;
+	
+	/**
+	 * 바뀐 영역만 다시 그리는 모드를 사용하는지 여부
+	 */
+	private boolean isDirtyRegionEnabled;
+	
+	/**
+	 * buf가 실제로 사용하고 있는 표시 방식과 버퍼 수
+	 */
+	boolean isPageFlipping;
+	int numberOfBuffers;
+	
+	/**
+	 * 화면 표시 시간 및 내용을 잃은 프레임 수 - 분리 그리기 모드에서는 그리기 스레드가 기록하므로 volatile 사용
+	 */
+	volatile long lastShowDuration_ns;
+	volatile long numberOfLostFrames;
+	
+	/**
+	 * 마지막으로 그릴 때 확인한 화질 단계 변경 횟수 - 바뀌었다면 화면 전체의 모습이 달라지므로 전체를 다시 그림
+	 */
+	private long checked_numberOfQualityChanges;
+	
+	/**
+	 * 논리 해상도 모드에서 게임 화면을 그려 두는 Image - 논리 해상도 모드가 아니라면 null
+	 */
+	private VolatileImage offscreen;
+	
+	/**
+	 * 여러분이 설정한 렌더 스케일 - 그리기 스레드가 아닌 곳에서도 바꿀 수 있으므로 volatile 사용
+	 */
+	private volatile double renderScale;
+	
+	/**
+	 * 이번 프레임에 실제로 사용하는 렌더 스케일(화질 단계 반영) - 바뀌었다면 전체를 다시 그림
+	 */
+	private double checked_renderScale;
+	
+	/**
+	 * 렌더 스케일로 사용할 수 있는 가장 작은 값
+	 */
+	static final double minRenderScale = 0.25;
+	
+	/**
+	 * 다음 Begin()에서 BufferStrategy를 다시 만들어야 하는지 여부
+	 */
+	private volatile boolean isRecreateRequested;
+	
+	/**
+	 * 논리 해상도 모드가 아닐 때 화면 캡처를 위해 그릴 Image 및 이번 프레임을 여기에 그리는지 여부<br>
+	 * --> BufferStrategy의 버퍼는 읽어올 수 없으므로 캡처할 프레임만 여기에 그린 다음 버퍼로 옮김
+	 */
+	private BufferedImage staging;
+	private boolean isStaging;
+	
+	/**
+	 * 새로운 CanvasRenderTarget class의 인스턴스를 생성하고 BufferStrategy를 만듭니다.<br>
+	 * canvas는 이미 창에 추가되어 pack()까지 마친 상태여야 합니다.
+	 * 
+	 * @param loop 버퍼의 내용을 잃었을 때 다시 그리도록 요청할 게임 루프입니다.
+	 * @param capture 이번 프레임을 캡처할 지 알려 주는 요소입니다.
+	 */
+	CanvasRenderTarget(Canvas canvas, GameFrameSettings settings, DirtyRegion dirtyRegion, boolean isDirtyRegionEnabled, GameLoop loop, FrameCapture capture)
+	{
+		this.canvas = canvas;
+		this.settings = settings;
+		this.dirtyRegion = dirtyRegion;
+		this.isDirtyRegionEnabled = isDirtyRegionEnabled;
+		this.loop = loop;
+		this.capture = capture;
+		
+		CreateBufferStrategy();
+		
+		if ( settings.canvas_use_logicalResolution )
+		{
+			offscreen = canvas.createVolatileImage(settings.canvas_width, settings.canvas_height);
+			SetRenderScale(settings.canvas_renderScale);
+		}
+		else
+			renderScale = 1;
+		
+		checked_renderScale = 1;
+	}
+	
+	@Override
+	public int GetWidth()
+	{
+		return settings.canvas_width;
+	}
+	
+	@Override
+	public int GetHeight()
+	{
+		return settings.canvas_height;
+	}
+	
+	@Override
+	public Graphics2D Begin()
+	{
+		//전체 화면 전환 등으로 요청받은 경우 BufferStrategy를 새로 만듦
+		if ( isRecreateRequested )
+		{
+			isRecreateRequested = false;
+			buf.dispose();
+			CreateBufferStrategy();
+			dirtyRegion.AddAll();
+		}
+		
+		//화질 단계나 렌더 스케일이 바뀌었다면 화면 전체의 모습이 달라지므로 전체를 다시 그림
+		long numberOfQualityChanges = loop.GetQualityGovernor().GetNumberOfChanges();
+		double scale = GetEffectiveRenderScale();
+		
+		if ( numberOfQualityChanges != checked_numberOfQualityChanges || scale != checked_renderScale )
+		{
+			checked_numberOfQualityChanges = numberOfQualityChanges;
+			checked_renderScale = scale;
+			dirtyRegion.AddAll();
+		}
+		
+		Graphics2D g;
+		isStaging = offscreen == null && capture.IsCapturingThisFrame();
+		
+		if ( isStaging )
+		{
+			//캡처할 프레임은 읽어올 수 있는 Image에 처음부터 다시 그림
+			if ( staging == null )
+				staging = new BufferedImage(settings.canvas_width, settings.canvas_height, BufferedImage.TYPE_INT_RGB);
+			
+			dirtyRegion.AddAll();
+			g = staging.createGraphics();
+			g.setBackground(settings.canvas_backgroundColor);
+		}
+		else if ( offscreen == null )
+		{
+			g = (Graphics2D)buf.getDrawGraphics();
+		}
+		else
+		{
+			//논리 해상도 모드에서는 VolatileImage에 그림 - 렌더 스케일이 1보다 작다면 왼쪽 위 일부만 사용하며 게임 코드는 그대로 논리 좌표를 사용
+			ValidateOffscreen();
+			g = offscreen.createGraphics();
+			
+			if ( scale != 1 )
+				g.scale(scale, scale);
+		}
+		
+		//바뀐 영역만 다시 그리는 모드라면 그 영역 밖으로는 칠하지 않도록 설정
+		if ( isDirtyRegionEnabled )
+		{
+			Shape clip = dirtyRegion.Collect(settings.canvas_width, settings.canvas_height);
+			
+			if ( clip != null )
+				g.setClip(clip);
+		}
+		
+		return g;
+	}
+	
+	/**
+	 * 다 그린 화면을 창에 표시합니다.<br>
+	 * 그리는 도중 또는 표시하는 도중 버퍼의 내용을 잃은 경우(다른 프로그램이 화면을 독점했다가 돌려준 경우 등)<br>
+	 * 게임 루프가 다음 프레임에 Draw()를 다시 호출하도록 요청합니다.
+	 */
+	@Override
+	public void End(Graphics2D g)
+	{
+		g.clipRect(0, 0, settings.canvas_width, settings.canvas_height);
+		g.dispose();
+		
+		//캡처할 프레임은 Image에 그렸으므로 버퍼로 옮김
+		if ( isStaging )
+		{
+			Graphics2D g_buffer = (Graphics2D)buf.getDrawGraphics();
+			g_buffer.drawImage(staging, 0, 0, null);
+			g_buffer.dispose();
+		}
+		
+		//그리는 도중 버퍼(또는 VolatileImage)가 복원되었다면 그린 내용이 온전하지 않으므로 표시하지 않고 다음 프레임에 다시 그림
+		if ( offscreen != null ? offscreen.contentsLost() : buf.contentsRestored() )
+		{
+			++numberOfLostFrames;
+			dirtyRegion.AddAll();
+			loop.RequestRedraw();
+			return;
+		}
+		
+		//바뀐 영역이 하나도 없었다면 표시할 필요도 없음
+		if ( isDirtyRegionEnabled && dirtyRegion.IsEmpty() )
+			return;
+		
+		if ( offscreen != null )
+			Present();
+		
+		//JFR 이벤트 - 기록 중이 아니라면 만들지 않음
+		LootEvents.Show event = null;
+		
+		if ( LootEvents.type_show.isEnabled() )
+		{
+			event = new LootEvents.Show();
+			event.begin();
+		}
+		
+		long time_begin = System.nanoTime();
+		buf.show();
+		lastShowDuration_ns = System.nanoTime() - time_begin;
+		
+		//표시하는 도중 내용을 잃었다면 다음 프레임에 다시 그림
+		boolean isContentsLost = buf.contentsLost();
+		
+		if ( isContentsLost )
+		{
+			++numberOfLostFrames;
+			dirtyRegion.AddAll();
+			loop.RequestRedraw();
+		}
+		
+		if ( event != null && event.isEnabled() )
+		{
+			event.end();
+			event.isPageFlipping = isPageFlipping;
+			event.numberOfBuffers = numberOfBuffers;
+			event.isContentsLost = isContentsLost;
+			event.commit();
+		}
+	}
+	
+	@Override
+	public boolean CopyTo(BufferedImage dest)
+	{
+		//논리 해상도 모드에서는 VolatileImage의 그린 부분을 논리 해상도 크기로 옮김
+		if ( offscreen != null )
+		{
+			Graphics2D g_dest = dest.createGraphics();
+			g_dest.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g_dest.drawImage(offscreen,
+					0, 0, settings.canvas_width, settings.canvas_height,
+					0, 0, (int)Math.round(settings.canvas_width * checked_renderScale), (int)Math.round(settings.canvas_height * checked_renderScale),
+					null);
+			g_dest.dispose();
+			return offscreen.contentsLost() == false;
+		}
+		
+		if ( isStaging == false )
+			return false;
+		
+		int[] pixels = ((DataBufferInt)staging.getRaster().getDataBuffer()).getData();
+		int[] pixels_dest = ((DataBufferInt)dest.getRaster().getDataBuffer()).getData();
+		
+		System.arraycopy(pixels, 0, pixels_dest, 0, pixels.length);
+		return true;
+	}
+	
+	/**
+	 * 전체 화면으로 바뀌는 등 Canvas가 놓인 환경이 바뀐 경우 다음 Begin()에서 BufferStrategy를 다시 만들도록 요청합니다. 이 메서드는 GameFrame이 호출합니다.<br>
+	 * 그리는 도중에 버퍼를 바꾸지 않도록 실제 작업은 그리는 스레드에서 수행하며, 다음 프레임에는 전체를 다시 그립니다.
+	 */
+	void RequestRecreate()
+	{
+		isRecreateRequested = true;
+		loop.RequestRedraw();
+	}
+	
+	/**
+	 * 설정에 맞는 BufferStrategy를 만들어 buf에 담아 둡니다.<br>
+	 * 페이지 넘기기를 사용할 수 없다면 가속 복사를, 그마저 안 되면 실행 환경의 기본 방식을 사용합니다.
+	 */
+	private void CreateBufferStrategy()
+	{
+		numberOfBuffers = settings.canvas_numberOfBuffers == 3 ? 3 : 2;
+		GameFrameSettings.BufferingMode mode = settings.canvas_bufferingMode;
+		
+		if ( settings.canvas_numberOfBuffers != numberOfBuffers )
+			System.err.println("Error. 게임 화면의 버퍼 수는 2 또는 3이어야 합니다. " + numberOfBuffers + "개를 대신 사용합니다.");
+		
+		//바뀐 영역만 다시 그리려면 이전 프레임의 내용이 버퍼에 남아 있어야 하므로 복사 방식의 이중 버퍼링만 사용(논리 해상도 모드에서는 VolatileImage에 남아 있으므로 상관 없음)
+		if ( isDirtyRegionEnabled && settings.canvas_use_logicalResolution == false )
+		{
+			numberOfBuffers = 2;
+			mode = GameFrameSettings.BufferingMode.Blit;
+		}
+		
+		ImageCapabilities accelerated = new ImageCapabilities(true);
+		boolean isFlipSupported = canvas.getGraphicsConfiguration().getBufferCapabilities().isPageFlipping();
+		boolean isCreated = false;
+		
+		//페이지 넘기기 시도 - 매 프레임 ClearScreen()으로 다시 그리므로 넘긴 뒤의 버퍼 내용은 신경쓰지 않음
+		if ( mode == GameFrameSettings.BufferingMode.PageFlip ||
+			 mode == GameFrameSettings.BufferingMode.Auto && isFlipSupported )
+		{
+			try
+			{
+				canvas.createBufferStrategy(numberOfBuffers, new BufferCapabilities(accelerated, accelerated, BufferCapabilities.FlipContents.UNDEFINED));
+				isCreated = true;
+			}
+			catch ( AWTException e )
+			{
+				if ( mode == GameFrameSettings.BufferingMode.PageFlip )
+					System.err.println("Error. 이 환경에서는 페이지 넘기기를 사용할 수 없어 복사 방식을 대신 사용합니다.");
+			}
+		}
+		
+		//가속 복사 시도
+		if ( isCreated == false )
+		{
+			try
+			{
+				canvas.createBufferStrategy(numberOfBuffers, new BufferCapabilities(accelerated, accelerated, null));
+				isCreated = true;
+			}
+			catch ( AWTException e )
+			{
+			}
+		}
+		
+		//실행 환경의 기본 방식 사용(실패하지 않음)
+		if ( isCreated == false )
+			canvas.createBufferStrategy(numberOfBuffers);
+		
+		buf = canvas.getBufferStrategy();
+		isPageFlipping = buf.getCapabilities().isPageFlipping();
+	}
+	
+	/**
+	 * 논리 해상도 모드에서 VolatileImage가 아직 사용 가능한지 확인하고, 필요하다면 다시 만들거나 복원합니다.<br>
+	 * 내용을 잃은 경우 이번 프레임에 전체를 다시 그리도록 합니다.
+	 */
+	private void ValidateOffscreen()
+	{
+		int status = offscreen.validate(canvas.getGraphicsConfiguration());
+		
+		//창이 다른 모니터로 옮겨지는 등 더 이상 사용할 수 없게 되었다면 새로 만듦
+		if ( status == VolatileImage.IMAGE_INCOMPATIBLE )
+		{
+			offscreen.flush();
+			offscreen = canvas.createVolatileImage(settings.canvas_width, settings.canvas_height);
+		}
+		
+		if ( status != VolatileImage.IMAGE_OK )
+			dirtyRegion.AddAll();
+	}
+	
+	/**
+	 * 논리 해상도 모드에서 VolatileImage에 그린 게임 화면을 창 크기에 맞게 확대 / 축소하여 버퍼에 옮깁니다.<br>
+	 * 가로 / 세로 비율은 유지하며 남는 부분은 검은색으로 채웁니다.
+	 */
+	private void Present()
+	{
+		int canvas_width = canvas.getWidth();
+		int canvas_height = canvas.getHeight();
+		double scale_present = GetPresentScale(canvas_width, canvas_height, settings.canvas_width, settings.canvas_height);
+		
+		int width = (int)Math.round(settings.canvas_width * scale_present);
+		int height = (int)Math.round(settings.canvas_height * scale_present);
+		int left = ( canvas_width - width ) / 2;
+		int top = ( canvas_height - height ) / 2;
+		
+		Graphics2D g_screen = (Graphics2D)buf.getDrawGraphics();
+		
+		if ( width < canvas_width || height < canvas_height )
+		{
+			g_screen.setColor(Color.BLACK);
+			g_screen.fillRect(0, 0, canvas_width, top);
+			g_screen.fillRect(0, top + height, canvas_width, canvas_height - top - height);
+			g_screen.fillRect(0, top, left, height);
+			g_screen.fillRect(left + width, top, canvas_width - left - width, height);
+		}
+		
+		g_screen.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		g_screen.drawImage(offscreen,
+				left, top, left + width, top + height,
+				0, 0, (int)Math.round(settings.canvas_width * checked_renderScale), (int)Math.round(settings.canvas_height * checked_renderScale),
+				null);
+		g_screen.dispose();
+	}
+	
+	/**
+	 * 논리 해상도의 게임 화면을 주어진 크기의 Canvas에 가로 / 세로 비율을 유지하며 표시할 때의 배율을 return합니다.
+	 */
+	static double GetPresentScale(int canvas_width, int canvas_height, int logical_width, int logical_height)
+	{
+		if ( canvas_width <= 0 || canvas_height <= 0 )
+			return 1;
+		
+		return Math.min((double)canvas_width / logical_width, (double)canvas_height / logical_height);
+	}
+	
+	/**
+	 * 렌더 스케일을 설정합니다. minRenderScale 이상 1 이하의 값으로 제한됩니다.
+	 */
+	void SetRenderScale(double scale)
+	{
+		renderScale = Math.max(minRenderScale, Math.min(1, scale));
+	}
+	
+	double GetRenderScale()
+	{
+		return renderScale;
+	}
+	
+	/**
+	 * 설정한 렌더 스케일에 화질 단계의 렌더 스케일을 곱한, 이번 프레임에 실제로 사용할 렌더 스케일을 return합니다.<br>
+	 * 논리 해상도 모드가 아니라면 항상 1입니다.
+	 */
+	private double GetEffectiveRenderScale()
+	{
+		if ( offscreen == null )
+			return 1;
+		
+		QualityGovernor governor = loop.GetQualityGovernor();
+		double scale = renderScale * ( governor.IsEnabled() ? governor.GetLevel().renderScale : 1 );
+		
+		return Math.max(minRenderScale, scale);
+	}
+}
@@ -0,0 +1,467 @@
+package loot;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+/**
+ * 다 그린 게임 화면을 파일로 저장하는(화면 캡처) 클래스입니다.<br>
+ * <br>
+ * RequestCapture()를 호출하면 다음에 그리는 화면 한 장을, SetInterval()로 간격을 정하면 그 간격마다 화면을 저장합니다.<br>
+ * 버그를 알리거나 성능을 바꾸기 전과 후의 화면을 비교할 때 사용하세요.<br>
+ * <br>
+ * EndDraw() 안에서는 그린 화면의 픽셀들을 미리 만들어 둔 Image에 복사하기만 하며<br>
+ * 파일로 저장하는(PNG 압축 등) 시간이 오래 걸리는 작업은 별도의 저장 스레드들이 나누어 수행합니다.<br>
+ * 저장을 기다리는 화면은 정해진 수까지만 쌓아 두며, 저장이 밀려 가득 찬 경우 가장 오래된 화면을 버리고 새 화면을 넣습니다.<br>
+ * 따라서 화면 캡처 때문에 게임 루프가 기다리는 일은 없으며, 버린 화면 수는 GetNumberOfDropped()로 확인할 수 있습니다.<br>
+ * <br>
+ * 여러분이 이 클래스를 직접 만들 일은 없으며 GameFrame.GetFrameCapture()를 통해 사용하면 됩니다.
+ *
+ * @author Racin
+ *
+ */
+public class FrameCapture
+{
+	/**
+	 * 화면을 저장할 파일 형식을 나타냅니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	public enum Format
+	{
+		/**
+		 * 화면 한 장을 PNG 파일 하나로 저장합니다. 파일 이름은 frame_(번호).png입니다.
+		 */
+		PNG,
+
+		/**
+		 * 화면 한 장을 압축하지 않은 RGB(픽셀당 3byte) 파일 하나로 저장합니다. 파일 이름은 frame_(번호)_(가로)x(세로).rgb입니다.<br>
+		 * PNG보다 훨씬 빨리 저장되므로 연속으로 저장할 때 알맞으며, 영상 도구에서 rgb24 형식의 raw video로 읽을 수 있습니다.
+		 */
+		Raw
+	}
+
+	/**
+	 * 저장을 기다리는 화면 하나 - Image와 함께 재사용함
+	 */
+	private static class Frame
+	{
+		final BufferedImage image;
+		long frameNumber;
+
+		Frame(int width, int height)
+		{
+			image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		}
+	}
+
+	/**
+	 * 저장을 기다리는 화면들 - 가득 차면 가장 오래된 화면을 버림
+	 */
+	private final ArrayBlockingQueue<Frame> queue;
+
+	/**
+	 * 다 저장하여 다시 사용할 수 있는 화면들
+	 */
+	private final ConcurrentLinkedQueue<Frame> free;
+
+	/**
+	 * 만들 수 있는 화면의 최대 수 및 지금까지 만든 화면 수
+	 */
+	private final int maxNumberOfFrames;
+	private int numberOfAllocatedFrames;
+
+	private final int numberOfEncoders;
+	private Thread[] encoders;
+
+	private volatile String directory;
+	private volatile Format format;
+
+	/**
+	 * 몇 프레임마다 저장할 지 - 0이라면 간격 저장을 하지 않음
+	 */
+	private volatile int interval;
+
+	/**
+	 * RequestCapture()로 요청받은 화면 수
+	 */
+	private final AtomicLong numberOfRequests = new AtomicLong();
+	private long numberOfServedRequests;
+
+	/**
+	 * 지금까지 그린 화면 수 및 이번 화면을 저장해야 하는지 여부 - 그리는 스레드만 사용
+	 */
+	private long numberOfDrawnFrames;
+	private boolean isCapturingThisFrame;
+
+	private final AtomicLong numberOfCaptured = new AtomicLong();
+	private final AtomicLong numberOfDropped = new AtomicLong();
+	private final AtomicLong numberOfWritten = new AtomicLong();
+	private final AtomicLong numberOfFailed = new AtomicLong();
+
+	/**
+	 * 줄에 들어 있거나 저장 스레드가 저장 중인 화면 수
+	 */
+	private final AtomicInteger numberOfPending = new AtomicInteger();
+
+	/**
+	 * 새로운 FrameCapture class의 인스턴스를 생성합니다.<br>
+	 * 화면을 저장할 폴더는 SetOutput()으로 설정하며, 설정하기 전까지는 저장하지 않습니다.
+	 *
+	 * @param format 화면을 저장할 파일 형식입니다.
+	 * @param interval 몇 프레임마다 저장할 지 정합니다. 0인 경우 RequestCapture()를 호출했을 때만 저장합니다.
+	 * @param queueCapacity 저장을 기다리는 화면을 최대 몇 장까지 쌓아 둘 지 정합니다.
+	 * @param numberOfEncoders 파일 저장을 나누어 수행할 스레드 수입니다.
+	 */
+	FrameCapture(Format format, int interval, int queueCapacity, int numberOfEncoders)
+	{
+		this.format = format;
+		this.interval = interval < 0 ? 0 : interval;
+		this.numberOfEncoders = numberOfEncoders < 1 ? 1 : numberOfEncoders;
+
+		queue = new ArrayBlockingQueue<>(queueCapacity < 1 ? 1 : queueCapacity);
+		free = new ConcurrentLinkedQueue<>();
+		maxNumberOfFrames = queue.remainingCapacity() + this.numberOfEncoders;
+	}
+
+	/**
+	 * 주어진 설정에 맞는 FrameCapture를 만듭니다. 저장할 폴더를 설정했다면 폴더도 미리 만들어 둡니다.
+	 */
+	static FrameCapture Create(GameFrameSettings settings)
+	{
+		FrameCapture capture = new FrameCapture(settings.capture_format, settings.capture_interval, settings.capture_queueCapacity, settings.capture_numberOfEncoders);
+
+		if ( settings.capture_directory != null )
+			capture.SetOutput(settings.capture_directory, settings.capture_format);
+
+		return capture;
+	}
+
+	/**
+	 * 화면을 저장할 폴더와 파일 형식을 바꿉니다. 폴더가 없다면 새로 만듭니다.<br>
+	 * 이미 저장을 기다리고 있는 화면들도 새 설정으로 저장됩니다.
+	 *
+	 * @return 폴더를 사용할 수 없다면 설정을 바꾸지 않고 false를 return합니다.
+	 */
+	public boolean SetOutput(String directory, Format format)
+	{
+		File dir = new File(directory);
+
+		if ( dir.isDirectory() == false && dir.mkdirs() == false )
+		{
+			System.err.println("Error. 화면을 저장할 폴더 " + directory + "을(를) 만들 수 없습니다.");
+			return false;
+		}
+
+		this.format = format;
+		this.directory = directory;
+		return true;
+	}
+
+	/**
+	 * 화면을 저장하는 폴더를 return합니다. 설정하지 않았다면 null을 return합니다.
+	 */
+	public String GetDirectory()
+	{
+		return directory;
+	}
+
+	/**
+	 * 화면을 저장하는 파일 형식을 return합니다.
+	 */
+	public Format GetFormat()
+	{
+		return format;
+	}
+
+	/**
+	 * 몇 프레임마다 화면을 저장할 지 설정합니다. 0인 경우 RequestCapture()를 호출했을 때만 저장합니다.<br>
+	 * 여기서 '프레임'은 실제로 그린(EndDraw()까지 마친) 화면을 의미합니다.
+	 */
+	public void SetInterval(int numberOfFrames)
+	{
+		interval = numberOfFrames < 0 ? 0 : numberOfFrames;
+	}
+
+	public int GetInterval()
+	{
+		return interval;
+	}
+
+	/**
+	 * 다음에 그리는 화면 한 장을 저장하도록 요청합니다. 어느 스레드에서든 호출할 수 있습니다.<br>
+	 * 여러 번 호출하면 그만큼의 화면을 차례로 저장합니다.
+	 */
+	public void RequestCapture()
+	{
+		numberOfRequests.incrementAndGet();
+	}
+
+	/**
+	 * 지금까지 복사하여 저장을 기다리는 줄에 넣은 화면 수를 return합니다.
+	 */
+	public long GetNumberOfCaptured()
+	{
+		return numberOfCaptured.get();
+	}
+
+	/**
+	 * 저장이 밀려서(또는 저장할 공간이 없어) 저장하지 못하고 버린 화면 수를 return합니다.
+	 */
+	public long GetNumberOfDropped()
+	{
+		return numberOfDropped.get();
+	}
+
+	/**
+	 * 지금까지 파일로 저장을 마친 화면 수를 return합니다.
+	 */
+	public long GetNumberOfWritten()
+	{
+		return numberOfWritten.get();
+	}
+
+	/**
+	 * 파일을 쓰는 도중 오류가 발생하여 저장하지 못한 화면 수를 return합니다.
+	 */
+	public long GetNumberOfFailed()
+	{
+		return numberOfFailed.get();
+	}
+
+	/**
+	 * 저장을 기다리는 화면이 모두 저장될 때까지 최대 주어진 시간만큼 기다립니다. 프로그램을 끝내기 직전 등에 사용하세요.<br>
+	 * 게임 루프 스레드에서는 호출하지 마세요.
+	 *
+	 * @return 시간 안에 모두 저장된 경우 true를 return합니다.
+	 */
+	public boolean Flush(long timeout_ms)
+	{
+		long deadline_ns = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout_ms);
+
+		while ( numberOfPending.get() > 0 )
+		{
+			if ( System.nanoTime() - deadline_ns > 0 )
+				return false;
+
+			try
+			{
+				Thread.sleep(1);
+			}
+			catch ( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * 이번에 그릴 화면을 저장할 지 정합니다. 이 메서드는 BeginDraw()가 호출합니다.
+	 */
+	void BeginFrame()
+	{
+		++numberOfDrawnFrames;
+
+		if ( directory == null )
+		{
+			isCapturingThisFrame = false;
+			return;
+		}
+
+		int current_interval = interval;
+		boolean isRequested = numberOfRequests.get() != numberOfServedRequests;
+
+		if ( isRequested )
+			++numberOfServedRequests;
+
+		isCapturingThisFrame = isRequested || current_interval > 0 && numberOfDrawnFrames % current_interval == 0;
+	}
+
+	/**
+	 * 이번에 그리는 화면을 저장해야 하는지 여부를 return합니다. BeginFrame()을 호출한 뒤부터 Grab()을 호출하기 전까지 유효합니다.
+	 */
+	boolean IsCapturingThisFrame()
+	{
+		return isCapturingThisFrame;
+	}
+
+	/**
+	 * 방금 다 그린 화면을 복사하여 저장을 기다리는 줄에 넣습니다. 이 메서드는 EndDraw()가 호출합니다.<br>
+	 * 줄이 가득 찼다면 가장 오래된 화면을 버리며, 어떤 경우에도 기다리지 않습니다.
+	 */
+	void Grab(RenderTarget target)
+	{
+		isCapturingThisFrame = false;
+
+		Frame frame = Obtain(target.GetWidth(), target.GetHeight());
+
+		//저장할 공간이 하나도 없다면(모든 저장 스레드가 일하는 중이고 줄도 비어 있음) 이번 화면은 버림
+		if ( frame == null )
+		{
+			numberOfDropped.incrementAndGet();
+			return;
+		}
+
+		if ( target.CopyTo(frame.image) == false )
+		{
+			free.offer(frame);
+			return;
+		}
+
+		frame.frameNumber = numberOfDrawnFrames;
+		numberOfCaptured.incrementAndGet();
+		numberOfPending.incrementAndGet();
+
+		//줄이 가득 찼다면 가장 오래된 화면을 버리고 그 자리에 넣음
+		while ( queue.offer(frame) == false )
+		{
+			Frame oldest = queue.poll();
+
+			if ( oldest != null )
+			{
+				numberOfDropped.incrementAndGet();
+				numberOfPending.decrementAndGet();
+				free.offer(oldest);
+			}
+		}
+
+		StartEncodersIfRequired();
+	}
+
+	/**
+	 * 복사에 사용할 화면 하나를 구합니다. 다시 사용할 수 있는 화면이 없다면 최대 수까지는 새로 만들고,<br>
+	 * 그마저 안 되면 저장을 기다리는 가장 오래된 화면을 버리고 사용합니다.
+	 *
+	 * @return 사용할 수 있는 화면이 없다면 null을 return합니다.
+	 */
+	private Frame Obtain(int width, int height)
+	{
+		Frame frame;
+
+		//게임 화면의 크기가 다른 화면(전에 사용하던 것)은 버림
+		while ( ( frame = free.poll() ) != null )
+		{
+			if ( frame.image.getWidth() == width && frame.image.getHeight() == height )
+				return frame;
+
+			--numberOfAllocatedFrames;
+		}
+
+		if ( numberOfAllocatedFrames < maxNumberOfFrames )
+		{
+			++numberOfAllocatedFrames;
+			return new Frame(width, height);
+		}
+
+		frame = queue.poll();
+
+		if ( frame != null )
+		{
+			numberOfDropped.incrementAndGet();
+			numberOfPending.decrementAndGet();
+		}
+
+		return frame;
+	}
+
+	/**
+	 * 저장 스레드들이 아직 없다면 시작합니다.
+	 */
+	private void StartEncodersIfRequired()
+	{
+		if ( encoders != null )
+			return;
+
+		encoders = new Thread[numberOfEncoders];
+
+		for ( int iEncoder = 0; iEncoder < numberOfEncoders; ++iEncoder )
+		{
+			encoders[iEncoder] = new Thread(this::Encode, "FrameCapture-" + ( iEncoder + 1 ));
+			encoders[iEncoder].setDaemon(true);
+			encoders[iEncoder].setPriority(Thread.MIN_PRIORITY);
+			encoders[iEncoder].start();
+		}
+	}
+
+	/**
+	 * 저장 스레드의 진입점 메서드입니다. 저장을 기다리는 화면을 하나씩 꺼내어 파일로 저장합니다.
+	 */
+	private void Encode()
+	{
+		byte[] rgb = null;
+
+		while ( Thread.currentThread().isInterrupted() == false )
+		{
+			Frame frame;
+
+			try
+			{
+				frame = queue.take();
+			}
+			catch ( InterruptedException e )
+			{
+				return;
+			}
+
+			Format current_format = format;
+			BufferedImage image = frame.image;
+			File file = current_format == Format.PNG ?
+					new File(directory, String.format("frame_%06d.png", frame.frameNumber)) :
+					new File(directory, String.format("frame_%06d_%dx%d.rgb", frame.frameNumber, image.getWidth(), image.getHeight()));
+
+			try
+			{
+				if ( current_format == Format.PNG )
+				{
+					if ( ImageIO.write(image, "png", file) == false )
+						throw new IOException("PNG 형식으로 저장할 수 없습니다.");
+				}
+				else
+				{
+					int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+
+					if ( rgb == null || rgb.length != pixels.length * 3 )
+						rgb = new byte[pixels.length * 3];
+
+					for ( int iPixel = 0, iByte = 0; iPixel < pixels.length; ++iPixel )
+					{
+						int pixel = pixels[iPixel];
+						rgb[iByte++] = (byte)( pixel >> 16 );
+						rgb[iByte++] = (byte)( pixel >> 8 );
+						rgb[iByte++] = (byte)pixel;
+					}
+
+					try ( OutputStream stream = new BufferedOutputStream(new FileOutputStream(file)) )
+					{
+						stream.write(rgb);
+					}
+				}
+
+				numberOfWritten.incrementAndGet();
+			}
+			catch ( IOException e )
+			{
+				numberOfFailed.incrementAndGet();
+				System.err.println("Error. 화면을 " + file.getPath() + "에 저장하지 못했습니다: " + e.getMessage());
+			}
+
+			free.offer(frame);
+			numberOfPending.decrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,376 @@
+package loot;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 게임 루프가 다음 프레임을 시작할 시각까지 기다리는 방식을 담당하는 클래스입니다.<br>
+ * <br>
+ * 스레드를 재우는 작업(park / sleep)은 운영체제에 따라 요청한 시각보다 조금씩 늦게 깨어나므로<br>
+ * 이 클래스는 게임 루프가 시작될 때 그 오차를 미리 측정해 두고,<br>
+ * 마감 시각 직전의 '여유 구간'까지만 스레드를 재운 다음 남은 짧은 시간 동안만 CPU를 사용하며 기다립니다.<br>
+ * 측정한 오차는 실행 중에도 계속 보정됩니다.<br>
+ * <br>
+ * 여러분이 이 클래스를 직접 만들 일은 없으며 GameFrameSettings.gameLoop_pacingMode를 통해 방식을 고르면 됩니다.
+ *
+ * @author Racin
+ *
+ */
+public class FramePacer
+{
+	/**
+	 * 대기 방식을 나타냅니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	public enum PacingMode
+	{
+		/**
+		 * 마감 시각까지 스레드를 재우기만 하며 CPU를 사용하며 기다리지 않습니다.<br>
+		 * CPU 사용량은 가장 적지만 프레임 시작 시각이 운영체제의 오차만큼 늦어질 수 있습니다.
+		 */
+		PowerSave,
+
+		/**
+		 * 측정한 오차만큼의 여유를 두고 스레드를 재운 다음 남은 시간 동안만 CPU를 사용하며 기다립니다.<br>
+		 * 대부분의 경우 이 방식을 사용하면 됩니다.
+		 */
+		Balanced,
+
+		/**
+		 * 측정한 오차보다 넉넉한 여유를 두고 스레드를 재운 다음 남은 시간 동안 CPU를 사용하며 기다립니다.<br>
+		 * 프레임 시작 시각이 가장 정확하지만 CPU 사용량이 조금 늘어납니다.
+		 */
+		LowJitter
+	}
+
+	/**
+	 * 시작할 때 오차를 측정하기 위해 스레드를 재워 볼 횟수
+	 */
+	private static final int numberOfCalibrationSamples = 20;
+
+	/**
+	 * 시작할 때 오차를 측정하기 위해 한 번에 스레드를 재울 시간
+	 */
+	private static final long calibrationPark_ns = 1000000;
+
+	/**
+	 * LowJitter 방식에서 측정한 오차에 추가로 두는 여유 시간
+	 */
+	private static final long lowJitterExtraMargin_ns = 200000;
+
+	/**
+	 * 여유 구간의 최대 길이 - GC 등으로 한 번 크게 늦게 깨어났더라도 CPU를 사용하며 기다리는 시간이 이보다 길어지지 않음
+	 */
+	private static final long maxMargin_ns = 2000000;
+
+	/**
+	 * 오차 추정치를 '평균 + 편차 * 이 값'으로 정함
+	 */
+	private static final int deviationFactor = 4;
+
+	private PacingMode mode;
+
+	/**
+	 * 스레드를 재웠을 때 요청한 시각보다 늦게 깨어나는 정도의 추정치<br>
+	 * --> 관측된 오차의 이동 평균에 이동 평균 편차의 몇 배를 더한 값이며, 최대 maxMargin_ns까지만 늘어남<br>
+	 * &nbsp;&nbsp;&nbsp;&nbsp;(가장 큰 오차를 그대로 쓰면 한 번의 튀는 값 때문에 한동안 매 프레임 CPU를 오래 사용하게 됨)
+	 */
+	private long parkOvershoot_ns;
+
+	/**
+	 * 관측된 오차의 이동 평균과, 그 평균에서 벗어난 정도의 이동 평균
+	 */
+	private long averageOvershoot_ns;
+	private long deviationOvershoot_ns;
+
+	/**
+	 * 마감 시각 대비 실제로 대기를 마친 시각의 차이(지터)의 이동 평균
+	 */
+	private long averageWakeUpJitter_ns;
+
+	/**
+	 * ResetStatistics()를 호출한 이후 관측된 가장 큰 지터
+	 */
+	private long maxWakeUpJitter_ns;
+
+	/**
+	 * ResetStatistics()를 호출한 이후 대기에 사용한 시간 중 재운 시간과 CPU를 사용하며 기다린 시간
+	 */
+	private long totalParked_ns;
+	private long totalSpun_ns;
+
+	/**
+	 * CPU 사용률 계산에 필요한 값들 - 게임 루프 스레드의 ID, 그리고 지난 GetCpuUsage() 호출 시점의 기록
+	 */
+	private long loopThreadID = -1;
+	private long lastCpuTime_ns;
+	private long lastWallTime_ns;
+
+	/**
+	 * 위의 추정치, 통계, 스레드 ID는 게임 루프 스레드만 바꾸고 성능 표시 등 다른 스레드가 읽으므로<br>
+	 * 바꿀 때와 다른 스레드에서 읽을 때는 아래 handle들을 통해 opaque 방식으로 접근함(long 값이 반쯤 바뀐 상태로 읽히지 않도록 함)
+	 */
+	private static final VarHandle handle_parkOvershoot;
+	private static final VarHandle handle_averageWakeUpJitter;
+	private static final VarHandle handle_maxWakeUpJitter;
+	private static final VarHandle handle_totalParked;
+	private static final VarHandle handle_totalSpun;
+	private static final VarHandle handle_loopThreadID;
+
+	static
+	{
+		try
+		{
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			handle_parkOvershoot = lookup.findVarHandle(FramePacer.class, "parkOvershoot_ns", long.class);
+			handle_averageWakeUpJitter = lookup.findVarHandle(FramePacer.class, "averageWakeUpJitter_ns", long.class);
+			handle_maxWakeUpJitter = lookup.findVarHandle(FramePacer.class, "maxWakeUpJitter_ns", long.class);
+			handle_totalParked = lookup.findVarHandle(FramePacer.class, "totalParked_ns", long.class);
+			handle_totalSpun = lookup.findVarHandle(FramePacer.class, "totalSpun_ns", long.class);
+			handle_loopThreadID = lookup.findVarHandle(FramePacer.class, "loopThreadID", long.class);
+		}
+		catch ( ReflectiveOperationException e )
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * 새로운 FramePacer class의 인스턴스를 생성합니다.
+	 *
+	 * @param mode 사용할 대기 방식입니다.
+	 */
+	FramePacer(PacingMode mode)
+	{
+		this.mode = mode == null ? PacingMode.Balanced : mode;
+		averageOvershoot_ns = calibrationPark_ns;
+		parkOvershoot_ns = calibrationPark_ns;
+	}
+
+	/**
+	 * 현재 스레드를 몇 번 재워 보면서 운영체제의 오차를 측정합니다.<br>
+	 * 이 메서드는 게임 루프 스레드가 시작될 때 한 번 호출됩니다.
+	 */
+	void Calibrate()
+	{
+		long[] overshoots_ns = new long[numberOfCalibrationSamples];
+		long sum_ns = 0;
+		long sum_deviation_ns = 0;
+
+		handle_loopThreadID.setOpaque(this, Thread.currentThread().getId());
+
+		for ( int iSample = 0; iSample < numberOfCalibrationSamples; ++iSample )
+		{
+			long requested_ns = System.nanoTime() + calibrationPark_ns;
+			LockSupport.parkNanos(calibrationPark_ns);
+			long overshoot_ns = System.nanoTime() - requested_ns;
+
+			overshoots_ns[iSample] = Math.min(Math.max(overshoot_ns, 0), maxMargin_ns);
+			sum_ns += overshoots_ns[iSample];
+		}
+
+		averageOvershoot_ns = sum_ns / numberOfCalibrationSamples;
+
+		for ( long overshoot_ns : overshoots_ns )
+			sum_deviation_ns += Math.abs(overshoot_ns - averageOvershoot_ns);
+
+		deviationOvershoot_ns = sum_deviation_ns / numberOfCalibrationSamples;
+		UpdateParkOvershoot();
+		ResetStatistics();
+	}
+
+	/**
+	 * 주어진 시각이 될 때까지 대기합니다.<br>
+	 * 대기 중 스레드에 interrupt가 걸리면 바로 return하며 interrupt 표시는 그대로 남겨 둡니다.<br>
+	 * 주어진 조건이 true가 되어도 그 전에 return합니다. 조건은 스레드가 깨어날 때마다(다른 스레드가 unpark를 호출한 경우 포함) 확인하므로 조건을 true로 바꾼 쪽에서 이 스레드를 unpark해 주어야 합니다.
+	 *
+	 * @param deadline_ns System.nanoTime() 기준으로 나타낸, 대기를 마칠 시각입니다.
+	 * @param isCancelled 대기를 그만둘 조건입니다. null이라면 시각이 될 때까지 대기합니다.<br>
+	 * 		마지막 여유 구간(최대 2ms)에서는 CPU를 사용하며 기다리므로 이 조건을 확인하지 않습니다.
+	 */
+	void WaitUntil(long deadline_ns, BooleanSupplier isCancelled)
+	{
+		long margin_ns;
+		long now = System.nanoTime();
+		long start_ns = now;
+
+		//이미 늦었다면 대기하지 않음
+		if ( deadline_ns - now <= 0 )
+			return;
+
+		switch ( mode )
+		{
+		case PowerSave:
+			margin_ns = 0;
+			break;
+		case LowJitter:
+			margin_ns = parkOvershoot_ns * 2 + lowJitterExtraMargin_ns;
+			break;
+		default:
+			margin_ns = parkOvershoot_ns;
+			break;
+		}
+
+		if ( margin_ns > maxMargin_ns )
+			margin_ns = maxMargin_ns;
+
+		//여유 구간 직전까지 스레드를 재움 - 깨어날 때마다 실제 오차를 관측하여 추정치 보정
+		while ( deadline_ns - now > margin_ns )
+		{
+			long requested_ns = deadline_ns - margin_ns;
+			LockSupport.parkNanos(requested_ns - now);
+			now = System.nanoTime();
+
+			if ( Thread.currentThread().isInterrupted() )
+				return;
+
+			ObserveOvershoot(now - requested_ns);
+
+			if ( isCancelled != null && isCancelled.getAsBoolean() )
+			{
+				handle_totalParked.setOpaque(this, totalParked_ns + now - start_ns);
+				return;
+			}
+		}
+
+		handle_totalParked.setOpaque(this, totalParked_ns + now - start_ns);
+		start_ns = now;
+
+		//남은 짧은 시간동안 CPU를 사용하며 대기
+		while ( deadline_ns - now > 0 )
+		{
+			Thread.onSpinWait();
+			now = System.nanoTime();
+		}
+
+		handle_totalSpun.setOpaque(this, totalSpun_ns + now - start_ns);
+
+		//지터 기록
+		long jitter_ns = now - deadline_ns;
+		handle_averageWakeUpJitter.setOpaque(this, averageWakeUpJitter_ns + ( jitter_ns - averageWakeUpJitter_ns ) / 16);
+
+		if ( jitter_ns > maxWakeUpJitter_ns )
+			handle_maxWakeUpJitter.setOpaque(this, jitter_ns);
+	}
+
+	/**
+	 * 스레드를 재웠을 때 관측된 오차를 반영하여 추정치를 보정합니다.
+	 */
+	private void ObserveOvershoot(long overshoot_ns)
+	{
+		//park가 일찍 끝난 경우(spurious wakeup)는 오차 측정에서 제외
+		if ( overshoot_ns < 0 )
+			return;
+
+		//아주 크게 튄 값이 평균을 한 번에 끌어올리지 않도록 최대 여유 구간 길이로 자름
+		if ( overshoot_ns > maxMargin_ns )
+			overshoot_ns = maxMargin_ns;
+
+		long deviation_ns = Math.abs(overshoot_ns - averageOvershoot_ns);
+		averageOvershoot_ns += ( overshoot_ns - averageOvershoot_ns ) / 16;
+		deviationOvershoot_ns += ( deviation_ns - deviationOvershoot_ns ) / 16;
+		UpdateParkOvershoot();
+	}
+
+	/**
+	 * 이동 평균과 편차로부터 오차 추정치를 다시 계산합니다.
+	 */
+	private void UpdateParkOvershoot()
+	{
+		handle_parkOvershoot.setOpaque(this, Math.min(averageOvershoot_ns + deviationOvershoot_ns * deviationFactor, maxMargin_ns));
+	}
+
+	/**
+	 * 현재 사용하고 있는 대기 방식을 return합니다.
+	 */
+	public PacingMode GetPacingMode()
+	{
+		return mode;
+	}
+
+	/**
+	 * 스레드를 재웠을 때 요청한 시각보다 얼마나 늦게 깨어나는지에 대한 현재 추정치를 나노초 단위로 return합니다.
+	 */
+	public long GetParkOvershoot_ns()
+	{
+		return (long)handle_parkOvershoot.getOpaque(this);
+	}
+
+	/**
+	 * 각 프레임이 원래 시작되어야 할 시각보다 평균적으로 얼마나 늦게 시작되었는지를 나노초 단위로 return합니다.
+	 */
+	public long GetAverageWakeUpJitter_ns()
+	{
+		return (long)handle_averageWakeUpJitter.getOpaque(this);
+	}
+
+	/**
+	 * 마지막으로 ResetStatistics()를 호출한 이후 프레임 시작이 가장 많이 늦어졌던 정도를 나노초 단위로 return합니다.
+	 */
+	public long GetMaxWakeUpJitter_ns()
+	{
+		return (long)handle_maxWakeUpJitter.getOpaque(this);
+	}
+
+	/**
+	 * 마지막으로 ResetStatistics()를 호출한 이후 대기 시간 중 CPU를 사용하며 기다린 시간의 비율(0.0 ~ 1.0)을 return합니다.
+	 */
+	public double GetSpinRatio()
+	{
+		long parked_ns = (long)handle_totalParked.getOpaque(this);
+		long spun_ns = (long)handle_totalSpun.getOpaque(this);
+		long total_ns = parked_ns + spun_ns;
+
+		if ( total_ns == 0 )
+			return 0;
+
+		return (double)spun_ns / total_ns;
+	}
+
+	/**
+	 * 지난 GetCpuUsage() 호출 이후 게임 루프 스레드가 CPU 코어 하나를 얼마나 사용했는지를 0.0 ~ 1.0 사이의 비율로 return합니다.<br>
+	 * 처음 호출했을 때는 기준 시점만 기록하며 -1을 return합니다.<br>
+	 * 실행 환경이 스레드별 CPU 시간 측정을 지원하지 않거나 게임 루프가 아직 시작되지 않은 경우에도 -1을 return합니다.
+	 */
+	public double GetCpuUsage()
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		long loopThreadID = (long)handle_loopThreadID.getOpaque(this);
+
+		if ( loopThreadID == -1 || bean.isThreadCpuTimeSupported() == false )
+			return -1;
+
+		long cpuTime_ns = bean.getThreadCpuTime(loopThreadID);
+		long wallTime_ns = System.nanoTime();
+
+		if ( cpuTime_ns == -1 )
+			return -1;
+
+		double usage = -1;
+
+		if ( lastWallTime_ns != 0 && wallTime_ns != lastWallTime_ns )
+			usage = (double)( cpuTime_ns - lastCpuTime_ns ) / ( wallTime_ns - lastWallTime_ns );
+
+		lastCpuTime_ns = cpuTime_ns;
+		lastWallTime_ns = wallTime_ns;
+
+		return usage;
+	}
+
+	/**
+	 * 지터 및 대기 시간 관련 통계를 초기화합니다.
+	 */
+	public void ResetStatistics()
+	{
+		handle_averageWakeUpJitter.setOpaque(this, 0L);
+		handle_maxWakeUpJitter.setOpaque(this, 0L);
+		handle_totalParked.setOpaque(this, 0L);
+		handle_totalSpun.setOpaque(this, 0L);
+	}
+}
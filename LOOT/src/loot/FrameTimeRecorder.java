@@ -0,0 +1,339 @@
+package loot;
+
+import java.io.PrintWriter;
+
+/**
+ * 게임 루프의 각 프레임이 어느 단계에서 얼마나 시간을 사용했는지 기록하는 클래스입니다.<br>
+ * <br>
+ * GameLoop.GetFPS()는 지난 60프레임의 평균만 보여 주므로 가끔씩 발생하는 '끊김'을 찾기 어렵습니다.<br>
+ * 이 클래스는 최근 프레임들의 Update(), Draw(), 대기, 전체 시간을 각각 기록해 두고<br>
+ * 원하는 만큼의 최근 프레임에 대한 백분위수(p50 / p90 / p99)와 최댓값을 계산해 줍니다.<br>
+ * <br>
+ * 기록은 미리 만들어 둔 배열에만 하므로 게임 실행 중에 새로운 객체를 만들지 않습니다.<br>
+ * 여러분이 이 클래스를 직접 만들 일은 없으며 GameLoop.GetFrameTimeRecorder()를 통해 사용하면 됩니다.
+ *
+ * @author Racin
+ *
+ */
+public class FrameTimeRecorder
+{
+	/**
+	 * 한 프레임을 구성하는 단계를 나타냅니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	public enum Phase
+	{
+		/**
+		 * Update() 호출에 사용한 시간입니다. 고정 간격 모드에서는 한 프레임 안에서 호출한 모든 Update()의 합입니다.
+		 */
+		Update,
+
+		/**
+		 * Draw() 호출에 사용한 시간입니다. 분리 그리기 모드에서는 Capture()에 사용한 시간입니다.
+		 */
+		Draw,
+
+		/**
+		 * 다음 프레임을 시작할 시각까지 대기한 시간입니다.
+		 */
+		Wait,
+
+		/**
+		 * 프레임 시작부터 다음 프레임 시작까지의 전체 시간입니다.
+		 */
+		Total
+	}
+
+	/**
+	 * 백분위수 계산 결과를 담는 클래스입니다.<br>
+	 * 매번 새로 만들지 않고 하나를 만들어 두고 계속 재사용할 수 있습니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	public static class Summary
+	{
+		/**
+		 * 계산에 사용한 프레임 수입니다.
+		 */
+		public int count;
+
+		public long p50_ns;
+		public long p90_ns;
+		public long p99_ns;
+		public long max_ns;
+
+		/**
+		 * 새로운 Summary class의 인스턴스를 생성합니다. 하나를 만들어 두고 GetSummary()에 계속 넘겨 재사용하세요.
+		 */
+		public Summary()
+		{
+		}
+	}
+
+	/**
+	 * 따로 설정하지 않았을 때 기록해 둘 최근 프레임 수(60FPS 기준 약 1분)
+	 */
+	public static final int defaultCapacity = 3600;
+
+	/**
+	 * 단계별 기록 - records[단계][프레임 번호 % capacity]
+	 */
+	private final long[][] records;
+	private final int capacity;
+
+	/**
+	 * 지금까지 기록한 전체 프레임 수
+	 */
+	private volatile long numberOfFrames;
+
+	/**
+	 * 백분위수 계산을 위해 정렬할 때 사용하는 공간
+	 */
+	private final long[] scratch;
+
+	/**
+	 * 종료 시 기록을 저장할 CSV 파일 경로, null인 경우 저장하지 않음
+	 */
+	private volatile String csvPath;
+	private boolean isCsvWritten;
+
+	/**
+	 * 종료 시 기록을 저장하기 위해 등록해 둔 스레드, 경로를 여러 번 바꾸어도 하나만 등록함
+	 */
+	private Thread shutdownHook;
+
+	/**
+	 * 새로운 FrameTimeRecorder class의 인스턴스를 생성합니다.
+	 *
+	 * @param capacity 기록해 둘 최근 프레임 수입니다.
+	 */
+	FrameTimeRecorder(int capacity)
+	{
+		this.capacity = capacity < 1 ? 1 : capacity;
+		records = new long[Phase.values().length][this.capacity];
+		scratch = new long[this.capacity];
+	}
+
+	/**
+	 * 한 프레임의 기록을 추가합니다. 이 메서드는 게임 루프 스레드가 매 프레임 끝에서 호출합니다.
+	 */
+	void Record(long update_ns, long draw_ns, long wait_ns, long total_ns)
+	{
+		int idx = (int)( numberOfFrames % capacity );
+
+		records[Phase.Update.ordinal()][idx] = update_ns;
+		records[Phase.Draw.ordinal()][idx] = draw_ns;
+		records[Phase.Wait.ordinal()][idx] = wait_ns;
+		records[Phase.Total.ordinal()][idx] = total_ns;
+
+		++numberOfFrames;
+	}
+
+	/**
+	 * 지금까지 기록한 전체 프레임 수를 return합니다.
+	 */
+	public long GetNumberOfFrames()
+	{
+		return numberOfFrames;
+	}
+
+	/**
+	 * 기록해 둘 수 있는 최근 프레임 수를 return합니다.
+	 */
+	public int GetCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * 가장 최근 프레임의 주어진 단계 시간을 나노초 단위로 return합니다. 아직 기록이 없다면 0을 return합니다.
+	 */
+	public long GetLast_ns(Phase phase)
+	{
+		long frames = numberOfFrames;
+
+		if ( frames == 0 )
+			return 0;
+
+		return records[phase.ordinal()][(int)( ( frames - 1 ) % capacity )];
+	}
+
+	/**
+	 * 최근 프레임들의 주어진 단계 시간을 오래된 것부터 순서대로 result에 복사합니다. 새 객체를 만들지 않습니다.<br>
+	 * 게임 루프가 실행되는 도중에 호출해도 되지만, 복사 도중 기록된 프레임은 결과에 섞여 들어갈 수 있습니다.
+	 *
+	 * @param result 복사한 시간을 담을 배열입니다. 최대 result.length개(또는 capacity개)의 최근 프레임을 복사합니다.
+	 * @return 실제로 복사한 프레임 수를 return합니다.
+	 */
+	public int GetRecent_ns(Phase phase, long[] result)
+	{
+		long frames = numberOfFrames;
+		int count = (int)Math.min(Math.min(result.length, capacity), frames);
+		long[] record = records[phase.ordinal()];
+
+		for ( int iFrame = 0; iFrame < count; ++iFrame )
+			result[iFrame] = record[(int)( ( frames - count + iFrame ) % capacity )];
+
+		return count;
+	}
+
+	/**
+	 * 최근 프레임들에 대한 주어진 단계의 백분위수와 최댓값을 계산합니다.<br>
+	 * 게임 루프가 실행되는 도중에 호출해도 되지만, 계산 도중 기록된 프레임은 결과에 섞여 들어갈 수 있습니다.
+	 *
+	 * @param phase 계산할 단계입니다.
+	 * @param windowFrames 계산에 사용할 최근 프레임 수입니다. 기록된 프레임 수 또는 capacity보다 큰 경우 그만큼만 사용합니다.
+	 * @param result 계산 결과를 담을 인스턴스입니다.
+	 * @return result를 그대로 return합니다.
+	 */
+	public synchronized Summary GetSummary(Phase phase, int windowFrames, Summary result)
+	{
+		long frames = numberOfFrames;
+		int count = (int)Math.min(Math.min(windowFrames, capacity), frames);
+
+		result.count = count;
+
+		if ( count <= 0 )
+		{
+			result.count = 0;
+			result.p50_ns = result.p90_ns = result.p99_ns = result.max_ns = 0;
+			return result;
+		}
+
+		//최근 count개의 기록을 복사한 다음 정렬
+		long[] record = records[phase.ordinal()];
+
+		for ( int iFrame = 0; iFrame < count; ++iFrame )
+			scratch[iFrame] = record[(int)( ( frames - 1 - iFrame ) % capacity )];
+
+		Sort(scratch, count);
+
+		result.p50_ns = scratch[RankOf(0.50, count)];
+		result.p90_ns = scratch[RankOf(0.90, count)];
+		result.p99_ns = scratch[RankOf(0.99, count)];
+		result.max_ns = scratch[count - 1];
+
+		return result;
+	}
+
+	/**
+	 * 정렬된 count개의 값 중 주어진 백분위수에 해당하는 위치를 return합니다(nearest-rank 방식).
+	 */
+	private static int RankOf(double percentile, int count)
+	{
+		int rank = (int)Math.ceil(percentile * count) - 1;
+
+		return rank < 0 ? 0 : rank;
+	}
+
+	/**
+	 * 배열의 앞쪽 count개를 오름차순으로 정렬합니다.<br>
+	 * Arrays.sort()는 경우에 따라 내부적으로 배열을 새로 만들기 때문에 간단한 셸 정렬을 직접 사용합니다.
+	 */
+	private static void Sort(long[] values, int count)
+	{
+		for ( int gap = count / 2; gap > 0; gap /= 2 )
+		{
+			for ( int i = gap; i < count; ++i )
+			{
+				long value = values[i];
+				int j = i;
+
+				while ( j >= gap && values[j - gap] > value )
+				{
+					values[j] = values[j - gap];
+					j -= gap;
+				}
+
+				values[j] = value;
+			}
+		}
+	}
+
+	/**
+	 * 게임 루프가 끝날 때(또는 프로그램이 종료될 때) 기록을 저장할 CSV 파일 경로를 설정합니다.<br>
+	 * null을 지정하면 저장하지 않습니다. 기본값은 null입니다.<br>
+	 * 이미 경로를 설정해 두었다면 새 경로로 바꾸며, 이전 경로에 이미 저장했더라도 새 경로에는 다시 저장합니다.
+	 */
+	public synchronized void SetCsvPath(String path)
+	{
+		csvPath = path;
+		isCsvWritten = false;
+
+		//창을 닫아 프로그램이 바로 종료되는 경우에도 기록을 저장할 수 있도록 함
+		if ( path != null && shutdownHook == null )
+		{
+			shutdownHook = new Thread(this::WriteCsvOnShutdown);
+			Runtime.getRuntime().addShutdownHook(shutdownHook);
+		}
+		else if ( path == null && shutdownHook != null )
+		{
+			//이미 종료 중이라면 등록을 해제할 수 없으나 경로가 null이므로 저장하지 않음
+			try
+			{
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+				shutdownHook = null;
+			}
+			catch ( IllegalStateException e )
+			{
+			}
+		}
+	}
+
+	/**
+	 * 기록해 둔 최근 프레임들을 CSV 파일로 저장합니다.<br>
+	 * 각 줄은 프레임 번호와 단계별 시간(나노초)으로 구성됩니다.
+	 *
+	 * @param path 저장할 파일 경로입니다.
+	 * @return 성공적으로 저장한 경우 true를 return합니다.
+	 */
+	public synchronized boolean WriteCsv(String path)
+	{
+		long frames = numberOfFrames;
+		long first = Math.max(0, frames - capacity);
+
+		try ( PrintWriter writer = new PrintWriter(path, "UTF-8") )
+		{
+			writer.println("frame,update_ns,draw_ns,wait_ns,total_ns");
+
+			for ( long iFrame = first; iFrame < frames; ++iFrame )
+			{
+				int idx = (int)( iFrame % capacity );
+
+				writer.print(iFrame);
+				for ( long[] record : records )
+				{
+					writer.print(',');
+					writer.print(record[idx]);
+				}
+				writer.println();
+			}
+
+			return writer.checkError() == false;
+		}
+		catch ( Exception e )
+		{
+			//파일을 만들지 못 한 경우 실패
+			return false;
+		}
+	}
+
+	/**
+	 * SetCsvPath()로 경로가 설정되어 있다면 기록을 저장합니다. 여러 번 호출되어도 한 번만 저장합니다.
+	 */
+	synchronized void WriteCsvOnShutdown()
+	{
+		String path = csvPath;
+
+		if ( path == null || isCsvWritten == true )
+			return;
+
+		isCsvWritten = true;
+
+		if ( WriteCsv(path) == false )
+			System.err.println("Error. 프레임 시간 기록을 " + path + "에 저장하지 못 했습니다.");
+	}
+}
@@ -2,15 +2,22 @@ package loot;
 
 import java.awt.Canvas;
 import java.awt.Color;
-import java.awt.Font;
+import java.awt.DisplayMode;
+import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.GridBagLayout;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
-import java.awt.image.BufferStrategy;
-import java.util.HashMap;
 
 import javax.swing.JFrame;
 
+import loot.graphics.DirtyRegion;
+import loot.graphics.TextCache;
+import loot.graphics.VisualSnapshot;
+
 /**
  * LOOT 라이브러리의 각 요소를 사용하며 창 전체를 게임 화면으로 삼아 동작하는<br>
  * 게임 창 하나를 나타내는 클래스입니다.<br>
@@ -21,7 +28,7 @@ import javax.swing.JFrame;
  *
  */
 @SuppressWarnings("serial")
-public abstract class GameFrame extends JFrame implements IGameLoopMethods
+public abstract class GameFrame extends JFrame implements IPipelinedGameLoopMethods
 {
 	
 	/* ----------------------------------------------
@@ -69,6 +76,27 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 */
 	protected GameLoop loop;
 	
+	/**
+	 * 바뀐 영역만 다시 그리는 모드(GameFrameSettings.canvas_use_dirtyRegions)에서 다시 그릴 영역을 모아 둡니다.<br>
+	 * 이 모드를 사용하는 경우 화면에 그리는 요소들을 <code>dirtyRegion.Track(요소)</code>로 등록해 두고<br>
+	 * 선이나 문자열처럼 요소가 아닌 것의 모습이 바뀌었다면 Update()에서 <code>dirtyRegion.Add()</code>로 해당 영역을 추가하세요.<br>
+	 * 이 모드를 사용하지 않는 경우 이 필드는 아무 영향도 주지 않습니다.
+	 */
+	protected DirtyRegion dirtyRegion;
+	
+	/**
+	 * 적은 문자열을 Image에 미리 그려 두었다가 다시 사용하는 요소입니다.<br>
+	 * GameFrameSettings.canvas_textCache_maxBytes를 0보다 크게 설정한 경우 DrawString()이 이 요소를 사용합니다.<br>
+	 * TextBox도 이 요소를 사용하게 하려면 <code>textBox.textCache = textCache;</code>와 같이 TextBox의 textCache 필드에 넣어 두세요.
+	 */
+	protected TextCache textCache;
+	
+	/**
+	 * 게임에서 사용할 임의의 수를 만들어 줍니다. Math.random() 대신 <code>random.NextDouble()</code>, <code>random.NextInt(개수)</code>를 사용하세요.<br>
+	 * 이 요소를 사용하면 seed(GameFrameSettings.random_seed)가 같을 때 항상 같은 수들이 나오며, 기록한 입력을 재생할 때 게임이 기록할 때와 똑같이 진행됩니다.
+	 */
+	protected RandomSource random;
+	
 	
 	/* ----------------------------------------------
 	 * 
@@ -96,13 +124,7 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 */
 	public void BeginDraw()
 	{
-		if ( g == null )
-		{
-			buf = canvas.getBufferStrategy();
-			g = (Graphics2D)buf.getDrawGraphics();
-			g.setFont(currentFont);
-			g.setColor(currentColor);
-		}
+		g = painter.BeginDraw();
 	}
 	
 	/**
@@ -111,14 +133,14 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 * 이 때 반드시 Draw() 시작 부분에서 BeginDraw()를,<br>
 	 * 끝 부붙에서 EndDraw()를 호출해 주어야 합니다.<br>
 	 * <br>
-	 * 전체 화면을 지우고 배경색으로 다시 칠합니다.<br>
+	 * 전체 화면을 지우고 배경색으로 다시 칠합니다(바뀐 영역만 다시 그리는 모드에서는 다시 그릴 영역만 지웁니다).<br>
 	 * 여러분이 작성하는 Draw()에서 BeginDraw()를 호출한 다음에 바로 이 메서드를 실행하면<br>
 	 * 이전에 그려 둔 내용을 모두 지우고 새 그림을 그릴 수 있게 됩니다.<br>
 	 * 배경색 설정은 GameFrameSettings class 안에 있는 canvas_backgroundColor 필드를 통해 할 수 있습니다.
 	 */
 	public void ClearScreen()
 	{
-		g.clearRect(0, 0, settings.canvas_width, settings.canvas_height);
+		painter.ClearScreen();
 	}
 
 	/**
@@ -134,7 +156,7 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 */
 	public void LoadColor(Color newColor)
 	{
-		currentColor = newColor;
+		painter.LoadColor(newColor);
 	}
 	
 	/**
@@ -151,8 +173,7 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 */
 	public void SetColor(Color newColor)
 	{
-		g.setColor(newColor);
-		currentColor = newColor;
+		painter.SetColor(newColor);
 	}
 	
 	/**
@@ -177,25 +198,7 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 */
 	public boolean LoadFont(String fontName)
 	{
-		//아직 해당 이름의 글자체를 가져온 적이 없다면 지금 시도
-		if ( fonts.containsKey(fontName) == false )
-		{
-			Font newFont = Font.decode(fontName);
-			
-			//해당 이름의 글자체가 없다면 실패
-			if ( newFont == null )
-			{
-				System.err.println("Error. 이름이 " + fontName + "인 글자체가 존재하지 않습니다.");
-				return false;
-			}
-			
-			//로드한 글자체를 목록에 추가
-			fonts.put(fontName, newFont);
-		}
-		
-		//가져온 글자체를 현재 글자체로 설정
-		currentFont = fonts.get(fontName);
-		return true;
+		return painter.LoadFont(fontName);
 	}
 	
 	/**
@@ -224,15 +227,7 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 */
 	public boolean SetFont(String fontName)
 	{
-		//해당 이름의 글자체를 이미 가져왔거나 지금 가져올 수 있다면 현재 글자체로 설정
-		if ( LoadFont(fontName) == true )
-		{
-			g.setFont(currentFont);
-			return true;
-		}
-		
-		//해당 이름의 글자체가 없다면 실패
-		return false;
+		return painter.SetFont(fontName);
 	}
 	
 	/**
@@ -245,6 +240,11 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 * 생성된 문자열은<br>
 	 * LoadColor() 또는 SetColor()를 통해 지정된 색과<br>
 	 * LoadFont() 또는 SetFont()를 통해 지정된 글자체를 사용하여 그려집니다.<br>
+	 * <br>
+	 * 한 번 사용한 양식은 분석 결과를 보관해 두고, 새 문자열을 만들지 않고 재사용하는 버퍼에 글자를 채워 그립니다.<br>
+	 * 따라서 양식으로는 가능하면 문자열 상수를 사용하고, 바뀌는 값은 문자열을 이어 붙이는 대신 인자로 넘기세요.<br>
+	 * %d, %x, %f, %s, %c 이외의 양식은 예전처럼 String.format()으로 처리됩니다.<br>
+	 * GameFrameSettings.canvas_textCache_maxBytes를 설정한 경우 완성된 문자열은 textCache를 통해 그려집니다.
 	 * 
 	 * @param left 문자열을 그리기 시작할 위치(첫 글자의 왼쪽 모서리)를 나타내는 x좌표입니다.
 	 * @param bottom 문자열을 그리기 시작할 위치(첫 글자의 아랫 모서리)를 나타내는 y좌표입니다.
@@ -253,23 +253,195 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 	 */
 	public void DrawString(int left, int bottom, String format, Object... args)
 	{
-		g.drawString(String.format(format, args), left, bottom);
+		painter.DrawString(left, bottom, format, args);
+	}
+	
+	/**
+	 * DrawString(left, bottom, format, args)와 같습니다. 인자가 없는 경우 이 메서드가 대신 호출되며 인자 배열을 만들지 않습니다.
+	 */
+	public void DrawString(int left, int bottom, String format)
+	{
+		painter.DrawString(left, bottom, format);
+	}
+	
+	/**
+	 * DrawString(left, bottom, format, args)와 같습니다. 인자가 int 하나인 경우 이 메서드가 대신 호출되며 인자 배열과 상자(boxing)를 만들지 않습니다.
+	 */
+	public void DrawString(int left, int bottom, String format, int arg)
+	{
+		painter.DrawString(left, bottom, format, arg);
+	}
+	
+	/**
+	 * DrawString(left, bottom, format, args)와 같습니다. 인자가 long 하나인 경우 이 메서드가 대신 호출되며 인자 배열과 상자(boxing)를 만들지 않습니다.
+	 */
+	public void DrawString(int left, int bottom, String format, long arg)
+	{
+		painter.DrawString(left, bottom, format, arg);
+	}
+	
+	/**
+	 * DrawString(left, bottom, format, args)와 같습니다. 인자가 double 하나인 경우 이 메서드가 대신 호출되며 인자 배열과 상자(boxing)를 만들지 않습니다.
+	 */
+	public void DrawString(int left, int bottom, String format, double arg)
+	{
+		painter.DrawString(left, bottom, format, arg);
+	}
+	
+	/**
+	 * DrawString(left, bottom, format, args)와 같습니다. 인자가 객체 하나인 경우 이 메서드가 대신 호출되며 인자 배열을 만들지 않습니다.
+	 */
+	public void DrawString(int left, int bottom, String format, Object arg)
+	{
+		painter.DrawString(left, bottom, format, arg);
+	}
+	
+	/**
+	 * DrawString(left, bottom, format, args)와 같습니다. 인자가 객체 두 개인 경우 이 메서드가 대신 호출되며 인자 배열을 만들지 않습니다.
+	 */
+	public void DrawString(int left, int bottom, String format, Object arg0, Object arg1)
+	{
+		painter.DrawString(left, bottom, format, arg0, arg1);
 	}
 
 	/**
 	 * 주의: 이 메서드는 여러분이 작성하는 Draw()의 끝 부분에서 반드시 호출되어야 합니다.<br>
 	 * <br>
-	 * 게임 화면 그리기 작업을 종료하고 화면을 갱신합니다.
+	 * 게임 화면 그리기 작업을 종료하고 화면을 갱신합니다.<br>
+	 * 그리는 도중 또는 표시하는 도중 버퍼의 내용을 잃은 경우(다른 프로그램이 화면을 독점했다가 돌려준 경우 등)<br>
+	 * 게임 루프가 다음 프레임에 Draw()를 다시 호출하도록 요청합니다.
 	 */
 	public void EndDraw()
 	{
-		if ( g != null )
+		painter.EndDraw();
+		g = null;
+	}
+	
+	/**
+	 * 게임 화면이 페이지 넘기기 방식으로 표시되고 있는지 여부를 return합니다.<br>
+	 * false인 경우 복사 방식으로 표시되고 있습니다. 자세한 내용은 GameFrameSettings.canvas_bufferingMode를 참고하세요.
+	 */
+	public boolean IsPageFlipping()
+	{
+		return target.isPageFlipping;
+	}
+	
+	/**
+	 * 게임 창이 실제로 사용하고 있는 전체 화면 방식을 return합니다.<br>
+	 * 전용 전체 화면을 요청했지만 실행 환경이 지원하지 않아 테두리 없는 창을 대신 사용하고 있다면 FullscreenMode.Borderless를 return합니다.<br>
+	 * 창을 띄우기(setVisible(true)) 전에는 항상 FullscreenMode.Windowed를 return합니다.
+	 */
+	public GameFrameSettings.FullscreenMode GetFullscreenMode()
+	{
+		return fullscreenMode;
+	}
+	
+	/**
+	 * 게임 화면이 실제로 사용하고 있는 버퍼 수를 return합니다.
+	 */
+	public int GetNumberOfBuffers()
+	{
+		return target.numberOfBuffers;
+	}
+	
+	/**
+	 * 가장 최근에 EndDraw()에서 다 그린 화면을 표시하는 데(BufferStrategy.show()) 걸린 시간을 나노초 단위로 return합니다.<br>
+	 * 이중 버퍼링에서 이 값이 프레임 간격에 가깝게 크다면 화면 표시를 기다리느라 게임 루프가 늦어지고 있다는 뜻이며 삼중 버퍼링이 도움이 될 수 있습니다.
+	 */
+	public long GetLastShowDuration_ns()
+	{
+		return target.lastShowDuration_ns;
+	}
+	
+	/**
+	 * 지금까지 버퍼의 내용을 잃어 다시 그려야 했던 프레임 수를 return합니다.
+	 */
+	public long GetNumberOfLostFrames()
+	{
+		return target.numberOfLostFrames;
+	}
+	
+	/**
+	 * 논리 해상도 모드(GameFrameSettings.canvas_use_logicalResolution)에서 실제로 그릴 해상도의 배율을 바꿉니다.<br>
+	 * 0.25 이상 1 이하의 값으로 제한되며, 바꾸면 다음 프레임에 전체 화면을 다시 그립니다.<br>
+	 * 게임 도중 언제든 호출할 수 있으며, 논리 해상도 모드가 아니라면 아무 영향도 주지 않습니다.
+	 */
+	public void SetRenderScale(double scale)
+	{
+		target.SetRenderScale(scale);
+		loop.RequestRedraw();
+	}
+	
+	/**
+	 * SetRenderScale()로 설정한 렌더 스케일을 return합니다. 논리 해상도 모드가 아니라면 항상 1입니다.
+	 */
+	public double GetRenderScale()
+	{
+		return target.GetRenderScale();
+	}
+	
+	/**
+	 * 그린 화면을 파일로 저장(화면 캡처)하는 요소를 return합니다.<br>
+	 * 버그를 알릴 때 지금 화면을 남기려면 <code>GetFrameCapture().RequestCapture()</code>를 호출하세요. 자세한 내용은 FrameCapture class를 참고하세요.
+	 */
+	public FrameCapture GetFrameCapture()
+	{
+		return capture;
+	}
+	
+	/**
+	 * 게임 화면 위에 성능 정보(FPS, 프레임 시간 그래프 등)를 그리는 요소를 return합니다.<br>
+	 * 버튼을 눌렀을 때 <code>GetPerformanceOverlay().Toggle()</code>을 호출하여 켜고 끌 수 있습니다. 자세한 내용은 PerformanceOverlay class를 참고하세요.
+	 */
+	public PerformanceOverlay GetPerformanceOverlay()
+	{
+		return overlay;
+	}
+	
+	/**
+	 * 게임 화면을 그려 넣는 대상을 return합니다.
+	 */
+	public RenderTarget GetRenderTarget()
+	{
+		return target;
+	}
+	
+	/**
+	 * 분리 그리기 모드(GameFrameSettings.gameLoop_use_pipelinedDrawing)에서 Update()가 Draw()를 요청할 때마다 게임 루프 스레드에서 호출됩니다.<br>
+	 * 이 모드를 사용하는 경우 이 메서드를 override하여 화면에 그릴 요소들을 <code>snapshot.Add(요소)</code> 등을 통해 순서대로 추가하세요.<br>
+	 * 이 메서드를 override하지 않은 채 분리 그리기 모드를 켜면 GameFrame은 오류 메시지를 출력하고 일반 모드로 실행합니다.
+	 */
+	@Override
+	public void Capture(VisualSnapshot snapshot)
+	{
+	}
+
+	/**
+	 * 이 창의 class(또는 그 상위 class)가 Capture()를 override했는지 여부를 return합니다.
+	 */
+	private boolean IsCaptureOverridden()
+	{
+		try
 		{
-			g.clipRect(0, 0, settings.canvas_width, settings.canvas_height);
-			buf.show();
-			g.dispose();
-			g = null;
+			return getClass().getMethod("Capture", VisualSnapshot.class).getDeclaringClass() != GameFrame.class;
 		}
+		catch ( NoSuchMethodException e )
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * 분리 그리기 모드에서 그리기 스레드가 호출하는 메서드입니다.<br>
+	 * 게임 화면을 지운 다음 Capture()로 만들어 둔 복사본을 그립니다.
+	 */
+	@Override
+	public void Draw(long timeStamp, VisualSnapshot snapshot)
+	{
+		BeginDraw();
+		ClearScreen();
+		snapshot.Draw(g);
+		EndDraw();
 	}
 	
 	/* ----------------------------------------------
@@ -293,58 +465,252 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 		setTitle(this.settings.window_title);		//창 제목을 주어진 문자열로 설정 
 		setDefaultCloseOperation(EXIT_ON_CLOSE);	//창을 닫으면 프로그램 전체가 종료되도록 설정
 		setLocationByPlatform(true);				//창의 초기 위치를 OS가 알아서 정해 주도록 설정
-		setResizable(false);						//창의 크기를 사용자가 직접 바꿀 수 없도록 설정
+		setResizable(this.settings.canvas_use_logicalResolution);	//논리 해상도 모드가 아니라면 창의 크기를 사용자가 직접 바꿀 수 없도록 설정
 		setIgnoreRepaint(true);						//창의 '자동 다시 그리기' 옵션을 해제 -> 항상 Draw()를 통해 수동으로 다시 그림
 		
+		//전체 화면을 사용한다면 창 테두리를 없애고(창이 화면에 뜨기 전에만 바꿀 수 있음) 실제 전환은 setVisible(true)에서 수행
+		if ( this.settings.window_fullscreenMode != GameFrameSettings.FullscreenMode.Windowed )
+		{
+			setUndecorated(true);
+			setResizable(false);
+			getContentPane().setBackground(Color.BLACK);
+			
+			//논리 해상도 모드가 아니라면 게임 화면을 원래 크기 그대로 가운데에 배치
+			if ( this.settings.canvas_use_logicalResolution == false )
+				getContentPane().setLayout(new GridBagLayout());
+			
+			isFullscreenPending = true;
+		}
+		
+		//Capture()를 override하지 않았다면 분리 그리기 모드에서는 빈 화면만 그려지므로 일반 Draw()를 사용하도록 함
+		if ( this.settings.gameLoop_use_pipelinedDrawing && IsCaptureOverridden() == false )
+		{
+			System.err.println("Error. 분리 그리기 모드를 사용하려면 Capture()를 override해야 합니다. 일반 모드로 실행합니다.");
+			this.settings.gameLoop_use_pipelinedDrawing = false;
+		}
+		
+		isDirtyRegionEnabled = this.settings.canvas_use_dirtyRegions;
+		
+		if ( isDirtyRegionEnabled && this.settings.gameLoop_use_pipelinedDrawing )
+		{
+			System.err.println("Error. 분리 그리기 모드에서는 바뀐 영역만 다시 그리는 모드를 사용할 수 없어 매 프레임 전체 화면을 다시 그립니다.");
+			isDirtyRegionEnabled = false;
+		}
+		
+		//모드가 꺼져 있다면 영역을 가져갈 곳이 없으므로 아예 모으지 않도록 함
+		dirtyRegion = new DirtyRegion(isDirtyRegionEnabled);
+		
 		//Canvas(게임 화면) 설정
-		canvas = new Canvas();
+		canvas = new Canvas()
+		{
+			//다른 창에 가려졌던 부분 등 운영체제가 다시 그려 달라고 요청하면 게임 루프가 다음 프레임에 Draw()를 호출하도록 함(유휴 상태에서도 화면이 지워진 채로 남지 않도록)
+			@Override
+			public void paint(Graphics g)
+			{
+				if ( loop != null )
+				{
+					dirtyRegion.AddAll();
+					loop.RequestRedraw();
+				}
+			}
+		};
 		canvas.setSize(settings.canvas_width, settings.canvas_height);	//게임 화면의 크기를 주어진 값으로 설정
 		canvas.setBackground(settings.canvas_backgroundColor);			//게임 화면의 배경색을 주어진 값으로 설정
 		add(canvas);													//게임 화면을 창에 추가
 		pack();															//창의 크기를 게임 화면 크기에 맞게 변경
-		canvas.createBufferStrategy(2);									//게임 화면이 더블 버퍼링을 지원하도록 설정
 
 		//기타 요소 설정
 		
 		inputs = new InputManager(canvas, settings.numberOfButtons);
+		inputs.SetOverflowPolicy(this.settings.input_overflowPolicy);
+		if ( this.settings.canvas_use_logicalResolution )
+			inputs.SetLogicalSize(settings.canvas_width, settings.canvas_height);	//창 크기와 관계 없이 마우스 커서 위치를 논리 해상도의 좌표로 기록
 		setFocusable(false);			//창이 직접 입력을 받을 수는 없도록 설정
 		canvas.setFocusable(true);		//(창 대신) 게임 화면이 직접 입력을 받도록 설정
 
 		images = new ImageResourceManager();
 		audios = new AudioManager();
 		
-		loop = new GameLoop(settings.gameLoop_use_virtualTimingMode, settings.gameLoop_interval_ns, this);
-		fonts = new HashMap<>();
+		loop = GameLoop.Create(this.settings, this);
+		inputs.SetLoopToWake(loop);		//입력이 들어오면 유휴 상태인 게임 루프를 바로 깨우도록 설정
+		
+		random = new RandomSource(this.settings.random_seed);
+		inputs.SetRandomSource(random);
+		if ( this.settings.input_replayFile != null )
+			inputs.StartReplay(this.settings.input_replayFile);
+		else if ( this.settings.input_recordFile != null )
+			inputs.StartRecording(this.settings.input_recordFile);
+		
+		//게임 화면이 이중 / 삼중 버퍼링을 지원하도록 설정
+		capture = FrameCapture.Create(this.settings);
+		target = new CanvasRenderTarget(canvas, this.settings, dirtyRegion, isDirtyRegionEnabled, loop, capture);
+		textCache = new TextCache(this.settings.canvas_textCache_maxBytes);
+		overlay = new PerformanceOverlay(loop, inputs, dirtyRegion, this.settings.gameLoop_interval_ns);
+		overlay.SetVisible(this.settings.canvas_use_performanceOverlay);
+		painter = new Painter(target, textCache, loop.GetQualityGovernor(), capture, overlay);
 
 		//Frame 이벤트 수신기 설정
 		addWindowListener(listener_window_activated);	//창이 처음 열렸을 때 바로 게임이 실행되도록 구성한 수신기를 창에 연결(listener_window_activated는 파일 하단에 있음)
+		addComponentListener(listener_visibility);		//창이 숨겨지면 게임 루프를 일시 정지하도록 구성한 수신기를 창에 연결
 	}
 	
 	/**
-	 * 게임 화면의 이중 버퍼링 기능을 사용하기 위해 필요한 필드입니다.
+	 * 게임 화면을 실제로 그려 넣는 대상입니다. 창을 만들 때 한 번 만들어 두고 계속 사용합니다.
 	 */
-	private BufferStrategy buf;
-
+	private CanvasRenderTarget target;
+	
+	/**
+	 * 현재 색과 글자체를 관리하며 target에 그리는 도구입니다.
+	 */
+	private Painter painter;
+	
+	/**
+	 * 그린 화면을 파일로 저장하는 요소입니다.
+	 */
+	private FrameCapture capture;
+	
+	/**
+	 * 게임 화면 위에 성능 정보를 그리는 요소입니다.
+	 */
+	private PerformanceOverlay overlay;
+	
 	/**
-	 * 현재 지정된 색입니다.<br>
-	 * BeginDraw()를 호출할 때 여기 지정된 색이 자동으로 '지금 그릴 색'으로 설정됩니다.<br>
-	 * 이 필드의 값을 바꾸려면 LoadColor() 또는 SetColor()를 사용하세요.
+	 * 바뀐 영역만 다시 그리는 모드를 사용하는지 여부
 	 */
-	private Color currentColor;
+	private boolean isDirtyRegionEnabled;
 	
 	/**
-	 * 현재 지정된 글자체입니다.<br>
-	 * BeginDraw()를 호출할 때 여기 지정된 글자체가 자동으로 '지금 사용할 글자체'로 설정됩니다.<br>
-	 * 이 필드의 값을 바꾸려면 LoadFont() 또는 SetFont()를 사용하세요.
+	 * 아직 전체 화면으로 전환하지 않았는지 여부 - 처음 setVisible(true)를 호출할 때 전환
 	 */
-	private Font currentFont;
+	private boolean isFullscreenPending;
+	
+	/**
+	 * 실제로 사용하고 있는 전체 화면 방식
+	 */
+	private volatile GameFrameSettings.FullscreenMode fullscreenMode = GameFrameSettings.FullscreenMode.Windowed;
+	
+	/**
+	 * 전체 화면을 사용하도록 설정한 경우 처음으로 창을 띄울 때 전체 화면으로 전환합니다.
+	 */
+	@Override
+	public void setVisible(boolean isVisible)
+	{
+		if ( isVisible && isFullscreenPending )
+		{
+			isFullscreenPending = false;
+			EnterFullscreen();
+			return;
+		}
+		
+		super.setVisible(isVisible);
+	}
+	
+	/**
+	 * 전용 전체 화면으로 창을 닫는 경우 모니터를 원래 상태로 되돌립니다.
+	 */
+	@Override
+	public void dispose()
+	{
+		GraphicsDevice device = getGraphicsConfiguration().getDevice();
+		
+		if ( fullscreenMode == GameFrameSettings.FullscreenMode.Exclusive && device.getFullScreenWindow() == this )
+			device.setFullScreenWindow(null);
+		
+		fullscreenMode = GameFrameSettings.FullscreenMode.Windowed;
+		super.dispose();
+	}
+	
+	/**
+	 * 설정에 맞게 전용 전체 화면 또는 테두리 없는 창으로 전환하고 창을 띄웁니다.<br>
+	 * 전용 전체 화면을 사용할 수 없다면 테두리 없는 창을 대신 사용하며 그 사실을 출력합니다.
+	 */
+	private void EnterFullscreen()
+	{
+		GraphicsDevice device = getGraphicsConfiguration().getDevice();
+		
+		if ( settings.window_fullscreenMode == GameFrameSettings.FullscreenMode.Exclusive )
+		{
+			if ( device.isFullScreenSupported() )
+			{
+				device.setFullScreenWindow(this);
+				
+				if ( device.getFullScreenWindow() == this )
+				{
+					fullscreenMode = GameFrameSettings.FullscreenMode.Exclusive;
+					ChangeDisplayMode(device);
+				}
+			}
+			
+			if ( fullscreenMode != GameFrameSettings.FullscreenMode.Exclusive )
+				System.err.println("Error. 이 환경에서는 전용 전체 화면을 사용할 수 없어 테두리 없는 창으로 대신 표시합니다.");
+		}
+		
+		//테두리 없는 창 - 모니터 전체를 덮도록 배치
+		if ( fullscreenMode != GameFrameSettings.FullscreenMode.Exclusive )
+		{
+			setBounds(device.getDefaultConfiguration().getBounds());
+			super.setVisible(true);
+			fullscreenMode = GameFrameSettings.FullscreenMode.Borderless;
+		}
+		
+		//Canvas의 크기와 위치가 바뀌었으므로 새 환경에 맞는 BufferStrategy를 다시 만듦(전용 전체 화면에서는 페이지 넘기기를 사용할 수 있게 될 수 있음)
+		validate();
+		target.RequestRecreate();
+		canvas.requestFocus();
+	}
 	
 	/**
-	 * 현재까지 가져온 글자체 목록입니다.<br>
-	 * 글자체 가져오기 작업은 시간이 꽤 오래 걸리므로<br>
-	 * 한 번 가져온 글자체는 여기에 담아 둔 다음 계속 재사용하게 됩니다.
+	 * 전용 전체 화면에서 설정한 해상도와 주사율에 가장 잘 맞는 모니터 설정을 찾아 적용합니다.<br>
+	 * 해상도를 설정하지 않았다면 아무것도 하지 않습니다.
 	 */
-	private HashMap<String, Font> fonts;
+	private void ChangeDisplayMode(GraphicsDevice device)
+	{
+		int width = settings.window_fullscreen_displayWidth;
+		int height = settings.window_fullscreen_displayHeight;
+		
+		if ( width <= 0 || height <= 0 )
+			return;
+		
+		if ( device.isDisplayChangeSupported() == false )
+		{
+			System.err.println("Error. 이 환경에서는 모니터 해상도를 바꿀 수 없어 현재 해상도를 그대로 사용합니다.");
+			return;
+		}
+		
+		//해상도가 같은 것들 중 주사율이 맞는 것(주사율을 정하지 않았다면 가장 높은 것), 그 다음으로 색 깊이가 가장 큰 것을 선택
+		DisplayMode best = null;
+		
+		for ( DisplayMode mode : device.getDisplayModes() )
+		{
+			if ( mode.getWidth() != width || mode.getHeight() != height )
+				continue;
+			
+			if ( settings.window_fullscreen_refreshRate > 0 &&
+				 mode.getRefreshRate() != settings.window_fullscreen_refreshRate &&
+				 mode.getRefreshRate() != DisplayMode.REFRESH_RATE_UNKNOWN )
+				continue;
+			
+			if ( best == null ||
+				 mode.getRefreshRate() > best.getRefreshRate() ||
+				 mode.getRefreshRate() == best.getRefreshRate() && mode.getBitDepth() > best.getBitDepth() )
+				best = mode;
+		}
+		
+		if ( best == null )
+		{
+			System.err.println("Error. 모니터가 " + width + "x" + height + " 해상도를 지원하지 않아 현재 해상도를 그대로 사용합니다.");
+			return;
+		}
+		
+		try
+		{
+			device.setDisplayMode(best);
+		}
+		catch ( IllegalArgumentException | UnsupportedOperationException e )
+		{
+			System.err.println("Error. 모니터 해상도를 " + width + "x" + height + "(으)로 바꾸지 못해 현재 해상도를 그대로 사용합니다.");
+		}
+	}
 	
 	/**
 	 * 창이 처음 열렸을 때 바로 게임이 실행되도록 구성하기 위한 이벤트 수신기입니다.<br>
@@ -356,11 +722,36 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 		boolean isFirstActivation = false;
 		
 		public void windowOpened(WindowEvent e) { }
-		public void windowIconified(WindowEvent e) { }
-		public void windowDeiconified(WindowEvent e) { }
 		public void windowDeactivated(WindowEvent e) { }
 		public void windowClosing(WindowEvent e) { }
-		public void windowClosed(WindowEvent e) { }
+		
+		/**
+		 * 창이 최소화되면 게임 루프를 일시 정지합니다.
+		 */
+		@Override
+		public void windowIconified(WindowEvent e)
+		{
+			loop.Pause();
+		}
+		
+		/**
+		 * 최소화된 창이 다시 열리면 게임 루프를 다시 진행합니다.
+		 */
+		@Override
+		public void windowDeiconified(WindowEvent e)
+		{
+			loop.Resume();
+		}
+		
+		/**
+		 * dispose()를 통해 창이 완전히 닫히면 게임 루프를 중단합니다.
+		 */
+		@Override
+		public void windowClosed(WindowEvent e)
+		{
+			loop.Abort();
+			inputs.StopRecording();
+		}
 		
 		/**
 		 * 창이 활성화되었을 때 실행되는 메서드입니다.<br>
@@ -378,8 +769,30 @@ public abstract class GameFrame extends JFrame implements IGameLoopMethods
 			{
 				//이미 첫 활성화가 되었다고 표시하고 게임 루프 시작
 				isFirstActivation = true;
-				loop.Start();
+				
+				if ( settings.gameLoop_use_sharedScheduler )
+					loop.Start(LoopScheduler.GetShared());
+				else
+					loop.Start();
 			}
 		}
 	};
+	
+	/**
+	 * 창이 숨겨졌을 때(setVisible(false)) 게임 루프를 일시 정지하고 다시 보이면 진행하기 위한 이벤트 수신기입니다.
+	 */
+	private ComponentAdapter listener_visibility = new ComponentAdapter()
+	{
+		@Override
+		public void componentHidden(ComponentEvent e)
+		{
+			loop.Pause();
+		}
+		
+		@Override
+		public void componentShown(ComponentEvent e)
+		{
+			loop.Resume();
+		}
+	};
 }
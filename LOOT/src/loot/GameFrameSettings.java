@@ -10,6 +10,57 @@ import java.awt.Color;
  */
 public class GameFrameSettings
 {
+	/**
+	 * 다 그린 게임 화면을 창에 표시하는 방식을 나타냅니다.
+	 * 
+	 * @author Racin
+	 *
+	 */
+	public enum BufferingMode
+	{
+		/**
+		 * 실행 환경이 페이지 넘기기(page flipping)를 지원한다고 알려 오면 페이지 넘기기를, 그렇지 않으면 복사(blit)를 사용합니다.
+		 */
+		Auto,
+		
+		/**
+		 * 그린 버퍼와 표시 중인 버퍼를 통째로 맞바꿉니다. 복사가 없으므로 가장 빠르지만 실행 환경에 따라 지원하지 않을 수 있습니다.<br>
+		 * 지원하지 않는 경우 복사 방식을 대신 사용하며 그 사실을 출력합니다.
+		 */
+		PageFlip,
+		
+		/**
+		 * 그린 버퍼의 내용을 표시 중인 화면에 복사합니다. 어떤 환경에서도 동작합니다.
+		 */
+		Blit
+	}
+	
+	/**
+	 * 게임 창을 화면에 띄우는 방식을 나타냅니다.
+	 * 
+	 * @author Racin
+	 *
+	 */
+	public enum FullscreenMode
+	{
+		/**
+		 * 일반적인 창으로 띄웁니다.
+		 */
+		Windowed,
+		
+		/**
+		 * 모니터 하나를 게임이 독점하는 전용 전체 화면(GraphicsDevice.setFullScreenWindow())으로 띄웁니다.<br>
+		 * 다른 프로그램과 화면을 나누어 쓰지 않으므로 페이지 넘기기를 사용할 수 있는 경우가 많으며, 필요하다면 모니터의 해상도도 바꿀 수 있습니다.<br>
+		 * 실행 환경이 전용 전체 화면을 지원하지 않는 경우 Borderless를 대신 사용하며 그 사실을 출력합니다.
+		 */
+		Exclusive,
+		
+		/**
+		 * 테두리 없는 창을 모니터 전체 크기로 띄웁니다. 어떤 환경에서도 동작하지만 보통 복사 방식으로 표시됩니다.
+		 */
+		Borderless
+	}
+	
 	/**
 	 * 초기에 설정할 창 제목입니다.<br>
 	 * setTitle()을 통해 변경하지 않는 경우 창 제목은 이 필드의 값으로 계속 유지됩니다.<br>
@@ -17,6 +68,31 @@ public class GameFrameSettings
 	 */
 	public String window_title = "개발중!";
 	
+	/**
+	 * 게임 창을 화면에 띄우는 방식을 설정합니다. 자세한 내용은 FullscreenMode를 참고하세요.<br>
+	 * 전체 화면에서 canvas_use_logicalResolution이 true인 경우 게임 화면을 모니터 크기에 맞게 확대 / 축소하여 표시하며,<br>
+	 * 그렇지 않은 경우 canvas_width x canvas_height 크기의 게임 화면을 모니터 가운데에 표시하고 남는 부분은 검은색으로 채웁니다.<br>
+	 * 실제로 사용하게 된 방식은 게임 창을 띄운 다음 GameFrame.GetFullscreenMode()로 확인할 수 있습니다.<br>
+	 * 기본값은 FullscreenMode.Windowed입니다.
+	 */
+	public FullscreenMode window_fullscreenMode = FullscreenMode.Windowed;
+	
+	/**
+	 * 전용 전체 화면에서 사용할 모니터 해상도를 설정합니다. 둘 중 하나라도 0인 경우 모니터의 해상도를 바꾸지 않습니다.<br>
+	 * 모니터가 지원하지 않는 해상도이거나 실행 환경이 해상도 변경을 지원하지 않는 경우 해상도를 바꾸지 않으며 그 사실을 출력합니다.<br>
+	 * 보통 canvas_width, canvas_height와 같은 값으로 설정하면 게임 화면이 모니터를 꽉 채웁니다.<br>
+	 * 기본값은 0입니다.
+	 */
+	public int window_fullscreen_displayWidth = 0;
+	public int window_fullscreen_displayHeight = 0;
+	
+	/**
+	 * 전용 전체 화면에서 모니터 해상도를 바꿀 때 사용할 화면 주사율(Hz)을 설정합니다.<br>
+	 * 0인 경우 주어진 해상도에서 사용할 수 있는 가장 높은 주사율을 사용합니다.<br>
+	 * 기본값은 0입니다.
+	 */
+	public int window_fullscreen_refreshRate = 0;
+	
 	/**
 	 * 게임 화면의 가로 길이(픽셀 수)입니다.<br>
 	 * 기본값은 800입니다. 
@@ -34,6 +110,61 @@ public class GameFrameSettings
 	 * 기본값은 <code>Color.WHITE</code>입니다.
 	 */
 	public Color canvas_backgroundColor = Color.WHITE;
+	
+	/**
+	 * 게임 화면에 사용할 버퍼 수를 설정합니다. 2 또는 3만 사용할 수 있습니다.<br>
+	 * 2인 경우 이중 버퍼링, 3인 경우 삼중 버퍼링을 사용하며<br>
+	 * 삼중 버퍼링에서는 앞서 그린 화면이 표시되기를 기다리지 않고 다음 Draw()를 시작할 수 있는 대신 화면 한 장 만큼의 메모리를 더 사용합니다.<br>
+	 * 기본값은 2입니다.
+	 */
+	public int canvas_numberOfBuffers = 2;
+	
+	/**
+	 * 다 그린 게임 화면을 창에 표시하는 방식을 설정합니다.<br>
+	 * 실제로 사용하게 된 방식은 게임 창을 만든 다음 GameFrame.IsPageFlipping()으로 확인할 수 있습니다.<br>
+	 * 기본값은 BufferingMode.Auto입니다.
+	 */
+	public BufferingMode canvas_bufferingMode = BufferingMode.Auto;
+	
+	/**
+	 * 매 프레임 전체 화면을 다시 그리는 대신 바뀐 영역만 지우고 다시 칠할지 여부를 설정합니다.<br>
+	 * 이 값이 true 인 경우 GameFrame.dirtyRegion에 요소를 등록하거나 바뀐 영역을 추가해 주어야 하며(자세한 내용은 DirtyRegion class를 참고하세요)<br>
+	 * 이전 프레임의 내용을 버퍼에 남겨 두어야 하므로 canvas_numberOfBuffers와 canvas_bufferingMode의 값과 관계 없이 복사 방식의 이중 버퍼링을 사용합니다.<br>
+	 * 분리 그리기 모드에서는 사용할 수 없습니다.<br>
+	 * 기본값은 false입니다.
+	 */
+	public boolean canvas_use_dirtyRegions = false;
+	
+	/**
+	 * DrawString()으로 적은 문자열을 Image에 미리 그려 두었다가 다시 사용할 때 보관할 Image들의 크기 합의 최댓값(byte 수)을 설정합니다.<br>
+	 * 0보다 크게 설정하면 같은 글자체, 색, 문자열을 다시 적을 때 미리 그려 둔 Image를 그대로 칠하므로 시간이 절약됩니다(자세한 내용은 TextCache class를 참고하세요).<br>
+	 * 0인 경우 사용하지 않습니다.<br>
+	 * 기본값은 0입니다.
+	 */
+	public long canvas_textCache_maxBytes = 0;
+	
+	/**
+	 * 게임 화면을 canvas_width x canvas_height 크기의 Image(논리 해상도)에 그린 다음 창 크기에 맞게 한 번에 확대 / 축소하여 표시할 지 여부를 설정합니다.<br>
+	 * 이 값이 true 인 경우 창의 크기를 바꿀 수 있으며, 게임 화면은 가로 / 세로 비율을 유지하며 창에 맞게 표시되고 남는 부분은 검은색으로 채워집니다.<br>
+	 * 게임 코드와 마우스 커서 위치(InputManager.pos_mouseCursor)는 창 크기와 관계 없이 항상 논리 해상도의 좌표를 사용합니다.<br>
+	 * 기본값은 false입니다.
+	 */
+	public boolean canvas_use_logicalResolution = false;
+	
+	/**
+	 * 논리 해상도 모드에서 실제로 그릴 해상도의 배율(렌더 스케일)을 설정합니다. 0.25 이상 1 이하의 값을 사용할 수 있습니다.<br>
+	 * 1보다 작게 설정하면 그만큼 작은 영역에 그린 다음 확대하여 표시하므로 느린 컴퓨터에서 그리는 픽셀 수를 줄일 수 있습니다.<br>
+	 * 게임 코드는 렌더 스케일과 관계 없이 논리 해상도의 좌표를 그대로 사용하면 됩니다. 게임 도중에는 GameFrame.SetRenderScale()로 바꿀 수 있습니다.<br>
+	 * 기본값은 1입니다.
+	 */
+	public double canvas_renderScale = 1;
+	
+	/**
+	 * 게임 화면 왼쪽 위에 FPS, 프레임 시간 그래프, 메모리 사용량 등의 성능 정보를 처음부터 표시할 지 여부를 설정합니다.<br>
+	 * 게임 도중에는 GameFrame.GetPerformanceOverlay().Toggle() 등으로 켜고 끌 수 있습니다. 자세한 내용은 PerformanceOverlay class를 참고하세요.<br>
+	 * 기본값은 false입니다.
+	 */
+	public boolean canvas_use_performanceOverlay = false;
 
 	/**
 	 * 게임을 진행하는 각 프레임 사이의 간격을 나노초 단위로 설정합니다.<br>
@@ -55,6 +186,150 @@ public class GameFrameSettings
 	 */
 	public boolean gameLoop_use_virtualTimingMode = true;
 	
+	/**
+	 * 게임 루프를 고정 간격 모드로 동작시킬지 여부를 설정합니다.<br>
+	 * 이 값이 true 인 경우 실제 시간을 누적해 두었다가 gameLoop_interval_ns만큼 쌓일 때마다 Update()를 한 번씩 호출하며<br>
+	 * Draw()가 오래 걸리더라도 게임 진행 속도는 일정하게 유지됩니다(화면 갱신만 느려집니다).<br>
+	 * 이 값이 true 인 경우 gameLoop_use_virtualTimingMode의 값은 무시됩니다.<br>
+	 * 기본값은 false입니다.
+	 */
+	public boolean gameLoop_use_fixedTimestepMode = false;
+	
+	/**
+	 * 고정 간격 모드에서 한 프레임 안에 '밀린 Update()'를 최대 몇 번까지 연달아 호출할 것인지 설정합니다.<br>
+	 * 이보다 많이 밀린 경우 나머지는 버려지며 게임은 잠시 느려진 것처럼 보이게 됩니다.<br>
+	 * 기본값은 5입니다.
+	 */
+	public int gameLoop_maxCatchUpSteps = 5;
+	
+	/**
+	 * 게임 루프를 최고 속도 모드로 동작시킬지 여부를 설정합니다.<br>
+	 * 이 값이 true 인 경우 timeStamp는 항상 gameLoop_interval_ns만큼 증가하지만 프레임 사이에 전혀 대기하지 않으므로<br>
+	 * 게임 내 시간이 실제 시간보다 훨씬 빠르게 흘러갑니다. 게임 진행을 오랫동안 시험해 볼 때만 사용하세요.<br>
+	 * 이 값이 true 인 경우 gameLoop_use_virtualTimingMode의 값은 무시됩니다(gameLoop_use_fixedTimestepMode가 우선합니다).<br>
+	 * 기본값은 false입니다.
+	 */
+	public boolean gameLoop_use_maxSpeedMode = false;
+	
+	/**
+	 * 실제 타이밍 모드 및 고정 간격 모드에서 다음 프레임까지 기다리는 방식을 설정합니다.<br>
+	 * PowerSave는 CPU를 가장 적게 쓰는 대신 프레임 시작이 조금 늦어질 수 있고<br>
+	 * LowJitter는 프레임 시작 시각이 가장 정확한 대신 CPU를 조금 더 사용합니다.<br>
+	 * 기본값은 FramePacer.PacingMode.Balanced입니다.
+	 */
+	public FramePacer.PacingMode gameLoop_pacingMode = FramePacer.PacingMode.Balanced;
+	
+	/**
+	 * 게임 루프를 분리 그리기 모드로 동작시킬지 여부를 설정합니다.<br>
+	 * 이 값이 true 인 경우 Draw()가 별도의 그리기 스레드에서 실행되며, Update()가 끝날 때마다 Capture()가 호출됩니다.<br>
+	 * 이 모드를 사용하려면 Capture()를 override하여 화면에 그릴 요소들을 snapshot에 추가해야 합니다.<br>
+	 * 기본값은 false입니다.
+	 */
+	public boolean gameLoop_use_pipelinedDrawing = false;
+	
+	/**
+	 * 게임이 끝날 때 최근 프레임들의 단계별 수행 시간(Update(), Draw(), 대기, 전체)을 저장할 CSV 파일 경로를 설정합니다.<br>
+	 * 실행 중에는 GameLoop.GetFrameTimeRecorder()를 통해 백분위수를 바로 확인할 수도 있습니다.<br>
+	 * 기본값은 null이며 이 경우 파일로 저장하지 않습니다.
+	 */
+	public String gameLoop_frameTimeCsvPath = null;
+	
+	/**
+	 * 게임 루프를 전용 스레드 대신 여러 창이 함께 사용하는 LoopScheduler의 스레드에서 실행할지 여부를 설정합니다.<br>
+	 * 이 값이 true 인 경우 창을 몇 번을 새로 만들더라도 게임 루프를 위한 스레드는 하나만 사용됩니다.<br>
+	 * 값과 관계 없이, 숨겨지거나 최소화된 창의 게임 루프는 일시 정지되며 dispose()된 창의 게임 루프는 중단됩니다.<br>
+	 * 기본값은 false입니다.
+	 */
+	public boolean gameLoop_use_sharedScheduler = false;
+	
+	/**
+	 * 실제 타이밍 모드 및 고정 간격 모드에서, Update()가 Draw()를 요청하지 않은 프레임이 이 수만큼 연달아 지나가면<br>
+	 * 게임 루프가 유휴 상태로 들어가 프레임 속도를 낮추도록 설정합니다(자세한 내용은 GameLoop.SetIdlePolicy()를 참고하세요).<br>
+	 * 키보드 / 마우스 입력이 들어오거나 예약한 타이머의 시각이 되면 바로 원래 속도로 돌아옵니다.<br>
+	 * 0인 경우 유휴 상태를 사용하지 않습니다. 기본값은 0입니다.
+	 */
+	public int gameLoop_idleFrames = 0;
+	
+	/**
+	 * 유휴 상태에서의 프레임 간격을 나노초 단위로 설정합니다. 0인 경우 입력이나 타이머가 깨울 때까지 프레임을 진행하지 않습니다.<br>
+	 * 기본값은 250000000(0.25초)입니다.
+	 */
+	public long gameLoop_idleInterval_ns = 250000000;
+	
+	/**
+	 * 게임 루프가 Initialize() / Update() / Draw() / 대기 중 한 단계에 프레임 간격의 이 배수보다 오래 머물러 있으면<br>
+	 * 멈춘 것으로 보고 그 순간의 호출 스택을 기록하도록 설정합니다(자세한 내용은 StallWatchdog class를 참고하세요).<br>
+	 * 0인 경우 감시하지 않습니다. 기본값은 0입니다.
+	 */
+	public double gameLoop_stallThreshold = 0;
+	
+	/**
+	 * 프레임이 gameLoop_interval_ns 안에 끝나지 않을 때 그리기 화질(안티앨리어싱, Image 보간 방식, 생략해도 되는 요소)을 낮추고<br>
+	 * 여유가 생기면 다시 높일 지 여부를 설정합니다. 자세한 내용은 QualityGovernor class를 참고하세요.<br>
+	 * 이 값이 false 인 경우 붓의 설정은 Java의 기본값 그대로 사용됩니다.<br>
+	 * 기본값은 false입니다.
+	 */
+	public boolean gameLoop_use_qualityGovernor = false;
+	
+	/**
+	 * 그린 화면을 저장(화면 캡처)할 폴더를 설정합니다. 폴더가 없다면 새로 만듭니다.<br>
+	 * null인 경우 게임 도중 GameFrame.GetFrameCapture().SetOutput()을 호출하기 전까지 화면을 저장하지 않습니다.<br>
+	 * 기본값은 null입니다.
+	 */
+	public String capture_directory = null;
+	
+	/**
+	 * 화면을 저장할 파일 형식을 설정합니다. 자세한 내용은 FrameCapture.Format을 참고하세요.<br>
+	 * 기본값은 FrameCapture.Format.PNG입니다.
+	 */
+	public FrameCapture.Format capture_format = FrameCapture.Format.PNG;
+	
+	/**
+	 * 몇 프레임(그린 화면 수)마다 화면을 저장할 지 설정합니다. 0인 경우 GameFrame.GetFrameCapture().RequestCapture()를 호출했을 때만 저장합니다.<br>
+	 * 기본값은 0입니다.
+	 */
+	public int capture_interval = 0;
+	
+	/**
+	 * 저장을 기다리는 화면을 최대 몇 장까지 쌓아 둘 지 설정합니다. 가득 차면 가장 오래된 화면을 버립니다.<br>
+	 * 화면 한 장은 canvas_width x canvas_height x 4byte의 메모리를 사용합니다.<br>
+	 * 기본값은 8입니다.
+	 */
+	public int capture_queueCapacity = 8;
+	
+	/**
+	 * 화면을 파일로 저장하는 작업을 나누어 수행할 스레드 수를 설정합니다.<br>
+	 * 기본값은 2입니다.
+	 */
+	public int capture_numberOfEncoders = 2;
+	
+	/**
+	 * 프레임 사이에 버튼 입력이 너무 많이 쌓여 입력 큐가 가득 찼을 때의 처리 방식을 설정합니다. 자세한 내용은 InputManager.OverflowPolicy를 참고하세요.<br>
+	 * 기본값은 InputManager.OverflowPolicy.Grow입니다.
+	 */
+	public InputManager.OverflowPolicy input_overflowPolicy = InputManager.OverflowPolicy.Grow;
+	
+	/**
+	 * 게임을 시작할 때부터 매 프레임 반영한 입력을 기록할 파일을 설정합니다. 자세한 내용은 InputManager.StartRecording()을 참고하세요.<br>
+	 * null인 경우 기록하지 않습니다. input_replayFile을 설정한 경우 이 값은 무시됩니다.<br>
+	 * 기본값은 null입니다.
+	 */
+	public String input_recordFile = null;
+	
+	/**
+	 * 게임을 시작할 때부터 재생할, 입력을 기록한 파일을 설정합니다. 자세한 내용은 InputManager.StartReplay()를 참고하세요.<br>
+	 * null인 경우 재생하지 않고 실제 입력을 받습니다.<br>
+	 * 기본값은 null입니다.
+	 */
+	public String input_replayFile = null;
+	
+	/**
+	 * 게임에서 사용할 임의의 수(GameFrame.random)의 seed를 설정합니다. 같은 seed를 설정하면 항상 같은 순서로 같은 수들이 나옵니다.<br>
+	 * 0인 경우 실행할 때마다 다른 seed를 사용합니다.<br>
+	 * 기본값은 0입니다.
+	 */
+	public long random_seed = 0;
+	
 	/**
 	 * 게임 내에서 총 몇 개의 가상 버튼을 bind하여 사용할 것인지 설정합니다.<br>
 	 * 기본값은 8입니다.
@@ -68,11 +343,42 @@ public class GameFrameSettings
 	public GameFrameSettings(GameFrameSettings other)
 	{
 		window_title = other.window_title;
+		window_fullscreenMode = other.window_fullscreenMode;
+		window_fullscreen_displayWidth = other.window_fullscreen_displayWidth;
+		window_fullscreen_displayHeight = other.window_fullscreen_displayHeight;
+		window_fullscreen_refreshRate = other.window_fullscreen_refreshRate;
 		canvas_width = other.canvas_width;
 		canvas_height = other.canvas_height;
 		canvas_backgroundColor = other.canvas_backgroundColor;
+		canvas_numberOfBuffers = other.canvas_numberOfBuffers;
+		canvas_bufferingMode = other.canvas_bufferingMode;
+		canvas_use_dirtyRegions = other.canvas_use_dirtyRegions;
+		canvas_textCache_maxBytes = other.canvas_textCache_maxBytes;
+		canvas_use_logicalResolution = other.canvas_use_logicalResolution;
+		canvas_renderScale = other.canvas_renderScale;
+		canvas_use_performanceOverlay = other.canvas_use_performanceOverlay;
 		gameLoop_interval_ns = other.gameLoop_interval_ns;
 		gameLoop_use_virtualTimingMode = other.gameLoop_use_virtualTimingMode;
+		gameLoop_use_fixedTimestepMode = other.gameLoop_use_fixedTimestepMode;
+		gameLoop_maxCatchUpSteps = other.gameLoop_maxCatchUpSteps;
+		gameLoop_use_maxSpeedMode = other.gameLoop_use_maxSpeedMode;
+		gameLoop_pacingMode = other.gameLoop_pacingMode;
+		gameLoop_use_pipelinedDrawing = other.gameLoop_use_pipelinedDrawing;
+		gameLoop_frameTimeCsvPath = other.gameLoop_frameTimeCsvPath;
+		gameLoop_use_sharedScheduler = other.gameLoop_use_sharedScheduler;
+		gameLoop_idleFrames = other.gameLoop_idleFrames;
+		gameLoop_idleInterval_ns = other.gameLoop_idleInterval_ns;
+		gameLoop_stallThreshold = other.gameLoop_stallThreshold;
+		gameLoop_use_qualityGovernor = other.gameLoop_use_qualityGovernor;
+		capture_directory = other.capture_directory;
+		capture_format = other.capture_format;
+		capture_interval = other.capture_interval;
+		capture_queueCapacity = other.capture_queueCapacity;
+		capture_numberOfEncoders = other.capture_numberOfEncoders;
+		input_overflowPolicy = other.input_overflowPolicy;
+		input_recordFile = other.input_recordFile;
+		input_replayFile = other.input_replayFile;
+		random_seed = other.random_seed;
 		numberOfButtons = other.numberOfButtons;
 	}
 }
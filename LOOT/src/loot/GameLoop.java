@@ -1,5 +1,10 @@
 package loot;
 
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import loot.graphics.VisualSnapshot;
+
 /**
  * Initialize(), Update(), Draw() 메서드를 일정 시간마다 반복적으로 호출하기 위해 사용하는 클래스입니다.<br>
  * 
@@ -9,15 +14,61 @@ package loot;
 public class GameLoop
 {
 	/**
-	 * 시간 간격을 측정하고 각 메서드를 호출하기 위한 내부 스레드입니다.
+	 * 게임 루프가 시간을 측정하고 Update()를 호출하는 방식을 나타냅니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	public enum TimingMode
+	{
+		/**
+		 * 매 프레임이 수행 시간과 관계 없이 항상 interval만큼 지연되며 timeStamp 또한 항상 interval만큼 증가합니다.
+		 */
+		Virtual,
+
+		/**
+		 * 매 프레임이 최소 interval만큼 지연됨을 보장하며 timeStamp는 실제 시간에 기반하여 증가합니다.<br>
+		 * 한 프레임에 Update()는 한 번 호출되며 그 간격은 프레임 수행 시간에 따라 달라집니다.
+		 */
+		Real,
+
+		/**
+		 * 실제 시간을 누적해 두었다가 interval만큼 쌓일 때마다 Update()를 한 번씩 호출합니다.<br>
+		 * 따라서 Draw()가 오래 걸려 프레임이 늦어지더라도 Update()는 (한 프레임에 여러 번 호출되는 방식으로) 항상 일정한 속도로 진행되며<br>
+		 * timeStamp 또한 항상 interval만큼 증가합니다.<br>
+		 * 이 때 Draw()에는 '마지막 Update() 이후 다음 Update()까지 얼마나 진행되었는지'를 나타내는 보간 비율(alpha)이 함께 전달됩니다.
+		 */
+		FixedStep,
+
+		/**
+		 * 가상 타이밍 모드와 같이 timeStamp가 항상 interval만큼 증가하지만 프레임 사이에 전혀 대기하지 않습니다.<br>
+		 * 따라서 게임 내 시간이 실제 시간보다 훨씬 빠르게 흘러가며, 오랜 시간 동안의 게임 진행을 짧은 시간 안에 시험해 볼 때 사용합니다.<br>
+		 * 보통 GameLoop.SetDrawSkipped()와 함께 사용합니다.
+		 */
+		MaxSpeed
+	}
+
+	/**
+	 * 시간 간격을 측정하고 각 메서드를 호출하기 위한 내부 스레드입니다.<br>
+	 * LoopScheduler를 통해 게임 루프를 시작한 경우에는 스레드 자체는 시작되지 않으며,<br>
+	 * LoopScheduler의 스레드가 이 클래스의 RunFrame()을 대신 호출합니다.
 	 * 
 	 * @author Racin
 	 * 
 	 */
 	private class LoopThread extends Thread
 	{
+		//게임 루프의 동작 방식
+		TimingMode mode;
+
 		//실제 모드에서는 게임이 시작된 실제 시각, 가상 모드에서는 0
 		long startTime_ns;
+
+		//Initialize()를 이미 호출했는지 여부 - Step()을 먼저 사용한 경우 Start()에서 다시 호출하지 않음
+		boolean isInitialized;
+		
+		//Begin()을 이미 호출했는지 여부
+		boolean isBegun;
 		
 		//게임이 시작된 이후 지난 시간
 		long tick_ns;
@@ -25,23 +76,61 @@ public class GameLoop
 		//각 프레임 사이의 최소 시간 간격
 		long interval_ns;
 		
+		//고정 간격 모드에서 한 프레임 안에 '밀린 Update()'를 최대 몇 번까지 연달아 호출할 것인지
+		int maxCatchUpSteps;
+
+		//고정 간격 모드에서 아직 Update()에 반영하지 않고 쌓여 있는 실제 시간, 그리고 이를 계산하기 위한 지난 프레임의 시작 시각
+		long accumulator_ns;
+		long prev_loop_startTime_ns;
+
+		//고정 간격 모드에서 Draw()를 요청한 Update()가 있었는지 여부
+		boolean isDrawRequired;
+
+		//다음 프레임을 시작할 시각(LoopScheduler가 사용)
+		long deadline_ns;
+
+		//일시 정지를 시작한 시각, 일시 정지 중이 아니라면 0
+		long pause_startTime_ns;
+
+		//지난 프레임의 단계별 시각 - 다음 프레임이 시작될 때 기록됨
+		boolean hasPendingRecord;
+		long last_loop_startTime_ns;
+		long last_update_endTime_ns;
+		long last_draw_endTime_ns;
+
+		//이번 프레임에 Update() / Draw()를 호출했는지 여부(유휴 상태 판단에 사용)
+		boolean isFrameUpdated;
+		boolean isFrameDrawn;
+
+		//Draw() 없이 지나간 프레임이 연속으로 몇 번 있었는지, 그리고 현재 유휴 상태인지 여부
+		int quietFrames;
+		volatile boolean isIdle;
+
+		//FPS 계산 등을 위해 지난 60프레임의 시작 시각을 기록 -> 평균을 계산하여 FPS 산출
+		long[] loop_startTimes;
+		int idx_loop_startTimes;
+
 		/**
 		 * 새로운 LoopThread class의 인스턴스를 생성합니다.
 		 * 
-		 * @param isVirtualTimingMode
-		 *            true 인 경우 매 프레임이 수행 시간과 관계 없이 항상 interval_ms만큼 지연되며 timeStamp 또한 항상 interval_ms만큼 증가합니다.<br>
-		 *            false 인 경우 매 프레임이 최소 interval_ms만큼 지연됨을 보장하며 timeStamp는 실제 시간에 기반하여 증가합니다.
+		 * @param mode
+		 *            게임 루프의 동작 방식입니다. 자세한 내용은 GameLoop.TimingMode를 참고하세요.
 		 * @param interval_ns
 		 *            프레임 사이의 간격을 설정하는 나노초 단위의 값입니다.
+		 * @param maxCatchUpSteps
+		 *            고정 간격 모드에서 한 프레임 안에 연달아 호출할 수 있는 Update()의 최대 횟수입니다.
 		 */
-		public LoopThread(boolean isVirtualTimingMode, long interval_ns)
+		public LoopThread(TimingMode mode, long interval_ns, int maxCatchUpSteps)
 		{
-			if ( isVirtualTimingMode )
+			this.mode = mode;
+
+			if ( mode == TimingMode.Virtual || mode == TimingMode.MaxSpeed )
 				startTime_ns = 0;
 			else
 				startTime_ns = System.nanoTime();
 
 			this.interval_ns = interval_ns;
+			this.maxCatchUpSteps = maxCatchUpSteps < 1 ? 1 : maxCatchUpSteps;
 			tick_ns = 0;
 		}
 
@@ -52,95 +141,568 @@ public class GameLoop
 		@Override
 		public void run()
 		{
-			//Initialize() 호출, 실패한 경우 실행 중단
-			if ( methods.Initialize() == false )
+			//Initialize() 호출 등 시작 준비, 실패한 경우 실행 중단
+			if ( Begin() == false )
 				return;
 
-			boolean isDrawRequired = false;
+			//GameLoop.Abort()를 호출할때까지 무한 반복
+			while ( isInterrupted() == false )
+			{
+				//일시 정지 중이라면 GameLoop.Resume()이 깨워 줄 때까지 대기
+				if ( isPaused == true )
+				{
+					watchdog.Enter(StallWatchdog.phase_none);
+					Suspend();
+					LockSupport.park(this);
+					continue;
+				}
+
+				long deadline_ns = RunFrame();
+
+				//유휴 상태라면 GameLoop.Wake()가 깨워 줄 때까지 CPU를 사용하지 않고 대기
+				if ( isIdle )
+				{
+					watchdog.Enter(StallWatchdog.phase_none);
+					WaitIdle(deadline_ns);
+				}
+				else
+				{
+					watchdog.Enter(StallWatchdog.phase_wait);
+					WaitUntil(deadline_ns, null);
+				}
+			}
+
+			watchdog.Detach();
+
+			//Abort()로 끝난 경우 프레임 시간 기록 저장(설정한 경우)
+			recorder.WriteCsvOnShutdown();
+		}
+
+		/**
+		 * 아직 호출하지 않았다면 Initialize()를 호출합니다.
+		 *
+		 * @return Initialize()가 성공했거나 이미 호출된 경우 true를 return합니다.
+		 */
+		boolean InitializeOnce()
+		{
+			if ( isInitialized == false )
+			{
+				if ( methods.Initialize() == false )
+					return false;
 
-			//Virtual timing mode
-			if ( startTime_ns == 0 )
+				isInitialized = true;
+			}
+
+			return true;
+		}
+
+		/**
+		 * 게임 루프를 진행할 스레드에서 첫 프레임을 시작하기 전에 한 번 호출됩니다.<br>
+		 * Initialize()를 호출하고 각 모드에 맞게 필요한 값들을 준비합니다.
+		 *
+		 * @return Initialize()가 실패한 경우 false를 return합니다.
+		 */
+		boolean Begin()
+		{
+			isBegun = true;
+
+			//멈춤 감시 시작(설정한 경우)
+			watchdog.Attach(Thread.currentThread());
+			watchdog.Enter(StallWatchdog.phase_initialize);
+
+			//Initialize() 호출, 실패한 경우 실행 중단
+			if ( InitializeOnce() == false )
+			{
+				watchdog.Detach();
+				return false;
+			}
+
+			//분리 그리기 모드에서는 그리기 스레드도 함께 시작
+			if ( renderThr != null )
+				renderThr.start();
+
+			//실제 시간을 사용하는 모드에서는 대기 시간의 오차를 미리 측정해 둠
+			if ( mode == TimingMode.Real || mode == TimingMode.FixedStep )
+				pacer.Calibrate();
+
+			switch ( mode )
 			{
+			case Virtual:
 				//FPS는 항상 고정되어 있으므로 먼저 계산
 				fps = 1000000000.0 / interval_ns;
-				
-				//GameLoop.Abort()를 호출할때까지 무한 반복
-				while ( isInterrupted() == false )
-				{
-					//Update() 호출, return값을 통해 Draw() 수행 여부 결정
-					isDrawRequired = methods.Update(tick_ns / 1000000);
+				break;
+			case FixedStep:
+				//첫 Update()는 바로 호출될 수 있도록 한 간격만큼 미리 쌓아 둠
+				prev_loop_startTime_ns = System.nanoTime();
+				tick_ns = prev_loop_startTime_ns - startTime_ns;
+				accumulator_ns = interval_ns;
+				ResetFPS();
+				break;
+			default:
+				ResetFPS();
+				break;
+			}
+
+			//첫 프레임은 Update()의 return값과 관계 없이 항상 그림
+			isRedrawRequested = true;
+
+			watchdog.Enter(StallWatchdog.phase_none);
+
+			deadline_ns = System.nanoTime();
+			return true;
+		}
+
+		/**
+		 * 게임 루프가 일시 정지되었음을 기록합니다. 일시 정지 중에는 여러 번 호출되어도 괜찮습니다.
+		 */
+		void Suspend()
+		{
+			if ( pause_startTime_ns == 0 )
+				pause_startTime_ns = System.nanoTime();
+		}
+
+		/**
+		 * 일시 정지가 풀린 뒤 첫 프레임에서 호출됩니다.<br>
+		 * 멈춰 있던 시간만큼 실제 시간 기준값들을 옮겨 게임 내 시간이 갑자기 건너뛰거나 밀린 Update()가 몰려서 호출되지 않도록 합니다.
+		 */
+		private void ResumeFrom(long now)
+		{
+			long paused_ns = now - pause_startTime_ns;
+
+			pause_startTime_ns = 0;
+			startTime_ns += mode == TimingMode.Real ? paused_ns : 0;
+			prev_loop_startTime_ns += paused_ns;
+			hasPendingRecord = false;
+
+			if ( mode != TimingMode.Virtual )
+				ResetFPS();
+		}
+
+		/**
+		 * 현재 모드에 맞게 한 프레임을 진행합니다.
+		 *
+		 * @return 다음 프레임을 시작해야 하는 시각을 System.nanoTime() 기준으로 return합니다.
+		 */
+		long RunFrame()
+		{
+			long loop_startTime_ns = System.nanoTime();
+
+			if ( pause_startTime_ns != 0 )
+				ResumeFrom(loop_startTime_ns);
+
+			//지난 프레임 기록(대기 시간은 이번 프레임 시작 시각까지로 계산)
+			if ( hasPendingRecord )
+				recorder.Record(last_update_endTime_ns - last_loop_startTime_ns, last_draw_endTime_ns - last_update_endTime_ns, loop_startTime_ns - last_draw_endTime_ns, loop_startTime_ns - last_loop_startTime_ns);
+
+			//지난 프레임 이후 들어온 깨우기 요청 확인
+			boolean isWoken = isWakeRequested;
+
+			if ( isWoken )
+				isWakeRequested = false;
+
+			isFrameUpdated = false;
+			isFrameDrawn = false;
+
+			//JFR 이벤트 - 기록 중이 아니라면 만들지 않음
+			LootEvents.Frame event = null;
+
+			if ( LootEvents.type_frame.isEnabled() )
+			{
+				event = new LootEvents.Frame();
+				event.begin();
+			}
+
+			long deadline_ns;
+
+			switch ( mode )
+			{
+			case Real:
+				deadline_ns = ApplyIdlePolicy(RunRealFrame(loop_startTime_ns), isWoken);
+				break;
+			case FixedStep:
+				deadline_ns = ApplyIdlePolicy(RunFixedStepFrame(loop_startTime_ns), isWoken);
+				break;
+			case MaxSpeed:
+				UpdateFPS(loop_startTime_ns);
+				RunVirtualFrame(loop_startTime_ns);
+				deadline_ns = loop_startTime_ns;
+				break;
+			default:
+				//다음 프레임은 Draw()가 끝난 뒤 무조건 interval만큼 지나서 시작
+				deadline_ns = RunVirtualFrame(loop_startTime_ns) + interval_ns;
+				break;
+			}
+
+			if ( event != null && event.isEnabled() )
+			{
+				event.end();
+				event.mode = mode.name();
+				event.updateDuration = last_update_endTime_ns - last_loop_startTime_ns;
+				event.drawDuration = last_draw_endTime_ns - last_update_endTime_ns;
+				event.isDrawn = isFrameDrawn;
+				event.isIdle = isIdle;
+				event.commit();
+			}
+
+			return deadline_ns;
+		}
 
-					//선택적 Draw() 호출
-					if ( isDrawRequired )
-						methods.Draw(tick_ns / 1000000);
+		/**
+		 * 가상 시간을 사용하는 한 프레임을 진행합니다. 가상 타이밍 모드, 최고 속도 모드, GameLoop.Step()이 공통으로 사용합니다.
+		 *
+		 * @return Draw()를 마친 시각을 return합니다.
+		 */
+		long RunVirtualFrame(long loop_startTime_ns)
+		{
+			boolean isDrawRequired = false;
+
+			//예약된 타이머 호출 후 Update() 호출, return값을 통해 Draw() 수행 여부 결정
+			watchdog.Enter(StallWatchdog.phase_update);
+			timers.Advance(tick_ns);
+			isDrawRequired = methods.Update(tick_ns / 1000000);
+			long update_endTime_ns = System.nanoTime();
+			
+			//선택적 Draw() 호출
+			if ( isDrawRequired || isRedrawRequested )
+			{
+				watchdog.Enter(StallWatchdog.phase_draw);
+				CallDraw(tick_ns / 1000000, 0);
+			}
+			long draw_endTime_ns = System.nanoTime();
+
+			tick_ns += interval_ns;
+			return EndFrame(loop_startTime_ns, update_endTime_ns, draw_endTime_ns);
+		}
 					
-					try
-					{
-						//다음 프레임이 시작될 때까지 대기(무조건 interval만큼 대기)
-						Thread.sleep(interval_ns / 1000000);
-					}
-					catch (InterruptedException e)
-					{
-						break;
-					}
-
-					tick_ns += interval_ns;
-				}
+		/**
+		 * 실제 타이밍 모드로 한 프레임을 진행합니다.
+		 */
+		private long RunRealFrame(long loop_startTime_ns)
+		{
+			boolean isDrawRequired = false;
+
+			tick_ns = loop_startTime_ns - startTime_ns;
+
+			//FPS 갱신
+			UpdateFPS(loop_startTime_ns);
+
+			//예약된 타이머 호출 후 Update() 호출, return값을 통해 Draw() 수행 여부 결정
+			watchdog.Enter(StallWatchdog.phase_update);
+			timers.Advance(tick_ns);
+			isDrawRequired = methods.Update(tick_ns / 1000000);
+			isFrameUpdated = true;
+			long update_endTime_ns = System.nanoTime();
+
+			//선택적 Draw() 호출
+			if ( isDrawRequired || isRedrawRequested )
+			{
+				tick_ns = update_endTime_ns - startTime_ns;
+				watchdog.Enter(StallWatchdog.phase_draw);
+
+				CallDraw(tick_ns / 1000000, 0);
 			}
 
-			//Real timing mode
-			else
+			EndFrame(loop_startTime_ns, update_endTime_ns, System.nanoTime());
+			return loop_startTime_ns + interval_ns;
+		}
+
+		/**
+		 * 고정 간격 모드로 한 프레임을 진행합니다.
+		 */
+		private long RunFixedStepFrame(long loop_startTime_ns)
+		{
+			int steps;
+
+			accumulator_ns += loop_startTime_ns - prev_loop_startTime_ns;
+			prev_loop_startTime_ns = loop_startTime_ns;
+
+			//유휴 상태였다면 쉬는 동안 쌓인 시간은 Update() 없이 건너뜀(게임 내 시간은 그대로 흐른 것으로 처리)
+			if ( isIdle && accumulator_ns > interval_ns )
+			{
+				long skipped_ns = ( accumulator_ns / interval_ns - 1 ) * interval_ns;
+
+				tick_ns += skipped_ns;
+				accumulator_ns -= skipped_ns;
+			}
+
+			//쌓인 시간만큼 Update() 호출, 단 한 프레임에 너무 많이 호출하지 않도록 제한
+			watchdog.Enter(StallWatchdog.phase_update);
+			for ( steps = 0; accumulator_ns >= interval_ns && steps < maxCatchUpSteps; ++steps )
+			{
+				//예약된 타이머 호출 후 Update() 호출, 하나라도 Draw()를 원한다면 이번 프레임에 Draw() 수행
+				timers.Advance(tick_ns);
+
+				if ( methods.Update(tick_ns / 1000000) )
+					isDrawRequired = true;
+
+				tick_ns += interval_ns;
+				accumulator_ns -= interval_ns;
+			}
+
+			long update_endTime_ns = System.nanoTime();
+
+			//제한 횟수만큼 Update()를 호출했는데도 여전히 밀려 있다면 나머지는 버림(게임이 잠시 느려진 것처럼 보임)
+			if ( accumulator_ns >= interval_ns )
+				accumulator_ns %= interval_ns;
+							
+			//이번 프레임에 Update()를 호출한 경우에만 FPS 갱신 및 선택적 Draw() 호출
+			if ( steps > 0 )
 			{
-				long loop_startTime_ns;
-								
-				//FPS 계산 등을 위해 지난 60프레임의 시작 시각을 기록 -> 평균을 계산하여 FPS 산출
-				long[] loop_startTimes = new long[60];
-				int idx_loop_startTimes = 0;
-
-				for ( int idx = 0; idx < 60; ++idx )
-					loop_startTimes[idx] = startTime_ns - ( 60 - idx ) * interval_ns;
-				
-				//GameLoop.Abort()를 호출할때까지 무한 반복
-				while ( isInterrupted() == false )
+				UpdateFPS(loop_startTime_ns);
+				isFrameUpdated = true;
+
+				if ( isDrawRequired || isRedrawRequested )
 				{
-					loop_startTime_ns = System.nanoTime();
-					tick_ns = loop_startTime_ns - startTime_ns;
+					watchdog.Enter(StallWatchdog.phase_draw);
+					CallDraw(( tick_ns - interval_ns ) / 1000000, (double)accumulator_ns / interval_ns);
+					isDrawRequired = false;
+				}
+			}
+
+			EndFrame(loop_startTime_ns, update_endTime_ns, System.nanoTime());
+					
+			//다음 Update()가 필요해지는 시각
+			return loop_startTime_ns + interval_ns - accumulator_ns;
+		}
+					
+		/**
+		 * Draw()를 호출합니다.<br>
+		 * 분리 그리기 모드에서는 Draw()를 직접 호출하는 대신 Capture()로 복사본을 만들어 그리기 스레드에게 넘겨 줍니다.<br>
+		 * 단, GameLoop.Step()으로 진행하는 중에는 그리기 스레드가 아직 시작되지 않았으므로 복사본을 이 스레드에서 바로 그립니다.
+		 *
+		 * @param timeStamp Draw()에 전달할 timeStamp 값입니다.
+		 * @param alpha 고정 간격 모드에서 사용하는 보간 비율입니다. 다른 모드에서는 0입니다.
+		 */
+		private void CallDraw(long timeStamp, double alpha)
+		{
+			isFrameDrawn = true;
+			isRedrawRequested = false;
+
+			//Draw()를 생략하도록 설정한 경우
+			if ( isDrawSkipped )
+				return;
+
+			if ( renderThr == null )
+			{
+				if ( mode == TimingMode.FixedStep )
+					methods.Draw(timeStamp, alpha);
+				else
+					methods.Draw(timeStamp);
+				return;
+			}
+
+			VisualSnapshot snapshot = snapshots.GetBack();
+			snapshot.Clear();
+			snapshot.timeStamp = timeStamp;
+			snapshot.alpha = alpha;
+			snapshot.isOptionalSkipped = governor.IsOptionalSkipped();
+			((IPipelinedGameLoopMethods)methods).Capture(snapshot);
+
+			snapshots.Publish();
+
+			//Step()으로 진행하는 중이라면 그리기 스레드 대신 직접 그림
+			if ( isBegun == false )
+			{
+				DrawSnapshot(snapshots.Acquire());
+				return;
+			}
+
+			LockSupport.unpark(renderThr);
+		}
+					
+		/**
+		 * 유휴 정책을 설정한 경우 이번 프레임이 '조용한' 프레임이었는지 판단하여 유휴 상태를 갱신합니다.<br>
+		 * 유휴 상태에서는 다음 프레임 시각을 유휴 간격만큼(단, 예약된 타이머가 있다면 그 시각까지만) 늦춥니다.
+		 *
+		 * @param deadline_ns 원래 다음 프레임을 시작해야 하는 시각입니다.
+		 * @param isWoken 이번 프레임 전에 GameLoop.Wake()가 호출되었는지 여부입니다.
+		 * @return 실제로 다음 프레임을 시작할 시각을 return합니다.
+		 */
+		private long ApplyIdlePolicy(long deadline_ns, boolean isWoken)
+		{
+			if ( idleFrames <= 0 )
+				return deadline_ns;
+
+			//깨우기 요청이 있었거나 Draw()를 호출했다면 바로 원래 속도로 복귀
+			if ( isWoken || isFrameDrawn )
+			{
+				quietFrames = 0;
+				isIdle = false;
+				return deadline_ns;
+			}
+
+			//Update()를 호출하지 않은 프레임(고정 간격 모드에서 아직 시간이 덜 쌓인 경우)은 세지 않음
+			if ( isFrameUpdated && quietFrames < idleFrames )
+				++quietFrames;
+
+			isIdle = quietFrames >= idleFrames;
+
+			if ( isIdle == false )
+				return deadline_ns;
+
+			long idle_deadline_ns = System.nanoTime() + ( idleInterval_ns > 0 ? idleInterval_ns : maxIdleWait_ns );
+
+			//예약된 타이머가 있다면 그 타이머가 늦지 않게 호출될 수 있을 때까지만 쉼
+			long next_ns = timers.GetNextExpireTime_ns();
+
+			if ( next_ns != Long.MAX_VALUE )
+			{
+				long timer_deadline_ns;
+
+				if ( mode == TimingMode.Real )
+					timer_deadline_ns = startTime_ns + next_ns;
+				else
+					timer_deadline_ns = deadline_ns + Math.max(0, next_ns - tick_ns);
+
+				if ( timer_deadline_ns - idle_deadline_ns < 0 )
+					idle_deadline_ns = timer_deadline_ns;
+			}
 
-					//FPS 갱신
-					fps = 1000000000.0 / ( loop_startTime_ns - loop_startTimes[idx_loop_startTimes] ) * 60;
+			return idle_deadline_ns - deadline_ns < 0 ? deadline_ns : idle_deadline_ns;
+		}
 					
-					loop_startTimes[idx_loop_startTimes] = loop_startTime_ns;
-					++idx_loop_startTimes;
-					idx_loop_startTimes %= 60;
-
-					//Update() 호출, return값을 통해 Draw() 수행 여부 결정
-					isDrawRequired = methods.Update(tick_ns / 1000000);
-
-					//선택적 Draw() 호출
-					if ( isDrawRequired )
-					{
-						tick_ns = System.nanoTime() - startTime_ns;
-						
-						methods.Draw(tick_ns / 1000000);
-					}
+		/**
+		 * 이번 프레임의 단계별 시각을 보관해 둡니다. 대기 시간을 포함한 기록은 다음 프레임이 시작될 때 남깁니다.
+		 *
+		 * @return draw_endTime_ns를 그대로 return합니다.
+		 */
+		private long EndFrame(long loop_startTime_ns, long update_endTime_ns, long draw_endTime_ns)
+		{
+			hasPendingRecord = true;
+			last_loop_startTime_ns = loop_startTime_ns;
+			last_update_endTime_ns = update_endTime_ns;
+			last_draw_endTime_ns = draw_endTime_ns;
+
+			//Draw()를 호출한 프레임이라면 걸린 시간에 따라 화질 조절(분리 그리기 모드에서는 그리기 스레드가 기록)
+			if ( isFrameDrawn && renderThr == null )
+				governor.Record(draw_endTime_ns - loop_startTime_ns);
+
+			return draw_endTime_ns;
+		}
 					
-					// 10ms 이상 쉬어야 한다면 잠시 잠듦
-					while ( loop_startTime_ns + interval_ns - System.nanoTime() > 10000000 )
-						try {
-							Thread.sleep(1);
-						} catch (InterruptedException e) {
-						}
+		/**
+		 * FPS 계산을 위한 기록을 초기화합니다.
+		 */
+		private void ResetFPS()
+		{
+			long now = System.nanoTime();
 					
-					// 남은 시간동안 대기
-					while ( loop_startTime_ns + interval_ns - System.nanoTime() > 0 )
-						;
+			loop_startTimes = new long[60];
+			idx_loop_startTimes = 0;
+
+			for ( int idx = 0; idx < 60; ++idx )
+				loop_startTimes[idx] = now - ( 60 - idx ) * interval_ns;
+		}
+
+		/**
+		 * 이번 프레임의 시작 시각을 기록하고 FPS를 갱신합니다.
+		 */
+		private void UpdateFPS(long loop_startTime_ns)
+		{
+			fps = 1000000000.0 / ( loop_startTime_ns - loop_startTimes[idx_loop_startTimes] ) * 60;
+
+			loop_startTimes[idx_loop_startTimes] = loop_startTime_ns;
+			++idx_loop_startTimes;
+			idx_loop_startTimes %= 60;
+		}
+
+		/**
+		 * 주어진 시각이 될 때까지 대기합니다.<br>
+		 * 실제 대기 방식은 pacer에 설정된 방식을 따르며, 가상 타이밍 모드에서는 CPU를 사용하며 기다리지 않습니다.<br>
+		 * 대기 중 interrupt가 걸리면 바로 return합니다.
+		 *
+		 * @param deadline_ns System.nanoTime() 기준으로 나타낸, 대기를 마칠 시각입니다.
+		 * @param isCancelled 대기를 그만둘 조건입니다. 자세한 내용은 FramePacer.WaitUntil()을 참고하세요.
+		 */
+		void WaitUntil(long deadline_ns, BooleanSupplier isCancelled)
+		{
+			if ( mode != TimingMode.Virtual )
+			{
+				pacer.WaitUntil(deadline_ns, isCancelled);
+				return;
+			}
+
+			for ( long now = System.nanoTime(); deadline_ns - now > 0 && Thread.currentThread().isInterrupted() == false; now = System.nanoTime() )
+			{
+				if ( isCancelled != null && isCancelled.getAsBoolean() )
+					return;
+
+				LockSupport.parkNanos(deadline_ns - now);
+			}
+		}
+
+		/**
+		 * 유휴 상태에서 주어진 시각이 될 때까지 CPU를 사용하지 않고 대기합니다.<br>
+		 * 그 전에 GameLoop.Wake()가 호출되거나 일시 정지되거나 interrupt가 걸리면 바로 return합니다.
+		 *
+		 * @param deadline_ns System.nanoTime() 기준으로 나타낸, 대기를 마칠 시각입니다.
+		 */
+		void WaitIdle(long deadline_ns)
+		{
+			for ( long now = System.nanoTime(); deadline_ns - now > 0 && isWakeRequested == false && isPaused == false && isInterrupted() == false; now = System.nanoTime() )
+				LockSupport.parkNanos(this, deadline_ns - now);
+		}
+	}
+
+	/**
+	 * 분리 그리기 모드에서 게임 루프가 만든 복사본을 받아 Draw()를 호출하는 내부 스레드입니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	private class RenderThread extends Thread
+	{
+		/**
+		 * 내부 스레드의 진입점 메서드입니다.<br>
+		 * 이 메서드는 프로그램이 종료되거나 GameLoop.Abort()를 호출할 때까지 실행됩니다.
+		 */
+		@Override
+		public void run()
+		{
+			//GameLoop.Abort()를 호출할때까지 무한 반복
+			while ( isInterrupted() == false )
+			{
+				VisualSnapshot snapshot = snapshots.Acquire();
+
+				//새 복사본이 없다면 게임 루프가 깨워 줄 때까지 대기
+				if ( snapshot == null )
+				{
+					LockSupport.park(this);
+					continue;
 				}
+
+				DrawSnapshot(snapshot);
 			}
 		}
 	}
 
+	/**
+	 * 분리 그리기 모드에서 주어진 복사본으로 Draw()를 호출하고 걸린 시간을 QualityGovernor에 기록합니다.
+	 */
+	private void DrawSnapshot(VisualSnapshot snapshot)
+	{
+		long draw_startTime_ns = System.nanoTime();
+		((IPipelinedGameLoopMethods)methods).Draw(snapshot.timeStamp, snapshot);
+		governor.Record(System.nanoTime() - draw_startTime_ns);
+	}
+
 	private LoopThread thr;
+	private RenderThread renderThr;
+	private TripleBuffer<VisualSnapshot> snapshots;
 	private IGameLoopMethods methods;
+	private FramePacer pacer;
+	private FrameTimeRecorder recorder;
+	private TimerService timers;
+	private StallWatchdog watchdog;
+	private QualityGovernor governor;
+	private volatile boolean isDrawSkipped;
+	private volatile boolean isPaused;
+	private volatile boolean isWakeRequested;
+	private volatile boolean isRedrawRequested;
+	private int idleFrames;
+	private long idleInterval_ns;
+	private boolean isStarted;
+	private LoopScheduler scheduler;
 	private double fps;
 
 	/**
@@ -156,8 +718,259 @@ public class GameLoop
 	 */
 	public GameLoop(boolean isVirtualTimingMode, long interval_ns, IGameLoopMethods methods)
 	{
-		thr = new LoopThread(isVirtualTimingMode, interval_ns);
+		this(isVirtualTimingMode ? TimingMode.Virtual : TimingMode.Real, interval_ns, 1, methods);
+	}
+
+	/**
+	 * 새로운 게임 루프 인스턴스를 생성합니다.<br>
+	 *
+	 * @param mode
+	 *            게임 루프의 동작 방식입니다. 자세한 내용은 GameLoop.TimingMode를 참고하세요.
+	 * @param interval_ns
+	 *            프레임 사이의 간격을 설정하는 나노초 단위의 값입니다.<br>
+	 *            고정 간격 모드에서는 각 Update() 사이의 (게임 내) 시간 간격이 됩니다.
+	 * @param maxCatchUpSteps
+	 *            고정 간격 모드에서 한 프레임 안에 연달아 호출할 수 있는 Update()의 최대 횟수입니다.<br>
+	 *            Draw()가 너무 오래 걸려 이보다 많은 Update()가 밀린 경우 나머지는 버려지며 게임은 잠시 느려진 것처럼 보이게 됩니다.<br>
+	 *            다른 모드에서는 이 값이 사용되지 않습니다.
+	 * @param methods
+	 * 			  내부 스레드가 호출할 세 메서드를 구현한 인스턴스를 여기에 지정합니다.
+	 */
+	public GameLoop(TimingMode mode, long interval_ns, int maxCatchUpSteps, IGameLoopMethods methods)
+	{
+		thr = new LoopThread(mode, interval_ns, maxCatchUpSteps);
 		this.methods = methods;
+		pacer = new FramePacer(FramePacer.PacingMode.Balanced);
+		recorder = new FrameTimeRecorder(FrameTimeRecorder.defaultCapacity);
+		timers = new TimerService(interval_ns, 64);
+		watchdog = new StallWatchdog(interval_ns, StallWatchdog.defaultCapacity);
+		governor = new QualityGovernor(interval_ns);
+	}
+
+	/**
+	 * 주어진 설정에 맞는 게임 루프를 만듭니다. 이 메서드는 GameFrame과 OffscreenGame이 사용합니다.
+	 */
+	static GameLoop Create(GameFrameSettings settings, IGameLoopMethods methods)
+	{
+		GameLoop loop;
+
+		if ( settings.gameLoop_use_fixedTimestepMode )
+			loop = new GameLoop(TimingMode.FixedStep, settings.gameLoop_interval_ns, settings.gameLoop_maxCatchUpSteps, methods);
+		else if ( settings.gameLoop_use_maxSpeedMode )
+			loop = new GameLoop(TimingMode.MaxSpeed, settings.gameLoop_interval_ns, 1, methods);
+		else
+			loop = new GameLoop(settings.gameLoop_use_virtualTimingMode, settings.gameLoop_interval_ns, methods);
+		loop.SetPacingMode(settings.gameLoop_pacingMode);
+		loop.SetPipelinedMode(settings.gameLoop_use_pipelinedDrawing);
+		loop.GetFrameTimeRecorder().SetCsvPath(settings.gameLoop_frameTimeCsvPath);
+		loop.SetIdlePolicy(settings.gameLoop_idleFrames, settings.gameLoop_idleInterval_ns);
+		loop.GetStallWatchdog().SetThreshold(settings.gameLoop_stallThreshold);
+		loop.GetQualityGovernor().SetEnabled(settings.gameLoop_use_qualityGovernor);
+
+		return loop;
+	}
+
+	/**
+	 * 실제 타이밍 모드 및 고정 간격 모드에서 다음 프레임까지 기다리는 방식을 설정합니다.<br>
+	 * 이 메서드는 Start()를 호출하기 전에만 사용할 수 있습니다. 기본값은 FramePacer.PacingMode.Balanced입니다.
+	 *
+	 * @param mode 사용할 대기 방식입니다. 자세한 내용은 FramePacer.PacingMode를 참고하세요.
+	 */
+	public void SetPacingMode(FramePacer.PacingMode mode)
+	{
+		if ( isStarted == false )
+			pacer = new FramePacer(mode);
+	}
+
+	/**
+	 * 분리 그리기 모드를 켜거나 끕니다.<br>
+	 * 분리 그리기 모드에서는 Draw()가 별도의 그리기 스레드에서 실행되므로 Draw()가 오래 걸려도 다음 Update()가 늦어지지 않습니다.<br>
+	 * 이 모드를 사용하려면 생성자에 넘긴 methods가 IPipelinedGameLoopMethods를 구현해야 하며,<br>
+	 * 이 메서드는 Start()를 호출하기 전에만 사용할 수 있습니다. 기본값은 false입니다.
+	 *
+	 * @param isPipelined true인 경우 분리 그리기 모드를 사용합니다.
+	 */
+	public void SetPipelinedMode(boolean isPipelined)
+	{
+		if ( isStarted == true )
+			return;
+
+		if ( isPipelined == false )
+		{
+			renderThr = null;
+			snapshots = null;
+			return;
+		}
+
+		if ( methods instanceof IPipelinedGameLoopMethods == false )
+		{
+			System.err.println("Error. 분리 그리기 모드를 사용하려면 IPipelinedGameLoopMethods를 구현해야 합니다. 일반 모드로 실행합니다.");
+			return;
+		}
+
+		renderThr = new RenderThread();
+		renderThr.setDaemon(thr.isDaemon());
+		snapshots = new TripleBuffer<>(new VisualSnapshot(), new VisualSnapshot(), new VisualSnapshot());
+	}
+
+	/**
+	 * 현재 분리 그리기 모드로 설정되어 있는지 여부를 return합니다.
+	 */
+	public boolean IsPipelinedMode()
+	{
+		return renderThr != null;
+	}
+
+	/**
+	 * 다음 프레임까지 기다리는 작업을 담당하는 FramePacer를 return합니다.<br>
+	 * CPU 사용률이나 프레임 시작 시각의 지터를 확인할 때 사용하세요.
+	 */
+	public FramePacer GetPacer()
+	{
+		return pacer;
+	}
+
+	/**
+	 * 각 프레임의 단계별 수행 시간을 기록하는 FrameTimeRecorder를 return합니다.<br>
+	 * 가끔씩 발생하는 '끊김'이 어느 단계에서 생기는지 확인할 때 사용하세요.
+	 */
+	public FrameTimeRecorder GetFrameTimeRecorder()
+	{
+		return recorder;
+	}
+
+	/**
+	 * 게임 내 시간을 기준으로 정해진 시각에 메서드를 호출해 주는 TimerService를 return합니다.<br>
+	 * 예약한 타이머는 그 시각이 지난 첫 프레임에서 Update()보다 먼저 호출됩니다.
+	 */
+	public TimerService GetTimers()
+	{
+		return timers;
+	}
+
+	/**
+	 * Initialize() / Update() / Draw() / 대기 중 한 단계에 너무 오래 머물러 있는지 감시하는 StallWatchdog를 return합니다.<br>
+	 * 창이 가끔 멈추는 원인을 찾을 때 SetThreshold()로 감시를 켜고 GetReports()로 멈춘 순간의 호출 스택을 확인하세요.
+	 */
+	public StallWatchdog GetStallWatchdog()
+	{
+		return watchdog;
+	}
+
+	/**
+	 * 프레임이 늦어질 때 그리기 화질을 낮추는 QualityGovernor를 return합니다.<br>
+	 * SetEnabled(true)를 호출하면(또는 GameFrameSettings.gameLoop_use_qualityGovernor를 true로 설정하면) 화질 조절이 시작됩니다.
+	 */
+	public QualityGovernor GetQualityGovernor()
+	{
+		return governor;
+	}
+
+	/**
+	 * Update()가 Draw()를 요청하더라도 Draw()를 호출하지 않도록 설정합니다.<br>
+	 * 최고 속도 모드나 Step()으로 게임 진행만 빠르게 시험해 볼 때 사용하세요. 기본값은 false입니다.
+	 *
+	 * @param isSkipped true인 경우 Draw()를 호출하지 않습니다.
+	 */
+	public void SetDrawSkipped(boolean isSkipped)
+	{
+		isDrawSkipped = isSkipped;
+	}
+
+	/**
+	 * 유휴 상태에서 '완전히 쉬도록' 설정한 경우에도 한 번에 대기할 최대 시간(1시간)
+	 */
+	private static final long maxIdleWait_ns = 3600L * 1000000000;
+
+	/**
+	 * 실제 타이밍 모드 및 고정 간격 모드에서 화면에 변화가 없을 때 프레임 속도를 낮추도록 설정합니다.<br>
+	 * Update()가 Draw()를 요청하지 않은 프레임이 주어진 수만큼 연달아 지나가면 게임 루프는 유휴 상태가 되어<br>
+	 * 이후 프레임을 idleInterval_ns 간격으로만 진행합니다(idleInterval_ns가 0 이하라면 깨울 때까지 완전히 쉼).<br>
+	 * GameLoop.Wake()가 호출되거나(GameFrame에서는 키보드 / 마우스 입력이 있을 때 자동으로 호출됨) 예약한 타이머의 시각이 되면<br>
+	 * 다음 프레임부터 바로 원래 속도로 돌아옵니다.<br>
+	 * <br>
+	 * 유휴 상태 동안 Update()가 호출되지 않는 만큼 Update() 안에서 시간에 따라 진행하는 작업도 멈춘다는 점에 유의하세요.<br>
+	 * 일정 시각에 해야 하는 작업은 GetTimers()로 예약해 두면 유휴 상태에서도 늦지 않게 호출됩니다.
+	 *
+	 * @param numberOfFrames 유휴 상태로 들어가기 위해 필요한 '조용한' 프레임 수입니다. 0 이하라면 유휴 상태를 사용하지 않습니다. 기본값은 0입니다.
+	 * @param idleInterval_ns 유휴 상태에서의 프레임 간격입니다. 0 이하라면 깨울 때까지 프레임을 진행하지 않습니다.
+	 */
+	public void SetIdlePolicy(int numberOfFrames, long idleInterval_ns)
+	{
+		idleFrames = numberOfFrames < 0 ? 0 : numberOfFrames;
+		this.idleInterval_ns = idleInterval_ns;
+		Wake();
+	}
+
+	/**
+	 * 유휴 상태인 게임 루프를 깨워 다음 프레임부터 원래 속도로 진행하도록 합니다.<br>
+	 * 유휴 상태가 아니라면 아무 일도 일어나지 않습니다. 여러 스레드에서 호출해도 괜찮습니다.
+	 */
+	public void Wake()
+	{
+		isWakeRequested = true;
+
+		//이미 원래 속도로 진행 중이라면 다음 프레임이 알아서 요청을 확인함
+		if ( thr.isIdle == false )
+			return;
+
+		if ( scheduler != null )
+			scheduler.Wake();
+		else
+			LockSupport.unpark(thr);
+	}
+
+	/**
+	 * 다음 프레임에서 Update()의 return값과 관계 없이 Draw()를 호출하도록 요청합니다.<br>
+	 * 창이 다른 창에 가려졌다가 다시 보이는 등 화면을 다시 그려야 할 때 GameFrame이 자동으로 호출합니다.
+	 */
+	public void RequestRedraw()
+	{
+		isRedrawRequested = true;
+		Wake();
+	}
+
+	/**
+	 * 현재 게임 루프가 유휴 상태인지 여부를 return합니다.
+	 */
+	public boolean IsIdle()
+	{
+		return thr.isIdle;
+	}
+
+	/**
+	 * 게임 루프를 시작하지 않고, 이 메서드를 호출한 스레드에서 주어진 수만큼의 프레임을 바로 진행합니다.<br>
+	 * 각 프레임은 가상 타이밍 모드처럼 timeStamp가 interval만큼씩 증가하며 프레임 사이에 대기하지 않습니다.<br>
+	 * 처음 호출할 때는 Initialize()를 먼저 호출합니다.<br>
+	 * <br>
+	 * 게임 루프가 이미 실행 중인 경우에는 사용할 수 없습니다.
+	 *
+	 * @param numberOfFrames 진행할 프레임 수입니다.
+	 * @return 실제로 진행한 프레임 수를 return합니다. 게임 루프가 실행 중이거나 Initialize()가 실패한 경우 0을 return합니다.
+	 */
+	public int Step(int numberOfFrames)
+	{
+		if ( isStarted == true )
+		{
+			System.err.println("Error. 게임 루프가 실행 중일 때는 Step()을 사용할 수 없습니다.");
+			return 0;
+		}
+
+		if ( thr.InitializeOnce() == false )
+			return 0;
+
+		for ( int iFrame = 0; iFrame < numberOfFrames; ++iFrame )
+			thr.RunVirtualFrame(System.nanoTime());
+
+		return numberOfFrames < 0 ? 0 : numberOfFrames;
+	}
+
+	/**
+	 * 가상 시간을 사용하는 모드(또는 Step())에서 지금까지 진행된 게임 내 시간을 밀리초 단위로 return합니다.
+	 */
+	public long GetTimeStamp()
+	{
+		return thr.tick_ns / 1000000;
 	}
 
 	/**
@@ -165,23 +978,157 @@ public class GameLoop
 	 */
 	public void Start()
 	{
+		isStarted = true;
 		thr.start();
 	}
 
+	/**
+	 * 게임 루프를 전용 스레드 대신 주어진 LoopScheduler의 스레드에서 실행합니다.<br>
+	 * 여러 게임 루프가 같은 LoopScheduler를 사용하면 스레드 하나가 모든 게임 루프를 번갈아 진행합니다.
+	 *
+	 * @param scheduler 게임 루프를 실행할 LoopScheduler입니다. 보통 LoopScheduler.GetShared()를 사용합니다.
+	 */
+	public void Start(LoopScheduler scheduler)
+	{
+		isStarted = true;
+		this.scheduler = scheduler;
+		scheduler.Add(this);
+	}
+
 	/**
 	 * 게임 루프의 실행을 중단합니다.<br>
 	 * 대부분의 프로젝트 시나리오에서 이 메서드는 크게 신경쓰지 않아도 됩니다.
 	 */
 	public void Abort()
 	{
-		thr.interrupt();
+		if ( scheduler != null )
+		{
+			scheduler.Remove(this);
+			recorder.WriteCsvOnShutdown();
+		}
+		else
+			thr.interrupt();
+
+		watchdog.Detach();
+
+		if ( renderThr != null )
+			renderThr.interrupt();
+	}
+
+	/**
+	 * 게임 루프를 일시 정지합니다. 창이 숨겨지거나 최소화되었을 때 GameFrame이 자동으로 호출합니다.<br>
+	 * 일시 정지 중에는 Update()와 Draw()가 호출되지 않으며 CPU도 사용하지 않습니다.
+	 */
+	public void Pause()
+	{
+		isPaused = true;
+	}
+
+	/**
+	 * 일시 정지한 게임 루프를 다시 진행합니다.<br>
+	 * 멈춰 있던 동안의 시간은 게임 내 시간에 반영되지 않습니다(가상 타이밍 모드의 경우 원래부터 반영되지 않음).
+	 */
+	public void Resume()
+	{
+		if ( isPaused == false )
+			return;
+
+		isPaused = false;
+
+		if ( scheduler != null )
+			scheduler.Wake();
+		else
+			LockSupport.unpark(thr);
+	}
+
+	/**
+	 * 현재 게임 루프가 일시 정지되어 있는지 여부를 return합니다.
+	 */
+	public boolean IsPaused()
+	{
+		return isPaused;
 	}
 
 	/**
-	 * 현재 게임 루프가 초당 몇 프레임을 소화하고 있는지 return합니다.
+	 * 현재 게임 루프가 초당 몇 프레임을 소화하고 있는지 return합니다.<br>
+	 * 고정 간격 모드에서는 화면을 갱신한(Update()를 한 번 이상 호출한) 프레임만 셉니다.
 	 */
 	public double GetFPS()
 	{
 		return fps;
 	}
+
+	/**
+	 * LoopScheduler의 스레드에서 호출됩니다. 아직 시작 준비를 하지 않았다면 준비합니다.
+	 *
+	 * @return Initialize()가 실패한 경우 false를 return합니다.
+	 */
+	boolean BeginOnScheduler()
+	{
+		return thr.isBegun == true || thr.Begin();
+	}
+
+	/**
+	 * LoopScheduler의 스레드에서 호출됩니다. 일시 정지 중이라면 이를 기록하고 false를 return합니다.
+	 */
+	boolean CheckRunnableOnScheduler()
+	{
+		if ( isPaused == true )
+		{
+			thr.Suspend();
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * LoopScheduler가 다음 프레임을 진행해야 하는 시각을 return합니다.
+	 *
+	 * @param now LoopScheduler가 현재 시각으로 사용하고 있는 값입니다.
+	 */
+	long GetDeadline_ns(long now)
+	{
+		//유휴 상태에서 깨우기 요청이 들어왔다면 바로 진행
+		if ( thr.isIdle && isWakeRequested && thr.deadline_ns - now > 0 )
+			thr.deadline_ns = now;
+
+		return thr.deadline_ns;
+	}
+
+	/**
+	 * LoopScheduler의 스레드에서 호출됩니다. 유휴 상태라서 CPU를 사용하며 기다릴 필요가 없는지 여부를 return합니다.
+	 */
+	boolean IsIdleOnScheduler()
+	{
+		return thr.isIdle;
+	}
+
+	/**
+	 * LoopScheduler의 스레드에서 호출됩니다. 한 프레임을 진행하고 다음 프레임 시각을 갱신합니다.
+	 */
+	void RunFrameOnScheduler()
+	{
+		thr.deadline_ns = thr.RunFrame();
+		watchdog.Enter(StallWatchdog.phase_none);
+	}
+
+	/**
+	 * LoopScheduler의 스레드에서 호출됩니다. 이 게임 루프의 대기 방식을 사용하여 주어진 시각까지 대기합니다.<br>
+	 * 그 전에 LoopScheduler가 깨우기 요청을 받으면(다른 게임 루프가 등록되거나 다시 진행되는 등) 바로 return합니다.
+	 */
+	void WaitUntilOnScheduler(long deadline_ns, BooleanSupplier isWakeRequested)
+	{
+		watchdog.Enter(StallWatchdog.phase_wait);
+		thr.WaitUntil(deadline_ns, isWakeRequested);
+		watchdog.Enter(StallWatchdog.phase_none);
+	}
+
+	/**
+	 * 현재 게임 루프의 동작 방식을 return합니다.
+	 */
+	public TimingMode GetTimingMode()
+	{
+		return thr.mode;
+	}
 }
@@ -36,4 +36,23 @@ public interface IGameLoopMethods
 	 *            게임 루프가 시작된 이후 지난 시각을 밀리초 단위로 나타내는 값입니다.
 	 */
 	void Draw(long timeStamp);
+
+	/**
+	 * 게임 루프의 한 프레임을 구성하는 메서드입니다.<br>
+	 * 고정 간격 모드(GameLoop.TimingMode.FixedStep)에서는 Draw(timeStamp) 대신 이 메서드가 호출됩니다.<br>
+	 * 따로 재정의하지 않으면 alpha는 무시되며 Draw(timeStamp)가 그대로 호출됩니다.<br>
+	 * <br>
+	 * 고정 간격 모드에서 Update()는 항상 일정한 간격으로 호출되지만 Draw()는 그 사이의 임의의 시점에 호출될 수 있습니다.<br>
+	 * 움직이는 요소를 부드럽게 그리고 싶다면 '이전 Update() 결과'와 '마지막 Update() 결과' 사이를 alpha 비율로 보간한 위치에 그리면 됩니다.<br>
+	 * 예: <code>x_draw = x_prev + (x - x_prev) * alpha</code>
+	 * 
+	 * @param timeStamp
+	 *            마지막으로 호출된 Update()가 받은 timeStamp 값입니다.
+	 * @param alpha
+	 *            마지막 Update() 이후 다음 Update()까지 얼마나 진행되었는지를 0.0 이상 1.0 미만의 값으로 나타냅니다.
+	 */
+	default void Draw(long timeStamp, double alpha)
+	{
+		Draw(timeStamp);
+	}
 }
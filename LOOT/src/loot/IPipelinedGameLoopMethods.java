@@ -0,0 +1,40 @@
+package loot;
+
+import loot.graphics.VisualSnapshot;
+
+/**
+ * 게임 루프를 분리 그리기 모드로 실행하기 위해 필요한 메서드들을 추가로 정의하는 인터페이스입니다.<br>
+ * <br>
+ * 분리 그리기 모드에서는 Update()와 Draw()가 서로 다른 스레드에서 동시에 실행됩니다.<br>
+ * 즉, 그리기 스레드가 N번째 프레임을 그리는 동안 게임 루프는 N+1번째 프레임의 Update()를 진행합니다.<br>
+ * 이를 위해 게임 루프는 Update()가 끝날 때마다 Capture()를 호출하여 화면에 그릴 요소들의 상태를 복사해 두고,<br>
+ * 그리기 스레드는 요소 대신 이 복사본을 Draw(timeStamp, snapshot)에 넘겨 줍니다.<br>
+ * <br>
+ * GameFrame을 상속받는 경우에는 Capture()만 구현하면 됩니다.
+ *
+ * @author Racin
+ *
+ */
+public interface IPipelinedGameLoopMethods extends IGameLoopMethods
+{
+	/**
+	 * 게임 루프 스레드에서 Update()가 Draw()를 요청할 때마다 호출되는 메서드입니다.<br>
+	 * 이번 프레임에 그릴 요소들을 <code>snapshot.Add(요소)</code>, <code>snapshot.AddString(...)</code> 등을 통해 순서대로 추가하세요.<br>
+	 * snapshot은 이미 비워진 상태로 전달됩니다.
+	 *
+	 * @param snapshot 이번 프레임에 그릴 내용을 담을 복사본입니다.
+	 */
+	void Capture(VisualSnapshot snapshot);
+
+	/**
+	 * 그리기 스레드에서 호출되는 메서드입니다.<br>
+	 * 주어진 복사본을 화면에 그리는 용도로 사용하세요.<br>
+	 * 이 메서드 안에서는 Update()가 다루는 필드들을 읽지 않도록 유의해야 합니다.
+	 *
+	 * @param timeStamp
+	 *            복사본을 만들 때 Update()가 받은 timeStamp 값입니다.
+	 * @param snapshot
+	 *            Capture()를 통해 만들어진 복사본입니다. 고정 간격 모드에서는 snapshot.alpha에 보간 비율이 들어 있습니다.
+	 */
+	void Draw(long timeStamp, VisualSnapshot snapshot);
+}
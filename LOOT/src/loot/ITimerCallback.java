@@ -0,0 +1,21 @@
+package loot;
+
+/**
+ * TimerService에 예약한 시각이 되었을 때 호출될 메서드를 구현하기 위한 인터페이스입니다.
+ * 
+ * @author Racin
+ *
+ */
+public interface ITimerCallback
+{
+	/**
+	 * 예약한 시각이 되었을 때 게임 루프 스레드에서 호출되는 메서드입니다.<br>
+	 * 이 메서드는 같은 프레임의 Update()보다 먼저 호출됩니다.
+	 * 
+	 * @param timerID
+	 *            이 타이머를 예약할 때 return된 ID입니다. 반복 타이머를 이 안에서 취소할 때 사용할 수 있습니다.
+	 * @param timeStamp
+	 *            이 타이머가 원래 호출되어야 했던 (게임 내) 시각을 밀리초 단위로 나타내는 값입니다.
+	 */
+	void OnTimer(long timerID, long timeStamp);
+}
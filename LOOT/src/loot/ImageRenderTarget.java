@@ -0,0 +1,111 @@
+package loot;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * 창 없이 메모리 안의 Image에 게임 화면을 그리는 RenderTarget입니다.<br>
+ * <br>
+ * 화면(display)이 없는 환경(java.awt.headless=true)에서도 동작하므로<br>
+ * OffscreenGame과 함께 사용하여 성능을 측정하거나, 그려진 화면의 해시값을 비교하는 회귀 테스트를 만들 때 사용합니다.<br>
+ * 가장 최근에 그린 화면은 GetImage()로 가져올 수 있습니다.
+ * 
+ * @author Racin
+ *
+ */
+public class ImageRenderTarget implements RenderTarget
+{
+	private BufferedImage image;
+	private Color backgroundColor;
+	
+	/**
+	 * 지금까지 EndDraw()까지 마친 화면 수 - 다른 스레드(테스트 코드 등)에서 읽을 수 있으므로 volatile 사용
+	 */
+	private volatile long numberOfFrames;
+	
+	/**
+	 * 새로운 ImageRenderTarget class의 인스턴스를 생성합니다.
+	 * 
+	 * @param width 게임 화면의 가로 길이(픽셀 수)입니다.
+	 * @param height 게임 화면의 세로 길이(픽셀 수)입니다.
+	 * @param backgroundColor 게임 화면의 배경색입니다. ClearScreen()은 이 색으로 화면을 칠합니다.
+	 */
+	public ImageRenderTarget(int width, int height, Color backgroundColor)
+	{
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		this.backgroundColor = backgroundColor;
+	}
+	
+	@Override
+	public int GetWidth()
+	{
+		return image.getWidth();
+	}
+	
+	@Override
+	public int GetHeight()
+	{
+		return image.getHeight();
+	}
+	
+	@Override
+	public Graphics2D Begin()
+	{
+		Graphics2D g = image.createGraphics();
+		g.setBackground(backgroundColor);
+		return g;
+	}
+	
+	@Override
+	public void End(Graphics2D g)
+	{
+		g.dispose();
+		++numberOfFrames;
+	}
+	
+	@Override
+	public boolean CopyTo(BufferedImage dest)
+	{
+		int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		int[] pixels_dest = ((DataBufferInt)dest.getRaster().getDataBuffer()).getData();
+		
+		System.arraycopy(pixels, 0, pixels_dest, 0, pixels.length);
+		return true;
+	}
+	
+	/**
+	 * 게임 화면이 그려지는 Image를 return합니다.<br>
+	 * 그리는 도중에 읽으면 반쯤 그려진 화면을 보게 되므로, 게임 루프를 Step()으로 진행하는 경우처럼 그리기가 끝난 다음에 읽으세요.
+	 */
+	public BufferedImage GetImage()
+	{
+		return image;
+	}
+	
+	/**
+	 * 지금까지 그린(EndDraw()까지 마친) 화면 수를 return합니다.
+	 */
+	public long GetNumberOfFrames()
+	{
+		return numberOfFrames;
+	}
+	
+	/**
+	 * 현재 그려져 있는 화면의 모든 픽셀로부터 계산한 64비트 해시값(FNV-1a)을 return합니다.<br>
+	 * 같은 게임을 같은 입력으로 진행했을 때 화면이 달라졌는지 빠르게 확인하는 용도로 사용하세요.
+	 */
+	public long GetPixelHash()
+	{
+		int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+		long hash = 0xcbf29ce484222325L;
+		
+		for ( int pixel : pixels )
+		{
+			hash = ( hash ^ ( pixel & 0xffffff ) ) * 0x100000001b3L;
+		}
+		
+		return hash;
+	}
+}
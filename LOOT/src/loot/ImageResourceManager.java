@@ -55,6 +55,31 @@ public class ImageResourceManager
 	 * @return 성공적으로 등록한 경우 true를 return합니다.
 	 */
 	public boolean LoadImage(String fileName, String imageName)
+	{
+		//JFR 이벤트 - 기록 중이 아니라면 아무 일도 하지 않음
+		LootEvents.LoadImage event = new LootEvents.LoadImage();
+		event.begin();
+
+		boolean isSucceeded = ReadImage(fileName, imageName);
+
+		if ( event.isEnabled() )
+		{
+			event.end();
+			event.file = fileName;
+			event.bytes = new File(fileName).length();
+			event.isSucceeded = isSucceeded;
+			event.commit();
+		}
+
+		return isSucceeded;
+	}
+
+	/**
+	 * LoadImage()에서 실제로 파일을 읽어와 Image를 등록하는 부분입니다.
+	 * 
+	 * @return 성공적으로 등록한 경우 true를 return합니다.
+	 */
+	private boolean ReadImage(String fileName, String imageName)
 	{
 		try
 		{
@@ -1,6 +1,7 @@
 package loot;
 
 import java.awt.Canvas;
+import java.awt.GraphicsEnvironment;
 import java.awt.MouseInfo;
 import java.awt.Point;
 import java.awt.event.KeyEvent;
@@ -8,7 +9,13 @@ import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * 게임 화면에 대한 키보드 / 마우스 입력을 처리하는 클래스입니다. 
@@ -89,9 +96,10 @@ public class InputManager
 		
 		/**
 		 * 이 필드는 InputManager 내부에서 입력 처리 성능 향상을 위해 사용되며<br>
-		 * 여러분은 이 필드를 볼 수 없습니다.
+		 * 여러분은 이 필드를 볼 수 없습니다.<br>
+		 * --> 이 버튼에 마지막으로 변화를 반영한 AcceptInputs()의 프레임 번호, 이번 프레임 번호와 같다면 이미 반영되었음을 의미
 		 */
-		private boolean isAcceptedInThisFrame;
+		private int acceptedGeneration;
 		
 		/**
 		 * ButtonState class는 여러분이 직접 인스턴스화할 수 없습니다.
@@ -102,6 +110,93 @@ public class InputManager
 		}
 	}
 	
+	/**
+	 * 지난 AcceptInputs() 호출 이후 들어온 버튼 누름 / 뗌 또는 마우스 이동 하나를 나타내는 클래스입니다.<br>
+	 * 이 클래스는 여러분이 직접 인스턴스화할 수 없으며<br>
+	 * InputManager.events 목록을 통해 이번 프레임에 들어온 입력들을 들어온 순서대로 확인할 수 있습니다.<br>
+	 * <br>
+	 * buttons 배열에는 버튼마다 마지막 상태만 반영되므로 한 프레임 안에 눌렀다 뗀 버튼은 isChanged가 false가 되지만<br>
+	 * 이 목록에는 누름과 뗌이 모두 들어 있습니다. 프레임 간격이 긴 게임에서 빠른 클릭을 놓치지 않으려면 이 목록을 사용하세요.
+	 * 
+	 * @author Racin
+	 *
+	 */
+	public class InputEvent
+	{
+		/**
+		 * 이 입력의 종류입니다.
+		 */
+		public InputEventType type;
+		
+		/**
+		 * 누르거나 뗀 버튼의 일련 번호입니다. 마우스 이동이라면 -1입니다.
+		 */
+		public int buttonID;
+		
+		/**
+		 * 이 입력이 들어왔을 때의 마우스 커서 위치입니다.<br>
+		 * 마우스_버튼과 마우스 이동은 해당 마우스 이벤트의 위치이며, 키보드 입력은 그 때까지 마지막으로 확인된 위치입니다.
+		 */
+		public int x;
+		public int y;
+		
+		/**
+		 * 이 입력이 들어온 시각입니다. 이벤트 처리 스레드가 입력을 받았을 때의 System.nanoTime() 값입니다.
+		 */
+		public long timeStamp_ns;
+		
+		/**
+		 * InputEvent class는 여러분이 직접 인스턴스화할 수 없습니다.
+		 */
+		private InputEvent()
+		{
+		}
+	}
+	
+	/**
+	 * InputEvent의 종류를 나타냅니다.
+	 * 
+	 * @author Racin
+	 *
+	 */
+	public enum InputEventType
+	{
+		/**
+		 * 버튼을 누름
+		 */
+		Press,
+		
+		/**
+		 * 버튼을 뗌
+		 */
+		Release,
+		
+		/**
+		 * 마우스 커서가 움직임
+		 */
+		Move
+	}
+	
+	/**
+	 * 다음 AcceptInputs()를 호출하기 전까지 버튼 입력이 너무 많이 쌓여 입력 큐가 가득 찼을 때의 처리 방식을 나타냅니다.<br>
+	 * 어느 쪽이든 반영하지 못한 입력 수는 GetNumberOfDroppedInputs()로 확인할 수 있습니다.
+	 * 
+	 * @author Racin
+	 *
+	 */
+	public enum OverflowPolicy
+	{
+		/**
+		 * 가장 오래된 입력을 새 입력으로 덮어씁니다. 입력 큐가 차지하는 메모리가 늘어나지 않습니다.
+		 */
+		DropOldest,
+		
+		/**
+		 * 입력 큐의 길이를 두 배로 늘려 모든 입력을 담습니다. 최대 65536개까지 늘어나며, 그 이상은 가장 오래된 입력을 덮어씁니다.
+		 */
+		Grow
+	}
+	
 	/**
 	 * 키보드 또는 마우스에 bind된 버튼들이 담겨 있는 배열입니다.<br>
 	 * ID가 0인 버튼은 이 배열의 0번째 칸에 담겨 있습니다.<br>
@@ -124,6 +219,18 @@ public class InputManager
 	 */
 	public ArrayList<ButtonState> buttons_changed;
 	
+	/**
+	 * 지난 AcceptInputs() 호출 이후로 들어온 모든 버튼 누름 / 뗌과 마우스 이동의 목록입니다. 먼저 들어온 입력이 앞에 있습니다.<br>
+	 * 목록과 그 안의 InputEvent들은 매 프레임 다시 사용하므로 다음 AcceptInputs() 호출 이후까지 보관하지 마세요.<br>
+	 * 입력 큐가 가득 차서 잃은 입력(GetNumberOfDroppedInputs() 참고)은 이 목록에도 들어 있지 않습니다.<br>
+	 * <br>
+	 * 주의:<br>
+	 * GameLoop.Update()의 시작 부분에서<br>
+	 * 먼저 AcceptInputs()를 한 번 호출하여<br>
+	 * 지난 frame 이후 수행된 실제 키보드 / 마우스 입력이 이 목록에 반영되도록 해야 합니다. 
+	 */
+	public ArrayList<InputEvent> events;
+	
 	/**
 	 * 현재 게임 화면 상에 있는 마우스 커서의 위치를 나타냅니다.<br>
 	 * <br>
@@ -154,13 +261,15 @@ public class InputManager
 	public InputManager(Canvas canvas, int numberOfButtons)
 	{
 		//public 필드 초기화 부분
-		keyBindings_IDtoKeyCode = new int[numberOfButtons];
-		for ( int iBinding = 0; iBinding < numberOfButtons; ++iBinding )
-			keyBindings_IDtoKeyCode[iBinding] = -1;
+		keyBindings_keyCodeToIDs = new AtomicReferenceArray<>(length_keyBindingTable);
+		keyBindings_keyCodeToIDs_extended = new ConcurrentHashMap<>();
+		keyBindings_IDtoKeyCodes = new int[numberOfButtons][];
+		
+		//화면이 없는 환경(OffscreenGame 등)에서는 마우스 정보를 얻을 수 없으므로 흔한 3버튼 마우스로 간주
+		//(마우스_버튼 번호는 1부터 시작하므로 한 칸 더 잡아 둠)
+		mouseBindings_buttonIdxToIDs = new AtomicReferenceArray<>(( GraphicsEnvironment.isHeadless() ? 3 : MouseInfo.getNumberOfButtons() ) + 1);
 		
-		mouseBindings_buttonIdxToID = new int[MouseInfo.getNumberOfButtons()];
-		for ( int iBinding = 0; iBinding < mouseBindings_buttonIdxToID.length; ++iBinding )
-			mouseBindings_buttonIdxToID[iBinding] = -1;
+		numberOfBindings = new int[numberOfButtons];
 
 		buttons = new ButtonState[numberOfButtons];
 		for ( int iButton = 0; iButton < numberOfButtons; ++iButton )
@@ -168,18 +277,22 @@ public class InputManager
 		
 		buttons_changed = new ArrayList<>();
 		
+		events = new ArrayList<>(length_buttonInputQueue);
+		
 		pos_mouseCursor = new Point();
 		
 		isMouseCursorMoved = false;
 		
 		//private 필드 초기화 부분
-		buttonInputQueue = new ButtonState[length_buttonInputQueue];
-		for ( int iQueue = 0; iQueue < length_buttonInputQueue; ++iQueue )
-			buttonInputQueue[iQueue] = new ButtonState();
+		buttonInputQueue = new InputRing(length_buttonInputQueue);
+		
+		changedIDs = new int[numberOfButtons];
 		
-		lock_buttonInputQueue = new Object();
+		eventPool = new ArrayList<>(length_buttonInputQueue);
 		
-		pos_lastMouseCursor = new Point();
+		heldSources = new int[length_heldSources];
+		heldSources_IDs = new int[length_heldSources][];
+		heldCounts = new int[numberOfButtons];
 		
 		canvas.addKeyListener(listener_key);
 		canvas.addMouseListener(listener_mouse_click);
@@ -196,74 +309,188 @@ public class InputManager
 	 */
 	public void AcceptInputs()
 	{
-		//변경 및 적용 여부 관련 필드들 초기화
-		for ( ButtonState state : buttons )
-		{
-			state.isChanged = false;
-			state.isAcceptedInThisFrame = false;
-		}
+		//변경 여부 관련 필드들 초기화 - 지난번에 상태가 바뀐 버튼들만 되돌림(나머지 버튼들은 이미 isChanged가 false)
+		for ( int iChanged = 0; iChanged < numberOfChanged; ++iChanged )
+			buttons[changedIDs[iChanged]].isChanged = false;
 		
+		numberOfChanged = 0;
 		buttons_changed.clear();
 		
+		//적용 여부는 버튼마다 지우는 대신 프레임 번호를 늘려서 모든 버튼이 '아직 반영되지 않음'이 되도록 함
+		int generation = ++acceptGeneration;
+		
 		isMouseCursorMoved = false;
 
+		events.clear();
 		
-		//버튼 입력 반영 시작 - 현재 시각 기준으로 마지막 입력이 어디인지 체크해 둠, 이 때 현재 시각 기준 마우스 커서 위치도 백업해 둠 
-		int idx_buttonInputQueue_last;
-		Point pos_lastMouseCursor_fixed = new Point();
+		//JFR 이벤트 - 기록 중이 아니라면 만들지 않음
+		LootEvents.AcceptInputs event = null;
 		
-		synchronized ( lock_buttonInputQueue )
+		if ( LootEvents.type_acceptInputs.isEnabled() )
 		{
-			idx_buttonInputQueue_last = idx_buttonInputQueue_end;
-			pos_lastMouseCursor_fixed.x = pos_lastMouseCursor.x;
-			pos_lastMouseCursor_fixed.y = pos_lastMouseCursor.y;
+			event = new LootEvents.AcceptInputs();
+			event.begin();
+		}
+		
+		int queueDepth = 0;
+		long numberOfLost = 0;
+		long packed_mouseCursor_fixed;
+		
+		//입력을 재생하는 중이라면 실제 입력은 모두 버리고 기록된 입력으로 대신함
+		InputReplay replay_current = replay;
+		
+		if ( replay_current != null && replay_current.Next(this, GetTimeStamp()) )
+		{
+			seq_buttonInputQueue_start = seq_buttonInputQueue_end;
+			lastQueueDepth = 0;
+			
+			packed_mouseCursor_fixed = replay_current.isMouseCursorMoved ? PackPoint(replay_current.cursor_x, replay_current.cursor_y) : PackPoint(pos_mouseCursor.x, pos_mouseCursor.y);
+		}
+		else
+		{
+			//기록된 입력을 모두 재생했다면 이번 프레임부터 다시 실제 입력을 받음
+			if ( replay_current != null )
+				replay = null;
+		
+			//버튼 입력 반영 시작 - 현재 시각 기준으로 마지막 입력이 어디인지 체크해 둠, 이 때 현재 시각 기준 마우스 커서 위치도 백업해 둠 
+			//(큐의 끝 위치를 먼저 읽은 다음 큐를 읽어야 그 사이에 큐가 커지더라도 끝 위치까지의 입력이 모두 새 큐에 들어 있음)
+			long seq_end = seq_buttonInputQueue_end;
+			InputRing ring = buttonInputQueue;
+			packed_mouseCursor_fixed = packed_lastMouseCursor;
+		
+			long seq_start = seq_buttonInputQueue_start;
+			queueDepth = (int)( seq_end - seq_start );
+			lastQueueDepth = queueDepth;
+			
+			//큐의 길이보다 많이 쌓였다면 가장 오래된 입력들은 이미 덮어써졌으므로 잃은 입력으로 셈
+			if ( seq_end - seq_start > ring.values.length() )
+			{
+				numberOfLost += seq_end - ring.values.length() - seq_start;
+				seq_start = seq_end - ring.values.length();
+			}
+
+			/*
+			 * 이번 프레임의 입력 목록 작성:
+			 * 큐의 시작 위치부터 끝 위치까지 차례대로 하나 하나 뽑아서 미리 만들어 둔 InputEvent에 옮겨 적음.
+			 * 각 칸에는 입력과 함께 그 입력의 일련 번호가 들어 있으므로, 읽는 도중 새 입력이 덮어쓴 칸은 번호가 달라 구별할 수 있음.
+			 * 입력 시각과 커서 위치는 따로 적혀 있으므로 그것들을 읽은 다음 칸을 다시 읽어 그 사이에 덮어써지지 않았는지 확인함.
+			 */
+			for ( long seq = seq_start; seq < seq_end; ++seq )
+			{
+				int slot = (int)seq & ring.mask;
+				long value = ring.values.get(slot);
+			
+				//이미 더 새로운 입력이 덮어쓴 칸이라면 잃은 입력으로 셈
+				if ( value >>> shift_sequence != seq )
+				{
+					++numberOfLost;
+					continue;
+				}
+
+				long time_ns = ring.times.get(slot);
+				long point = ring.points.get(slot);
+				
+				if ( ring.values.get(slot) != value )
+				{
+					++numberOfLost;
+					continue;
+				}
+				
+				//InputEvent는 처음 필요할 때 한 번만 만들고 이후로는 다시 사용
+				if ( events.size() == eventPool.size() )
+					eventPool.add(new InputEvent());
+				
+				InputEvent inputEvent = eventPool.get(events.size());
+				int ID = (int)( value >>> 1 ) & mask_buttonID;
+				
+				if ( ID == ID_mouseMove )
+				{
+					inputEvent.type = InputEventType.Move;
+					inputEvent.buttonID = -1;
+				}
+				else
+				{
+					inputEvent.type = ( value & 1 ) != 0 ? InputEventType.Press : InputEventType.Release;
+					inputEvent.buttonID = ID;
+				}
+				
+				inputEvent.x = (int)( point >> 32 );
+				inputEvent.y = (int)point;
+				inputEvent.timeStamp_ns = time_ns;
+				events.add(inputEvent);
+			}
+			
+			//이번에 반영한 입력들은 큐에서 제거
+			seq_buttonInputQueue_start = seq_end;
+			
+			if ( numberOfLost != 0 )
+				numberOfDroppedInputs.addAndGet(numberOfLost);
 		}
 		
 		/*
 		 * 버튼 입력 반영:
-		 * 큐의 시작 위치와 끝 위치가 같을 때(큐의 길이가 0이 될 때)까지 하나 하나 뽑아서 적용.
+		 * 입력 목록의 끝에서부터 시작까지 거꾸로 하나 하나 적용.
 		 * 단, 같은 버튼에 대해 여러 입력이 들어온 경우 가장 마지막에 들어온 것만 적용.
-		 * (성능 향상을 위해 사실상 queue를 stack처럼 다루고 있지만 결과론적 측면에서는 queue 연산이므로 그냥 큐 라고 부름)
 		 */
-		while ( idx_buttonInputQueue_start != idx_buttonInputQueue_last )
+		for ( int iEvent = events.size() - 1; iEvent >= 0; --iEvent )
 		{
-			if ( idx_buttonInputQueue_last == 0 )
-				idx_buttonInputQueue_last = length_buttonInputQueue - 1;
-			else
-				--idx_buttonInputQueue_last;
-
+			InputEvent inputEvent = events.get(iEvent);
+			
+			if ( inputEvent.type == InputEventType.Move )
+				continue;
+			
 			//변화를 반영할 버튼 찾기 - 항상 존재
-			ButtonState changes = buttonInputQueue[idx_buttonInputQueue_last];
-			ButtonState relatedButton = buttons[changes.ID];
+			ButtonState relatedButton = buttons[inputEvent.buttonID];
+			boolean isPressed = inputEvent.type == InputEventType.Press;
 			
 			//해당 버튼이 이미 변화가 반영된 경우에는 스킵(마지막 변경점만 적용), 그렇지 않은 경우 변화 적용
-			if ( relatedButton.isAcceptedInThisFrame == false )
+			if ( relatedButton.acceptedGeneration != generation )
 			{
 				//만약 버튼의 누름 상태가 바뀐 경우 이를 적용 후 표시, '상태가 바뀐 버튼 목록'에 추가
-				if ( relatedButton.isPressed != changes.isPressed )
+				if ( relatedButton.isPressed != isPressed )
 				{
-					relatedButton.isPressed = changes.isPressed;
+					relatedButton.isPressed = isPressed;
 					relatedButton.isChanged = true;
 					
 					buttons_changed.add(relatedButton);
+					changedIDs[numberOfChanged++] = inputEvent.buttonID;
 				}
 				
 				//그리고 이 버튼을 '변화가 반영되었음'으로 표시하여 다른(더 오래된) 변경점 적용을 방지
-				relatedButton.isAcceptedInThisFrame = true;
+				relatedButton.acceptedGeneration = generation;
 			}
 		}
 		
-		//마우스 커서 이동 반영
-		if ( pos_mouseCursor.equals(pos_lastMouseCursor_fixed) == false )
+		//마우스 커서 이동 반영 - 실제로 움직인 경우에만 새 Point를 만듦
+		int x = (int)( packed_mouseCursor_fixed >> 32 );
+		int y = (int)packed_mouseCursor_fixed;
+		
+		if ( pos_mouseCursor.x != x || pos_mouseCursor.y != y )
 		{
-			pos_mouseCursor = pos_lastMouseCursor_fixed;
+			pos_mouseCursor = new Point(x, y);
 			isMouseCursorMoved = true;
 		}
+		
+		if ( event != null && event.isEnabled() )
+		{
+			event.queueDepth = queueDepth;
+			event.inputsDropped = (int)numberOfLost;
+			event.eventsConsumed = buttons_changed.size();
+			event.isMouseCursorMoved = isMouseCursorMoved;
+			event.commit();
+		}
+		
+		//입력을 기록하는 중이라면 이번 프레임에 반영한 입력을 기록
+		InputRecorder recorder_current = recorder;
+		
+		if ( recorder_current != null )
+			recorder_current.Record(GetTimeStamp(), events, isMouseCursorMoved, pos_mouseCursor.x, pos_mouseCursor.y);
 	}
 
 	/**
 	 * 해당 키를 주어진 버튼에 bind합니다.<br>
-	 * 이미 해당 키가 bind되어 있거나 이미 주어진 버튼이 bind되어 있는 경우 실패합니다.<br>
+	 * 한 키를 여러 버튼에 bind할 수 있으며(키를 누르면 그 버튼들이 모두 눌림), 한 버튼에 여러 키 / 마우스_버튼을 bind할 수도 있습니다(그 중 하나라도 누르고 있으면 눌린 상태).<br>
+	 * 이미 해당 키가 주어진 버튼에 bind되어 있는 경우 실패합니다.<br>
 	 * 성공 여부를 return합니다.
 	 * 
 	 * @param keyCode
@@ -274,17 +501,20 @@ public class InputManager
 	 */
 	public boolean BindKey(int keyCode, int buttonID)
 	{
-		//이미 해당 키가 bind되어 있다면 실패
-		for ( int code : keyBindings_IDtoKeyCode )
-			if ( code == keyCode )
-				return false;
+		//키 코드는 음수가 될 수 없음
+		if ( keyCode < 0 )
+			return false;
 		
-		//이미 해당 버튼이 bind되어 있다면 실패
-		if ( buttons[buttonID].ID != -1 )
+		//이미 해당 키가 해당 버튼에 bind되어 있다면 실패
+		int[] IDs = GetKeyBinding(keyCode);
+		
+		if ( IndexOf(IDs, buttonID) != -1 )
 			return false;
 		
-		//bind 수행
-		keyBindings_IDtoKeyCode[buttonID] = keyCode;
+		//bind 수행 - 키 쪽 배열은 새 배열로 교체하여 이벤트 처리 스레드가 고치는 중인 배열을 읽지 않도록 함
+		SetKeyBinding(keyCode, Add(IDs, buttonID));
+		keyBindings_IDtoKeyCodes[buttonID] = Add(keyBindings_IDtoKeyCodes[buttonID], keyCode);
+		++numberOfBindings[buttonID];
 		buttons[buttonID].ID = buttonID;
 		
 		return true;
@@ -292,7 +522,8 @@ public class InputManager
 	
 	/**
 	 * 해당 마우스_버튼을 주어진 버튼에 bind합니다.<br>
-	 * 이미 해당 마우스_버튼이 bind되어 있거나 이미 주어진 버튼이 bind되어 있는 경우 실패합니다.<br>
+	 * 키와 마찬가지로 한 마우스_버튼을 여러 버튼에, 한 버튼에 여러 키 / 마우스_버튼을 bind할 수 있습니다.<br>
+	 * 이미 해당 마우스_버튼이 주어진 버튼에 bind되어 있거나 마우스에 없는 마우스_버튼인 경우 실패합니다.<br>
 	 * 성공 여부를 return합니다.
 	 * 
 	 * @param mouseButtonNumber
@@ -303,43 +534,296 @@ public class InputManager
 	 */
 	public boolean BindMouseButton(int mouseButtonNumber, int buttonID)
 	{
-		//이미 해당 키가 bind되어 있다면 실패
-		if ( mouseBindings_buttonIdxToID[mouseButtonNumber] != -1 )
+		//마우스에 없는 마우스_버튼이라면 실패
+		if ( mouseButtonNumber < 0 || mouseButtonNumber >= mouseBindings_buttonIdxToIDs.length() )
 			return false;
 		
-		//이미 해당 버튼이 bind되어 있다면 실패
-		if ( buttons[buttonID].ID != -1 )
+		//이미 해당 마우스_버튼이 해당 버튼에 bind되어 있다면 실패
+		int[] IDs = mouseBindings_buttonIdxToIDs.get(mouseButtonNumber);
+		
+		if ( IndexOf(IDs, buttonID) != -1 )
 			return false;
 		
 		//bind 수행
-		mouseBindings_buttonIdxToID[mouseButtonNumber] = buttonID;
+		mouseBindings_buttonIdxToIDs.set(mouseButtonNumber, Add(IDs, buttonID));
+		++numberOfBindings[buttonID];
 		buttons[buttonID].ID = buttonID;
 		
 		return true;
 	}
 	
 	/**
-	 * 해당 버튼에 대한 bind를 해제합니다.
+	 * 해당 키와 주어진 버튼 사이의 bind 하나만 해제합니다. 버튼에 bind된 다른 키 / 마우스_버튼은 그대로 남습니다.<br>
+	 * 성공 여부(해당 키가 주어진 버튼에 bind되어 있었는지 여부)를 return합니다.
+	 */
+	public boolean UnbindKey(int keyCode, int buttonID)
+	{
+		if ( keyCode < 0 || IndexOf(GetKeyBinding(keyCode), buttonID) == -1 )
+			return false;
+		
+		SetKeyBinding(keyCode, Remove(GetKeyBinding(keyCode), buttonID));
+		keyBindings_IDtoKeyCodes[buttonID] = Remove(keyBindings_IDtoKeyCodes[buttonID], keyCode);
+		
+		if ( --numberOfBindings[buttonID] == 0 )
+			buttons[buttonID].ID = -1;
+		
+		return true;
+	}
+	
+	/**
+	 * 해당 마우스_버튼과 주어진 버튼 사이의 bind 하나만 해제합니다. 버튼에 bind된 다른 키 / 마우스_버튼은 그대로 남습니다.<br>
+	 * 성공 여부(해당 마우스_버튼이 주어진 버튼에 bind되어 있었는지 여부)를 return합니다.
+	 */
+	public boolean UnbindMouseButton(int mouseButtonNumber, int buttonID)
+	{
+		if ( mouseButtonNumber < 0 || mouseButtonNumber >= mouseBindings_buttonIdxToIDs.length() ||
+			 IndexOf(mouseBindings_buttonIdxToIDs.get(mouseButtonNumber), buttonID) == -1 )
+			return false;
+		
+		mouseBindings_buttonIdxToIDs.set(mouseButtonNumber, Remove(mouseBindings_buttonIdxToIDs.get(mouseButtonNumber), buttonID));
+		
+		if ( --numberOfBindings[buttonID] == 0 )
+			buttons[buttonID].ID = -1;
+		
+		return true;
+	}
+	
+	/**
+	 * 해당 버튼에 대한 bind를 모두 해제합니다.
 	 * 
 	 * @param buttonID
 	 */
 	public void Unbind(int buttonID)
 	{
-		//해당 버튼이 마우스_버튼에 bind되어 있다면 해제
-		for ( int iMouseButton = 0; iMouseButton < mouseBindings_buttonIdxToID.length; ++iMouseButton )
-			if ( mouseBindings_buttonIdxToID[iMouseButton] == buttonID )
-			{
-				mouseBindings_buttonIdxToID[iMouseButton] = -1;
-				buttons[buttonID].ID = -1;
-				return;
-			}
+		//bind된 것이 없다면 할 일도 없음
+		if ( numberOfBindings[buttonID] == 0 )
+			return;
+		
+		//해당 버튼이 bind된 마우스_버튼들에서 해제
+		for ( int iMouseButton = 0; iMouseButton < mouseBindings_buttonIdxToIDs.length(); ++iMouseButton )
+			if ( IndexOf(mouseBindings_buttonIdxToIDs.get(iMouseButton), buttonID) != -1 )
+				mouseBindings_buttonIdxToIDs.set(iMouseButton, Remove(mouseBindings_buttonIdxToIDs.get(iMouseButton), buttonID));
+		
+		//해당 버튼이 bind된 키들에서 해제 - 버튼마다 bind된 키를 기록해 두었으므로 표 전체를 훑지 않음
+		int[] keyCodes = keyBindings_IDtoKeyCodes[buttonID];
+		
+		if ( keyCodes != null )
+			for ( int keyCode : keyCodes )
+				SetKeyBinding(keyCode, Remove(GetKeyBinding(keyCode), buttonID));
+		
+		keyBindings_IDtoKeyCodes[buttonID] = null;
+		numberOfBindings[buttonID] = 0;
+		buttons[buttonID].ID = -1;
+	}
+		
+	/**
+	 * 모든 버튼에 대한 bind를 해제합니다.<br>
+	 * SceneFrame은 Scene이 바뀔 때마다 이 메서드를 호출합니다.
+	 */
+	public void UnbindAll()
+	{
+		for ( int iButton = 0; iButton < buttons.length; ++iButton )
+			Unbind(iButton);
+	}
+
+	/**
+	 * 가장 최근의 AcceptInputs()가 큐에서 꺼내 처리한 버튼 입력 / 마우스 이동 수를 return합니다.<br>
+	 * 이 값이 계속 크게 유지된다면 프레임 사이에 입력이 많이 쌓이고 있다는 뜻입니다.
+	 */
+	public int GetLastQueueDepth()
+	{
+		return lastQueueDepth;
+	}
+	
+	/**
+	 * 입력 큐가 가득 찼을 때의 처리 방식을 설정합니다. 자세한 내용은 OverflowPolicy를 참고하세요.<br>
+	 * 기본값은 OverflowPolicy.Grow입니다.
+	 */
+	public void SetOverflowPolicy(OverflowPolicy policy)
+	{
+		overflowPolicy = policy;
+	}
+	
+	public OverflowPolicy GetOverflowPolicy()
+	{
+		return overflowPolicy;
+	}
+	
+	/**
+	 * 입력 큐가 가득 차서 버튼과 events 목록에 반영하지 못하고 잃은 버튼 입력 / 마우스 이동 수를 return합니다.
+	 */
+	public long GetNumberOfDroppedInputs()
+	{
+		return numberOfDroppedInputs.get();
+	}
+	
+	/**
+	 * 입력 큐가 가득 차서 큐의 길이를 늘린 횟수를 return합니다.
+	 */
+	public int GetNumberOfGrowths()
+	{
+		return numberOfGrowths;
+	}
+	
+	/**
+	 * 현재 입력 큐의 길이(담아 둘 수 있는 버튼 입력 수)를 return합니다.
+	 */
+	public int GetQueueCapacity()
+	{
+		return buttonInputQueue.values.length();
+	}
+	
+	/**
+	 * 지금부터 AcceptInputs()가 매 프레임 반영하는 입력(events 목록과 마우스 커서 위치)을 주어진 파일에 기록합니다.<br>
+	 * 기록을 시작할 때 random 요소(RandomSource)의 상태도 함께 기록하므로, 나중에 StartReplay()로 이 파일을 재생하면 게임이 기록할 때와 똑같이 진행됩니다.<br>
+	 * 파일에 쓰는 작업은 별도의 스레드가 수행하므로 게임 루프가 기다리지 않습니다. 이미 기록 중이었다면 그 기록을 마치고 새로 시작합니다.<br>
+	 * 게임 루프 스레드에서(또는 게임 루프를 시작하기 전에) 호출하세요.<br>
+	 * <br>
+	 * 재생했을 때 똑같이 진행되려면 timeStamp가 항상 일정하게 증가하는 모드(GameLoop.TimingMode.Virtual 등)에서 기록하고 재생해야 합니다.
+	 * 
+	 * @return 파일을 만들 수 없다면 false를 return합니다.
+	 */
+	public boolean StartRecording(String path)
+	{
+		StopRecording();
 		
-		//해당 버튼이 특정 키에 bind되어 있다면 해제
-		if ( keyBindings_IDtoKeyCode[buttonID] != -1 )
+		try
 		{
-			keyBindings_IDtoKeyCode[buttonID] = -1;
-			buttons[buttonID].ID = -1;
+			recorder = new InputRecorder(path, buttons.length, random == null ? 0 : random.GetState(), System.nanoTime());
+			return true;
+		}
+		catch ( IOException e )
+		{
+			System.err.println("Error. 입력을 기록할 " + path + " 파일을 만들 수 없습니다.");
+			return false;
+		}
+	}
+	
+	/**
+	 * 입력 기록을 마치고 남은 내용을 모두 파일에 쓴 다음 파일을 닫습니다. 기록 중이 아니라면 아무 일도 하지 않습니다.<br>
+	 * 파일에 다 쓸 때까지 최대 1초 기다립니다.
+	 * 
+	 * @return 기록한 내용을 모두 파일에 쓰지 못했다면 false를 return합니다.
+	 */
+	public boolean StopRecording()
+	{
+		InputRecorder recorder_current = recorder;
+		
+		if ( recorder_current == null )
+			return true;
+		
+		recorder = null;
+		return recorder_current.Close(1000);
+	}
+	
+	public boolean IsRecording()
+	{
+		return recorder != null;
+	}
+	
+	/**
+	 * StartRecording()으로 기록한 파일을 재생합니다.<br>
+	 * 재생하는 동안 AcceptInputs()는 실제 키보드 / 마우스 입력을 버리고 기록된 입력을 기록된 프레임에 그대로 반영하며,<br>
+	 * 재생을 시작할 때 random 요소(RandomSource)를 기록을 시작할 때의 상태로 되돌립니다. 기록된 입력을 모두 재생하면 다시 실제 입력을 받습니다.<br>
+	 * 게임 루프 스레드에서(또는 게임 루프를 시작하기 전에) 호출하세요.<br>
+	 * <br>
+	 * 실제 시간에 따라 timeStamp나 Update() 호출 시점이 달라지는 모드(GameLoop.TimingMode.Real, GameLoop.TimingMode.FixedStep)에서는<br>
+	 * 기록과 같은 프레임에 같은 입력을 반영할 수 없으므로 재생할 수 없습니다. GameLoop.TimingMode.Virtual이나 GameLoop.TimingMode.MaxSpeed를 사용하세요.<br>
+	 * 재생 도중 프레임의 timeStamp가 기록과 다르다면 한 번 오류 메시지를 출력합니다.
+	 * 
+	 * @return 파일을 읽을 수 없거나 재생할 수 없는 모드라면 false를 return합니다.
+	 */
+	public boolean StartReplay(String path)
+	{
+		GameLoop loop = loopToWake;
+		
+		if ( loop != null && ( loop.GetTimingMode() == GameLoop.TimingMode.Real || loop.GetTimingMode() == GameLoop.TimingMode.FixedStep ) )
+		{
+			System.err.println("Error. 실제 시간을 사용하는 모드(" + loop.GetTimingMode() + ")에서는 입력을 재생할 수 없습니다. GameFrameSettings.gameLoop_use_virtualTimingMode 등을 설정하세요.");
+			return false;
+		}
+		
+		InputReplay replay_new;
+		
+		try
+		{
+			replay_new = new InputReplay(path, System.nanoTime());
 		}
+		catch ( IOException e )
+		{
+			System.err.println("Error. 입력을 기록한 " + path + " 파일을 읽을 수 없습니다. " + e.getMessage());
+			return false;
+		}
+		
+		if ( replay_new.numberOfButtons > buttons.length )
+			System.err.println("Error. " + path + " 파일은 버튼 " + replay_new.numberOfButtons + "개로 기록되었으므로 " + buttons.length + "번 이후 버튼에 대한 입력은 재생하지 않습니다.");
+		
+		if ( random != null )
+			random.SetState(replay_new.randomState);
+		
+		replay = replay_new;
+		return true;
+	}
+	
+	/**
+	 * 입력 재생을 멈추고 다음 프레임부터 다시 실제 입력을 받습니다.
+	 */
+	public void StopReplay()
+	{
+		replay = null;
+	}
+	
+	/**
+	 * 기록된 입력을 재생하는 중인지 여부를 return합니다. 기록된 입력을 모두 재생했다면 false를 return합니다.
+	 */
+	public boolean IsReplaying()
+	{
+		return replay != null;
+	}
+	
+	/**
+	 * 키보드 / 마우스 입력이 들어올 때마다 깨울 게임 루프를 지정합니다. 이 메서드는 GameFrame이 호출합니다.<br>
+	 * 유휴 상태인 게임 루프가 입력이 들어오는 즉시 원래 속도로 돌아올 수 있도록 하기 위해 사용합니다.
+	 */
+	void SetLoopToWake(GameLoop loop)
+	{
+		loopToWake = loop;
+	}
+	
+	/**
+	 * 입력을 기록 / 재생할 때 상태를 함께 기록 / 복원할 RandomSource를 지정합니다. 이 메서드는 GameFrame이 호출합니다.
+	 */
+	void SetRandomSource(RandomSource random)
+	{
+		this.random = random;
+	}
+	
+	/**
+	 * 재생한 입력 하나를 events 목록의 마지막에 추가합니다. 이 메서드는 AcceptInputs() 안에서 InputReplay가 호출합니다.
+	 */
+	void AddEvent(InputEventType type, int buttonID, int x, int y, long timeStamp_ns)
+	{
+		if ( events.size() == eventPool.size() )
+			eventPool.add(new InputEvent());
+		
+		InputEvent inputEvent = eventPool.get(events.size());
+		
+		inputEvent.type = type;
+		inputEvent.buttonID = type == InputEventType.Move ? -1 : buttonID;
+		inputEvent.x = x;
+		inputEvent.y = y;
+		inputEvent.timeStamp_ns = timeStamp_ns;
+		events.add(inputEvent);
+	}
+		
+	/**
+	 * 게임 화면을 논리 해상도로 그린 다음 창 크기에 맞게 확대 / 축소하여 표시하는 경우 그 논리 해상도를 지정합니다. 이 메서드는 GameFrame이 호출합니다.<br>
+	 * 지정한 경우 마우스 커서 위치는 창 안의 픽셀 좌표 대신 논리 해상도의 좌표로 바뀌어 기록됩니다.
+	 */
+	void SetLogicalSize(int width, int height)
+	{
+		logical_width = width;
+		logical_height = height;
 	}
 		
 	
@@ -350,56 +834,391 @@ public class InputManager
 	 */
 	
 	/**
-	 * 키보드 입력은 종류가 많으므로<br>
-	 * 설정한 총 버튼 수만큼 배열을 잡아 둔 다음<br>
-	 * 각 버튼의 ID를 index로 삼아 bind된 keyCode를 배열 안에 기록<br>
-	 * --> 기록된 값이 -1이면 해당 버튼은 키보드에 매핑되지 않았음을 의미 
+	 * 키보드 입력이 들어올 때마다 bind 목록을 훑지 않도록<br>
+	 * keyCode를 index로 삼는 표를 잡아 둔 다음 각 키에 bind된 버튼들의 ID 배열을 표 안에 기록<br>
+	 * --> KeyEvent.VK_로 시작하는 값들은 모두 이 표 안에 들어가며, 그보다 큰 keyCode(일부 자판의 확장 keyCode 등)는 따로 둔 map에 기록<br>
+	 * --> 기록된 값이 null이면 해당 키는 어떤 버튼에도 매핑되지 않았음을 의미<br>
+	 * --> 각 ID 배열은 한 번 기록한 다음 고치지 않고 bind가 바뀔 때마다 새 배열로 교체하므로 이벤트 처리 스레드가 잠금 없이 읽을 수 있음
 	 */
-	private int[] keyBindings_IDtoKeyCode;
+	private static final int length_keyBindingTable = 0x10000;
+	private AtomicReferenceArray<int[]> keyBindings_keyCodeToIDs;
+	private ConcurrentHashMap<Integer, int[]> keyBindings_keyCodeToIDs_extended;
+	
+	/**
+	 * 각 버튼에 bind된 keyCode들 - Unbind()가 표 전체를 훑지 않고 해당 칸들만 고치기 위해 사용
+	 */
+	private int[][] keyBindings_IDtoKeyCodes;
 	
 	/**
 	 * 마우스 입력은 종류가 적으므로<br>
 	 * 마우스에 달린 총 버튼(게임 내에서 쓰는 버튼이 아닌 실제 마우스_버튼) 수만큼 배열을 잡아 둔 다음<br>
-	 * 각 마우스_버튼에 bind된 버튼의 ID를 배열 안에 기록<br>
-	 * --> 기록된 값이 -1이면 해당 마우스_버튼은 어떤 버튼에도 매핑되지 않았음을 의미
+	 * 각 마우스_버튼에 bind된 버튼들의 ID 배열을 배열 안에 기록<br>
+	 * --> 기록된 값이 null이면 해당 마우스_버튼은 어떤 버튼에도 매핑되지 않았음을 의미
+	 */
+	private AtomicReferenceArray<int[]> mouseBindings_buttonIdxToIDs;
+	
+	/**
+	 * 각 버튼에 bind된 키 / 마우스_버튼 수 - 0이 되면 해당 버튼의 ID를 -1로 되돌림
+	 */
+	private int[] numberOfBindings;
+	
+	/**
+	 * 지난 AcceptInputs()가 상태를 바꾼 버튼들의 ID - 다음 AcceptInputs()가 이 버튼들의 isChanged만 되돌림
+	 */
+	private int[] changedIDs;
+	private int numberOfChanged;
+	
+	/**
+	 * events 목록에 담을 InputEvent들 - 한 번 만든 것은 버리지 않고 다음 프레임에 다시 사용
+	 */
+	private ArrayList<InputEvent> eventPool;
+	
+	/**
+	 * AcceptInputs()를 호출할 때마다 늘어나는 프레임 번호
 	 */
-	private int[] mouseBindings_buttonIdxToID;
+	private int acceptGeneration;
+	
+	/**
+	 * 현재 누르고 있는 키 / 마우스_버튼들(마우스_버튼은 -1 - 번호로 기록)과 각각을 누를 때 함께 누른 버튼들의 ID 배열 - 이벤트 처리 스레드만 사용<br>
+	 * --> 누르고 있는 사이에 bind가 바뀌더라도 뗄 때는 누를 때 누른 버튼들을 그대로 떼므로 아래의 누른 수가 어긋나지 않음
+	 */
+	private static final int length_heldSources = 16;
+	private int[] heldSources;
+	private int[][] heldSources_IDs;
+	private int numberOfHeldSources;
+	
+	/**
+	 * 각 버튼을 누르고 있는 키 / 마우스_버튼 수 - 이벤트 처리 스레드만 사용<br>
+	 * --> 0에서 1이 될 때 버튼 누름 정보를, 1에서 0이 될 때 버튼 뗌 정보를 큐에 추가
+	 */
+	private int[] heldCounts;
 
 	/**
-	 * 아래에 있는 큐의 길이<br>
-	 * --> 충분히 길게 잡지 않으면 넘칠 수 있음<br>
-	 * --> 10FPS 환경이라 하더라도 1/10초 안에 256번 키 입력을 하는 것은 물리적으로 어려울테니 괜찮을 듯
+	 * 버튼 입력 큐 한 칸에 입력과 그 일련 번호를 함께 담기 위한 값들<br>
+	 * --> 한 칸 = (일련 번호 << shift_sequence) | (버튼 ID << 1) | (누름 여부)<br>
+	 * --> 마우스 이동은 버튼 ID 자리에 가장 큰 값(ID_mouseMove)을 담아 구별
+	 */
+	private static final int shift_sequence = 21;
+	private static final int mask_buttonID = ( 1 << ( shift_sequence - 1 ) ) - 1;
+	private static final int ID_mouseMove = mask_buttonID;
+	
+	/**
+	 * 아래에 있는 큐의 처음 길이와 최대 길이 - 항상 2의 거듭제곱<br>
+	 * --> 10FPS 환경이라 하더라도 1/10초 안에 256번 키 입력을 하는 것은 물리적으로 어려울테니 처음에는 이 정도면 충분
 	 */
 	private static final int length_buttonInputQueue = 256;
+	private static final int maxLength_buttonInputQueue = 65536;
 	
 	/**
-	 * 다음 AcceptInputs()를 호출하기 전까지 들어오는 버튼 입력들을 담아 두기 위한 큐
+	 * 버튼 입력 큐를 이루는 배열 - 길이가 2의 거듭제곱이므로 일련 번호 & mask가 곧 칸 위치<br>
+	 * --> 각 칸의 입력 시각과 커서 위치(x << 32 | y)는 같은 칸 위치의 times, points에 담음
 	 */
-	private ButtonState[] buttonInputQueue;
+	private static final class InputRing
+	{
+		final AtomicLongArray values;
+		final AtomicLongArray times;
+		final AtomicLongArray points;
+		final int mask;
+		
+		InputRing(int length)
+		{
+			values = new AtomicLongArray(length);
+			times = new AtomicLongArray(length);
+			points = new AtomicLongArray(length);
+			mask = length - 1;
+			
+			//아직 아무 입력도 담지 않은 칸은 어떤 일련 번호와도 맞지 않도록 채움
+			for ( int iSlot = 0; iSlot < length; ++iSlot )
+				values.set(iSlot, -1L);
+		}
+	}
 
 	/**
-	 * 큐의 시작 위치 - 이전 AcceptInputs()가 호출된 다음 들어온 가장 첫 버튼 입력의 위치
+	 * 다음 AcceptInputs()를 호출하기 전까지 들어오는 버튼 입력 / 마우스 이동들을 담아 두기 위한 큐<br>
+	 * <br>
+	 * 입력을 넣는 쪽(이벤트 처리 스레드)과 꺼내는 쪽(게임 루프 스레드)이 하나씩뿐이므로 잠금 없이 동작합니다.<br>
+	 * --> 넣는 쪽은 칸에 값을 적은 다음 끝 위치를 늘리고, 꺼내는 쪽은 끝 위치를 읽은 다음 그 앞까지의 칸들을 읽음<br>
+	 * --> 큐를 늘려야 할 때는 넣는 쪽이 새 배열에 남은 입력들을 옮겨 적은 다음 새 배열로 바꿈
 	 */
-	private int idx_buttonInputQueue_start = 0;
+	private volatile InputRing buttonInputQueue;
 	
 	/**
-	 * 큐의 끝 위치 - 이전 AcceptInputs()가 호출된 다음 들어온 가장 마지막 버튼 입력의 바로 다음 칸 위치<br>
-	 * <br>
-	 * --> 시작 위치와 끝 위치가 같다면 큐가 비어 있음을 의미<br>
-	 * --> 사실 큐를 단순 배열로 구현했기 때문에 큐가 가득 차 버리면 시작 위치와 끝 위치가 같아져버림<br>
-	 * --> 그러므로 절대 꽉 차는 일이 없도록 배열을 좀 길게 잡아 둘 필요가 있음
+	 * 큐의 시작 위치 - 이전 AcceptInputs()가 꺼내지 않은 가장 첫 버튼 입력의 일련 번호(꺼내는 쪽만 씀)
 	 */
-	private int idx_buttonInputQueue_end;
+	private volatile long seq_buttonInputQueue_start;
 	
 	/**
-	 * 멀티스레딩 환경에서 enqueue 작업이 새지 않도록 막기 위한 스레드 잠금용 object
+	 * 큐의 끝 위치 - 가장 마지막에 들어온 버튼 입력의 다음 일련 번호(넣는 쪽만 씀)<br>
+	 * --> 일련 번호는 계속 늘어나기만 하므로 시작 위치와 끝 위치가 같다면 큐가 비어 있음을 의미하며, 가득 찬 경우와 헷갈리지 않음
 	 */
-	private Object lock_buttonInputQueue;
+	private volatile long seq_buttonInputQueue_end;
 
 	/**
-	 * 이전 AcceptInputs()가 호출된 다음 가장 마지막으로 확인된 마우스 커서 위치
+	 * 큐가 가득 찼을 때의 처리 방식
 	 */
-	private Point pos_lastMouseCursor;
+	private volatile OverflowPolicy overflowPolicy = OverflowPolicy.Grow;
+	
+	/**
+	 * 큐가 가득 차서 잃은 입력 수 및 큐를 늘린 횟수
+	 */
+	private final AtomicLong numberOfDroppedInputs = new AtomicLong();
+	private volatile int numberOfGrowths;
+
+	/**
+	 * 이전 AcceptInputs()가 호출된 다음 가장 마지막으로 확인된 마우스 커서 위치<br>
+	 * --> x와 y가 항상 함께 바뀌어 보이도록 long 하나에 묶어 둠(x << 32 | y)
+	 */
+	private volatile long packed_lastMouseCursor;
+	
+	/**
+	 * 입력이 들어올 때마다 깨울 게임 루프, 지정하지 않았다면 null<br>
+	 * --> 입력을 기록 / 재생할 때 각 프레임의 timeStamp를 읽는 데에도 사용
+	 */
+	private volatile GameLoop loopToWake;
+	
+	/**
+	 * 입력을 기록 / 재생할 때 상태를 함께 기록 / 복원할 RandomSource, 지정하지 않았다면 null
+	 */
+	private RandomSource random;
+	
+	/**
+	 * 입력을 기록 / 재생하는 요소 - 기록 / 재생 중이 아니라면 null
+	 */
+	private volatile InputRecorder recorder;
+	private volatile InputReplay replay;
+	
+	/**
+	 * 가장 최근의 AcceptInputs()가 처리한 버튼 입력 수 - 다른 스레드(성능 표시 등)에서 읽을 수 있으므로 volatile 사용
+	 */
+	private volatile int lastQueueDepth;
+	
+	/**
+	 * 논리 해상도 - 지정하지 않았다면 0
+	 */
+	private volatile int logical_width;
+	private volatile int logical_height;
+	
+	/**
+	 * 마우스 이벤트의 좌표를 (논리 해상도를 지정한 경우) 논리 해상도의 좌표로 바꾸어 마지막 마우스 커서 위치로 기록하고, 기록한 값을 return합니다.
+	 */
+	private long SetLastMouseCursor(MouseEvent e)
+	{
+		int width = logical_width;
+		int height = logical_height;
+		
+		if ( width <= 0 || height <= 0 )
+			return packed_lastMouseCursor = PackPoint(e.getX(), e.getY());
+		
+		//GameFrame이 표시할 때와 같은 방식으로 가운데 정렬된 영역을 계산한 다음 그 안의 좌표로 변환
+		int canvas_width = e.getComponent().getWidth();
+		int canvas_height = e.getComponent().getHeight();
+		double scale = CanvasRenderTarget.GetPresentScale(canvas_width, canvas_height, width, height);
+		int left = ( canvas_width - (int)Math.round(width * scale) ) / 2;
+		int top = ( canvas_height - (int)Math.round(height * scale) ) / 2;
+		
+		return packed_lastMouseCursor = PackPoint((int)Math.floor(( e.getX() - left ) / scale), (int)Math.floor(( e.getY() - top ) / scale));
+	}
+	
+	/**
+	 * 지정된 게임 루프의 현재 timeStamp를 return합니다. 지정된 게임 루프가 없다면 0을 return합니다.
+	 */
+	private long GetTimeStamp()
+	{
+		GameLoop loop = loopToWake;
+		
+		return loop == null ? 0 : loop.GetTimeStamp();
+	}
+	
+	private static long PackPoint(int x, int y)
+	{
+		return (long)x << 32 | y & 0xffffffffL;
+	}
+	
+	/**
+	 * 해당 키에 bind된 버튼들의 ID 배열을 return합니다. bind된 버튼이 없다면 null을 return합니다.
+	 */
+	private int[] GetKeyBinding(int keyCode)
+	{
+		if ( keyCode < length_keyBindingTable )
+			return keyBindings_keyCodeToIDs.get(keyCode);
+		
+		return keyBindings_keyCodeToIDs_extended.get(keyCode);
+	}
+	
+	private void SetKeyBinding(int keyCode, int[] IDs)
+	{
+		if ( keyCode < length_keyBindingTable )
+			keyBindings_keyCodeToIDs.set(keyCode, IDs);
+		else if ( IDs == null )
+			keyBindings_keyCodeToIDs_extended.remove(keyCode);
+		else
+			keyBindings_keyCodeToIDs_extended.put(keyCode, IDs);
+	}
+	
+	/**
+	 * 주어진 배열에서 값의 위치를 찾아 return합니다. 배열이 null이거나 값이 없다면 -1을 return합니다.
+	 */
+	private static int IndexOf(int[] values, int value)
+	{
+		if ( values != null )
+			for ( int iValue = 0; iValue < values.length; ++iValue )
+				if ( values[iValue] == value )
+					return iValue;
+		
+		return -1;
+	}
+	
+	/**
+	 * 주어진 배열 끝에 값을 붙인 새 배열을 return합니다. 원래 배열은 고치지 않습니다.
+	 */
+	private static int[] Add(int[] values, int value)
+	{
+		if ( values == null )
+			return new int[] { value };
+		
+		int[] result = Arrays.copyOf(values, values.length + 1);
+		result[values.length] = value;
+		return result;
+	}
+	
+	/**
+	 * 주어진 배열에서 값을 뺀 새 배열을 return합니다. 남는 값이 없다면 null을 return합니다. 원래 배열은 고치지 않습니다.
+	 */
+	private static int[] Remove(int[] values, int value)
+	{
+		int index = IndexOf(values, value);
+		
+		if ( index == -1 )
+			return values;
+		
+		if ( values.length == 1 )
+			return null;
+		
+		int[] result = new int[values.length - 1];
+		System.arraycopy(values, 0, result, 0, index);
+		System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+		return result;
+	}
+	
+	/**
+	 * 키 / 마우스_버튼 하나를 누른 것으로 기록하고, 그 때문에 새로 눌린 버튼들의 누름 정보를 큐에 추가합니다. 이벤트 처리 스레드에서만 호출합니다.<br>
+	 * 키를 누르고 있는 동안 자동 반복으로 들어오는 누름은 무시합니다.
+	 * 
+	 * @param source 키라면 keyCode, 마우스_버튼이라면 -1 - 마우스_버튼 번호입니다.
+	 * @param IDs 이 키 / 마우스_버튼에 bind된 버튼들의 ID 배열입니다. bind된 버튼이 없다면 null입니다.
+	 * @param time_ns 입력이 들어온 시각입니다.
+	 * @param point 입력이 들어왔을 때의 커서 위치입니다.
+	 */
+	private void PressSource(int source, int[] IDs, long time_ns, long point)
+	{
+		//매핑된 버튼이 없다면 해당 입력은 무시
+		if ( IDs == null )
+			return;
+		
+		//이미 누르고 있다면 무시
+		for ( int iHeld = 0; iHeld < numberOfHeldSources; ++iHeld )
+			if ( heldSources[iHeld] == source )
+				return;
+		
+		if ( numberOfHeldSources == heldSources.length )
+		{
+			heldSources = Arrays.copyOf(heldSources, heldSources.length * 2);
+			heldSources_IDs = Arrays.copyOf(heldSources_IDs, heldSources_IDs.length * 2);
+		}
+		
+		heldSources[numberOfHeldSources] = source;
+		heldSources_IDs[numberOfHeldSources] = IDs;
+		++numberOfHeldSources;
+		
+		//입력 큐의 마지막에 버튼 누름 정보 추가 - 이미 다른 키 / 마우스_버튼으로 누르고 있는 버튼은 제외
+		for ( int ID : IDs )
+			if ( heldCounts[ID]++ == 0 )
+				Enqueue(ID, true, time_ns, point);
+		
+		WakeLoop();
+	}
+	
+	/**
+	 * 키 / 마우스_버튼 하나를 뗀 것으로 기록하고, 그 때문에 더 이상 눌려 있지 않게 된 버튼들의 뗌 정보를 큐에 추가합니다. 이벤트 처리 스레드에서만 호출합니다.
+	 */
+	private void ReleaseSource(int source, long time_ns, long point)
+	{
+		for ( int iHeld = 0; iHeld < numberOfHeldSources; ++iHeld )
+			if ( heldSources[iHeld] == source )
+			{
+				//누를 때 함께 누른 버튼들을 떼어야 하므로 그 때 기록한 배열을 사용
+				int[] IDs = heldSources_IDs[iHeld];
+				
+				--numberOfHeldSources;
+				heldSources[iHeld] = heldSources[numberOfHeldSources];
+				heldSources_IDs[iHeld] = heldSources_IDs[numberOfHeldSources];
+				heldSources_IDs[numberOfHeldSources] = null;
+				
+				//입력 큐의 마지막에 버튼 뗌 정보 추가 - 아직 다른 키 / 마우스_버튼으로 누르고 있는 버튼은 제외
+				for ( int ID : IDs )
+					if ( --heldCounts[ID] == 0 )
+						Enqueue(ID, false, time_ns, point);
+				
+				WakeLoop();
+				return;
+			}
+	}
+	
+	/**
+	 * 버튼 입력 / 마우스 이동 하나를 큐의 마지막에 추가합니다. 이 메서드는 이벤트 처리 스레드에서만 호출하며 게임 루프 스레드를 기다리지 않습니다.<br>
+	 * 큐가 가득 찬 경우 설정한 처리 방식에 따라 큐를 늘리거나 가장 오래된 입력을 덮어씁니다(덮어쓴 입력은 AcceptInputs()가 잃은 입력으로 셈).
+	 * 
+	 * @param ID 버튼의 일련 번호입니다. 마우스 이동이라면 ID_mouseMove입니다.
+	 * @param time_ns 입력이 들어온 시각입니다.
+	 * @param point 입력이 들어왔을 때의 커서 위치입니다.
+	 */
+	private void Enqueue(int ID, boolean isPressed, long time_ns, long point)
+	{
+		long seq = seq_buttonInputQueue_end;
+		InputRing ring = buttonInputQueue;
+		
+		if ( seq - seq_buttonInputQueue_start >= ring.values.length() &&
+			 overflowPolicy == OverflowPolicy.Grow &&
+			 ring.values.length() < maxLength_buttonInputQueue )
+		{
+			//두 배 길이의 새 배열에 아직 꺼내지 않은 입력들을 같은 일련 번호로 옮겨 적은 다음 바꿈
+			InputRing ring_new = new InputRing(ring.values.length() * 2);
+			
+			for ( long seq_old = Math.max(0, seq - ring.values.length()); seq_old < seq; ++seq_old )
+			{
+				int slot_old = (int)seq_old & ring.mask;
+				int slot_new = (int)seq_old & ring_new.mask;
+				
+				ring_new.times.set(slot_new, ring.times.get(slot_old));
+				ring_new.points.set(slot_new, ring.points.get(slot_old));
+				ring_new.values.set(slot_new, ring.values.get(slot_old));
+			}
+			
+			buttonInputQueue = ring = ring_new;
+			++numberOfGrowths;
+		}
+		
+		//칸을 먼저 비운 다음 시각과 위치를 적고 마지막에 입력을 적음
+		//--> 꺼내는 쪽은 입력을 읽은 다음 시각과 위치를 읽고 입력을 다시 읽으므로, 그 사이에 덮어쓰기가 시작되었다면 알아챌 수 있음
+		int slot = (int)seq & ring.mask;
+		
+		ring.values.set(slot, -1L);
+		ring.times.set(slot, time_ns);
+		ring.points.set(slot, point);
+		ring.values.set(slot, seq << shift_sequence | (long)ID << 1 | ( isPressed ? 1 : 0 ));
+		seq_buttonInputQueue_end = seq + 1;
+	}
+
+	/**
+	 * 지정된 게임 루프가 있다면 깨웁니다.
+	 */
+	private void WakeLoop()
+	{
+		GameLoop loop = loopToWake;
+
+		if ( loop != null )
+			loop.Wake();
+	}
 	
 	/**
 	 * 키보드 입력을 받아 처리하기 위한 이벤트 수신자
@@ -412,62 +1231,16 @@ public class InputManager
 		@Override
 		public void keyReleased(KeyEvent e)
 		{
-			ButtonState changes;
-			int ID = -1;
-			int keyCode = e.getKeyCode();
-			
-			//해당 키와 매핑된 버튼 탐색
-			for ( int iKeyBinding = 0; iKeyBinding < keyBindings_IDtoKeyCode.length; ++iKeyBinding )
-				if ( keyBindings_IDtoKeyCode[iKeyBinding] == keyCode )
-				{
-					ID = iKeyBinding;
-					break;
-				}
-			
-			//매핑된 버튼이 없다면 해당 키 입력은 무시
-			if ( ID == -1 )
-				return;
-			
-			//입력 큐의 마지막에 버튼 뗌 정보 추가
-			synchronized ( lock_buttonInputQueue )
-			{
-				changes = buttonInputQueue[idx_buttonInputQueue_end];
-				changes.ID = ID;
-				changes.isPressed = false;
-				++idx_buttonInputQueue_end;
-				idx_buttonInputQueue_end %= length_buttonInputQueue;
-			}
-			
+			ReleaseSource(e.getKeyCode(), System.nanoTime(), packed_lastMouseCursor);
 		}
 		
 		@Override
 		public void keyPressed(KeyEvent e)
 		{
-			ButtonState changes;
-			int ID = -1;
 			int keyCode = e.getKeyCode();
 			
-			//해당 키와 매핑된 버튼 탐색
-			for ( int iKeyBinding = 0; iKeyBinding < keyBindings_IDtoKeyCode.length; ++iKeyBinding )
-				if ( keyBindings_IDtoKeyCode[iKeyBinding] == keyCode )
-				{
-					ID = iKeyBinding;
-					break;
-				}
-			
-			//매핑된 버튼이 없다면 해당 키 입력은 무시
-			if ( ID == -1 )
-				return;
-			
-			//입력 큐의 마지막에 버튼 뗌 정보 추가
-			synchronized ( lock_buttonInputQueue )
-			{
-				changes = buttonInputQueue[idx_buttonInputQueue_end];
-				changes.ID = ID;
-				changes.isPressed = true;
-				++idx_buttonInputQueue_end;
-				idx_buttonInputQueue_end %= length_buttonInputQueue;
-			}
+			//해당 키와 매핑된 버튼들 확인
+			PressSource(keyCode, GetKeyBinding(keyCode), System.nanoTime(), packed_lastMouseCursor);
 		}
 	};
 
@@ -480,51 +1253,23 @@ public class InputManager
 		@Override
 		public void mouseReleased(MouseEvent e)
 		{
-			ButtonState changes;
-			int ID = -1;
-			int buttonNumber = e.getButton();
+			long time_ns = System.nanoTime();
 			
-			//해당 마우스_버튼에 매핑된 버튼 확인
-			ID = mouseBindings_buttonIdxToID[buttonNumber];
-
-			//매핑된 버튼이 없다면 해당 키 입력은 무시
-			if ( ID == -1 )
-				return;
-			
-			//입력 큐의 마지막에 버튼 뗌 정보 추가
-			synchronized ( lock_buttonInputQueue )
-			{
-				changes = buttonInputQueue[idx_buttonInputQueue_end];
-				changes.ID = ID;
-				changes.isPressed = false;
-				++idx_buttonInputQueue_end;
-				idx_buttonInputQueue_end %= length_buttonInputQueue;
-			}
+			ReleaseSource(-1 - e.getButton(), time_ns, SetLastMouseCursor(e));
 		}
 		
 		@Override
 		public void mousePressed(MouseEvent e)
 		{
-			ButtonState changes;
-			int ID = -1;
+			long time_ns = System.nanoTime();
 			int buttonNumber = e.getButton();
+			long point = SetLastMouseCursor(e);
 			
-			//해당 마우스_버튼에 매핑된 버튼 확인
-			ID = mouseBindings_buttonIdxToID[buttonNumber];
-
-			//매핑된 버튼이 없다면 해당 키 입력은 무시
-			if ( ID == -1 )
+			//해당 마우스_버튼에 매핑된 버튼들 확인 - 마우스에 없다고 알려진 마우스_버튼이라면 무시
+			if ( buttonNumber < 0 || buttonNumber >= mouseBindings_buttonIdxToIDs.length() )
 				return;
 			
-			//입력 큐의 마지막에 버튼 누름 정보 추가
-			synchronized ( lock_buttonInputQueue )
-			{
-				changes = buttonInputQueue[idx_buttonInputQueue_end];
-				changes.ID = ID;
-				changes.isPressed = true;
-				++idx_buttonInputQueue_end;
-				idx_buttonInputQueue_end %= length_buttonInputQueue;
-			}
+			PressSource(-1 - buttonNumber, mouseBindings_buttonIdxToIDs.get(buttonNumber), time_ns, point);
 		}
 		
 		@Override
@@ -546,15 +1291,21 @@ public class InputManager
 		@Override
 		public void mouseMoved(MouseEvent e)
 		{
-			//새로운 좌표를 기억
-			pos_lastMouseCursor = e.getPoint();
+			//새로운 좌표를 기억하고 입력 큐의 마지막에 마우스 이동 정보 추가
+			long time_ns = System.nanoTime();
+			
+			Enqueue(ID_mouseMove, false, time_ns, SetLastMouseCursor(e));
+			WakeLoop();
 		}
 		
 		@Override
 		public void mouseDragged(MouseEvent e)
 		{
-			//새로운 좌표를 기억
-			pos_lastMouseCursor = e.getPoint();			
+			//새로운 좌표를 기억하고 입력 큐의 마지막에 마우스 이동 정보 추가
+			long time_ns = System.nanoTime();
+			
+			Enqueue(ID_mouseMove, false, time_ns, SetLastMouseCursor(e));
+			WakeLoop();
 		}
 	};
 }
@@ -0,0 +1,289 @@
+package loot;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * InputManager가 매 프레임 반영한 입력을 파일에 기록하는 클래스입니다.<br>
+ * <br>
+ * AcceptInputs()는 이번 프레임의 입력을 미리 만들어 둔 메모리 조각에 짧게 적어 두기만 하며<br>
+ * 조각이 가득 차면 별도의 기록 스레드에 넘겨 파일에 쓰게 하므로 게임 루프가 파일 쓰기를 기다리지 않습니다.<br>
+ * <br>
+ * 파일 형식(정수는 모두 가변 길이, '부호'라고 적은 것은 zigzag 방식으로 부호를 담음):<br>
+ * - 머리: magic(4byte, "LOIR"), 형식 번호(1byte), 버튼 수, 기록을 시작할 때 RandomSource의 상태(8byte)<br>
+ * - 입력이 있었던 프레임마다: 이전 기록 이후 지난 프레임 수(1 이상), 이전 기록 이후 늘어난 timeStamp(부호), 입력 수, 마우스 커서가 움직였는지 여부(1byte),<br>
+ * &nbsp;&nbsp;움직였다면 커서 위치 x, y(부호), 그리고 입력마다 종류(1byte), 버튼 ID + 1, x, y(부호), 이전 입력 이후 지난 나노초(부호)<br>
+ * - 끝: 지난 프레임 수 자리에 0<br>
+ * 입력이 없었던 프레임은 기록하지 않습니다.
+ *
+ * @author Racin
+ *
+ */
+class InputRecorder
+{
+	static final int magic = 0x4C4F4952;
+	static final int version = 1;
+
+	/**
+	 * 기록 스레드에 한 번에 넘기는 메모리 조각의 크기
+	 */
+	private static final int length_chunk = 65536;
+
+	/**
+	 * 입력 하나를 적는 데 필요한 최대 byte 수(종류 1 + 가변 길이 정수 4개)
+	 */
+	private static final int maxLength_event = 1 + 5 + 5 + 5 + 10;
+
+	/**
+	 * 기록 스레드에 넘길 메모리 조각 - 다 쓴 조각은 다시 사용함
+	 */
+	private static class Chunk
+	{
+		final byte[] data = new byte[length_chunk];
+		int length;
+	}
+
+	/**
+	 * 기록 스레드에 '이제 끝'을 알리기 위한 조각
+	 */
+	private static final Chunk end = new Chunk();
+
+	private final String path;
+	private final OutputStream stream;
+	private final LinkedBlockingQueue<Chunk> queue;
+	private final ConcurrentLinkedQueue<Chunk> free;
+	private final Thread writer;
+	private final Thread shutdownHook;
+
+	/**
+	 * 지금 적고 있는 조각 - Record()와 Close()만 사용
+	 */
+	private Chunk current;
+
+	/**
+	 * 기록을 시작한 이후 지난 프레임 수, 마지막으로 기록한 프레임과 그 timeStamp, 마지막으로 기록한 입력의 시각 - Record()만 사용
+	 */
+	private long numberOfFrames;
+	private long lastRecordedFrame;
+	private long lastRecordedTimeStamp;
+	private long lastRecordedTime_ns;
+
+	private volatile boolean isFailed;
+	private boolean isClosed;
+
+	/**
+	 * 주어진 파일에 기록을 시작합니다. 파일을 열 수 없다면 IOException을 던집니다.
+	 *
+	 * @param startTime_ns 입력 시각을 잴 기준 시각입니다.
+	 */
+	InputRecorder(String path, int numberOfButtons, long randomState, long startTime_ns) throws IOException
+	{
+		this.path = path;
+		stream = new FileOutputStream(path);
+		queue = new LinkedBlockingQueue<>();
+		free = new ConcurrentLinkedQueue<>();
+		current = new Chunk();
+		lastRecordedTime_ns = startTime_ns;
+
+		WriteInt(magic);
+		current.data[current.length++] = (byte)version;
+		WriteVarLong(numberOfButtons);
+		WriteLong(randomState);
+
+		writer = new Thread(this::Write, "InputRecorder");
+		writer.setDaemon(true);
+		writer.setPriority(Thread.MIN_PRIORITY);
+		writer.start();
+
+		//창을 닫아 프로그램이 바로 종료되는 경우에도 기록한 내용을 파일에 쓸 수 있도록 함
+		shutdownHook = new Thread(() -> Close(1000));
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	/**
+	 * 이번 프레임에 반영한 입력을 적습니다. 이 메서드는 AcceptInputs()가 매 프레임 호출합니다.<br>
+	 * 다른 스레드가 기록을 마치는 중일 수 있으므로 Close()와 동시에 실행되지 않도록 합니다(보통은 게임 루프 스레드만 사용하므로 기다리는 일이 없음).
+	 *
+	 * @param timeStamp 이번 프레임의 timeStamp입니다.
+	 * @param events 이번 프레임에 반영한 입력 목록입니다.
+	 * @param isMouseCursorMoved 이번 프레임에 마우스 커서가 움직였는지 여부입니다.
+	 */
+	synchronized void Record(long timeStamp, ArrayList<InputManager.InputEvent> events, boolean isMouseCursorMoved, int cursor_x, int cursor_y)
+	{
+		if ( isClosed )
+			return;
+
+		++numberOfFrames;
+
+		if ( events.isEmpty() && isMouseCursorMoved == false )
+			return;
+
+		EnsureSpace(10 + 10 + 5 + 1 + 5 + 5);
+		WriteVarLong(numberOfFrames - lastRecordedFrame);
+		WriteVarLong(ZigZag(timeStamp - lastRecordedTimeStamp));
+		WriteVarLong(events.size());
+		current.data[current.length++] = (byte)( isMouseCursorMoved ? 1 : 0 );
+
+		if ( isMouseCursorMoved )
+		{
+			WriteVarLong(ZigZag(cursor_x));
+			WriteVarLong(ZigZag(cursor_y));
+		}
+
+		lastRecordedFrame = numberOfFrames;
+		lastRecordedTimeStamp = timeStamp;
+
+		for ( int iEvent = 0; iEvent < events.size(); ++iEvent )
+		{
+			InputManager.InputEvent event = events.get(iEvent);
+
+			EnsureSpace(maxLength_event);
+			current.data[current.length++] = (byte)event.type.ordinal();
+			WriteVarLong(event.buttonID + 1);
+			WriteVarLong(ZigZag(event.x));
+			WriteVarLong(ZigZag(event.y));
+			WriteVarLong(ZigZag(event.timeStamp_ns - lastRecordedTime_ns));
+			lastRecordedTime_ns = event.timeStamp_ns;
+		}
+	}
+
+	/**
+	 * 끝 표시를 적고 남은 내용을 모두 파일에 쓴 다음 파일을 닫습니다. 최대 주어진 시간만큼 기다립니다. 여러 번 호출되어도 한 번만 닫습니다.
+	 *
+	 * @return 시간 안에 오류 없이 모두 쓴 경우 true를 return합니다.
+	 */
+	synchronized boolean Close(long timeout_ms)
+	{
+		if ( isClosed )
+			return writer.isAlive() == false && isFailed == false;
+
+		isClosed = true;
+
+		//이미 프로그램이 종료되는 중이라면 등록을 해제할 수 없으며, 그 경우는 무시해도 됨
+		try
+		{
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		}
+		catch ( IllegalStateException e )
+		{
+		}
+
+		EnsureSpace(1);
+		WriteVarLong(0);
+		queue.offer(current);
+		queue.offer(end);
+		current = null;
+
+		try
+		{
+			writer.join(timeout_ms);
+		}
+		catch ( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		return writer.isAlive() == false && isFailed == false;
+	}
+
+	/**
+	 * 기록 스레드의 본체입니다. 넘겨받은 조각들을 차례로 파일에 씁니다.
+	 */
+	private void Write()
+	{
+		try
+		{
+			while ( true )
+			{
+				Chunk chunk = queue.take();
+
+				if ( chunk == end )
+					break;
+
+				if ( isFailed == false )
+				{
+					try
+					{
+						stream.write(chunk.data, 0, chunk.length);
+					}
+					catch ( IOException e )
+					{
+						isFailed = true;
+						System.err.println("Error. 입력을 기록하는 중 " + path + " 파일에 쓸 수 없습니다.");
+					}
+				}
+
+				chunk.length = 0;
+				free.offer(chunk);
+			}
+		}
+		catch ( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		try
+		{
+			stream.close();
+		}
+		catch ( IOException e )
+		{
+			isFailed = true;
+			System.err.println("Error. 입력을 기록한 " + path + " 파일을 닫을 수 없습니다.");
+		}
+	}
+
+	/**
+	 * 지금 적고 있는 조각에 주어진 byte 수만큼의 자리가 없다면 조각을 기록 스레드에 넘기고 새 조각을 구합니다.
+	 */
+	private void EnsureSpace(int length)
+	{
+		if ( current.length + length <= length_chunk )
+			return;
+
+		queue.offer(current);
+		current = free.poll();
+
+		//기록 스레드가 아직 쓰는 중이라 다시 사용할 조각이 없다면 새로 만듦
+		if ( current == null )
+			current = new Chunk();
+	}
+
+	private void WriteInt(int value)
+	{
+		for ( int shift = 24; shift >= 0; shift -= 8 )
+			current.data[current.length++] = (byte)( value >>> shift );
+	}
+
+	private void WriteLong(long value)
+	{
+		for ( int shift = 56; shift >= 0; shift -= 8 )
+			current.data[current.length++] = (byte)( value >>> shift );
+	}
+
+	/**
+	 * 0 이상의 정수를 7bit씩 나누어 적습니다. 마지막 byte가 아니라면 가장 높은 bit가 1입니다.
+	 */
+	private void WriteVarLong(long value)
+	{
+		while ( ( value & ~0x7FL ) != 0 )
+		{
+			current.data[current.length++] = (byte)( value & 0x7F | 0x80 );
+			value >>>= 7;
+		}
+
+		current.data[current.length++] = (byte)value;
+	}
+
+	/**
+	 * 부호가 있는 정수를 0 이상의 정수로 바꿉니다(0, -1, 1, -2, ... -> 0, 1, 2, 3, ...).
+	 */
+	private static long ZigZag(long value)
+	{
+		return value << 1 ^ value >> 63;
+	}
+}
@@ -0,0 +1,201 @@
+package loot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * InputRecorder가 기록한 파일을 읽어 매 프레임 기록된 입력을 InputManager에 다시 넣는 클래스입니다.<br>
+ * <br>
+ * 파일 전체를 처음에 한 번 읽어 두고 프레임마다 그 프레임에 해당하는 부분만 풀어 쓰므로 재생 도중 파일을 읽거나 새 객체를 만들지 않습니다.<br>
+ * 파일 형식은 InputRecorder를 참고하세요.
+ *
+ * @author Racin
+ *
+ */
+class InputReplay
+{
+	/**
+	 * 입력 종류 목록 - values()는 부를 때마다 새 배열을 만들므로 한 번만 받아 둠
+	 */
+	private static final InputManager.InputEventType[] types = InputManager.InputEventType.values();
+
+	private final String path;
+	private final byte[] data;
+	private int position;
+
+	/**
+	 * 기록할 때의 버튼 수 및 RandomSource의 상태
+	 */
+	final int numberOfButtons;
+	final long randomState;
+
+	/**
+	 * 재생을 시작한 이후 지난 프레임 수, 다음에 입력이 있는 프레임과 그 timeStamp, 마지막으로 넣은 입력의 시각
+	 */
+	private long numberOfFrames;
+	private long nextRecordedFrame;
+	private long nextRecordedTimeStamp;
+	private long lastTime_ns;
+
+	/**
+	 * timeStamp가 기록과 달랐던 프레임 수
+	 */
+	private long numberOfMismatches;
+
+	/**
+	 * 가장 최근의 Next()가 읽은 마우스 커서 정보
+	 */
+	boolean isMouseCursorMoved;
+	int cursor_x;
+	int cursor_y;
+
+	/**
+	 * 주어진 파일을 읽어 재생을 준비합니다. 파일을 읽을 수 없거나 형식이 맞지 않으면 IOException을 던집니다.
+	 *
+	 * @param startTime_ns 재생한 입력의 시각을 잴 기준 시각입니다.
+	 */
+	InputReplay(String path, long startTime_ns) throws IOException
+	{
+		this.path = path;
+		data = Files.readAllBytes(Paths.get(path));
+		lastTime_ns = startTime_ns;
+
+		try
+		{
+			if ( ReadInt() != InputRecorder.magic || ( data[position++] & 0xFF ) != InputRecorder.version )
+				throw new IOException(path + " 파일은 입력을 기록한 파일이 아닙니다.");
+
+			numberOfButtons = (int)ReadVarLong();
+			randomState = ReadLong();
+			ReadFrameHeader(0);
+		}
+		catch ( ArrayIndexOutOfBoundsException e )
+		{
+			throw new IOException(path + " 파일이 중간에 끊겨 있습니다.");
+		}
+	}
+
+	/**
+	 * 이번 프레임에 기록된 입력을 주어진 InputManager의 events 목록에 넣고, 마우스 커서 정보를 이 인스턴스의 필드에 적습니다.<br>
+	 * 이 메서드는 AcceptInputs()가 매 프레임 호출합니다.
+	 *
+	 * @param timeStamp 이번 프레임의 timeStamp입니다. 기록과 다르다면 기록과 다르게 진행되고 있다는 뜻입니다.
+	 * @return 파일의 끝에 도달하여 더 재생할 입력이 없다면 false를 return합니다.
+	 */
+	boolean Next(InputManager inputs, long timeStamp)
+	{
+		++numberOfFrames;
+		isMouseCursorMoved = false;
+
+		if ( nextRecordedFrame == 0 )
+			return false;
+
+		if ( numberOfFrames != nextRecordedFrame )
+			return true;
+
+		if ( timeStamp != nextRecordedTimeStamp && numberOfMismatches++ == 0 )
+			System.err.println("Error. " + path + " 파일을 재생하는 중 " + numberOfFrames + "번째 프레임의 timeStamp(" + timeStamp + ")가 기록(" + nextRecordedTimeStamp + ")과 다릅니다. 이후로는 기록과 다르게 진행될 수 있습니다.");
+
+		try
+		{
+			int numberOfEvents = (int)ReadVarLong();
+			isMouseCursorMoved = data[position++] != 0;
+
+			if ( isMouseCursorMoved )
+			{
+				cursor_x = (int)UnZigZag(ReadVarLong());
+				cursor_y = (int)UnZigZag(ReadVarLong());
+			}
+
+			for ( int iEvent = 0; iEvent < numberOfEvents; ++iEvent )
+			{
+				InputManager.InputEventType type = types[data[position++]];
+				int buttonID = (int)ReadVarLong() - 1;
+				int x = (int)UnZigZag(ReadVarLong());
+				int y = (int)UnZigZag(ReadVarLong());
+				lastTime_ns += UnZigZag(ReadVarLong());
+
+				//기록할 때보다 버튼 수가 적다면 없는 버튼에 대한 입력은 버림
+				if ( buttonID < inputs.buttons.length )
+					inputs.AddEvent(type, buttonID, x, y, lastTime_ns);
+			}
+
+			ReadFrameHeader(nextRecordedFrame);
+		}
+		catch ( ArrayIndexOutOfBoundsException e )
+		{
+			System.err.println("Error. " + path + " 파일이 중간에 끊겨 있어 재생을 마칩니다.");
+			nextRecordedFrame = 0;
+		}
+
+		return true;
+	}
+
+	/**
+	 * timeStamp가 기록과 달랐던 프레임 수를 return합니다.
+	 */
+	long GetNumberOfMismatches()
+	{
+		return numberOfMismatches;
+	}
+
+	/**
+	 * 다음에 입력이 있는 프레임의 번호와 timeStamp를 읽습니다. 끝 표시를 만났다면 다음 프레임 번호를 0으로 둡니다.
+	 */
+	private void ReadFrameHeader(long lastRecordedFrame)
+	{
+		long numberOfSkippedFrames = ReadVarLong();
+
+		if ( numberOfSkippedFrames == 0 )
+		{
+			nextRecordedFrame = 0;
+			return;
+		}
+
+		nextRecordedFrame = lastRecordedFrame + numberOfSkippedFrames;
+		nextRecordedTimeStamp += UnZigZag(ReadVarLong());
+	}
+
+	private int ReadInt()
+	{
+		int value = 0;
+
+		for ( int iByte = 0; iByte < 4; ++iByte )
+			value = value << 8 | data[position++] & 0xFF;
+
+		return value;
+	}
+
+	private long ReadLong()
+	{
+		long value = 0;
+
+		for ( int iByte = 0; iByte < 8; ++iByte )
+			value = value << 8 | data[position++] & 0xFF;
+
+		return value;
+	}
+
+	private long ReadVarLong()
+	{
+		long value = 0;
+		int shift = 0;
+		byte current;
+
+		do
+		{
+			current = data[position++];
+			value |= (long)( current & 0x7F ) << shift;
+			shift += 7;
+		}
+		while ( current < 0 );
+
+		return value;
+	}
+
+	private static long UnZigZag(long value)
+	{
+		return value >>> 1 ^ -( value & 1 );
+	}
+}
@@ -0,0 +1,251 @@
+package loot;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 여러 게임 루프를 스레드 하나에서 번갈아 진행하는 클래스입니다.<br>
+ * <br>
+ * 게임 루프마다 전용 스레드를 만들면, 창을 새로 만들 때마다 스레드가 하나씩 늘어나게 됩니다.<br>
+ * LoopScheduler를 사용하면 실행 중인 모든 게임 루프가 스레드 하나를 공유하며,<br>
+ * 이 스레드는 다음 프레임 시각이 가장 가까운 게임 루프를 골라 차례대로 진행합니다.<br>
+ * 일시 정지된 게임 루프는 건너뛰며, 진행할 게임 루프가 하나도 없으면 스레드는 CPU를 사용하지 않고 대기합니다.<br>
+ * 등록된 게임 루프가 모두 중단되면 스레드도 함께 종료되고, 다시 게임 루프가 등록되면 새로 시작됩니다.<br>
+ * <br>
+ * 같은 LoopScheduler를 사용하는 게임 루프들은 서로의 Update() / Draw()가 끝나기를 기다려야 하므로<br>
+ * 한 게임 루프의 Update()나 Draw()가 오래 걸리면 다른 게임 루프도 함께 늦어진다는 점에 유의하세요.
+ *
+ * @author Racin
+ *
+ */
+public class LoopScheduler
+{
+	/**
+	 * 게임 루프들을 실제로 진행하는 내부 스레드입니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	private class SchedulerThread extends Thread
+	{
+		public SchedulerThread()
+		{
+			super("LoopScheduler");
+		}
+
+		/**
+		 * 내부 스레드의 진입점 메서드입니다.<br>
+		 * 이 메서드는 등록된 게임 루프가 모두 없어지거나 LoopScheduler.Shutdown()을 호출할 때까지 실행됩니다.
+		 */
+		@Override
+		public void run()
+		{
+			while ( isInterrupted() == false )
+			{
+				//목록을 살펴보기 전에 지움 - 살펴보는 도중에 들어온 요청은 아래의 대기를 바로 끝냄
+				isWakeRequested = false;
+
+				long now = System.nanoTime();
+				long earliest_deadline_ns = 0;
+				GameLoop earliest = null;
+
+				for ( GameLoop loop : loops )
+				{
+					//일시 정지 중인 게임 루프는 건너뜀
+					if ( loop.CheckRunnableOnScheduler() == false )
+						continue;
+
+					//한 게임 루프에서 예외가 발생하더라도 다른 게임 루프들은 계속 진행되도록 그 게임 루프만 중단
+					try
+					{
+						//처음 진행하는 게임 루프라면 Initialize() 호출, 실패한 경우 목록에서 제거
+						if ( loop.BeginOnScheduler() == false )
+						{
+							loops.remove(loop);
+							continue;
+						}
+
+						//프레임 시각이 된 게임 루프 진행
+						if ( loop.GetDeadline_ns(now) - now <= 0 )
+							loop.RunFrameOnScheduler();
+					}
+					catch ( RuntimeException | Error e )
+					{
+						System.err.println("Error. LoopScheduler에서 진행하던 게임 루프에서 예외가 발생하여 그 게임 루프를 중단합니다.");
+						e.printStackTrace();
+						loops.remove(loop);
+						loop.Abort();
+						continue;
+					}
+					finally
+					{
+						now = System.nanoTime();
+					}
+
+					if ( earliest == null || loop.GetDeadline_ns(now) - earliest_deadline_ns < 0 )
+					{
+						earliest = loop;
+						earliest_deadline_ns = loop.GetDeadline_ns(now);
+					}
+				}
+
+				//진행할 게임 루프가 없다면 새로 등록되거나 다시 진행될 때까지 대기(모두 없어졌다면 스레드 종료)
+				if ( earliest == null )
+				{
+					synchronized ( LoopScheduler.this )
+					{
+						if ( loops.isEmpty() )
+						{
+							thr = null;
+							return;
+						}
+					}
+
+					if ( isWakeRequested == false )
+						LockSupport.park(this);
+
+					continue;
+				}
+
+				//가장 가까운 게임 루프의 시각까지 대기 - 그 전에 깨우기 요청(새 게임 루프 등록, 다시 진행, 유휴 상태에서 깨우기)이 오면 바로 다시 확인
+				if ( isWakeRequested )
+					continue;
+
+				if ( earliest.IsIdleOnScheduler() )
+					LockSupport.parkNanos(this, earliest_deadline_ns - System.nanoTime());
+				else
+					earliest.WaitUntilOnScheduler(earliest_deadline_ns, wakeCondition);
+			}
+
+			synchronized ( LoopScheduler.this )
+			{
+				if ( thr == this )
+					thr = null;
+			}
+		}
+	}
+
+	/**
+	 * 따로 LoopScheduler를 만들지 않은 경우 사용하는 공용 인스턴스
+	 */
+	private static LoopScheduler shared;
+
+	private final CopyOnWriteArrayList<GameLoop> loops = new CopyOnWriteArrayList<>();
+	private SchedulerThread thr;
+
+	/**
+	 * 내부 스레드가 대기를 그만두고 목록을 다시 살펴봐야 하는지 여부 - 다른 스레드에서 설정하므로 volatile 사용<br>
+	 * FramePacer가 대기 중에 확인할 수 있도록 조건 객체를 미리 만들어 둠(매 프레임 새로 만들지 않도록)
+	 */
+	private volatile boolean isWakeRequested;
+	private final BooleanSupplier wakeCondition = () -> isWakeRequested;
+
+	/**
+	 * 새로운 LoopScheduler class의 인스턴스를 생성합니다.<br>
+	 * 일부 게임 루프만 따로 스레드 하나를 공유하게 하려는 경우에 사용하며, 보통은 GetShared()를 사용하면 됩니다.
+	 */
+	public LoopScheduler()
+	{
+	}
+
+	/**
+	 * 프로그램 전체에서 함께 사용하는 공용 LoopScheduler를 return합니다.
+	 */
+	public static synchronized LoopScheduler GetShared()
+	{
+		if ( shared == null )
+			shared = new LoopScheduler();
+
+		return shared;
+	}
+
+	/**
+	 * 게임 루프를 등록하고 필요한 경우 내부 스레드를 시작합니다. 이 메서드는 GameLoop.Start(scheduler)가 호출합니다.
+	 */
+	synchronized void Add(GameLoop loop)
+	{
+		loops.addIfAbsent(loop);
+
+		if ( thr == null )
+		{
+			thr = new SchedulerThread();
+			thr.start();
+		}
+		else
+		{
+			isWakeRequested = true;
+			LockSupport.unpark(thr);
+		}
+	}
+
+	/**
+	 * 게임 루프를 목록에서 제거합니다. 이 메서드는 GameLoop.Abort()가 호출합니다.<br>
+	 * 현재 진행 중인 프레임이 있다면 그 프레임까지는 끝까지 진행됩니다.
+	 */
+	synchronized void Remove(GameLoop loop)
+	{
+		loops.remove(loop);
+
+		//모두 제거된 경우 내부 스레드가 스스로 종료할 수 있도록 깨워 줌
+		Wake();
+	}
+
+	/**
+	 * 진행할 게임 루프가 없거나 유휴 상태인 게임 루프를 기다리며 대기 중인 내부 스레드를 깨웁니다.
+	 */
+	synchronized void Wake()
+	{
+		if ( thr != null )
+		{
+			isWakeRequested = true;
+			LockSupport.unpark(thr);
+		}
+	}
+
+	/**
+	 * 현재 등록되어 있는 게임 루프 수를 return합니다. 일시 정지된 게임 루프도 포함됩니다.
+	 */
+	public int GetNumberOfLoops()
+	{
+		return loops.size();
+	}
+
+	/**
+	 * 현재 내부 스레드가 실행 중인지 여부를 return합니다.
+	 */
+	public synchronized boolean IsRunning()
+	{
+		return thr != null;
+	}
+
+	/**
+	 * 등록된 모든 게임 루프를 중단하고 내부 스레드가 종료될 때까지 기다립니다.
+	 */
+	public void Shutdown()
+	{
+		SchedulerThread thr_old;
+
+		for ( GameLoop loop : loops )
+			loop.Abort();
+
+		synchronized ( this )
+		{
+			thr_old = thr;
+		}
+
+		if ( thr_old == null || thr_old == Thread.currentThread() )
+			return;
+
+		thr_old.interrupt();
+
+		try
+		{
+			thr_old.join();
+		}
+		catch ( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package loot;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * LOOT의 각 부분이 JDK Flight Recorder(JFR)에 남기는 이벤트들을 모아 둔 클래스입니다.<br>
+ * <br>
+ * 실제 사용자의 게임 실행을 기록해 두었다가 JDK Mission Control 등의 표준 도구로 분석할 수 있도록<br>
+ * 게임 루프의 각 프레임, 화면 표시, 입력 반영, Image / 음원 읽기, 음원 재생을 이벤트로 남깁니다.<br>
+ * 기록을 시작하려면 java 명령에 -XX:StartFlightRecording 옵션을 붙여 실행하세요.<br>
+ * <br>
+ * 각 이벤트는 사용하는 곳에서 new로 만든 다음 isEnabled()를 확인하고 나서야 값을 채워 commit()합니다.<br>
+ * 단, 매 프레임 만드는 이벤트(Frame, Show, AcceptInputs)는 JIT 컴파일러가 생성을 없애 준다는 보장이 없으므로<br>
+ * 아래의 type_ 필드로 기록 중인지 먼저 확인하고, 기록 중일 때만 만듭니다.
+ *
+ * @author Racin
+ *
+ */
+final class LootEvents
+{
+	private LootEvents() { }
+
+	/**
+	 * 매 프레임 만드는 이벤트들의 종류 - isEnabled()가 false라면 이벤트를 만들지 않음
+	 */
+	static final EventType type_frame = EventType.getEventType(Frame.class);
+	static final EventType type_show = EventType.getEventType(Show.class);
+	static final EventType type_acceptInputs = EventType.getEventType(AcceptInputs.class);
+
+	/**
+	 * 게임 루프의 한 프레임(대기 시간 제외)을 나타내는 이벤트입니다.
+	 */
+	@Name("loot.Frame")
+	@Label("Frame")
+	@Category({ "LOOT", "GameLoop" })
+	@Description("게임 루프의 한 프레임 - 대기 시간은 포함하지 않음")
+	static class Frame extends Event
+	{
+		@Label("Timing Mode")
+		String mode;
+
+		@Label("Update Duration")
+		@Description("타이머 호출을 포함한 Update() 호출 시간, 고정 간격 모드에서는 이번 프레임에 호출한 모든 Update()의 합")
+		@Timespan(Timespan.NANOSECONDS)
+		long updateDuration;
+
+		@Label("Draw Duration")
+		@Description("Draw() 호출 시간, 분리 그리기 모드에서는 Capture() 호출 시간")
+		@Timespan(Timespan.NANOSECONDS)
+		long drawDuration;
+
+		@Label("Drawn")
+		boolean isDrawn;
+
+		@Label("Idle")
+		@Description("이 프레임을 마친 뒤 게임 루프가 유휴 상태로 들어갔는지 여부")
+		boolean isIdle;
+	}
+
+	/**
+	 * GameFrame.EndDraw()에서 다 그린 버퍼를 창에 표시하는 작업을 나타내는 이벤트입니다. 이벤트의 길이가 BufferStrategy.show() 호출 시간입니다.
+	 */
+	@Name("loot.Show")
+	@Label("Show")
+	@Category({ "LOOT", "Graphics" })
+	static class Show extends Event
+	{
+		@Label("Page Flipping")
+		boolean isPageFlipping;
+		
+		@Label("Number Of Buffers")
+		int numberOfBuffers;
+		
+		@Label("Contents Lost")
+		@Description("표시하는 도중 버퍼의 내용을 잃어 다음 프레임에 다시 그리도록 요청했는지 여부")
+		boolean isContentsLost;
+	}
+
+	/**
+	 * QualityGovernor가 화질 단계를 바꾼 것을 나타내는 이벤트입니다.
+	 */
+	@Name("loot.QualityChange")
+	@Label("Quality Change")
+	@Category({ "LOOT", "Graphics" })
+	static class QualityChange extends Event
+	{
+		@Label("Old Level")
+		String oldLevel;
+
+		@Label("New Level")
+		String newLevel;
+
+		@Label("Average Frame Time")
+		@Description("단계를 바꾸던 시점의, 그린 프레임에 걸린 시간의 이동 평균")
+		@Timespan(Timespan.NANOSECONDS)
+		long averageFrameTime;
+	}
+
+	/**
+	 * InputManager.AcceptInputs() 호출을 나타내는 이벤트입니다.
+	 */
+	@Name("loot.AcceptInputs")
+	@Label("Accept Inputs")
+	@Category({ "LOOT", "Input" })
+	static class AcceptInputs extends Event
+	{
+		@Label("Queue Depth")
+		@Description("호출 시점에 입력 큐에 쌓여 있던 입력 수")
+		int queueDepth;
+
+		@Label("Events Consumed")
+		@Description("버튼 상태에 실제로 반영된 입력 수(같은 버튼에 대한 더 오래된 입력은 제외)")
+		int eventsConsumed;
+
+		@Label("Inputs Dropped")
+		@Description("입력 큐가 가득 차서 반영하지 못하고 잃은 입력 수")
+		int inputsDropped;
+
+		@Label("Mouse Moved")
+		boolean isMouseCursorMoved;
+	}
+
+	/**
+	 * ImageResourceManager.LoadImage() 호출을 나타내는 이벤트입니다. 이벤트의 길이가 읽기 및 디코딩 시간입니다.
+	 */
+	@Name("loot.LoadImage")
+	@Label("Load Image")
+	@Category({ "LOOT", "Resource" })
+	static class LoadImage extends Event
+	{
+		@Label("File")
+		String file;
+
+		@Label("Bytes")
+		@DataAmount
+		long bytes;
+
+		@Label("Succeeded")
+		boolean isSucceeded;
+	}
+
+	/**
+	 * AudioManager.LoadAudio() 호출을 나타내는 이벤트입니다. 이벤트의 길이가 읽기 및 디코딩 시간입니다.
+	 */
+	@Name("loot.LoadAudio")
+	@Label("Load Audio")
+	@Category({ "LOOT", "Resource" })
+	static class LoadAudio extends Event
+	{
+		@Label("File")
+		String file;
+
+		@Label("Bytes")
+		@DataAmount
+		long bytes;
+
+		@Label("Channels")
+		int numberOfChannels;
+
+		@Label("Succeeded")
+		boolean isSucceeded;
+	}
+
+	/**
+	 * AudioManager.Play() / Loop() 호출을 나타내는 이벤트입니다.
+	 */
+	@Name("loot.Play")
+	@Label("Play")
+	@Category({ "LOOT", "Audio" })
+	static class Play extends Event
+	{
+		@Label("Clip Name")
+		String clipName;
+
+		@Label("Loop Count")
+		@Description("Play()인 경우 0, Loop()인 경우 반복 횟수(무한 반복은 -1)")
+		int loopCount;
+
+		@Label("Channel Stolen")
+		@Description("모든 채널이 사용 중이라 가장 오래된 채널을 멈추고 다시 사용했는지 여부")
+		boolean isChannelStolen;
+	}
+}
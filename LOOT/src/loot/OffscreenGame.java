@@ -0,0 +1,240 @@
+package loot;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import loot.graphics.DirtyRegion;
+import loot.graphics.TextCache;
+import loot.graphics.VisualSnapshot;
+
+/**
+ * 창 없이 메모리 안의 Image에 게임 화면을 그리는 게임 하나를 나타내는 클래스입니다.<br>
+ * <br>
+ * GameFrame은 JFrame이므로 화면(display)이 없는 환경(java.awt.headless=true)에서는 만들 수조차 없습니다.<br>
+ * 이 클래스는 GameFrame과 같은 이름의 필드와 메서드(inputs, images, BeginDraw(), ClearScreen(), DrawString(), EndDraw() 등)를 제공하며<br>
+ * 게임 화면을 ImageRenderTarget에 그리므로, 같은 방식으로 작성한 Initialize() / Update() / Draw()를 창 없이 실행할 수 있습니다.<br>
+ * 화면이 없는 빌드 서버에서 성능을 측정하거나 그려진 화면의 해시값을 비교하는 회귀 테스트를 만들 때 사용하세요.<br>
+ * <br>
+ * Step()으로 정해진 수만큼의 프레임을 호출한 스레드에서 바로 진행하거나, Start()로 게임 루프를 실행할 수 있습니다.<br>
+ * 키보드 / 마우스 입력은 들어오지 않으며(GameFrameSettings.input_replayFile로 기록한 입력을 재생할 수는 있음), 바뀐 영역만 다시 그리는 모드는 사용되지 않습니다(항상 전체를 그림).<br>
+ * 각 메서드에 대한 자세한 설명은 GameFrame의 같은 이름의 메서드를 참고하세요.
+ * 
+ * @author Racin
+ *
+ */
+public abstract class OffscreenGame implements IPipelinedGameLoopMethods
+{
+	/**
+	 * GameFrame과 같은 용도로 사용하는 요소들입니다. 자세한 내용은 GameFrame의 같은 이름의 필드를 참고하세요.
+	 */
+	protected GameFrameSettings settings;
+	protected InputManager inputs;
+	protected ImageResourceManager images;
+	protected AudioManager audios;
+	protected GameLoop loop;
+	protected DirtyRegion dirtyRegion;
+	protected TextCache textCache;
+	protected RandomSource random;
+	
+	/**
+	 * Draw() 안에서 BeginDraw()를 호출한 뒤부터 EndDraw()를 호출하기 전까지 사용할 수 있는 '붓'입니다.<br>
+	 * 자세한 내용은 GameFrame.g를 참고하세요.
+	 */
+	protected Graphics2D g;
+	
+	private ImageRenderTarget target;
+	private Painter painter;
+	private FrameCapture capture;
+	private PerformanceOverlay overlay;
+	
+	/**
+	 * 새로운 OffscreenGame class의 인스턴스를 생성합니다.
+	 * 
+	 * @param settings
+	 * 			  게임을 설정하기 위한 여러 값들이 들어 있습니다. 창과 관련된 값들은 무시됩니다.<br>
+	 * 			  자세한 내용은 GameFrameSettings.java 파일을 참고하세요.
+	 */
+	public OffscreenGame(GameFrameSettings settings)
+	{
+		this.settings = new GameFrameSettings(settings);
+		
+		target = new ImageRenderTarget(settings.canvas_width, settings.canvas_height, settings.canvas_backgroundColor);
+		dirtyRegion = new DirtyRegion(false);		//항상 전체 화면을 그리므로 영역을 모으지 않음
+		
+		//입력이 들어올 일은 없지만 inputs를 사용하는 코드가 그대로 동작하도록 화면에 붙이지 않은 Canvas에 연결
+		inputs = new InputManager(new Canvas(), settings.numberOfButtons);
+		inputs.SetOverflowPolicy(this.settings.input_overflowPolicy);
+		images = new ImageResourceManager();
+		audios = new AudioManager();
+		
+		loop = GameLoop.Create(this.settings, this);
+		inputs.SetLoopToWake(loop);		//입력을 기록 / 재생할 때 프레임의 timeStamp를 읽을 수 있도록 설정
+		
+		random = new RandomSource(this.settings.random_seed);
+		inputs.SetRandomSource(random);
+		if ( this.settings.input_replayFile != null )
+			inputs.StartReplay(this.settings.input_replayFile);
+		else if ( this.settings.input_recordFile != null )
+			inputs.StartRecording(this.settings.input_recordFile);
+		
+		textCache = new TextCache(this.settings.canvas_textCache_maxBytes);
+		capture = FrameCapture.Create(this.settings);
+		overlay = new PerformanceOverlay(loop, inputs, dirtyRegion, this.settings.gameLoop_interval_ns);
+		overlay.SetVisible(this.settings.canvas_use_performanceOverlay);
+		painter = new Painter(target, textCache, loop.GetQualityGovernor(), capture, overlay);
+	}
+	
+	/**
+	 * 게임 루프를 시작하지 않고, 이 메서드를 호출한 스레드에서 주어진 수만큼의 프레임을 바로 진행합니다.<br>
+	 * 자세한 내용은 GameLoop.Step()을 참고하세요.
+	 * 
+	 * @return 실제로 진행한 프레임 수를 return합니다.
+	 */
+	public int Step(int numberOfFrames)
+	{
+		return loop.Step(numberOfFrames);
+	}
+	
+	/**
+	 * 설정에 따라 게임 루프를 시작합니다.
+	 */
+	public void Start()
+	{
+		if ( settings.gameLoop_use_sharedScheduler )
+			loop.Start(LoopScheduler.GetShared());
+		else
+			loop.Start();
+	}
+	
+	/**
+	 * 게임 루프를 중단합니다.
+	 */
+	public void Stop()
+	{
+		loop.Abort();
+		inputs.StopRecording();
+	}
+	
+	/**
+	 * 그린 화면을 파일로 저장하는 요소를 return합니다. 자세한 내용은 GameFrame.GetFrameCapture()를 참고하세요.
+	 */
+	public FrameCapture GetFrameCapture()
+	{
+		return capture;
+	}
+	
+	/**
+	 * 게임 화면 위에 성능 정보를 그리는 요소를 return합니다. 자세한 내용은 GameFrame.GetPerformanceOverlay()를 참고하세요.
+	 */
+	public PerformanceOverlay GetPerformanceOverlay()
+	{
+		return overlay;
+	}
+	
+	/**
+	 * 게임 화면을 그려 넣는 대상을 return합니다.
+	 */
+	public ImageRenderTarget GetRenderTarget()
+	{
+		return target;
+	}
+	
+	/**
+	 * 게임 화면이 그려지는 Image를 return합니다.
+	 */
+	public BufferedImage GetImage()
+	{
+		return target.GetImage();
+	}
+	
+	/*
+	 * 이하 메서드들은 GameFrame의 같은 이름의 메서드와 똑같이 동작합니다. 자세한 내용은 GameFrame의 각 메서드 설명을 참고하세요.
+	 */
+	
+	public void BeginDraw()
+	{
+		g = painter.BeginDraw();
+	}
+	
+	public void ClearScreen()
+	{
+		painter.ClearScreen();
+	}
+	
+	public void LoadColor(Color newColor)
+	{
+		painter.LoadColor(newColor);
+	}
+	
+	public void SetColor(Color newColor)
+	{
+		painter.SetColor(newColor);
+	}
+	
+	public boolean LoadFont(String fontName)
+	{
+		return painter.LoadFont(fontName);
+	}
+	
+	public boolean SetFont(String fontName)
+	{
+		return painter.SetFont(fontName);
+	}
+	
+	public void DrawString(int left, int bottom, String format, Object... args)
+	{
+		painter.DrawString(left, bottom, format, args);
+	}
+	
+	public void DrawString(int left, int bottom, String format)
+	{
+		painter.DrawString(left, bottom, format);
+	}
+	
+	public void DrawString(int left, int bottom, String format, int arg)
+	{
+		painter.DrawString(left, bottom, format, arg);
+	}
+	
+	public void DrawString(int left, int bottom, String format, long arg)
+	{
+		painter.DrawString(left, bottom, format, arg);
+	}
+	
+	public void DrawString(int left, int bottom, String format, double arg)
+	{
+		painter.DrawString(left, bottom, format, arg);
+	}
+	
+	public void DrawString(int left, int bottom, String format, Object arg)
+	{
+		painter.DrawString(left, bottom, format, arg);
+	}
+	
+	public void DrawString(int left, int bottom, String format, Object arg0, Object arg1)
+	{
+		painter.DrawString(left, bottom, format, arg0, arg1);
+	}
+	
+	public void EndDraw()
+	{
+		painter.EndDraw();
+		g = null;
+	}
+	
+	@Override
+	public void Capture(VisualSnapshot snapshot)
+	{
+	}
+	
+	@Override
+	public void Draw(long timeStamp, VisualSnapshot snapshot)
+	{
+		BeginDraw();
+		ClearScreen();
+		snapshot.Draw(g);
+		EndDraw();
+	}
+}
@@ -0,0 +1,273 @@
+package loot;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.util.HashMap;
+
+import loot.graphics.TextCache;
+
+/**
+ * GameFrame, OffscreenGame이 함께 사용하는 그리기 도구입니다.<br>
+ * 현재 색과 글자체, 가져온 글자체 목록을 관리하며 주어진 RenderTarget에 그립니다.<br>
+ * 각 메서드에 대한 자세한 설명은 GameFrame의 같은 이름의 메서드를 참고하세요.
+ * 
+ * @author Racin
+ *
+ */
+final class Painter
+{
+	private RenderTarget target;
+	
+	/**
+	 * 지금 그리는 중인 화면의 붓 - BeginDraw()와 EndDraw() 사이에서만 null이 아님
+	 */
+	Graphics2D g;
+	
+	/**
+	 * 현재 지정된 색입니다.<br>
+	 * BeginDraw()를 호출할 때 여기 지정된 색이 자동으로 '지금 그릴 색'으로 설정됩니다.
+	 */
+	private Color currentColor;
+	
+	/**
+	 * 현재 지정된 글자체입니다.<br>
+	 * BeginDraw()를 호출할 때 여기 지정된 글자체가 자동으로 '지금 사용할 글자체'로 설정됩니다.
+	 */
+	private Font currentFont;
+	
+	/**
+	 * 현재까지 가져온 글자체 목록입니다.<br>
+	 * 글자체 가져오기 작업은 시간이 꽤 오래 걸리므로<br>
+	 * 한 번 가져온 글자체는 여기에 담아 둔 다음 계속 재사용하게 됩니다.
+	 */
+	private HashMap<String, Font> fonts;
+	
+	/**
+	 * 이보다 많은 양식을 분석해 두게 되면 모두 비움(양식 문자열을 매번 새로 만들어 넘기더라도 한없이 늘어나지 않도록)
+	 */
+	private static final int maxNumberOfFormats = 256;
+	
+	/**
+	 * DrawString()에서 사용한 양식 문자열별로 미리 분석해 둔 결과
+	 */
+	private HashMap<String, TextFormat> formats;
+	
+	/**
+	 * DrawString()이 글자를 채울 때 재사용하는 버퍼
+	 */
+	private TextBuilder text;
+	
+	/**
+	 * 적은 문자열을 미리 그려 둔 Image들 - 최댓값이 0이라면 사용하지 않음
+	 */
+	private TextCache textCache;
+	
+	/**
+	 * BeginDraw()에서 붓에 현재 화질 단계의 설정을 적용하는 요소
+	 */
+	private QualityGovernor governor;
+	
+	/**
+	 * 정해진 화면을 EndDraw()에서 복사하여 저장하는 요소
+	 */
+	private FrameCapture capture;
+	
+	/**
+	 * EndDraw()에서 화면을 표시하기 직전에 성능 정보를 그리는 요소
+	 */
+	private PerformanceOverlay overlay;
+	
+	Painter(RenderTarget target, TextCache textCache, QualityGovernor governor, FrameCapture capture, PerformanceOverlay overlay)
+	{
+		this.target = target;
+		this.textCache = textCache;
+		this.governor = governor;
+		this.capture = capture;
+		this.overlay = overlay;
+		fonts = new HashMap<>();
+		formats = new HashMap<>();
+		text = new TextBuilder();
+	}
+	
+	RenderTarget GetTarget()
+	{
+		return target;
+	}
+	
+	Graphics2D BeginDraw()
+	{
+		if ( g == null )
+		{
+			capture.BeginFrame();
+			g = target.Begin();
+			g.setFont(currentFont);
+			g.setColor(currentColor);
+			governor.Apply(g);
+		}
+		
+		return g;
+	}
+	
+	void ClearScreen()
+	{
+		g.clearRect(0, 0, target.GetWidth(), target.GetHeight());
+	}
+	
+	void LoadColor(Color newColor)
+	{
+		currentColor = newColor;
+	}
+	
+	void SetColor(Color newColor)
+	{
+		g.setColor(newColor);
+		currentColor = newColor;
+	}
+	
+	boolean LoadFont(String fontName)
+	{
+		//아직 해당 이름의 글자체를 가져온 적이 없다면 지금 시도
+		if ( fonts.containsKey(fontName) == false )
+		{
+			Font newFont = Font.decode(fontName);
+			
+			//해당 이름의 글자체가 없다면 실패
+			if ( newFont == null )
+			{
+				System.err.println("Error. 이름이 " + fontName + "인 글자체가 존재하지 않습니다.");
+				return false;
+			}
+			
+			//로드한 글자체를 목록에 추가
+			fonts.put(fontName, newFont);
+		}
+		
+		//가져온 글자체를 현재 글자체로 설정
+		currentFont = fonts.get(fontName);
+		return true;
+	}
+	
+	boolean SetFont(String fontName)
+	{
+		//해당 이름의 글자체를 이미 가져왔거나 지금 가져올 수 있다면 현재 글자체로 설정
+		if ( LoadFont(fontName) == true )
+		{
+			g.setFont(currentFont);
+			return true;
+		}
+		
+		//해당 이름의 글자체가 없다면 실패
+		return false;
+	}
+	
+	void DrawString(int left, int bottom, String format, Object... args)
+	{
+		//String.format()과 똑같이 동작하도록 null 배열은 그대로 넘김
+		if ( args == null )
+		{
+			DrawText(String.format(format, args), left, bottom);
+			return;
+		}
+		
+		for ( Object arg : args )
+			text.AddObject(arg);
+		
+		DrawFormatted(left, bottom, format);
+	}
+	
+	void DrawString(int left, int bottom, String format)
+	{
+		DrawFormatted(left, bottom, format);
+	}
+	
+	void DrawString(int left, int bottom, String format, int arg)
+	{
+		text.AddInt(arg);
+		DrawFormatted(left, bottom, format);
+	}
+	
+	void DrawString(int left, int bottom, String format, long arg)
+	{
+		text.AddLong(arg);
+		DrawFormatted(left, bottom, format);
+	}
+	
+	void DrawString(int left, int bottom, String format, double arg)
+	{
+		text.AddDouble(arg);
+		DrawFormatted(left, bottom, format);
+	}
+	
+	void DrawString(int left, int bottom, String format, Object arg)
+	{
+		text.AddObject(arg);
+		DrawFormatted(left, bottom, format);
+	}
+	
+	void DrawString(int left, int bottom, String format, Object arg0, Object arg1)
+	{
+		text.AddObject(arg0);
+		text.AddObject(arg1);
+		DrawFormatted(left, bottom, format);
+	}
+	
+	/**
+	 * text에 넣어 둔 인자들과 주어진 양식으로 만든 문자열을 그립니다.<br>
+	 * 처음 보는 양식은 분석해 두고, 직접 처리할 수 없는 양식이나 인자라면 String.format()을 사용합니다.
+	 */
+	private void DrawFormatted(int left, int bottom, String format)
+	{
+		//'%'가 없다면 양식 문자열을 그대로 그림
+		if ( format.indexOf('%') < 0 )
+		{
+			DrawText(format, left, bottom);
+			text.ClearArgs();
+			return;
+		}
+		
+		TextFormat template = formats.get(format);
+		
+		if ( template == null )
+		{
+			if ( formats.size() >= maxNumberOfFormats )
+				formats.clear();
+			
+			template = new TextFormat(format);
+			formats.put(format, template);
+		}
+		
+		if ( text.Format(template) == false )
+			DrawText(String.format(format, text.GetArgs()), left, bottom);
+		else if ( textCache.GetMaxBytes() > 0 )
+			textCache.Draw(g, text.chars, text.length, left, bottom);
+		else
+			g.drawChars(text.chars, 0, text.length, left, bottom);
+		
+		text.ClearArgs();
+	}
+	
+	/**
+	 * 완성된 문자열을 그립니다. textCache를 사용하는 경우 미리 그려 둔 Image로 대신합니다.
+	 */
+	private void DrawText(String str, int left, int bottom)
+	{
+		if ( textCache.GetMaxBytes() > 0 )
+			textCache.Draw(g, str, left, bottom);
+		else
+			g.drawString(str, left, bottom);
+	}
+	
+	void EndDraw()
+	{
+		if ( g != null )
+		{
+			overlay.Draw(g);
+			target.End(g);
+			g = null;
+			
+			if ( capture.IsCapturingThisFrame() )
+				capture.Grab(target);
+		}
+	}
+}
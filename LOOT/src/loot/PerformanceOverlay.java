@@ -0,0 +1,327 @@
+package loot;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import loot.graphics.DirtyRegion;
+import loot.graphics.Layer;
+
+/**
+ * 게임 화면 왼쪽 위에 성능 정보를 겹쳐 그리는 클래스입니다.<br>
+ * <br>
+ * 켜 두면 EndDraw()가 화면을 표시하기 직전에 다음 정보들을 그립니다.<br>
+ * - FPS와 최근 240프레임의 프레임 시간 그래프(흰색: 전체 시간, 주황색: Update() + Draw() 시간, 회색 가로선: 프레임 간격)<br>
+ * - 최근 240프레임의 Update(), Draw() 평균 시간<br>
+ * - 사용 중인 heap 메모리와 지금까지의 GC 횟수<br>
+ * - TrackLayer()로 등록한 Layer마다 들어 있는 요소 수<br>
+ * - 가장 최근 프레임에 처리한 버튼 입력 수(InputManager.GetLastQueueDepth())<br>
+ * <br>
+ * 글자와 그래프는 미리 만들어 둔 배열에 채워 그리므로 그리는 동안 새 객체를 만들지 않으며, 성능 표시 자체에 걸린 시간도 함께 표시합니다.<br>
+ * 바뀐 영역만 다시 그리는 모드에서는 다음 프레임에 성능 표시 영역도 다시 그리도록 자동으로 추가합니다.<br>
+ * 여러분이 이 클래스를 직접 만들 일은 없으며 GameFrame.GetPerformanceOverlay()를 통해 사용하면 됩니다.
+ *
+ * @author Racin
+ *
+ */
+public class PerformanceOverlay
+{
+	/**
+	 * 그래프에 표시할 최근 프레임 수
+	 */
+	public static final int numberOfGraphFrames = 240;
+
+	/**
+	 * 성능 표시의 위치와 크기
+	 */
+	private static final int left = 8;
+	private static final int top = 8;
+	private static final int width = numberOfGraphFrames + 16;
+	private static final int lineHeight = 14;
+	private static final int graphHeight = 60;
+
+	/**
+	 * 등록할 수 있는 Layer의 최대 수 - 줄 수가 한없이 늘어나지 않도록 함
+	 */
+	private static final int maxNumberOfLayers = 8;
+
+	private static final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+	private static final Color color_background = new Color(0, 0, 0, 160);
+	private static final Color color_text = Color.WHITE;
+	private static final Color color_total = Color.WHITE;
+	private static final Color color_work = new Color(255, 160, 0);
+	private static final Color color_budget = Color.GRAY;
+
+	private final GameLoop loop;
+	private final InputManager inputs;
+	private final DirtyRegion dirtyRegion;
+	private final long interval_ns;
+
+	private volatile boolean isVisible;
+
+	/**
+	 * 요소 수를 표시할 Layer들과 그 이름
+	 */
+	private final ArrayList<Layer> layers;
+	private final ArrayList<String> layerNames;
+
+	/**
+	 * 그래프에 사용할 최근 프레임 시간과 꺾은선 좌표
+	 */
+	private final long[] totals_ns;
+	private final long[] updates_ns;
+	private final long[] draws_ns;
+	private final int[] xs;
+	private final int[] ys_total;
+	private final int[] ys_work;
+
+	/**
+	 * 글자를 채울 때 사용하는 양식과 버퍼
+	 */
+	private final TextFormat format_fps;
+	private final TextFormat format_split;
+	private final TextFormat format_memory;
+	private final TextFormat format_input;
+	private final TextFormat format_layer;
+	private final TextBuilder text;
+
+	private final GarbageCollectorMXBean[] collectors;
+	private final Runtime runtime;
+
+	/**
+	 * 지난번 성능 표시에 걸린 시간
+	 */
+	private long lastDrawDuration_ns;
+
+	/**
+	 * 새로운 PerformanceOverlay class의 인스턴스를 생성합니다.
+	 *
+	 * @param interval_ns 그래프에 가로선으로 표시할 프레임 간격입니다.
+	 */
+	PerformanceOverlay(GameLoop loop, InputManager inputs, DirtyRegion dirtyRegion, long interval_ns)
+	{
+		this.loop = loop;
+		this.inputs = inputs;
+		this.dirtyRegion = dirtyRegion;
+		this.interval_ns = interval_ns;
+
+		layers = new ArrayList<>(maxNumberOfLayers);
+		layerNames = new ArrayList<>(maxNumberOfLayers);
+
+		totals_ns = new long[numberOfGraphFrames];
+		updates_ns = new long[numberOfGraphFrames];
+		draws_ns = new long[numberOfGraphFrames];
+		xs = new int[numberOfGraphFrames];
+		ys_total = new int[numberOfGraphFrames];
+		ys_work = new int[numberOfGraphFrames];
+
+		format_fps = new TextFormat("FPS %.1f  frame %.2fms  hud %.2fms");
+		format_split = new TextFormat("update %.2fms  draw %.2fms");
+		format_memory = new TextFormat("heap %.1f/%.1fMB  GC %d");
+		format_input = new TextFormat("input queue %d");
+		format_layer = new TextFormat("%s %d");
+		text = new TextBuilder();
+
+		collectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+		runtime = Runtime.getRuntime();
+	}
+
+	/**
+	 * 성능 표시를 켜거나 끕니다. 끌 때는 다음 프레임에 성능 표시가 있던 영역을 다시 그리도록 합니다.<br>
+	 * 기본값은 GameFrameSettings.canvas_use_performanceOverlay의 값입니다.
+	 */
+	public void SetVisible(boolean isVisible)
+	{
+		if ( this.isVisible == isVisible )
+			return;
+
+		this.isVisible = isVisible;
+		AddDirtyRegion();
+		loop.RequestRedraw();
+	}
+
+	/**
+	 * 성능 표시가 켜져 있다면 끄고, 꺼져 있다면 켭니다. 버튼을 눌렀을 때 호출하는 용도로 사용하세요.
+	 */
+	public void Toggle()
+	{
+		SetVisible(isVisible == false);
+	}
+
+	public boolean IsVisible()
+	{
+		return isVisible;
+	}
+
+	/**
+	 * 주어진 Layer를 주어진 이름으로 등록하여 그 안에 들어 있는 요소 수(children의 수)를 표시하도록 합니다.<br>
+	 * 최대 8개까지 등록할 수 있으며, SceneFrame을 사용하는 경우 Scene이 바뀔 때마다 모두 등록 해제됩니다.
+	 *
+	 * @return 이미 8개를 등록했다면 false를 return합니다.
+	 */
+	public boolean TrackLayer(String name, Layer layer)
+	{
+		if ( layers.size() >= maxNumberOfLayers )
+		{
+			System.err.println("Error. 성능 표시에는 Layer를 " + maxNumberOfLayers + "개까지만 등록할 수 있습니다.");
+			return false;
+		}
+
+		layers.add(layer);
+		layerNames.add(name);
+		AddDirtyRegion();
+		return true;
+	}
+
+	/**
+	 * 등록한 Layer들을 모두 등록 해제합니다.
+	 */
+	public void UntrackAllLayers()
+	{
+		AddDirtyRegion();
+		layers.clear();
+		layerNames.clear();
+	}
+
+	/**
+	 * 지난번 성능 표시를 그리는 데 걸린 시간을 나노초 단위로 return합니다.
+	 */
+	public long GetLastDrawDuration_ns()
+	{
+		return lastDrawDuration_ns;
+	}
+
+	/**
+	 * 성능 표시가 차지하는 세로 길이를 return합니다.
+	 */
+	private int GetHeight()
+	{
+		return lineHeight * ( 4 + layers.size() ) + graphHeight + 12;
+	}
+
+	/**
+	 * 바뀐 영역만 다시 그리는 모드라면 성능 표시가 차지하는 영역을 다시 그릴 영역에 추가합니다.
+	 */
+	private void AddDirtyRegion()
+	{
+		if ( dirtyRegion.IsEnabled() )
+			dirtyRegion.Add(left, top, width, GetHeight());
+	}
+
+	/**
+	 * 성능 표시가 켜져 있다면 주어진 붓으로 그립니다. 이 메서드는 EndDraw()가 화면을 표시하기 직전에 호출합니다.
+	 */
+	void Draw(Graphics2D g)
+	{
+		if ( isVisible == false )
+			return;
+
+		long time_begin = System.nanoTime();
+		int height = GetHeight();
+
+		//바뀐 영역만 다시 그리는 모드라면 이번에 칠하지 못한 부분이 있을 수 있으므로 다음 프레임에 이 영역을 다시 그림
+		AddDirtyRegion();
+
+		Font font_old = g.getFont();
+		Color color_old = g.getColor();
+
+		g.setColor(color_background);
+		g.fillRect(left, top, width, height);
+
+		//최근 프레임들의 시간
+		FrameTimeRecorder recorder = loop.GetFrameTimeRecorder();
+		int count = recorder.GetRecent_ns(FrameTimeRecorder.Phase.Total, totals_ns);
+		recorder.GetRecent_ns(FrameTimeRecorder.Phase.Update, updates_ns);
+		recorder.GetRecent_ns(FrameTimeRecorder.Phase.Draw, draws_ns);
+
+		long sum_update_ns = 0;
+		long sum_draw_ns = 0;
+
+		for ( int iFrame = 0; iFrame < count; ++iFrame )
+		{
+			sum_update_ns += updates_ns[iFrame];
+			sum_draw_ns += draws_ns[iFrame];
+		}
+
+		//글자
+		g.setFont(font);
+		g.setColor(color_text);
+
+		int x = left + 8;
+		int y = top + lineHeight;
+
+		text.AddDouble(loop.GetFPS());
+		text.AddDouble(count == 0 ? 0 : totals_ns[count - 1] / 1e6);
+		text.AddDouble(lastDrawDuration_ns / 1e6);
+		DrawLine(g, format_fps, x, y);
+		y += lineHeight;
+
+		text.AddDouble(count == 0 ? 0 : sum_update_ns / 1e6 / count);
+		text.AddDouble(count == 0 ? 0 : sum_draw_ns / 1e6 / count);
+		DrawLine(g, format_split, x, y);
+		y += lineHeight;
+
+		long numberOfCollections = 0;
+
+		for ( GarbageCollectorMXBean collector : collectors )
+			numberOfCollections += Math.max(0, collector.getCollectionCount());
+
+		text.AddDouble(( runtime.totalMemory() - runtime.freeMemory() ) / 1048576.0);
+		text.AddDouble(runtime.totalMemory() / 1048576.0);
+		text.AddLong(numberOfCollections);
+		DrawLine(g, format_memory, x, y);
+		y += lineHeight;
+
+		text.AddInt(inputs.GetLastQueueDepth());
+		DrawLine(g, format_input, x, y);
+		y += lineHeight;
+
+		for ( int iLayer = 0; iLayer < layers.size(); ++iLayer )
+		{
+			text.AddObject(layerNames.get(iLayer));
+			text.AddInt(layers.get(iLayer).children.size());
+			DrawLine(g, format_layer, x, y);
+			y += lineHeight;
+		}
+
+		//그래프 - 세로 길이 전체가 프레임 간격의 2배에 해당
+		int graph_bottom = y + graphHeight;
+		double scale = graphHeight / ( 2.0 * interval_ns );
+
+		for ( int iFrame = 0; iFrame < count; ++iFrame )
+		{
+			xs[iFrame] = x + numberOfGraphFrames - count + iFrame;
+			ys_total[iFrame] = graph_bottom - (int)Math.min(graphHeight, totals_ns[iFrame] * scale);
+			ys_work[iFrame] = graph_bottom - (int)Math.min(graphHeight, ( updates_ns[iFrame] + draws_ns[iFrame] ) * scale);
+		}
+
+		g.setColor(color_budget);
+		g.drawLine(x, graph_bottom - graphHeight / 2, x + numberOfGraphFrames, graph_bottom - graphHeight / 2);
+		g.setColor(color_work);
+		g.drawPolyline(xs, ys_work, count);
+		g.setColor(color_total);
+		g.drawPolyline(xs, ys_total, count);
+
+		g.setColor(color_old);
+		g.setFont(font_old);
+
+		lastDrawDuration_ns = System.nanoTime() - time_begin;
+	}
+
+	/**
+	 * 넣어 둔 인자들로 양식을 채워 한 줄을 적습니다.<br>
+	 * 직접 처리할 수 없는 값(반올림 경계에 걸린 실수, 숫자를 다르게 적는 지역 설정 등)이라면 String.format()을 사용합니다.
+	 */
+	private void DrawLine(Graphics2D g, TextFormat format, int x, int y)
+	{
+		if ( text.Format(format) )
+			g.drawChars(text.chars, 0, text.length, x, y);
+		else
+			g.drawString(String.format(format.format, text.GetArgs()), x, y);
+
+		text.ClearArgs();
+	}
+}
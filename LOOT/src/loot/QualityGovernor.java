@@ -0,0 +1,260 @@
+package loot;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import loot.graphics.OptionalHint;
+
+/**
+ * 프레임이 정해진 간격 안에 끝나지 않을 때 그리기 화질을 낮추고, 여유가 생기면 다시 높이는 클래스입니다.<br>
+ * <br>
+ * 느린 컴퓨터에서는 Update()와 Draw()에 걸리는 시간이 프레임 간격(GameFrameSettings.gameLoop_interval_ns)보다 길어져<br>
+ * 게임이 느려지거나 끊겨 보이게 됩니다. 이 클래스는 그린 프레임마다 걸린 시간을 재어 두었다가<br>
+ * 간격을 넘는 프레임이 계속되면 화질 단계(Level)를 한 단계 낮추고, 간격보다 충분히 빨리 끝나는 프레임이 오래 계속되면 한 단계 높입니다.<br>
+ * <br>
+ * 각 단계는 BeginDraw()를 호출할 때 붓(g)에 적용할 RenderingHints(안티앨리어싱, 글자 안티앨리어싱, Image 보간 방식 등)와<br>
+ * trigger_optional이 true인 요소를 Layer가 그릴 지 여부, 논리 해상도 모드에서 사용할 렌더 스케일을 정합니다. Layer가 만드는 붓도 같은 설정을 물려받습니다.<br>
+ * 화질 단계가 바뀌면 게임 화면 전체를 다시 그립니다.<br>
+ * <br>
+ * 기본적으로는 사용하지 않으며 GameFrameSettings.gameLoop_use_qualityGovernor를 true로 설정하면 가장 높은 단계부터 시작합니다.<br>
+ * 분리 그리기 모드에서는 그리기 스레드의 Draw() 시간만 잽니다.<br>
+ * 여러분이 이 클래스를 직접 만들 일은 없으며 GameLoop.GetQualityGovernor()를 통해 사용하면 됩니다.
+ *
+ * @author Racin
+ *
+ */
+public class QualityGovernor
+{
+	/**
+	 * 화질 단계를 나타냅니다. 앞에 있는 단계일수록 화질이 높습니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	public enum Level
+	{
+		/**
+		 * 도형과 글자에 안티앨리어싱을 적용하고 Image를 부드럽게 확대 / 축소합니다.
+		 */
+		High(RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_TEXT_ANTIALIAS_ON, RenderingHints.VALUE_INTERPOLATION_BILINEAR, RenderingHints.VALUE_RENDER_QUALITY, true, 1),
+
+		/**
+		 * 글자에만 안티앨리어싱을 적용하고 Image는 부드럽게 확대 / 축소합니다.
+		 */
+		Medium(RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_ON, RenderingHints.VALUE_INTERPOLATION_BILINEAR, RenderingHints.VALUE_RENDER_DEFAULT, true, 1),
+
+		/**
+		 * 안티앨리어싱을 사용하지 않고 Image는 가장 가까운 픽셀로 확대 / 축소하며, trigger_optional이 true인 요소를 그리지 않습니다.
+		 */
+		Low(RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, RenderingHints.VALUE_RENDER_SPEED, false, 1),
+
+		/**
+		 * Low와 같으며, 논리 해상도 모드(GameFrameSettings.canvas_use_logicalResolution)에서는 렌더 스케일을 0.75배로 더 줄여 그리는 픽셀 수를 줄입니다.<br>
+		 * 논리 해상도 모드가 아니라면 Low와 같습니다.
+		 */
+		Minimum(RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, RenderingHints.VALUE_RENDER_SPEED, false, 0.75);
+
+		final Object antialiasing;
+		final Object textAntialiasing;
+		final Object interpolation;
+		final Object rendering;
+
+		/**
+		 * trigger_optional이 true인 요소를 그리는지 여부
+		 */
+		public final boolean isOptionalDrawn;
+
+		/**
+		 * 논리 해상도 모드에서 GameFrame.SetRenderScale()로 설정한 값에 추가로 곱할 렌더 스케일
+		 */
+		public final double renderScale;
+
+		Level(Object antialiasing, Object textAntialiasing, Object interpolation, Object rendering, boolean isOptionalDrawn, double renderScale)
+		{
+			this.antialiasing = antialiasing;
+			this.textAntialiasing = textAntialiasing;
+			this.interpolation = interpolation;
+			this.rendering = rendering;
+			this.isOptionalDrawn = isOptionalDrawn;
+			this.renderScale = renderScale;
+		}
+	}
+
+	/**
+	 * 걸린 시간의 이동 평균에 새 프레임을 반영하는 비율
+	 */
+	private static final double weight_newFrame = 0.2;
+
+	/**
+	 * 이동 평균이 프레임 간격의 이 비율을 넘는 프레임이 degradeFrames번 연달아 나오면 한 단계 낮춤
+	 */
+	private static final double ratio_degrade = 1.0;
+	private static final int degradeFrames = 10;
+
+	/**
+	 * 이동 평균이 프레임 간격의 이 비율보다 작은 프레임이 recoverFrames번 연달아 나오면 한 단계 높임<br>
+	 * --> 낮추는 것보다 훨씬 천천히 높여서 두 단계 사이를 계속 오가지 않도록 함
+	 */
+	private static final double ratio_recover = 0.6;
+	private static final int recoverFrames = 120;
+
+	private final long interval_ns;
+
+	private volatile boolean isEnabled;
+	private volatile Level level = Level.High;
+
+	/**
+	 * 화질 단계가 바뀐 횟수 - 그리는 쪽에서 이 값이 바뀐 것을 보고 전체 화면을 다시 그림
+	 */
+	private volatile long numberOfChanges;
+
+	/**
+	 * 그린 프레임에 걸린 시간의 이동 평균 및 단계를 바꾸기 위해 센 연속 프레임 수
+	 */
+	private double average_ns;
+	private int slowFrames;
+	private int fastFrames;
+
+	/**
+	 * 새로운 QualityGovernor class의 인스턴스를 생성합니다.
+	 *
+	 * @param interval_ns 각 프레임이 지켜야 할 시간, 즉 게임 루프의 프레임 간격입니다.
+	 */
+	QualityGovernor(long interval_ns)
+	{
+		this.interval_ns = interval_ns;
+	}
+
+	/**
+	 * 화질 조절을 켜거나 끕니다. 꺼져 있는 동안은 붓에 아무 설정도 적용하지 않으며 모든 요소를 그립니다.<br>
+	 * 기본값은 false입니다.
+	 */
+	public void SetEnabled(boolean isEnabled)
+	{
+		if ( this.isEnabled == isEnabled )
+			return;
+
+		this.isEnabled = isEnabled;
+		++numberOfChanges;
+	}
+
+	/**
+	 * 화질 조절을 사용하고 있는지 여부를 return합니다.
+	 */
+	public boolean IsEnabled()
+	{
+		return isEnabled;
+	}
+
+	/**
+	 * 현재 화질 단계를 return합니다.
+	 */
+	public Level GetLevel()
+	{
+		return level;
+	}
+
+	/**
+	 * 현재 화질 단계를 직접 바꿉니다. 화질 조절을 사용하는 중이라면 이후 걸린 시간에 따라 다시 바뀔 수 있습니다.
+	 */
+	public void SetLevel(Level newLevel)
+	{
+		if ( level == newLevel )
+			return;
+
+		LootEvents.QualityChange event = new LootEvents.QualityChange();
+
+		if ( event.isEnabled() )
+		{
+			event.oldLevel = level.name();
+			event.newLevel = newLevel.name();
+			event.averageFrameTime = (long)average_ns;
+			event.commit();
+		}
+
+		level = newLevel;
+		++numberOfChanges;
+	}
+
+	/**
+	 * 화질 단계가 바뀐 횟수를 return합니다.
+	 */
+	public long GetNumberOfChanges()
+	{
+		return numberOfChanges;
+	}
+
+	/**
+	 * 그린 프레임에 걸린 시간의 이동 평균을 나노초 단위로 return합니다.
+	 */
+	public long GetAverageFrameTime_ns()
+	{
+		return (long)average_ns;
+	}
+
+	/**
+	 * 그린 프레임 하나에 걸린 시간을 반영하고 필요하다면 화질 단계를 바꿉니다.<br>
+	 * 이 메서드는 게임 루프 스레드(분리 그리기 모드에서는 그리기 스레드)가 Draw()를 호출한 프레임마다 호출합니다.
+	 *
+	 * @param frame_ns Update()와 Draw()(분리 그리기 모드에서는 Draw()만)에 걸린 시간입니다.
+	 */
+	void Record(long frame_ns)
+	{
+		average_ns = average_ns == 0 ? frame_ns : average_ns + ( frame_ns - average_ns ) * weight_newFrame;
+
+		if ( isEnabled == false )
+			return;
+
+		if ( average_ns > interval_ns * ratio_degrade )
+		{
+			fastFrames = 0;
+
+			if ( ++slowFrames >= degradeFrames && level.ordinal() < Level.values().length - 1 )
+			{
+				slowFrames = 0;
+				SetLevel(Level.values()[level.ordinal() + 1]);
+			}
+		}
+		else if ( average_ns < interval_ns * ratio_recover )
+		{
+			slowFrames = 0;
+
+			if ( ++fastFrames >= recoverFrames && level.ordinal() > 0 )
+			{
+				fastFrames = 0;
+				SetLevel(Level.values()[level.ordinal() - 1]);
+			}
+		}
+		else
+		{
+			slowFrames = 0;
+			fastFrames = 0;
+		}
+	}
+
+	/**
+	 * 현재 화질 단계에 맞는 설정을 주어진 붓에 적용합니다. 화질 조절을 사용하지 않는 중이라면 아무것도 바꾸지 않습니다.<br>
+	 * 이 메서드는 BeginDraw()가 호출하며, 여러분이 직접 만든 붓에 같은 설정을 적용할 때도 사용할 수 있습니다.
+	 */
+	public void Apply(Graphics2D g)
+	{
+		if ( isEnabled == false )
+			return;
+
+		Level current = level;
+
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, current.antialiasing);
+		g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, current.textAntialiasing);
+		g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, current.interpolation);
+		g.setRenderingHint(RenderingHints.KEY_RENDERING, current.rendering);
+		g.setRenderingHint(OptionalHint.KEY, current.isOptionalDrawn ? OptionalHint.VALUE_DRAW : OptionalHint.VALUE_SKIP);
+	}
+
+	/**
+	 * 현재 화질 단계에서 trigger_optional이 true인 요소를 생략해야 하는지 여부를 return합니다.
+	 */
+	public boolean IsOptionalSkipped()
+	{
+		return isEnabled == true && level.isOptionalDrawn == false;
+	}
+}
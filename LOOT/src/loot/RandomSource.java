@@ -0,0 +1,108 @@
+package loot;
+
+/**
+ * 게임에서 사용할 임의의 수를 만드는 클래스입니다.<br>
+ * <br>
+ * Math.random()은 실행할 때마다 다른 수를 만들기 때문에 같은 입력을 주더라도 게임이 매번 다르게 진행됩니다.<br>
+ * 대신 이 클래스를 사용하면 같은 seed에서 시작한 경우 항상 같은 순서로 같은 수들을 만들므로<br>
+ * InputManager.StartRecording()으로 기록한 입력을 StartReplay()로 재생했을 때 게임이 기록할 때와 똑같이 진행됩니다.<br>
+ * (입력을 기록할 때 이 요소의 현재 상태도 함께 기록하며, 재생할 때 그 상태로 되돌립니다)<br>
+ * <br>
+ * 여러분이 이 클래스를 직접 만들 일은 없으며 GameFrame(또는 Scene)의 random 필드를 사용하면 됩니다.<br>
+ * 게임 루프 스레드에서만 사용하세요.
+ *
+ * @author Racin
+ *
+ */
+public class RandomSource
+{
+	/**
+	 * SplitMix64 방식에서 매번 상태에 더하는 값
+	 */
+	private static final long increment = 0x9E3779B97F4A7C15L;
+
+	private long seed;
+	private long state;
+
+	/**
+	 * 새로운 RandomSource class의 인스턴스를 생성합니다.
+	 *
+	 * @param seed 처음 상태를 정하는 값입니다. 0인 경우 실행할 때마다 다른 값을 사용합니다.
+	 */
+	RandomSource(long seed)
+	{
+		SetSeed(seed == 0 ? System.nanoTime() ^ increment : seed);
+	}
+
+	/**
+	 * 주어진 seed로 처음 상태를 다시 정합니다. 이후로는 같은 seed를 설정했을 때와 같은 수들을 만듭니다.
+	 */
+	public void SetSeed(long seed)
+	{
+		this.seed = seed;
+		state = seed;
+	}
+
+	/**
+	 * 가장 최근에 설정한 seed를 return합니다.
+	 */
+	public long GetSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * 0 이상 bound 미만의 정수 하나를 return합니다. bound가 0 이하라면 0을 return합니다.
+	 */
+	public int NextInt(int bound)
+	{
+		if ( bound <= 0 )
+			return 0;
+
+		//상위 31bit에 bound를 곱해 범위를 맞춤 - 나머지 연산보다 치우침이 적음
+		return (int)( ( ( NextLong() >>> 33 ) * bound ) >>> 31 );
+	}
+
+	/**
+	 * 0 이상 1 미만의 실수 하나를 return합니다. Math.random()과 같은 범위입니다.
+	 */
+	public double NextDouble()
+	{
+		return ( NextLong() >>> 11 ) * 0x1.0p-53;
+	}
+
+	/**
+	 * true 또는 false 중 하나를 return합니다.
+	 */
+	public boolean NextBoolean()
+	{
+		return NextLong() < 0;
+	}
+
+	/**
+	 * 임의의 long 값 하나를 return합니다.
+	 */
+	public long NextLong()
+	{
+		long z = state += increment;
+		z = ( z ^ ( z >>> 30 ) ) * 0xBF58476D1CE4E5B9L;
+		z = ( z ^ ( z >>> 27 ) ) * 0x94D049BB133111EBL;
+		return z ^ ( z >>> 31 );
+	}
+
+	/**
+	 * 현재 상태를 return합니다. 입력을 기록할 때 사용합니다.
+	 */
+	long GetState()
+	{
+		return state;
+	}
+
+	/**
+	 * 현재 상태를 주어진 값으로 바꿉니다. 기록한 입력을 재생할 때 사용합니다.
+	 */
+	void SetState(long state)
+	{
+		this.state = state;
+	}
+}
@@ -0,0 +1,49 @@
+package loot;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * 게임 화면을 그려 넣을 대상 하나를 나타내는 인터페이스입니다.<br>
+ * <br>
+ * GameFrame은 창 안의 Canvas에, OffscreenGame은 창 없이 메모리 안의 Image(ImageRenderTarget)에 그립니다.<br>
+ * 어느 쪽에 그리든 BeginDraw(), ClearScreen(), DrawString(), EndDraw() 등은 똑같이 동작합니다.<br>
+ * 여러분이 이 인터페이스를 직접 구현하거나 메서드를 호출할 일은 거의 없습니다.
+ * 
+ * @author Racin
+ *
+ */
+public interface RenderTarget
+{
+	/**
+	 * 게임 화면의 가로 길이(픽셀 수)를 return합니다.
+	 */
+	int GetWidth();
+	
+	/**
+	 * 게임 화면의 세로 길이(픽셀 수)를 return합니다.
+	 */
+	int GetHeight();
+	
+	/**
+	 * 새 화면을 그리기 위한 '붓'을 return합니다. 이 메서드는 BeginDraw()가 호출합니다.<br>
+	 * return하는 붓의 배경색(ClearScreen()이 칠하는 색)은 게임 화면의 배경색으로 설정되어 있어야 합니다.
+	 */
+	Graphics2D Begin();
+	
+	/**
+	 * Begin()이 return한 붓으로 다 그린 화면을 표시하고 붓을 정리합니다. 이 메서드는 EndDraw()가 호출합니다.
+	 */
+	void End(Graphics2D g);
+	
+	/**
+	 * 방금 End()로 마친 화면을 주어진 Image(게임 화면과 같은 크기)에 복사합니다. 이 메서드는 화면 캡처(FrameCapture)를 위해 EndDraw()가 호출합니다.<br>
+	 * 기본 구현은 아무것도 복사하지 않습니다.
+	 * 
+	 * @return 화면을 복사할 수 없는 대상이거나 복사에 실패한 경우 false를 return합니다.
+	 */
+	default boolean CopyTo(BufferedImage dest)
+	{
+		return false;
+	}
+}
@@ -0,0 +1,213 @@
+package loot;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+import loot.graphics.DirtyRegion;
+import loot.graphics.TextCache;
+import loot.graphics.VisualSnapshot;
+
+/**
+ * 게임의 화면 하나(타이틀 화면, 게임 화면 등)를 나타내는 클래스입니다.<br>
+ * <br>
+ * 화면마다 GameFrame을 새로 만들면 창, 게임 화면, 입력, Image, 음원, 게임 루프가 모두 새로 만들어지고<br>
+ * 이미 읽어 둔 Image들도 다시 읽어오게 됩니다.<br>
+ * 대신 각 화면을 이 클래스를 상속한 Scene으로 만들고 SceneFrame 하나에 올려 두면<br>
+ * 모든 Scene이 창, 게임 화면, 입력, 읽어 둔 Image / 음원, 게임 루프를 함께 사용하므로 화면 전환이 바로 이루어집니다.<br>
+ * <br>
+ * Scene은 GameFrame과 같은 방식으로 작성하면 됩니다.<br>
+ * inputs, images, audios, loop, settings, random 필드와 BeginDraw(), DrawString() 등의 메서드도 GameFrame과 같은 이름으로 사용할 수 있습니다.<br>
+ * 단, 생성자에서는 아직 이 필드들을 사용할 수 없으므로 Image 읽기 등의 준비 작업은 Initialize()에서 수행하세요.<br>
+ * <br>
+ * 각 Scene이 사용하는 버튼 bind, 색, 글자체는 서로 다를 수 있으므로 Scene이 바뀔 때마다 bind가 모두 해제됩니다.<br>
+ * 따라서 BindKey() 등의 호출과 LoadColor(), LoadFont() 호출은 Initialize() 대신 OnEnter()에서 수행하세요.<br>
+ * 마찬가지로 Scene이 바뀔 때마다 dirtyRegion과 성능 표시에 등록해 둔 요소들도 모두 등록 해제되므로 dirtyRegion.Track(), frame.GetPerformanceOverlay().TrackLayer() 호출도 OnEnter()에서 수행하세요.
+ *
+ * @author Racin
+ *
+ */
+public abstract class Scene
+{
+	/**
+	 * 이 Scene을 올려 둔 SceneFrame입니다. PushScene() 등으로 다른 Scene으로 전환할 때 사용하세요.
+	 */
+	protected SceneFrame frame;
+
+	/**
+	 * SceneFrame과 함께 사용하는 요소들입니다. 자세한 내용은 GameFrame의 같은 이름의 필드를 참고하세요.
+	 */
+	protected GameFrameSettings settings;
+	protected InputManager inputs;
+	protected ImageResourceManager images;
+	protected AudioManager audios;
+	protected GameLoop loop;
+	protected DirtyRegion dirtyRegion;
+	protected TextCache textCache;
+	protected RandomSource random;
+
+	/**
+	 * Draw() 안에서 BeginDraw()를 호출한 뒤부터 EndDraw()를 호출하기 전까지 사용할 수 있는 '붓'입니다.<br>
+	 * 자세한 내용은 GameFrame.g를 참고하세요.
+	 */
+	protected Graphics2D g;
+
+	/**
+	 * Initialize()를 이미 호출했는지 여부
+	 */
+	boolean isInitialized;
+
+	/**
+	 * 새로운 Scene class의 인스턴스를 생성합니다.<br>
+	 * 이 시점에는 아직 SceneFrame에 연결되지 않았으므로 inputs 등의 필드를 사용할 수 없습니다.
+	 */
+	protected Scene()
+	{
+	}
+
+	/**
+	 * 이 Scene을 주어진 SceneFrame에 연결합니다. 이 메서드는 SceneFrame이 Scene을 처음 올릴 때 호출합니다.
+	 */
+	void Attach(SceneFrame frame)
+	{
+		this.frame = frame;
+		settings = frame.settings;
+		inputs = frame.inputs;
+		images = frame.images;
+		audios = frame.audios;
+		loop = frame.loop;
+		dirtyRegion = frame.dirtyRegion;
+		textCache = frame.textCache;
+		random = frame.random;
+	}
+
+	/**
+	 * 이 Scene이 처음으로 화면에 올라갈 때 한 번 호출되는 메서드입니다.<br>
+	 * 필요한 Image, 음원 등을 읽어오고 Scene 안의 요소들을 만드는 용도로 사용하세요.<br>
+	 * 이미 다른 Scene이 같은 이름으로 읽어 둔 Image나 음원은 다시 읽지 않습니다.
+	 *
+	 * @return 초기화 성공 여부를 return합니다. false를 return하면 이 Scene은 화면에 올라가지 않습니다.
+	 */
+	public abstract boolean Initialize();
+
+	/**
+	 * 이 Scene이 맨 위에 있는 동안 매 프레임마다 호출됩니다. 자세한 내용은 IGameLoopMethods.Update()를 참고하세요.
+	 *
+	 * @return 이번 프레임에서 Draw()를 호출할 것인지 여부를 return합니다.
+	 */
+	public abstract boolean Update(long timeStamp);
+
+	/**
+	 * 이 Scene이 맨 위에 있는 동안 Update()가 요청할 때마다 호출됩니다. 자세한 내용은 IGameLoopMethods.Draw()를 참고하세요.
+	 */
+	public abstract void Draw(long timeStamp);
+
+	/**
+	 * 고정 간격 모드에서 Draw() 대신 호출됩니다. 기본 구현은 alpha를 무시하고 Draw(timeStamp)를 호출합니다.
+	 */
+	public void Draw(long timeStamp, double alpha)
+	{
+		Draw(timeStamp);
+	}
+
+	/**
+	 * 분리 그리기 모드에서 Draw() 대신 호출됩니다. 자세한 내용은 GameFrame.Capture()를 참고하세요.<br>
+	 * 기본 구현은 아무것도 추가하지 않습니다.
+	 */
+	public void Capture(VisualSnapshot snapshot)
+	{
+	}
+
+	/**
+	 * 이 Scene이 맨 위에 올라올 때마다 호출됩니다(처음 올라올 때는 Initialize() 다음에 호출됨).<br>
+	 * 위에 있던 Scene이 PopScene()으로 내려가서 다시 맨 위가 된 경우에도 호출됩니다.<br>
+	 * 버튼 bind, 색 / 글자체 지정, 배경 음악 재생 등을 여기서 수행하세요.
+	 */
+	public void OnEnter()
+	{
+	}
+
+	/**
+	 * 이 Scene이 더 이상 맨 위에 있지 않게 될 때마다 호출됩니다.<br>
+	 * PopScene() / ReplaceScene()으로 내려갈 때뿐만 아니라 PushScene()으로 다른 Scene이 위에 올라올 때도 호출됩니다.<br>
+	 * 배경 음악 정지, 예약해 둔 타이머 취소 등을 여기서 수행하세요.
+	 */
+	public void OnExit()
+	{
+	}
+
+	/*
+	 * 이하 메서드들은 SceneFrame의 같은 이름의 메서드를 그대로 호출합니다. 자세한 내용은 GameFrame의 각 메서드 설명을 참고하세요.
+	 */
+
+	public void BeginDraw()
+	{
+		frame.BeginDraw();
+		g = frame.g;
+	}
+
+	public void ClearScreen()
+	{
+		frame.ClearScreen();
+	}
+
+	public void LoadColor(Color newColor)
+	{
+		frame.LoadColor(newColor);
+	}
+
+	public void SetColor(Color newColor)
+	{
+		frame.SetColor(newColor);
+	}
+
+	public boolean LoadFont(String fontName)
+	{
+		return frame.LoadFont(fontName);
+	}
+
+	public boolean SetFont(String fontName)
+	{
+		return frame.SetFont(fontName);
+	}
+
+	public void DrawString(int left, int bottom, String format, Object... args)
+	{
+		frame.DrawString(left, bottom, format, args);
+	}
+
+	public void DrawString(int left, int bottom, String format)
+	{
+		frame.DrawString(left, bottom, format);
+	}
+	
+	public void DrawString(int left, int bottom, String format, int arg)
+	{
+		frame.DrawString(left, bottom, format, arg);
+	}
+	
+	public void DrawString(int left, int bottom, String format, long arg)
+	{
+		frame.DrawString(left, bottom, format, arg);
+	}
+	
+	public void DrawString(int left, int bottom, String format, double arg)
+	{
+		frame.DrawString(left, bottom, format, arg);
+	}
+	
+	public void DrawString(int left, int bottom, String format, Object arg)
+	{
+		frame.DrawString(left, bottom, format, arg);
+	}
+	
+	public void DrawString(int left, int bottom, String format, Object arg0, Object arg1)
+	{
+		frame.DrawString(left, bottom, format, arg0, arg1);
+	}
+
+	public void EndDraw()
+	{
+		frame.EndDraw();
+		g = null;
+	}
+}
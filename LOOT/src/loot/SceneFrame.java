@@ -0,0 +1,250 @@
+package loot;
+
+import java.util.ArrayList;
+
+import loot.graphics.VisualSnapshot;
+
+/**
+ * 여러 Scene을 쌓아 두고 맨 위의 Scene을 진행하는 게임 창입니다.<br>
+ * <br>
+ * 모든 Scene은 이 창 하나의 게임 화면, 입력, 읽어 둔 Image / 음원, 게임 루프를 함께 사용하므로<br>
+ * 화면을 바꿀 때 새 창을 만들 필요가 없습니다.<br>
+ * <br>
+ * PushScene()은 새 Scene을 맨 위에 올리고(아래 Scene은 그대로 남아 있음),<br>
+ * PopScene()은 맨 위의 Scene을 내려 바로 아래의 Scene으로 돌아가며,<br>
+ * ReplaceScene()은 맨 위의 Scene을 새 Scene으로 바꿉니다.<br>
+ * 이 메서드들은 보통 Scene의 Update() 안에서 호출하며, 실제 전환은 이번 Update()가 끝난 직후에 이루어집니다.<br>
+ * 마지막 Scene까지 모두 내려가면 창이 닫힙니다.
+ *
+ * @author Racin
+ *
+ */
+@SuppressWarnings("serial")
+public class SceneFrame extends GameFrame
+{
+	/**
+	 * Scene 전환 요청의 종류
+	 */
+	private static final int request_push = 0;
+	private static final int request_pop = 1;
+	private static final int request_replace = 2;
+
+	/**
+	 * 아직 적용하지 않은 Scene 전환 요청 하나를 나타냅니다.
+	 */
+	private static class Request
+	{
+		int kind;
+		Scene scene;
+
+		Request(int kind, Scene scene)
+		{
+			this.kind = kind;
+			this.scene = scene;
+		}
+	}
+
+	/**
+	 * Scene들 - 마지막 원소가 맨 위의 Scene
+	 */
+	private ArrayList<Scene> scenes;
+
+	/**
+	 * 요청 순서대로 쌓아 둔 Scene 전환 요청들
+	 */
+	private ArrayList<Request> requests;
+
+	/**
+	 * 새로운 SceneFrame class의 인스턴스를 생성합니다.
+	 *
+	 * @param settings
+	 * 			  게임 창을 설정하기 위한 여러 값들이 들어 있습니다.<br>
+	 * 			  자세한 내용은 GameFrameSettings.java 파일을 참고하세요.
+	 * @param firstScene
+	 * 			  게임 루프가 시작되면 처음으로 올릴 Scene입니다.
+	 */
+	public SceneFrame(GameFrameSettings settings, Scene firstScene)
+	{
+		super(settings);
+
+		scenes = new ArrayList<>();
+		requests = new ArrayList<>();
+		PushScene(firstScene);
+	}
+
+	/**
+	 * 주어진 Scene을 맨 위에 올립니다. 지금 맨 위에 있던 Scene은 그 아래에 그대로 남아 있다가 PopScene()을 하면 다시 진행됩니다.
+	 */
+	public void PushScene(Scene scene)
+	{
+		requests.add(new Request(request_push, scene));
+	}
+
+	/**
+	 * 맨 위의 Scene을 내리고 바로 아래의 Scene으로 돌아갑니다. 남은 Scene이 없다면 창을 닫습니다.
+	 */
+	public void PopScene()
+	{
+		requests.add(new Request(request_pop, null));
+	}
+
+	/**
+	 * 맨 위의 Scene을 내리고 그 자리에 주어진 Scene을 올립니다.
+	 */
+	public void ReplaceScene(Scene scene)
+	{
+		requests.add(new Request(request_replace, scene));
+	}
+
+	/**
+	 * 현재 맨 위에 있는(진행 중인) Scene을 return합니다. 아직 게임 루프가 시작되지 않았다면 null을 return합니다.
+	 */
+	public Scene GetCurrentScene()
+	{
+		return scenes.isEmpty() ? null : scenes.get(scenes.size() - 1);
+	}
+
+	/**
+	 * 쌓여 있는 Scene 수를 return합니다.
+	 */
+	public int GetNumberOfScenes()
+	{
+		return scenes.size();
+	}
+
+	/**
+	 * 쌓아 둔 Scene 전환 요청들을 순서대로 적용합니다.<br>
+	 * OnEnter() 등에서 다시 요청한 전환도 함께 적용됩니다.
+	 *
+	 * @return 맨 위의 Scene이 바뀐 경우 true를 return합니다.
+	 */
+	private boolean ApplyRequests()
+	{
+		Scene top_old = GetCurrentScene();
+
+		while ( requests.isEmpty() == false )
+		{
+			Request request = requests.remove(0);
+			Scene top = GetCurrentScene();
+
+			//내릴 Scene이 없다면 무시
+			if ( request.kind == request_pop && top == null )
+				continue;
+
+			//새로 올릴 Scene은 처음이라면 먼저 초기화, 실패한 경우 이 요청은 무시
+			if ( request.scene != null && Prepare(request.scene) == false )
+			{
+				System.err.println("Error. " + request.scene.getClass().getName() + "의 Initialize()가 실패하여 Scene을 전환하지 않았습니다.");
+				continue;
+			}
+
+			if ( top != null )
+				top.OnExit();
+
+			switch ( request.kind )
+			{
+			case request_push:
+				scenes.add(request.scene);
+				break;
+			case request_pop:
+				scenes.remove(scenes.size() - 1);
+				break;
+			default:
+				if ( top != null )
+					scenes.remove(scenes.size() - 1);
+				scenes.add(request.scene);
+				break;
+			}
+
+			//Scene마다 사용하는 bind와 그리는 요소가 다르므로 모두 해제한 다음 새 Scene이 다시 bind / 등록하도록 함(전체 화면도 다시 그림)
+			inputs.UnbindAll();
+			dirtyRegion.UntrackAll();
+			GetPerformanceOverlay().UntrackAllLayers();
+
+			top = GetCurrentScene();
+
+			if ( top == null )
+			{
+				//마지막 Scene까지 내려간 경우 창을 닫음
+				requests.clear();
+				dispose();
+				return false;
+			}
+
+			top.OnEnter();
+		}
+
+		return GetCurrentScene() != top_old;
+	}
+
+	/**
+	 * 주어진 Scene을 이 창에 연결하고 아직 호출하지 않았다면 Initialize()를 호출합니다.
+	 *
+	 * @return Initialize()가 성공했거나 이미 호출된 경우 true를 return합니다.
+	 */
+	private boolean Prepare(Scene scene)
+	{
+		if ( scene.isInitialized == true )
+			return true;
+
+		scene.Attach(this);
+
+		if ( scene.Initialize() == false )
+			return false;
+
+		scene.isInitialized = true;
+		return true;
+	}
+
+	@Override
+	public boolean Initialize()
+	{
+		ApplyRequests();
+
+		return GetCurrentScene() != null;
+	}
+
+	@Override
+	public boolean Update(long timeStamp)
+	{
+		Scene top = GetCurrentScene();
+
+		if ( top == null )
+			return false;
+
+		boolean isDrawRequired = top.Update(timeStamp);
+
+		//이번 Update() 중에 요청한 전환 적용, 맨 위의 Scene이 바뀌었다면 새 Scene을 바로 그림
+		if ( requests.isEmpty() == false && ApplyRequests() == true )
+			isDrawRequired = GetCurrentScene() != null;
+
+		return isDrawRequired;
+	}
+
+	@Override
+	public void Draw(long timeStamp)
+	{
+		Scene top = GetCurrentScene();
+
+		if ( top != null )
+			top.Draw(timeStamp);
+	}
+
+	@Override
+	public void Draw(long timeStamp, double alpha)
+	{
+		Scene top = GetCurrentScene();
+
+		if ( top != null )
+			top.Draw(timeStamp, alpha);
+	}
+
+	@Override
+	public void Capture(VisualSnapshot snapshot)
+	{
+		Scene top = GetCurrentScene();
+
+		if ( top != null )
+			top.Capture(snapshot);
+	}
+}
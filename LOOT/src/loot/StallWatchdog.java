@@ -0,0 +1,342 @@
+package loot;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 게임 루프가 한 단계(Initialize() / Update() / Draw() / 대기)에 너무 오래 머물러 있는지 감시하는 클래스입니다.<br>
+ * <br>
+ * Update()나 Draw()가 끝나지 않으면 창이 멈춘 것처럼 보이지만, 어디서 멈췄는지는 알기 어렵습니다.<br>
+ * 이 클래스는 별도의 감시 스레드에서 게임 루프의 진행 상황을 주기적으로 확인하다가<br>
+ * 한 단계에 정해진 시간(프레임 간격의 몇 배)보다 오래 머물러 있으면 그 순간 게임 루프 스레드의 호출 스택을 복사하여 기록해 둡니다.<br>
+ * 기록은 최근 몇 개만 보관하며 GetReports()로 가져올 수 있습니다.<br>
+ * <br>
+ * 게임 루프 쪽에서는 단계가 바뀔 때마다 필드 하나에 값을 쓰는 것 외에 추가 비용이 없습니다.<br>
+ * 일시 정지 중이거나 유휴 상태로 쉬고 있는 동안은 감시하지 않으며, 분리 그리기 모드의 그리기 스레드도 감시하지 않습니다.<br>
+ * 여러분이 이 클래스를 직접 만들 일은 없으며 GameLoop.GetStallWatchdog()를 통해 사용하면 됩니다.
+ *
+ * @author Racin
+ *
+ */
+public class StallWatchdog
+{
+	/**
+	 * 게임 루프가 머물러 있던 단계를 나타냅니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	public enum Phase
+	{
+		Initialize,
+		Update,
+		Draw,
+
+		/**
+		 * 다음 프레임을 시작할 시각까지 대기하는 단계입니다.
+		 */
+		Wait
+	}
+
+	/**
+	 * 멈춤이 감지되었을 때 남기는 기록입니다.
+	 *
+	 * @author Racin
+	 *
+	 */
+	public static class Report
+	{
+		/**
+		 * 게임 루프가 머물러 있던 단계입니다.
+		 */
+		public final Phase phase;
+
+		/**
+		 * 감지한 시점까지 그 단계에 머물러 있던 시간입니다.
+		 */
+		public final long stalled_ns;
+
+		/**
+		 * 감지한 시각입니다(System.currentTimeMillis() 기준).
+		 */
+		public final long detectedTime_ms;
+
+		/**
+		 * 게임 루프를 진행하던 스레드의 이름입니다.
+		 */
+		public final String threadName;
+
+		/**
+		 * 감지한 순간 게임 루프 스레드의 호출 스택입니다. 가장 안쪽(현재 실행 중인) 메서드가 맨 앞에 있습니다.
+		 */
+		public final StackTraceElement[] stackTrace;
+
+		Report(Phase phase, long stalled_ns, long detectedTime_ms, String threadName, StackTraceElement[] stackTrace)
+		{
+			this.phase = phase;
+			this.stalled_ns = stalled_ns;
+			this.detectedTime_ms = detectedTime_ms;
+			this.threadName = threadName;
+			this.stackTrace = stackTrace;
+		}
+
+		@Override
+		public String toString()
+		{
+			StringBuilder builder = new StringBuilder();
+
+			builder.append(threadName).append(": ").append(phase).append(" 단계에서 ").append(stalled_ns / 1000000).append("ms 동안 멈춤");
+
+			for ( StackTraceElement element : stackTrace )
+				builder.append(System.lineSeparator()).append("\tat ").append(element);
+
+			return builder.toString();
+		}
+	}
+
+	/**
+	 * 게임 루프가 사용하는 단계 값 - Phase의 순서와 같으며, phase_none은 감시하지 않는 상태(일시 정지, 유휴 상태 등)
+	 */
+	static final int phase_initialize = 0;
+	static final int phase_update = 1;
+	static final int phase_draw = 2;
+	static final int phase_wait = 3;
+	static final int phase_none = 4;
+
+	/**
+	 * 진행 상황을 나타내는 값의 아래 3비트에는 현재 단계를, 나머지에는 단계가 바뀐 횟수를 담음
+	 */
+	private static final int bits_phase = 3;
+	private static final int mask_phase = ( 1 << bits_phase ) - 1;
+
+	/**
+	 * 따로 설정하지 않았을 때 보관해 둘 최근 기록 수
+	 */
+	public static final int defaultCapacity = 16;
+
+	/**
+	 * 감시 스레드가 진행 상황을 확인하는 최소 간격
+	 */
+	private static final long minPollInterval_ns = 1000000;
+
+	/**
+	 * 게임 루프의 진행 상황 - 게임 루프 스레드만 쓰고 감시 스레드는 읽기만 함<br>
+	 * 게임 루프 쪽 비용을 줄이기 위해 volatile 대신 opaque 방식으로 읽고 씀<br>
+	 * --> 다른 값들과의 순서는 보장하지 않지만 감시 스레드가 새 값을 언젠가는 반드시 보게 되며, 쓰는 쪽은 일반 필드에 쓰는 것과 비용이 거의 같음
+	 */
+	private int progress = phase_none;
+
+	private static final VarHandle handle_progress;
+
+	static
+	{
+		try
+		{
+			handle_progress = MethodHandles.lookup().findVarHandle(StallWatchdog.class, "progress", int.class);
+		}
+		catch ( ReflectiveOperationException e )
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * 감시할 게임 루프 스레드
+	 */
+	private volatile Thread loopThread;
+
+	private final long interval_ns;
+	private volatile double thresholdMultiple;
+
+	private Thread watchThr;
+
+	/**
+	 * 최근 기록들 - reports[기록 번호 % capacity]
+	 */
+	private final Report[] reports;
+	private long numberOfReports;
+
+	/**
+	 * 새로운 StallWatchdog class의 인스턴스를 생성합니다.
+	 *
+	 * @param interval_ns 감시할 게임 루프의 프레임 간격입니다.
+	 * @param capacity 보관해 둘 최근 기록 수입니다.
+	 */
+	StallWatchdog(long interval_ns, int capacity)
+	{
+		this.interval_ns = interval_ns;
+		reports = new Report[capacity < 1 ? 1 : capacity];
+	}
+
+	/**
+	 * 게임 루프가 새 단계에 들어갔음을 기록합니다. 이 메서드는 게임 루프 스레드가 호출합니다.
+	 */
+	void Enter(int phase)
+	{
+		//이 값을 쓰는 스레드는 게임 루프 스레드 하나뿐이므로 자신이 쓴 값은 그냥 읽어도 됨
+		handle_progress.setOpaque(this, ( progress + ( 1 << bits_phase ) ) & ~mask_phase | phase);
+	}
+
+	/**
+	 * 감시할 게임 루프 스레드를 지정하고, 필요한 경우 감시 스레드를 시작합니다.<br>
+	 * 이 메서드는 게임 루프가 시작될 때 그 스레드에서 호출합니다.
+	 */
+	synchronized void Attach(Thread thread)
+	{
+		loopThread = thread;
+		StartIfRequired();
+	}
+
+	/**
+	 * 감시를 끝내고 감시 스레드를 종료합니다. 이 메서드는 GameLoop.Abort()가 호출합니다.
+	 */
+	synchronized void Detach()
+	{
+		loopThread = null;
+
+		if ( watchThr != null )
+		{
+			watchThr.interrupt();
+			watchThr = null;
+		}
+	}
+
+	/**
+	 * 한 단계에 얼마나 오래 머물러 있으면 멈춘 것으로 볼 지를 프레임 간격의 배수로 설정합니다.<br>
+	 * 0 이하로 설정하면 감시하지 않습니다. 기본값은 0입니다.<br>
+	 * 게임 루프가 이미 실행 중일 때도 바꿀 수 있습니다.
+	 *
+	 * @param multipleOfInterval 프레임 간격의 몇 배보다 오래 머물러 있으면 기록할 것인지를 나타내는 값입니다.
+	 */
+	public synchronized void SetThreshold(double multipleOfInterval)
+	{
+		thresholdMultiple = multipleOfInterval;
+		StartIfRequired();
+	}
+
+	/**
+	 * 현재 설정되어 있는 기준을 프레임 간격의 배수로 return합니다.
+	 */
+	public double GetThreshold()
+	{
+		return thresholdMultiple;
+	}
+
+	/**
+	 * 감시가 필요한 상태라면 감시 스레드를 시작합니다.
+	 */
+	private void StartIfRequired()
+	{
+		if ( watchThr != null || loopThread == null || thresholdMultiple <= 0 )
+			return;
+
+		watchThr = new Thread(this::Watch, "StallWatchdog");
+		watchThr.setDaemon(true);
+		watchThr.start();
+	}
+
+	/**
+	 * 감시 스레드의 진입점 메서드입니다.<br>
+	 * 주기적으로 진행 상황을 확인하여 같은 단계에 기준 시간보다 오래 머물러 있다면 한 번 기록합니다.
+	 */
+	private void Watch()
+	{
+		int last_progress = (int)handle_progress.getOpaque(this);
+		long last_changedTime_ns = System.nanoTime();
+		boolean isReported = false;
+
+		while ( Thread.currentThread().isInterrupted() == false )
+		{
+			double multiple = thresholdMultiple;
+			long threshold_ns = (long)( interval_ns * ( multiple > 0 ? multiple : 1 ) );
+			long now = System.nanoTime();
+			int current_progress = (int)handle_progress.getOpaque(this);
+
+			if ( current_progress != last_progress )
+			{
+				last_progress = current_progress;
+				last_changedTime_ns = now;
+				isReported = false;
+			}
+			else if ( isReported == false && multiple > 0 && ( current_progress & mask_phase ) != phase_none && now - last_changedTime_ns > threshold_ns )
+			{
+				isReported = Capture(current_progress, now - last_changedTime_ns);
+			}
+
+			LockSupport.parkNanos(Math.max(threshold_ns / 4, minPollInterval_ns));
+		}
+	}
+
+	/**
+	 * 게임 루프 스레드의 호출 스택을 복사하여 기록합니다.<br>
+	 * 복사하는 동안 게임 루프가 다음 단계로 넘어갔다면 기록하지 않습니다.
+	 *
+	 * @return 기록한 경우 true를 return합니다.
+	 */
+	private boolean Capture(int stalled_progress, long stalled_ns)
+	{
+		Thread thread = loopThread;
+
+		if ( thread == null )
+			return false;
+
+		StackTraceElement[] stackTrace = thread.getStackTrace();
+
+		if ( (int)handle_progress.getOpaque(this) != stalled_progress )
+			return false;
+
+		Report report = new Report(Phase.values()[stalled_progress & mask_phase], stalled_ns, System.currentTimeMillis(), thread.getName(), stackTrace);
+
+		synchronized ( reports )
+		{
+			reports[(int)( numberOfReports % reports.length )] = report;
+			++numberOfReports;
+		}
+
+		System.err.println("Error. 게임 루프가 " + report.phase + " 단계에서 " + stalled_ns / 1000000 + "ms 이상 멈춰 있습니다. 자세한 내용은 GameLoop.GetStallWatchdog().GetReports()로 확인하세요.");
+		return true;
+	}
+
+	/**
+	 * 지금까지 감지한 멈춤의 전체 횟수를 return합니다. 보관하지 못 하고 밀려난 기록도 포함됩니다.
+	 */
+	public long GetNumberOfReports()
+	{
+		synchronized ( reports )
+		{
+			return numberOfReports;
+		}
+	}
+
+	/**
+	 * 보관하고 있는 최근 기록들을 오래된 것부터 순서대로 담은 배열을 return합니다.
+	 */
+	public Report[] GetReports()
+	{
+		synchronized ( reports )
+		{
+			int count = (int)Math.min(numberOfReports, reports.length);
+			Report[] result = new Report[count];
+
+			for ( int iReport = 0; iReport < count; ++iReport )
+				result[iReport] = reports[(int)( ( numberOfReports - count + iReport ) % reports.length )];
+
+			return result;
+		}
+	}
+
+	/**
+	 * 보관하고 있는 기록을 모두 지우고 전체 횟수도 0으로 되돌립니다.
+	 */
+	public void ClearReports()
+	{
+		synchronized ( reports )
+		{
+			for ( int iReport = 0; iReport < reports.length; ++iReport )
+				reports[iReport] = null;
+
+			numberOfReports = 0;
+		}
+	}
+}
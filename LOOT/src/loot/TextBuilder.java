@@ -0,0 +1,397 @@
+package loot;
+
+import java.util.Arrays;
+
+/**
+ * 미리 분석해 둔 TextFormat과 인자들로 글자들을 채우는 재사용 가능한 버퍼입니다.<br>
+ * <br>
+ * 인자는 Add...()로 하나씩 넣으며, 정수 / 실수는 상자에 담지 않고(boxing) 그대로 보관합니다.<br>
+ * 버퍼가 충분히 커진 다음부터는 글자를 채우는 동안 새 객체를 만들지 않습니다(%s에 String이 아닌 객체를 넘긴 경우 제외).<br>
+ * 이 클래스는 한 스레드에서만 사용해야 합니다.
+ * 
+ * @author Racin
+ *
+ */
+final class TextBuilder
+{
+	/**
+	 * 인자의 종류
+	 */
+	private static final int type_int = 0;
+	private static final int type_long = 1;
+	private static final int type_double = 2;
+	private static final int type_char = 3;
+	private static final int type_object = 4;
+	
+	/**
+	 * 10의 거듭제곱 - %f의 정밀도(최대 9) 처리용
+	 */
+	private static final long[] powersOf10 = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L };
+	
+	/**
+	 * 이보다 큰 실수는 정확히 반올림하기 어려우므로 String.format()에 맡김
+	 */
+	private static final double maxScaledValue = 1e15;
+	
+	/**
+	 * 채운 글자들 - 앞의 length개만 유효
+	 */
+	char[] chars;
+	int length;
+	
+	/**
+	 * 인자들 - 앞의 numberOfArgs개만 유효
+	 */
+	private int[] types;
+	private long[] longs;
+	private double[] doubles;
+	private Object[] objects;
+	private int numberOfArgs;
+	
+	/**
+	 * 숫자를 거꾸로 적어 둘 때 사용하는 임시 공간
+	 */
+	private char[] digits;
+	
+	TextBuilder()
+	{
+		chars = new char[64];
+		types = new int[4];
+		longs = new long[4];
+		doubles = new double[4];
+		objects = new Object[4];
+		digits = new char[20];
+	}
+	
+	/**
+	 * 넣어 둔 인자들을 모두 비웁니다. 객체 인자를 계속 붙잡고 있지 않도록 참조도 지웁니다.
+	 */
+	void ClearArgs()
+	{
+		for ( int iArg = 0; iArg < numberOfArgs; ++iArg )
+			objects[iArg] = null;
+		
+		numberOfArgs = 0;
+	}
+	
+	void AddInt(int value)
+	{
+		int idx = NextArg(type_int);
+		longs[idx] = value;
+	}
+	
+	void AddLong(long value)
+	{
+		int idx = NextArg(type_long);
+		longs[idx] = value;
+	}
+	
+	void AddDouble(double value)
+	{
+		int idx = NextArg(type_double);
+		doubles[idx] = value;
+	}
+	
+	/**
+	 * 객체 인자를 넣습니다. Integer, Long, Double, Character는 상자에서 꺼내 값으로 보관합니다.
+	 */
+	void AddObject(Object value)
+	{
+		if ( value instanceof Integer )
+			AddInt((Integer)value);
+		else if ( value instanceof Long )
+			AddLong((Long)value);
+		else if ( value instanceof Double )
+			AddDouble((Double)value);
+		else if ( value instanceof Character )
+			longs[NextArg(type_char)] = (Character)value;
+		else
+			objects[NextArg(type_object)] = value;
+	}
+	
+	/**
+	 * 넣어 둔 인자들을 String.format()에 넘길 수 있는 배열로 만들어 return합니다. 직접 처리할 수 없는 경우에만 사용합니다.
+	 */
+	Object[] GetArgs()
+	{
+		Object[] args = new Object[numberOfArgs];
+		
+		for ( int iArg = 0; iArg < numberOfArgs; ++iArg )
+		{
+			switch ( types[iArg] )
+			{
+			case type_int: args[iArg] = (int)longs[iArg]; break;
+			case type_long: args[iArg] = longs[iArg]; break;
+			case type_double: args[iArg] = doubles[iArg]; break;
+			case type_char: args[iArg] = (char)longs[iArg]; break;
+			default: args[iArg] = objects[iArg]; break;
+			}
+		}
+		
+		return args;
+	}
+	
+	private int NextArg(int type)
+	{
+		if ( numberOfArgs == types.length )
+		{
+			int capacity = types.length * 2;
+			types = Arrays.copyOf(types, capacity);
+			longs = Arrays.copyOf(longs, capacity);
+			doubles = Arrays.copyOf(doubles, capacity);
+			objects = Arrays.copyOf(objects, capacity);
+		}
+		
+		types[numberOfArgs] = type;
+		return numberOfArgs++;
+	}
+	
+	/**
+	 * 주어진 양식과 넣어 둔 인자들로 chars를 채웁니다.
+	 * 
+	 * @return 직접 처리할 수 없는 양식이나 인자가 있었다면 false를 return합니다. 이 경우 String.format()을 대신 사용해야 합니다.
+	 */
+	boolean Format(TextFormat template)
+	{
+		length = 0;
+		
+		if ( template.isSupported == false || template.numberOfArgs > numberOfArgs )
+			return false;
+		
+		int idx_arg = 0;
+		
+		for ( int iPart = 0; iPart < template.kinds.length; ++iPart )
+		{
+			int kind = template.kinds[iPart];
+			
+			if ( kind == TextFormat.kind_literal )
+			{
+				int count = template.ends[iPart] - template.starts[iPart];
+				Reserve(count);
+				template.format.getChars(template.starts[iPart], template.ends[iPart], chars, length);
+				length += count;
+				continue;
+			}
+			
+			if ( kind == TextFormat.kind_percent )
+			{
+				Append('%');
+				continue;
+			}
+			
+			int begin = length;
+			
+			if ( AppendArg(kind, template.precisions[iPart], template.decimalSeparator, idx_arg) == false )
+				return false;
+			
+			++idx_arg;
+			Pad(begin, template.flags[iPart], template.widths[iPart]);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * 인자 하나를 지정자에 맞게 적습니다.
+	 */
+	private boolean AppendArg(int kind, int precision, char decimalSeparator, int idx)
+	{
+		int type = types[idx];
+		
+		switch ( kind )
+		{
+		case TextFormat.kind_decimal:
+			if ( type != type_int && type != type_long )
+				return false;
+			AppendDecimal(longs[idx]);
+			return true;
+			
+		case TextFormat.kind_hex:
+		case TextFormat.kind_hexUpper:
+			if ( type != type_int && type != type_long )
+				return false;
+			AppendHex(type == type_int ? longs[idx] & 0xffffffffL : longs[idx], kind == TextFormat.kind_hexUpper);
+			return true;
+			
+		case TextFormat.kind_float:
+			return type == type_double && AppendFloat(doubles[idx], precision < 0 ? 6 : precision, decimalSeparator);
+			
+		case TextFormat.kind_char:
+			if ( type != type_char && type != type_int )
+				return false;
+			if ( longs[idx] < Character.MIN_VALUE || longs[idx] > Character.MAX_VALUE || Character.isSurrogate((char)longs[idx]) )
+				return false;
+			Append((char)longs[idx]);
+			return true;
+			
+		default:
+			//%s
+			int begin = length;
+			
+			if ( type == type_int || type == type_long )
+				AppendDecimal(longs[idx]);
+			else if ( type == type_char )
+				Append((char)longs[idx]);
+			else if ( type == type_object )
+				AppendString(String.valueOf(objects[idx]));
+			else
+				return false;
+			
+			//정밀도는 최대 글자 수
+			if ( precision >= 0 && length - begin > precision )
+				length = begin + precision;
+			return true;
+		}
+	}
+	
+	/**
+	 * 너비가 지정된 경우 begin부터 적은 글자들 앞(또는 뒤)에 공백이나 0을 채웁니다.
+	 */
+	private void Pad(int begin, int flag, int width)
+	{
+		int count = width - ( length - begin );
+		
+		if ( count <= 0 )
+			return;
+		
+		Reserve(count);
+		
+		//왼쪽 정렬이면 뒤에 공백
+		if ( ( flag & TextFormat.flag_leftJustify ) != 0 )
+		{
+			for ( int iPad = 0; iPad < count; ++iPad )
+				chars[length++] = ' ';
+			return;
+		}
+		
+		//그 외에는 앞에 공백 또는 0(부호가 있다면 부호 뒤)
+		boolean isZeroPad = ( flag & TextFormat.flag_zeroPad ) != 0;
+		int idx_insert = isZeroPad && chars[begin] == '-' ? begin + 1 : begin;
+		
+		System.arraycopy(chars, idx_insert, chars, idx_insert + count, length - idx_insert);
+		
+		for ( int iPad = 0; iPad < count; ++iPad )
+			chars[idx_insert + iPad] = isZeroPad ? '0' : ' ';
+		
+		length += count;
+	}
+	
+	private void AppendDecimal(long value)
+	{
+		if ( value < 0 )
+		{
+			Append('-');
+			
+			//Long.MIN_VALUE는 양수로 바꿀 수 없으므로 부호 없는 값으로 적음
+			AppendUnsigned(-value, 10, false);
+		}
+		else
+		{
+			AppendUnsigned(value, 10, false);
+		}
+	}
+	
+	private void AppendHex(long value, boolean isUpperCase)
+	{
+		AppendUnsigned(value, 16, isUpperCase);
+	}
+	
+	/**
+	 * 값을 부호 없는 정수로 보고 주어진 진법으로 적습니다.
+	 */
+	private void AppendUnsigned(long value, int radix, boolean isUpperCase)
+	{
+		int count = 0;
+		
+		do
+		{
+			int digit = (int)Long.remainderUnsigned(value, radix);
+			digits[count++] = (char)( digit < 10 ? '0' + digit : ( isUpperCase ? 'A' : 'a' ) + digit - 10 );
+			value = Long.divideUnsigned(value, radix);
+		}
+		while ( value != 0 );
+		
+		Reserve(count);
+		
+		while ( count > 0 )
+			chars[length++] = digits[--count];
+	}
+	
+	/**
+	 * 실수를 소수점 아래 precision자리까지 반올림하여 적습니다.<br>
+	 * String.format()은 실수를 가장 짧은 10진 표현으로 바꾼 다음 반올림하므로,<br>
+	 * 반올림 경계에 아주 가까워 결과가 달라질 수 있는 값이나 너무 큰 값은 직접 처리하지 않습니다.
+	 * 
+	 * @return 직접 처리한 경우 true를 return합니다.
+	 */
+	private boolean AppendFloat(double value, int precision, char decimalSeparator)
+	{
+		if ( Double.isNaN(value) || Double.isInfinite(value) )
+			return false;
+		
+		double scaled = Math.abs(value) * powersOf10[precision];
+		
+		if ( scaled >= maxScaledValue )
+			return false;
+		
+		double floor = Math.floor(scaled);
+		
+		if ( Math.abs(scaled - floor - 0.5) <= 8 * Math.ulp(scaled) )
+			return false;
+		
+		long rounded = (long)floor + ( scaled - floor > 0.5 ? 1 : 0 );
+		
+		//-0.0이나 반올림하여 0이 되는 음수도 String.format()처럼 '-'를 붙임
+		if ( Double.doubleToRawLongBits(value) < 0 )
+			Append('-');
+		
+		AppendUnsigned(rounded / powersOf10[precision], 10, false);
+		
+		if ( precision > 0 )
+		{
+			Append(decimalSeparator);
+			
+			long fraction = rounded % powersOf10[precision];
+			int begin = length;
+			AppendUnsigned(fraction, 10, false);
+			
+			//소수 부분 앞쪽의 0 채우기
+			int count = precision - ( length - begin );
+			
+			if ( count > 0 )
+			{
+				Reserve(count);
+				System.arraycopy(chars, begin, chars, begin + count, length - begin);
+				
+				for ( int iPad = 0; iPad < count; ++iPad )
+					chars[begin + iPad] = '0';
+				
+				length += count;
+			}
+		}
+		
+		return true;
+	}
+	
+	private void AppendString(String value)
+	{
+		Reserve(value.length());
+		value.getChars(0, value.length(), chars, length);
+		length += value.length();
+	}
+	
+	private void Append(char ch)
+	{
+		Reserve(1);
+		chars[length++] = ch;
+	}
+	
+	/**
+	 * 버퍼에 count 글자를 더 적을 공간이 있도록 합니다. 모자라면 두 배씩 늘림
+	 */
+	private void Reserve(int count)
+	{
+		if ( length + count > chars.length )
+			chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + count));
+	}
+}
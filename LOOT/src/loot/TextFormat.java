@@ -0,0 +1,225 @@
+package loot;
+
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * DrawString()에 넘겨 준 양식 문자열 하나를 미리 분석해 둔 결과입니다.<br>
+ * <br>
+ * String.format()은 호출할 때마다 양식을 다시 분석하고 Formatter와 문자열을 새로 만들기 때문에<br>
+ * 매 프레임 같은 양식으로 글자를 그리면 그만큼 쓰레기가 쌓이게 됩니다.<br>
+ * 이 클래스는 양식을 한 번만 분석해 두고, TextBuilder가 이를 사용하여 새 객체를 만들지 않고 글자를 채울 수 있게 해 줍니다.<br>
+ * <br>
+ * %d, %x, %X, %f, %s, %c, %%와 '-', '0' 플래그, 너비, 정밀도만 지원하며<br>
+ * 그 밖의 양식(%,d, %e, %1$s 등)이 섞여 있으면 지원하지 않는 양식으로 표시해 두어 String.format()을 대신 사용하도록 합니다.
+ * 
+ * @author Racin
+ *
+ */
+final class TextFormat
+{
+	/**
+	 * 양식을 구성하는 각 부분의 종류
+	 */
+	static final int kind_literal = 0;
+	static final int kind_percent = 1;
+	static final int kind_decimal = 2;
+	static final int kind_hex = 3;
+	static final int kind_hexUpper = 4;
+	static final int kind_float = 5;
+	static final int kind_string = 6;
+	static final int kind_char = 7;
+	
+	/**
+	 * 플래그
+	 */
+	static final int flag_leftJustify = 1;
+	static final int flag_zeroPad = 2;
+	
+	/**
+	 * 분석한 양식 문자열
+	 */
+	final String format;
+	
+	/**
+	 * 이 양식을 직접 처리할 수 있는지 여부 - false면 String.format()을 사용해야 함
+	 */
+	final boolean isSupported;
+	
+	/**
+	 * 각 부분의 종류와 값들<br>
+	 * kind_literal인 경우 starts / ends는 format 안에서의 범위, 그 밖의 경우 flags / widths / precisions는 지정자의 설정(없으면 -1)
+	 */
+	final int[] kinds;
+	final int[] starts;
+	final int[] ends;
+	final int[] flags;
+	final int[] widths;
+	final int[] precisions;
+	
+	/**
+	 * 양식이 요구하는 인자 수
+	 */
+	final int numberOfArgs;
+	
+	/**
+	 * 분석할 때의 지역 설정에 따른 소수점 문자 - 숫자를 '0' ~ '9' 이외의 문자로 적는 지역 설정이라면 지원하지 않는 양식으로 표시
+	 */
+	final char decimalSeparator;
+	
+	TextFormat(String format)
+	{
+		this.format = format;
+		
+		ArrayList<int[]> parts = new ArrayList<>();
+		boolean isSupported = true;
+		int numberOfArgs = 0;
+		int length = format.length();
+		int idx_literal = 0;
+		int idx = 0;
+		
+		while ( idx < length )
+		{
+			if ( format.charAt(idx) != '%' )
+			{
+				++idx;
+				continue;
+			}
+			
+			if ( idx_literal < idx )
+				parts.add(new int[] { kind_literal, idx_literal, idx, 0, -1, -1 });
+			
+			//플래그
+			int next = idx + 1;
+			int flag = 0;
+			
+			while ( next < length && "-0+ ,#(".indexOf(format.charAt(next)) >= 0 )
+			{
+				char ch = format.charAt(next);
+				
+				if ( ch == '-' )
+					flag |= flag_leftJustify;
+				else if ( ch == '0' )
+					flag |= flag_zeroPad;
+				else
+					isSupported = false;
+				
+				++next;
+			}
+			
+			//너비
+			int width = -1;
+			
+			while ( next < length && Character.isDigit(format.charAt(next)) )
+			{
+				width = ( width < 0 ? 0 : width * 10 ) + ( format.charAt(next) - '0' );
+				++next;
+			}
+			
+			//정밀도
+			int precision = -1;
+			
+			if ( next < length && format.charAt(next) == '.' )
+			{
+				++next;
+				precision = 0;
+				
+				while ( next < length && Character.isDigit(format.charAt(next)) )
+				{
+					precision = precision * 10 + ( format.charAt(next) - '0' );
+					++next;
+				}
+			}
+			
+			//변환 문자
+			int kind = -1;
+			
+			if ( next < length )
+			{
+				switch ( format.charAt(next) )
+				{
+				case '%': kind = kind_percent; break;
+				case 'd': kind = kind_decimal; break;
+				case 'x': kind = kind_hex; break;
+				case 'X': kind = kind_hexUpper; break;
+				case 'f': kind = kind_float; break;
+				case 's': kind = kind_string; break;
+				case 'c': kind = kind_char; break;
+				}
+			}
+			
+			if ( kind < 0 || IsValid(kind, flag, width, precision) == false )
+				isSupported = false;
+			
+			if ( kind != kind_percent )
+				++numberOfArgs;
+			
+			parts.add(new int[] { kind, 0, 0, flag, width, precision });
+			idx = next + 1;
+			idx_literal = idx;
+		}
+		
+		if ( idx_literal < length )
+			parts.add(new int[] { kind_literal, idx_literal, length, 0, -1, -1 });
+		
+		kinds = new int[parts.size()];
+		starts = new int[parts.size()];
+		ends = new int[parts.size()];
+		flags = new int[parts.size()];
+		widths = new int[parts.size()];
+		precisions = new int[parts.size()];
+		
+		for ( int iPart = 0; iPart < parts.size(); ++iPart )
+		{
+			int[] part = parts.get(iPart);
+			kinds[iPart] = part[0];
+			starts[iPart] = part[1];
+			ends[iPart] = part[2];
+			flags[iPart] = part[3];
+			widths[iPart] = part[4];
+			precisions[iPart] = part[5];
+		}
+		
+		DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+		decimalSeparator = symbols.getDecimalSeparator();
+		
+		if ( symbols.getZeroDigit() != '0' )
+			isSupported = false;
+		
+		this.isSupported = isSupported;
+		this.numberOfArgs = numberOfArgs;
+	}
+	
+	/**
+	 * 주어진 지정자가 String.format()에서도 예외 없이 처리되는 조합인지 확인합니다.<br>
+	 * 예외가 발생하는 조합은 String.format()을 대신 사용하여 예전과 같은 예외가 발생하도록 합니다.
+	 */
+	private static boolean IsValid(int kind, int flag, int width, int precision)
+	{
+		//'-'와 '0'은 너비가 있어야 하며 함께 사용할 수 없음
+		if ( ( flag & ( flag_leftJustify | flag_zeroPad ) ) != 0 && width < 0 )
+			return false;
+		
+		if ( flag == ( flag_leftJustify | flag_zeroPad ) )
+			return false;
+		
+		switch ( kind )
+		{
+		case kind_percent:
+			return flag == 0 && width < 0 && precision < 0;
+		case kind_decimal:
+		case kind_hex:
+		case kind_hexUpper:
+			return precision < 0;
+		case kind_float:
+			return precision <= 9;
+		case kind_string:
+			return ( flag & flag_zeroPad ) == 0;
+		case kind_char:
+			return ( flag & flag_zeroPad ) == 0 && precision < 0;
+		default:
+			return false;
+		}
+	}
+}
@@ -0,0 +1,572 @@
+package loot;
+
+import java.util.Arrays;
+
+/**
+ * 게임 내 시간을 기준으로 정해진 시각에 메서드를 호출해 주는 클래스입니다.<br>
+ * <br>
+ * Update()에서 매 프레임마다 '마지막으로 무언가를 한 시각'과 현재 timeStamp를 비교하는 대신<br>
+ * 이 클래스에 원하는 시각을 예약해 두면, 게임 루프가 그 시각이 지난 첫 프레임의 Update()를 호출하기 직전에 대신 호출해 줍니다.<br>
+ * 여러분이 이 클래스를 직접 만들 일은 없으며 GameLoop.GetTimers()를 통해 사용하면 됩니다.<br>
+ * <br>
+ * 내부적으로는 게임 루프의 tick(프레임 간격) 단위로 칸을 나눈 4단계 타이밍 휠(256칸씩)을 사용하므로 타이머가 아무리 많아도<br>
+ * 예약과 취소는 항상 일정한 시간 안에 끝납니다. 각 단계마다 타이머가 들어 있는 칸을 bit로 표시해 두고 빈 칸은 한 번에 건너뛰므로<br>
+ * 매 프레임 비용은 지난 시간의 길이와 관계 없이 실제로 호출할 타이머 수에만 비례합니다.<br>
+ * 호출 시각 자체는 나노초 단위로 정확히 보관하므로, 같은 tick에 호출할 타이머들은 원래 시각 순서대로 호출됩니다.<br>
+ * 타이머 정보는 미리 만들어 둔 배열에 담으므로 개수가 늘어날 때를 제외하면 새로운 객체를 만들지 않습니다.<br>
+ * <br>
+ * <b>주의:</b><br>
+ * 이 클래스의 메서드들은 게임 루프 스레드(Initialize(), Update(), Draw(), 그리고 타이머 메서드 안)에서만 호출해야 합니다.
+ *
+ * @author Racin
+ *
+ */
+public class TimerService
+{
+	/**
+	 * 한 단계의 칸 수를 나타내는 비트 수 및 칸 수
+	 */
+	private static final int bits_level = 8;
+	private static final int numberOfSlots = 1 << bits_level;
+	private static final int mask_slot = numberOfSlots - 1;
+	private static final int numberOfLevels = 4;
+
+	/**
+	 * 이번 tick에 호출할 타이머들을 잠시 옮겨 두는 목록의 번호(각 칸의 목록 번호 바로 다음)
+	 */
+	private static final int list_firing = numberOfLevels * numberOfSlots;
+
+	/**
+	 * 어떤 목록에도 들어 있지 않음을 나타내는 값
+	 */
+	private static final int none = -1;
+
+	/**
+	 * 각 목록(휠의 칸)의 첫 타이머 번호
+	 */
+	private final int[] heads = new int[list_firing + 1];
+
+	/**
+	 * 각 칸에 타이머가 들어 있는지 여부 - occupied[칸 번호 / 64]의 (칸 번호 % 64)번째 bit
+	 */
+	private final long[] occupied = new long[list_firing / 64];
+
+	/**
+	 * tick 하나의 길이 - 게임 루프의 프레임 간격과 같음
+	 */
+	private final long interval_ns;
+
+	/**
+	 * 타이머별 정보 - 번호를 index로 사용하며 부족해지면 두 배로 늘림
+	 */
+	private int[] nexts;
+	private int[] prevs;
+	private int[] lists;
+	private int[] generations;
+	private long[] expireTimes_ns;
+	private long[] periods_ns;
+	private ITimerCallback[] callbacks;
+
+	/**
+	 * 사용하지 않는 타이머 번호 목록의 첫 번호(nexts로 연결)
+	 */
+	private int freeHead;
+
+	/**
+	 * 현재 예약되어 있는 타이머 수
+	 */
+	private int count;
+
+	/**
+	 * 아직 다 처리하지 않은 가장 이른 tick - 새 타이머는 이 tick을 기준으로 휠의 칸을 정함<br>
+	 * 가장 최근의 Advance()가 받은 시각이 들어 있는 tick은 그 시각까지만 처리한 것이므로 이 값은 보통 그 tick을 가리킴
+	 */
+	private long base_tick;
+
+	/**
+	 * 가장 최근의 Advance()가 받은 게임 내 시각 - 새로 예약하는 타이머의 '지금'
+	 */
+	private long now_ns;
+
+	/**
+	 * 새로운 TimerService class의 인스턴스를 생성합니다.
+	 *
+	 * @param interval_ns 게임 루프의 프레임 간격입니다. 휠의 한 칸이 이 길이를 나타냅니다.
+	 * @param initialCapacity 처음에 준비해 둘 타이머 수입니다.
+	 */
+	TimerService(long interval_ns, int initialCapacity)
+	{
+		this.interval_ns = interval_ns < 1 ? 1 : interval_ns;
+
+		for ( int iList = 0; iList < heads.length; ++iList )
+			heads[iList] = none;
+
+		nexts = new int[0];
+		prevs = new int[0];
+		lists = new int[0];
+		generations = new int[0];
+		expireTimes_ns = new long[0];
+		periods_ns = new long[0];
+		callbacks = new ITimerCallback[0];
+		freeHead = none;
+		Grow(initialCapacity < 1 ? 1 : initialCapacity);
+	}
+
+	/**
+	 * 주어진 시간이 지난 뒤 한 번 호출될 타이머를 예약합니다.
+	 *
+	 * @param delay_ms 지금부터 호출될 때까지의 (게임 내) 시간을 밀리초 단위로 나타낸 값입니다. 0 이하라면 다음 프레임에 호출됩니다.
+	 * @param callback 호출할 메서드를 구현한 인스턴스입니다.
+	 * @return 예약한 타이머의 ID를 return합니다. 취소할 때 사용합니다.
+	 */
+	public long Schedule(long delay_ms, ITimerCallback callback)
+	{
+		return ScheduleRepeating(delay_ms, 0, callback);
+	}
+
+	/**
+	 * 주어진 시간이 지난 뒤 처음 호출되고, 그 이후로 일정한 간격마다 계속 호출될 타이머를 예약합니다.<br>
+	 * 반복 타이머는 Cancel()을 호출할 때까지 계속 호출됩니다.
+	 *
+	 * @param delay_ms 지금부터 처음 호출될 때까지의 (게임 내) 시간을 밀리초 단위로 나타낸 값입니다.
+	 * @param period_ms 반복 간격을 밀리초 단위로 나타낸 값입니다. 0 이하라면 한 번만 호출됩니다.
+	 * @param callback 호출할 메서드를 구현한 인스턴스입니다.
+	 * @return 예약한 타이머의 ID를 return합니다. 취소할 때 사용합니다.
+	 */
+	public long ScheduleRepeating(long delay_ms, long period_ms, ITimerCallback callback)
+	{
+		if ( freeHead == none )
+			Grow(nexts.length * 2);
+
+		int idx = freeHead;
+		freeHead = nexts[idx];
+
+		//'지금'은 가장 최근의 Advance()가 받은 시각 - 0 이하라면 지금보다 1ns 뒤로 두어 이번이 아닌 다음 Advance()에서 호출되도록 함
+		expireTimes_ns[idx] = now_ns + ( delay_ms < 1 ? 1 : delay_ms * 1000000 );
+		periods_ns[idx] = period_ms < 0 ? 0 : period_ms * 1000000;
+		callbacks[idx] = callback;
+		++count;
+
+		Insert(idx);
+
+		return (long)generations[idx] << 32 | idx;
+	}
+
+	/**
+	 * 예약한 타이머를 취소합니다. 타이머 메서드 안에서 자기 자신을 취소해도 괜찮습니다.
+	 *
+	 * @param timerID 예약할 때 return된 ID입니다.
+	 * @return 아직 호출되지 않은(또는 반복 중인) 타이머를 취소한 경우 true를 return합니다.
+	 */
+	public boolean Cancel(long timerID)
+	{
+		if ( IsScheduled(timerID) == false )
+			return false;
+
+		int idx = (int)timerID;
+
+		if ( lists[idx] != none )
+			Unlink(idx);
+
+		Free(idx);
+		return true;
+	}
+
+	/**
+	 * 주어진 ID의 타이머가 아직 예약되어 있는지 여부를 return합니다.
+	 */
+	public boolean IsScheduled(long timerID)
+	{
+		int idx = (int)timerID;
+
+		return idx >= 0 && idx < nexts.length && generations[idx] == (int)( timerID >>> 32 ) && callbacks[idx] != null;
+	}
+
+	/**
+	 * 현재 예약되어 있는 타이머 수를 return합니다.
+	 */
+	public int GetCount()
+	{
+		return count;
+	}
+
+	/**
+	 * 예약된 타이머 중 가장 먼저 호출될 타이머의 (게임 내) 시각을 나노초 단위로 return합니다. 예약된 타이머가 없다면 Long.MAX_VALUE를 return합니다.<br>
+	 * 이 메서드는 게임 루프가 유휴 상태로 들어갈 때 언제 다시 깨어나야 하는지 계산하기 위해 호출하며,<br>
+	 * 자주 호출되지 않으므로 휠을 따라가는 대신 모든 타이머를 그냥 살펴봅니다.
+	 */
+	long GetNextExpireTime_ns()
+	{
+		long next_ns = Long.MAX_VALUE;
+
+		if ( count == 0 )
+			return next_ns;
+
+		for ( int idx = 0; idx < callbacks.length; ++idx )
+		{
+			if ( callbacks[idx] != null && expireTimes_ns[idx] < next_ns )
+				next_ns = expireTimes_ns[idx];
+		}
+
+		return next_ns;
+	}
+
+	/**
+	 * 주어진 시각까지 호출되어야 할 타이머들을 시각 순서대로 호출합니다.<br>
+	 * 이 메서드는 게임 루프가 Update()를 호출하기 직전에 호출합니다.
+	 *
+	 * @param tick_ns 이번 Update()에 전달될 timeStamp를 나노초 단위로 나타낸 값입니다.
+	 */
+	void Advance(long tick_ns)
+	{
+		long target_tick = tick_ns / interval_ns;
+
+		now_ns = tick_ns;
+
+		//타이머가 들어 있는 가장 가까운 칸으로 바로 건너뛰며 처리 - 빈 칸들은 들르지 않음
+		while ( count != 0 )
+		{
+			long t = GetNextEventTick();
+
+			if ( t > target_tick )
+				break;
+
+			//지난 tick은 끝까지, 이번 Update()의 시각이 들어 있는 tick은 그 시각까지만 처리
+			//(실제 타이밍 모드에서는 다음 Advance()도 같은 tick 안일 수 있으므로 그 tick의 나머지는 다음으로 미룸)
+			if ( t < target_tick )
+				ProcessTick(t, ( t + 1 ) * interval_ns - 1, t + 1);
+			else
+			{
+				ProcessTick(t, tick_ns, t);
+				break;
+			}
+		}
+
+		if ( base_tick < target_tick )
+			base_tick = target_tick;
+	}
+
+	/**
+	 * 다음으로 처리해야 할 tick(타이머를 호출하거나 상위 단계의 칸을 내려야 하는 tick)을 return합니다.
+	 */
+	private long GetNextEventTick()
+	{
+		long next_tick = Long.MAX_VALUE;
+
+		for ( int level = 0; level < numberOfLevels; ++level )
+		{
+			int shift = level * bits_level;
+
+			//이 단계의 칸이 처음으로 바뀌는 tick을 256^level 단위로 나타낸 값(올림)
+			long q = ( base_tick + ( 1L << shift ) - 1 ) >>> shift;
+			int distance = FindOccupied(level, (int)( q & mask_slot ));
+
+			if ( distance >= 0 && ( q + distance ) << shift < next_tick )
+				next_tick = ( q + distance ) << shift;
+		}
+
+		return next_tick;
+	}
+
+	/**
+	 * 주어진 단계에서 주어진 칸부터 차례로(끝에 닿으면 처음으로 돌아와서) 살펴보았을 때 처음으로 타이머가 들어 있는 칸까지의 거리를 return합니다.<br>
+	 * 모든 칸이 비어 있다면 -1을 return합니다.
+	 */
+	private int FindOccupied(int level, int slot)
+	{
+		int offset = level * ( numberOfSlots / 64 );
+		int word = slot >>> 6;
+		long bits = occupied[offset + word] & ( -1L << ( slot & 63 ) );
+
+		for ( int iWord = 0; ; ++iWord )
+		{
+			if ( bits != 0 )
+				return ( ( ( word + iWord ) & 3 ) * 64 + Long.numberOfTrailingZeros(bits) - slot ) & mask_slot;
+
+			if ( iWord == numberOfSlots / 64 )
+				return -1;
+
+			bits = occupied[offset + ( ( word + iWord + 1 ) & 3 )];
+
+			//한 바퀴를 돌아 처음 word로 돌아왔다면 시작한 칸 앞부분만 살펴봄
+			if ( iWord + 1 == numberOfSlots / 64 )
+				bits &= ~( -1L << ( slot & 63 ) );
+		}
+	}
+
+	/**
+	 * 주어진 tick 하나를 처리합니다.
+	 *
+	 * @param limit_ns 이 시각보다 늦게 호출되어야 할 타이머는 호출하지 않고 남겨 둡니다.
+	 * @param next_base_tick 처리를 시작할 때 base_tick으로 설정할 값입니다. 타이머 메서드 안에서 예약한 타이머와 남겨 둔 타이머는 이 tick 이후의 칸에 들어갑니다.
+	 */
+	private void ProcessTick(long t, long limit_ns, long next_base_tick)
+	{
+		base_tick = t;
+
+		//상위 단계의 칸이 바뀌는 tick이라면 그 칸의 타이머들을 한 단계씩 아래로 내림(위 단계부터)
+		for ( int level = numberOfLevels - 1; level > 0; --level )
+		{
+			if ( ( t & ( ( 1L << ( level * bits_level ) ) - 1 ) ) == 0 )
+				Cascade(level * numberOfSlots + (int)( ( t >>> ( level * bits_level ) ) & mask_slot ));
+		}
+
+		//이번 tick의 칸을 시각 순서로 정렬하여 통째로 옮겨 둔 다음 기준 tick을 먼저 옮김 - 타이머 메서드 안에서 예약한 타이머는 이번에 호출되지 않음
+		int list = (int)( t & mask_slot );
+		int head = Sort(heads[list]);
+		int prev = none;
+
+		heads[list] = none;
+		occupied[list >>> 6] &= ~( 1L << list );
+		heads[list_firing] = head;
+		for ( int idx = head; idx != none; idx = nexts[idx] )
+		{
+			lists[idx] = list_firing;
+			prevs[idx] = prev;
+			prev = idx;
+		}
+
+		base_tick = next_base_tick;
+
+		while ( heads[list_firing] != none )
+		{
+			int idx = heads[list_firing];
+
+			//아직 시각이 되지 않았다면(이번 Update()의 시각이 tick 중간인 경우) 나머지는 모두 다음 Advance()로 미룸
+			if ( expireTimes_ns[idx] > limit_ns )
+			{
+				while ( heads[list_firing] != none )
+				{
+					idx = heads[list_firing];
+					Unlink(idx);
+					Insert(idx);
+				}
+
+				break;
+			}
+
+			int generation = generations[idx];
+			long timerID = (long)generation << 32 | idx;
+
+			Unlink(idx);
+			callbacks[idx].OnTimer(timerID, expireTimes_ns[idx] / 1000000);
+
+			//타이머 메서드 안에서 취소되었다면 이미 정리됨
+			if ( generations[idx] != generation )
+				continue;
+
+			if ( periods_ns[idx] > 0 )
+			{
+				expireTimes_ns[idx] += periods_ns[idx];
+
+				//프레임 간격보다 짧은 반복 간격이라면 이번 tick 안에서 다시 호출
+				if ( expireTimes_ns[idx] <= limit_ns )
+					InsertFiring(idx);
+				else
+					Insert(idx);
+			}
+			else
+				Free(idx);
+		}
+	}
+
+	/**
+	 * 주어진 목록의 타이머들을 현재 기준 tick에 맞는 칸으로 다시 넣습니다.
+	 */
+	private void Cascade(int list)
+	{
+		int idx = heads[list];
+
+		heads[list] = none;
+		occupied[list >>> 6] &= ~( 1L << list );
+
+		while ( idx != none )
+		{
+			int next = nexts[idx];
+
+			Insert(idx);
+			idx = next;
+		}
+	}
+
+	/**
+	 * 타이머를 호출 시각에 맞는 칸에 넣습니다.
+	 */
+	private void Insert(int idx)
+	{
+		long expire_tick = Math.max(expireTimes_ns[idx] / interval_ns, base_tick);
+		long delta_tick = expire_tick - base_tick;
+		int list;
+
+		if ( delta_tick < 1L << bits_level )
+			list = (int)( expire_tick & mask_slot );
+		else if ( delta_tick < 1L << ( 2 * bits_level ) )
+			list = numberOfSlots + (int)( ( expire_tick >>> bits_level ) & mask_slot );
+		else if ( delta_tick < 1L << ( 3 * bits_level ) )
+			list = 2 * numberOfSlots + (int)( ( expire_tick >>> ( 2 * bits_level ) ) & mask_slot );
+		else if ( delta_tick < 1L << ( 4 * bits_level ) )
+			list = 3 * numberOfSlots + (int)( ( expire_tick >>> ( 3 * bits_level ) ) & mask_slot );
+		else
+			//휠이 나타낼 수 있는 범위(60FPS 기준 약 2년)보다 먼 경우 가장 늦게 내려오는 칸에 넣어 두었다가 다시 계산
+			list = 3 * numberOfSlots + (int)( ( ( base_tick >>> ( 3 * bits_level ) ) - 1 ) & mask_slot );
+
+		Link(idx, list);
+		occupied[list >>> 6] |= 1L << list;
+	}
+
+	/**
+	 * 반복 타이머를 지금 호출 중인 목록의 시각 순서에 맞는 자리에 넣습니다.
+	 */
+	private void InsertFiring(int idx)
+	{
+		int prev = none;
+		int next = heads[list_firing];
+
+		while ( next != none && expireTimes_ns[next] <= expireTimes_ns[idx] )
+		{
+			prev = next;
+			next = nexts[next];
+		}
+
+		if ( prev == none )
+		{
+			Link(idx, list_firing);
+			return;
+		}
+
+		lists[idx] = list_firing;
+		prevs[idx] = prev;
+		nexts[idx] = next;
+		nexts[prev] = idx;
+
+		if ( next != none )
+			prevs[next] = idx;
+	}
+
+	/**
+	 * 타이머를 주어진 목록의 맨 앞에 넣습니다.
+	 */
+	private void Link(int idx, int list)
+	{
+		lists[idx] = list;
+		prevs[idx] = none;
+		nexts[idx] = heads[list];
+
+		if ( heads[list] != none )
+			prevs[heads[list]] = idx;
+
+		heads[list] = idx;
+	}
+
+	/**
+	 * nexts로 연결된 타이머들을 호출 시각 순서로 정렬하고 첫 번호를 return합니다(병합 정렬, prevs는 정리하지 않음).
+	 */
+	private int Sort(int head)
+	{
+		if ( head == none || nexts[head] == none )
+			return head;
+
+		//가운데를 찾아 둘로 나눔
+		int slow = head;
+		int fast = nexts[head];
+
+		while ( fast != none && nexts[fast] != none )
+		{
+			slow = nexts[slow];
+			fast = nexts[nexts[fast]];
+		}
+
+		int second = nexts[slow];
+		nexts[slow] = none;
+
+		int a = Sort(head);
+		int b = Sort(second);
+		int merged_head = none;
+		int merged_tail = none;
+
+		while ( a != none || b != none )
+		{
+			int idx;
+
+			if ( b == none || ( a != none && expireTimes_ns[a] <= expireTimes_ns[b] ) )
+			{
+				idx = a;
+				a = nexts[a];
+			}
+			else
+			{
+				idx = b;
+				b = nexts[b];
+			}
+
+			if ( merged_tail == none )
+				merged_head = idx;
+			else
+				nexts[merged_tail] = idx;
+
+			merged_tail = idx;
+		}
+
+		nexts[merged_tail] = none;
+		return merged_head;
+	}
+
+	/**
+	 * 타이머를 현재 들어 있는 목록에서 뺍니다.
+	 */
+	private void Unlink(int idx)
+	{
+		if ( prevs[idx] != none )
+			nexts[prevs[idx]] = nexts[idx];
+		else
+		{
+			heads[lists[idx]] = nexts[idx];
+
+			if ( nexts[idx] == none && lists[idx] != list_firing )
+				occupied[lists[idx] >>> 6] &= ~( 1L << lists[idx] );
+		}
+
+		if ( nexts[idx] != none )
+			prevs[nexts[idx]] = prevs[idx];
+
+		lists[idx] = none;
+	}
+
+	/**
+	 * 타이머 번호를 반납합니다. 세대 번호를 올려 이전 ID로는 더 이상 접근할 수 없게 합니다.
+	 */
+	private void Free(int idx)
+	{
+		++generations[idx];
+		callbacks[idx] = null;
+		lists[idx] = none;
+		nexts[idx] = freeHead;
+		freeHead = idx;
+		--count;
+	}
+
+	/**
+	 * 타이머 정보를 담을 배열들을 주어진 크기로 늘립니다.
+	 */
+	private void Grow(int capacity)
+	{
+		int oldCapacity = nexts.length;
+
+		nexts = Arrays.copyOf(nexts, capacity);
+		prevs = Arrays.copyOf(prevs, capacity);
+		lists = Arrays.copyOf(lists, capacity);
+		generations = Arrays.copyOf(generations, capacity);
+		expireTimes_ns = Arrays.copyOf(expireTimes_ns, capacity);
+		periods_ns = Arrays.copyOf(periods_ns, capacity);
+		callbacks = Arrays.copyOf(callbacks, capacity);
+
+		//새로 생긴 번호들을 사용하지 않는 번호 목록에 추가
+		for ( int idx = capacity - 1; idx >= oldCapacity; --idx )
+		{
+			generations[idx] = 1;
+			lists[idx] = none;
+			nexts[idx] = freeHead;
+			freeHead = idx;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package loot;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한 스레드(생산자)가 값을 채우고 다른 한 스레드(소비자)가 가장 최근에 채워진 값을 가져가기 위한 3칸짜리 버퍼입니다.<br>
+ * 두 스레드는 서로를 기다리지 않으며 잠금도 사용하지 않습니다.<br>
+ * <br>
+ * 생산자는 GetBack()으로 가져온 칸을 채운 다음 Publish()를 호출하고,<br>
+ * 소비자는 Acquire()로 가장 최근에 Publish()된 칸을 가져갑니다.<br>
+ * 소비자가 가져가기 전에 생산자가 다시 Publish()하면 이전 값은 그냥 버려집니다.
+ *
+ * @author Racin
+ *
+ */
+class TripleBuffer<T>
+{
+	/**
+	 * middle 상태값에서 '아직 소비자가 가져가지 않은 새 값'임을 나타내는 비트
+	 */
+	private static final int flag_fresh = 4;
+
+	/**
+	 * middle 상태값에서 칸 번호를 나타내는 비트들
+	 */
+	private static final int mask_index = 3;
+
+	private final Object[] slots;
+
+	/**
+	 * 생산자와 소비자 사이에서 주고받는 가운데 칸의 번호(+ 새 값 여부)
+	 */
+	private final AtomicInteger middle;
+
+	/**
+	 * 생산자만 사용하는 칸 번호
+	 */
+	private int idx_back;
+
+	/**
+	 * 소비자만 사용하는 칸 번호
+	 */
+	private int idx_front;
+
+	TripleBuffer(T slot0, T slot1, T slot2)
+	{
+		slots = new Object[] { slot0, slot1, slot2 };
+		idx_back = 0;
+		middle = new AtomicInteger(1);
+		idx_front = 2;
+	}
+
+	/**
+	 * 생산자가 다음 값을 채울 칸을 return합니다.
+	 */
+	@SuppressWarnings("unchecked")
+	T GetBack()
+	{
+		return (T)slots[idx_back];
+	}
+
+	/**
+	 * 생산자가 채운 칸을 소비자에게 넘기고 새로운 칸을 준비합니다.
+	 */
+	void Publish()
+	{
+		idx_back = middle.getAndSet(idx_back | flag_fresh) & mask_index;
+	}
+
+	/**
+	 * 마지막으로 Acquire()를 호출한 이후 새로 Publish()된 값이 있다면 그 칸을 return합니다.<br>
+	 * 새 값이 없다면 null을 return합니다.
+	 */
+	@SuppressWarnings("unchecked")
+	T Acquire()
+	{
+		if ( ( middle.get() & flag_fresh ) == 0 )
+			return null;
+
+		idx_front = middle.getAndSet(idx_front) & mask_index;
+		return (T)slots[idx_front];
+	}
+}
@@ -0,0 +1,284 @@
+package loot.graphics;
+
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+
+/**
+ * 게임 화면 중 다시 그려야 하는 영역(dirty region)들을 모아 두는 클래스입니다.<br>
+ * <br>
+ * GameFrameSettings.canvas_use_dirtyRegions를 true로 설정하면 GameFrame은 매 프레임 전체 화면을 다시 그리는 대신<br>
+ * 여기 모아 둔 영역만 지우고 다시 칠합니다. Draw()는 평소처럼 모든 요소를 그리도록 작성해도 되며<br>
+ * 모아 둔 영역 바깥에 그리는 부분은 실제로 칠해지지 않으므로 그만큼 시간이 절약됩니다.<br>
+ * <br>
+ * 영역은 두 가지 방법으로 모을 수 있습니다.<br>
+ * - Track()으로 등록해 둔 요소는 위치, 크기, Image, trigger_hide가 바뀌면 이전 영역과 새 영역이 자동으로 추가됩니다.<br>
+ * - 선이나 문자열처럼 요소가 아닌 것을 그리는 경우에는 Update()에서 Add()를 호출하여 바뀐 영역을 직접 추가하세요.<br>
+ * 창이 처음 열리거나 다른 창에 가려졌다가 다시 보이는 등 전체 화면을 다시 그려야 하는 경우는 GameFrame이 알아서 처리합니다.<br>
+ * <br>
+ * Track()으로 등록하는 요소는 Layer나 Viewport 안이 아닌 게임 화면에 직접 그리는 요소여야 합니다.<br>
+ * 이 클래스의 메서드들은 게임 루프 스레드(Update() / Draw() 안)에서만 호출하세요. 단, AddAll()은 어디서든 호출할 수 있습니다.<br>
+ * 바뀐 영역만 다시 그리는 모드를 사용하지 않는 경우에도 Add() 등을 그대로 호출해도 되며, 이 때는 아무 일도 하지 않습니다.
+ *
+ * @author Racin
+ *
+ */
+public class DirtyRegion
+{
+	/**
+	 * 모은 영역의 넓이가 게임 화면 전체의 이 비율 이상이면 그냥 전체 화면을 다시 그림
+	 */
+	private static final double ratio_full = 0.75;
+
+	/**
+	 * 모은 영역이 이보다 많으면 모두 감싸는 사각형 하나로 합침(clip 모양이 너무 복잡해지지 않도록)
+	 */
+	private static final int maxNumberOfRects = 16;
+
+	/**
+	 * Collect()를 호출하기 전까지 따로 보관해 둘 최대 영역 수 - 이보다 많이 추가되면 마지막 영역에 합쳐서 보관함<br>
+	 * (Draw()가 생략되어 Collect() 없이 여러 프레임이 지나가더라도 목록이 끝없이 늘어나지 않도록 함)
+	 */
+	private static final int maxNumberOfStoredRects = 256;
+
+	/**
+	 * 바뀐 영역만 다시 그리는 모드가 켜져 있는지 여부 - 꺼져 있다면 Collect()를 호출하는 곳이 없으므로 영역을 모으지 않음
+	 */
+	private final boolean isEnabled;
+
+	/**
+	 * Track()으로 등록한 요소들
+	 */
+	private ArrayList<VisualObject> objects;
+
+	/**
+	 * 이번 프레임에 모은 영역들 - 앞의 numberOfRects개만 사용하며 나머지는 다음에 재사용
+	 */
+	private ArrayList<Rectangle> rects;
+	private int numberOfRects;
+
+	/**
+	 * Collect()가 return할 clip을 만드는 데 사용하는 요소들 - 매 프레임 새로 만들지 않도록 재사용<br>
+	 * 영역이 여러 개인 경우 겹치는 부분을 계산하여 합치는 대신 사각형들을 하나의 경로에 이어 붙임(겹친 부분도 안쪽으로 칠해짐)
+	 */
+	private final Rectangle canvas;
+	private final Rectangle bounds;
+	private final Rectangle empty;
+	private final Path2D.Float path;
+
+	/**
+	 * 전체 화면을 다시 그려야 하는지 여부 - 다른 스레드(창을 다시 그려 달라는 요청 등)에서도 설정하므로 volatile 사용
+	 */
+	private volatile boolean isFull;
+
+	/**
+	 * 가장 최근의 Collect()에서 다시 그릴 영역이 하나도 없었는지 여부
+	 */
+	private boolean isEmpty;
+
+	/**
+	 * 새로운 DirtyRegion class의 인스턴스를 생성합니다. 영역을 모으는 상태로 시작합니다.
+	 */
+	public DirtyRegion()
+	{
+		this(true);
+	}
+
+	/**
+	 * 새로운 DirtyRegion class의 인스턴스를 생성합니다.
+	 *
+	 * @param isEnabled 영역을 모을지 여부입니다. 이 인스턴스를 사용하는 쪽이 Collect()를 호출하지 않는다면 false를 넣으세요.
+	 */
+	public DirtyRegion(boolean isEnabled)
+	{
+		this.isEnabled = isEnabled;
+		objects = new ArrayList<>();
+		rects = new ArrayList<>();
+		canvas = new Rectangle();
+		bounds = new Rectangle();
+		empty = new Rectangle();
+		path = new Path2D.Float(Path2D.WIND_NON_ZERO);
+		isFull = true;
+	}
+
+	/**
+	 * 영역을 모으고 있는지(바뀐 영역만 다시 그리는 모드가 켜져 있는지) 여부를 return합니다.<br>
+	 * 영역을 계산하는 데 시간이 걸린다면 이 값이 false일 때는 계산을 생략해도 됩니다.
+	 */
+	public boolean IsEnabled()
+	{
+		return isEnabled;
+	}
+
+	/**
+	 * 주어진 요소를 등록하여 위치, 크기, Image, trigger_hide가 바뀔 때마다 그 영역을 자동으로 추가하도록 합니다.
+	 */
+	public void Track(VisualObject obj)
+	{
+		if ( isEnabled == false )
+			return;
+
+		obj.isChecked = false;
+		objects.add(obj);
+	}
+
+	/**
+	 * 주어진 요소를 등록 해제합니다. 이 요소를 마지막으로 그렸던 영역은 다시 그릴 영역에 추가됩니다.
+	 */
+	public void Untrack(VisualObject obj)
+	{
+		if ( objects.remove(obj) == true && obj.isChecked == true && obj.checked_hide == false )
+			Add(obj.checked_x, obj.checked_y, obj.checked_width, obj.checked_height);
+	}
+
+	/**
+	 * 등록해 둔 모든 요소를 등록 해제하고 다음 프레임에 전체 화면을 다시 그리도록 합니다.<br>
+	 * SceneFrame은 Scene이 바뀔 때마다 이 메서드를 호출하므로 각 Scene은 OnEnter()에서 Track()을 호출하면 됩니다.
+	 */
+	public void UntrackAll()
+	{
+		objects.clear();
+		AddAll();
+	}
+
+	/**
+	 * 주어진 영역을 다시 그릴 영역에 추가합니다. width / height가 음수인 경우 반대 방향으로 뻗은 영역으로 간주합니다.
+	 */
+	public void Add(int x, int y, int width, int height)
+	{
+		if ( width < 0 )
+		{
+			x += width;
+			width = -width;
+		}
+
+		if ( height < 0 )
+		{
+			y += height;
+			height = -height;
+		}
+
+		if ( isEnabled == false || width == 0 || height == 0 )
+			return;
+
+		//이미 많이 모았다면 마지막 영역을 넓혀서 새 영역을 포함시킴
+		if ( numberOfRects == maxNumberOfStoredRects )
+		{
+			Rectangle last = rects.get(numberOfRects - 1);
+			last.add(x, y);
+			last.add(x + width, y + height);
+			return;
+		}
+
+		if ( numberOfRects == rects.size() )
+			rects.add(new Rectangle());
+
+		rects.get(numberOfRects).setBounds(x, y, width, height);
+		++numberOfRects;
+	}
+
+	/**
+	 * 다음 프레임에 전체 화면을 다시 그리도록 합니다.
+	 */
+	public void AddAll()
+	{
+		isFull = true;
+	}
+
+	/**
+	 * 가장 최근의 Collect()에서 다시 그릴 영역이 하나도 없었는지 여부를 return합니다.
+	 */
+	public boolean IsEmpty()
+	{
+		return isEmpty;
+	}
+
+	/**
+	 * 등록해 둔 요소들 중 바뀐 것들의 영역을 추가한 다음 지금까지 모은 영역들을 하나의 clip으로 만들어 return하고 비웁니다.<br>
+	 * 이 메서드는 GameFrame.BeginDraw()가 호출하며 여러분이 직접 호출할 일은 없습니다.
+	 *
+	 * @return 다시 그릴 영역을 나타내는 clip을 return합니다. 전체 화면을 다시 그려야 한다면 null을 return합니다.<br>
+	 * 		return한 clip은 재사용되므로 다음 Collect() 호출 전까지만 유효합니다.
+	 */
+	public Shape Collect(int canvas_width, int canvas_height)
+	{
+		//등록해 둔 요소들 중 바뀐 요소는 이전 영역과 새 영역을 모두 추가
+		for ( VisualObject obj : objects )
+		{
+			if ( obj.IsDirty() == false )
+				continue;
+
+			boolean isOldVisible = obj.isChecked == true && obj.checked_hide == false;
+			boolean isMoved = obj.x != obj.checked_x || obj.y != obj.checked_y || obj.width != obj.checked_width || obj.height != obj.checked_height;
+
+			//제자리에서 모습만 바뀐 경우는 영역 하나만 추가
+			if ( isOldVisible == true && ( isMoved == true || obj.trigger_hide == true ) )
+				Add(obj.checked_x, obj.checked_y, obj.checked_width, obj.checked_height);
+
+			if ( obj.trigger_hide == false )
+				Add(obj.x, obj.y, obj.width, obj.height);
+
+			obj.SaveCheckedState();
+		}
+
+		int count = numberOfRects;
+		numberOfRects = 0;
+		isEmpty = false;
+
+		if ( isFull == true )
+		{
+			isFull = false;
+			return null;
+		}
+
+		//게임 화면 밖으로 나간 부분은 잘라 내고 넓이 합산
+		canvas.setBounds(0, 0, canvas_width, canvas_height);
+		long area_total = 0;
+		int count_valid = 0;
+
+		for ( int iRect = 0; iRect < count; ++iRect )
+		{
+			Rectangle rect = rects.get(iRect);
+			Rectangle.intersect(rect, canvas, rect);
+
+			if ( rect.isEmpty() == false )
+			{
+				area_total += (long)rect.width * rect.height;
+				rects.set(iRect, rects.get(count_valid));
+				rects.set(count_valid, rect);
+				++count_valid;
+			}
+		}
+
+		if ( count_valid == 0 )
+		{
+			isEmpty = true;
+			return empty;
+		}
+
+		//겹치는 부분을 감안하지 않은 넓이지만, 이 정도로 넓다면 영역을 나누는 의미가 거의 없으므로 전체를 다시 그림
+		if ( area_total >= ratio_full * canvas_width * canvas_height )
+			return null;
+
+		bounds.setBounds(rects.get(0));
+
+		if ( count_valid == 1 )
+			return bounds;
+
+		if ( count_valid > maxNumberOfRects )
+		{
+			for ( int iRect = 1; iRect < count_valid; ++iRect )
+				bounds.add(rects.get(iRect));
+
+			return bounds;
+		}
+
+		path.reset();
+
+		for ( int iRect = 0; iRect < count_valid; ++iRect )
+			path.append(rects.get(iRect), false);
+
+		return path;
+	}
+}
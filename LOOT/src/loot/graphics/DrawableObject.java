@@ -18,6 +18,11 @@ public class DrawableObject extends VisualObject
 	 */
 	public Image image;
 	
+	/**
+	 * DirtyRegion이 마지막으로 확인했을 때의 Image
+	 */
+	private Image checked_image;
+	
 	public DrawableObject()
 	{
 	}
@@ -62,4 +67,28 @@ public class DrawableObject extends VisualObject
 	{
 		g.drawImage(image, x, y, width, height, null);
 	}
+
+	@Override
+	public boolean IsDirty()
+	{
+		return super.IsDirty() || image != checked_image;
+	}
+	
+	@Override
+	protected void SaveCheckedState()
+	{
+		super.SaveCheckedState();
+		checked_image = image;
+	}
+
+	/**
+	 * 현재 설정된 Image와 위치 / 크기를 주어진 복사본에 추가합니다.
+	 * 
+	 * @param snapshot 상태를 추가할 복사본입니다.
+	 */
+	@Override
+	public void Capture(VisualSnapshot snapshot)
+	{
+		snapshot.AddImage(image, x, y, width, height);
+	}
 }
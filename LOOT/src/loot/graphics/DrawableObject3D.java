@@ -117,4 +117,15 @@ public class DrawableObject3D extends VisualObject3D
 	{
 		g.drawImage(image, x, y, width, height, null);
 	}
+
+	/**
+	 * 현재 설정된 Image와 위치 / 크기를 주어진 복사본에 추가합니다.
+	 * 
+	 * @param snapshot 상태를 추가할 복사본입니다.
+	 */
+	@Override
+	public void Capture(VisualSnapshot snapshot)
+	{
+		snapshot.AddImage(image, x, y, width, height);
+	}
 }
@@ -0,0 +1,51 @@
+package loot.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * trigger_optional이 true인 요소를 그릴 지 여부를 붓(Graphics2D)에 담아 전달하는 RenderingHints 키입니다.<br>
+ * <br>
+ * 다른 RenderingHints처럼 Layer가 create()로 만드는 붓에도 그대로 전달되므로<br>
+ * 화질을 낮춘 상태에서는 게임 화면과 모든 Layer 안에서 같은 요소들이 생략됩니다.<br>
+ * 보통 QualityGovernor가 BeginDraw()에서 설정하며 여러분이 직접 사용할 일은 없습니다.
+ *
+ * @author Racin
+ *
+ */
+public final class OptionalHint extends RenderingHints.Key
+{
+	/**
+	 * 이 힌트의 키입니다.
+	 */
+	public static final OptionalHint KEY = new OptionalHint(1);
+
+	/**
+	 * trigger_optional이 true인 요소도 그립니다. 이 힌트가 설정되어 있지 않은 경우도 이와 같습니다.
+	 */
+	public static final Object VALUE_DRAW = "OptionalHint.Draw";
+
+	/**
+	 * trigger_optional이 true인 요소를 그리지 않습니다.
+	 */
+	public static final Object VALUE_SKIP = "OptionalHint.Skip";
+
+	private OptionalHint(int privateKey)
+	{
+		super(privateKey);
+	}
+
+	@Override
+	public boolean isCompatibleValue(Object val)
+	{
+		return val == VALUE_DRAW || val == VALUE_SKIP;
+	}
+
+	/**
+	 * 주어진 붓으로 그릴 때 trigger_optional이 true인 요소를 생략해야 하는지 여부를 return합니다.
+	 */
+	public static boolean IsSkipped(Graphics2D g)
+	{
+		return g.getRenderingHint(KEY) == VALUE_SKIP;
+	}
+}
@@ -125,21 +125,14 @@ public class RotatableLayer extends Layer
 		Graphics2D g = (Graphics2D)g_origin.create();
 		
 		//변환 행렬 및 역행렬 작성
-		transform_out.setToIdentity();
-		transform_out.translate(x, y);
-		transform_out.rotate(angle, rotate_origin_x * width, rotate_origin_y * height);
-		transform_out.scale(width / view_width, height / view_height);
-		transform_out.translate(view_width * view_origin_x, view_height * view_origin_y);
-
-		transform_in.setToIdentity();
-		transform_in.translate(-view_width * view_origin_x, -view_height * view_origin_y);
-		transform_in.scale(view_width / width, view_height / height);					//'a/b배'의 역연산은 'b/a배' 
-		transform_in.rotate(-angle, rotate_origin_x * width, rotate_origin_y * height);	//'a만큼 회전'의 역연산은 '-a만큼 회전'
-		transform_in.translate(-x, -y);													//'(a, b)만큼 이동'의 역연산은 '(-a, -b)만큼 이동'
+		UpdateTransforms();
 
 		//그리기 작업을 위해 변환 행렬을 g에 적용
 		g.transform(transform_out);
 	
+		//화질을 낮춘 상태라면 생략해도 되는 요소는 그리지 않음
+		boolean isOptionalSkipped = OptionalHint.IsSkipped(g);
+	
 		for ( Iterator<VisualObject> iterator = children.iterator(); iterator.hasNext(); )
 		{
 			VisualObject child = iterator.next();
@@ -150,7 +143,7 @@ public class RotatableLayer extends Layer
 				continue;
 			}
 			
-			if ( child.trigger_hide == true )
+			if ( child.trigger_hide == true || child.trigger_optional == true && isOptionalSkipped == true )
 				continue;
 			
 			child.Draw(g);
@@ -159,6 +152,54 @@ public class RotatableLayer extends Layer
 		g.dispose();
 	}
 	
+	/**
+	 * 현재 Layer의 변환 행렬과 내부 요소들의 상태를 주어진 복사본에 추가합니다.<br>
+	 * 내부 요소들은 Draw(g)와 같은 순서로 추가됩니다.
+	 * 
+	 * @param snapshot 상태를 추가할 복사본입니다.
+	 */
+	@Override
+	public void Capture(VisualSnapshot snapshot)
+	{
+		UpdateTransforms();
+		snapshot.PushTransform(transform_out, false, 0, 0, 0, 0);
+		
+		for ( Iterator<VisualObject> iterator = children.iterator(); iterator.hasNext(); )
+		{
+			VisualObject child = iterator.next();
+			
+			if ( child.trigger_remove == true )
+			{
+				iterator.remove();
+				continue;
+			}
+			
+			snapshot.Add(child);
+		}
+		
+		snapshot.Pop();
+	}
+	
+	/**
+	 * 현재 Layer의 위치, 크기, 회전 및 view 관련 필드들의 값에 따라 transform_out과 transform_in을 새로 작성합니다.<br>
+	 * 이 메서드는 Draw(g) 및 Capture()에서 자동으로 호출되며 여러분은 이 메서드를 사용할 수 없습니다.
+	 */
+	@Override
+	protected void UpdateTransforms()
+	{
+		transform_out.setToIdentity();
+		transform_out.translate(x, y);
+		transform_out.rotate(angle, rotate_origin_x * width, rotate_origin_y * height);
+		transform_out.scale(width / view_width, height / view_height);
+		transform_out.translate(view_width * view_origin_x, view_height * view_origin_y);
+
+		transform_in.setToIdentity();
+		transform_in.translate(-view_width * view_origin_x, -view_height * view_origin_y);
+		transform_in.scale(view_width / width, view_height / height);					//'a/b배'의 역연산은 'b/a배' 
+		transform_in.rotate(-angle, rotate_origin_x * width, rotate_origin_y * height);	//'a만큼 회전'의 역연산은 '-a만큼 회전'
+		transform_in.translate(-x, -y);													//'(a, b)만큼 이동'의 역연산은 '(-a, -b)만큼 이동'
+	}
+	
 	/**
 	 * 주어진 degree 각도값에 해당하는 radian 각도값을 반환합니다.<br>
 	 * 참고: 이 메서드는 '유효한 가장 작은' 각도값이 아닌 그냥 있는 그대로의 각도값을 반환합니다.<br>
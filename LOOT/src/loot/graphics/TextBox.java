@@ -61,6 +61,18 @@ public class TextBox extends VisualObject
 	 */
 	public Color background_color = Color.WHITE;
 
+	/**
+	 * 각 줄을 적을 때 사용할 TextCache입니다.<br>
+	 * GameFrame.textCache 등을 넣어 두면 한 번 적은 줄은 미리 그려 둔 Image로 대신 칠합니다.<br>
+	 * 기본값은 null(매번 새로 적음)입니다.
+	 */
+	public TextCache textCache = null;
+
+	/**
+	 * DirtyRegion이 마지막으로 확인했을 때의 문자열 - 같은 인스턴스인지만 비교함
+	 */
+	private String checked_text;
+
 	public TextBox()
 	{
 		text = "";
@@ -95,6 +107,46 @@ public class TextBox extends VisualObject
 		this.text = text;
 	}
 
+	public TextBox(TextBox other)
+	{
+		super(other);
+		CopyFrom(other);
+	}
+	
+	/**
+	 * 주어진 TextBox의 위치, 크기, 문자열 및 그리기 설정을 이 TextBox로 복사합니다.
+	 */
+	void CopyFrom(TextBox other)
+	{
+		x = other.x;
+		y = other.y;
+		width = other.width;
+		height = other.height;
+		trigger_hide = other.trigger_hide;
+		trigger_optional = other.trigger_optional;
+		text = other.text;
+		font = other.font;
+		margin_between_lines = other.margin_between_lines;
+		margin_left = other.margin_left;
+		margin_top = other.margin_top;
+		foreground_color = other.foreground_color;
+		background_color = other.background_color;
+		textCache = other.textCache;
+	}
+
+	@Override
+	public boolean IsDirty()
+	{
+		return super.IsDirty() || text != checked_text;
+	}
+	
+	@Override
+	protected void SaveCheckedState()
+	{
+		super.SaveCheckedState();
+		checked_text = text;
+	}
+
 	/**
 	 * text 필드에 설정된 문자열을 적습니다.
 	 * 
@@ -131,7 +183,10 @@ public class TextBox extends VisualObject
 		
 		while ( lines.hasMoreTokens() == true )
 		{
-			g.drawString(lines.nextToken(), x_line, y_line);
+			if ( textCache == null )
+				g.drawString(lines.nextToken(), x_line, y_line);
+			else
+				textCache.Draw(g, lines.nextToken(), x_line, y_line);
 			
 			y_line += font_size;
 			y_line += margin_between_lines;
@@ -141,4 +196,15 @@ public class TextBox extends VisualObject
 		g.setFont(original_font);
 		g.setColor(original_color);
 	}
+	
+	/**
+	 * 현재 문자열 및 그리기 설정을 주어진 복사본에 추가합니다.
+	 * 
+	 * @param snapshot 상태를 추가할 복사본입니다.
+	 */
+	@Override
+	public void Capture(VisualSnapshot snapshot)
+	{
+		snapshot.AddTextBox(this);
+	}
 }
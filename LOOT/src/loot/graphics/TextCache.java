@@ -0,0 +1,408 @@
+package loot.graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 한 번 적은 문자열을 투명한 Image에 미리 그려 두었다가 다음부터는 그 Image를 그대로 칠하는 클래스입니다.<br>
+ * <br>
+ * Graphics2D.drawString()은 매번 문자열을 글자 모양으로 바꾸고 칠하는 작업을 새로 하므로<br>
+ * 안티앨리어싱을 켠 큰 글자체 등으로 여러 문자열을 매 프레임 적으면 꽤 많은 시간이 걸립니다.<br>
+ * 이 클래스는 (글자체, 색, 문자열)별로 그려 둔 Image를 보관하며, 보관한 Image들의 크기 합이 정해 둔 값을 넘으면<br>
+ * 가장 오래 전에 사용한 것부터 버립니다.<br>
+ * <br>
+ * GameFrameSettings.canvas_textCache_maxBytes를 0보다 크게 설정하면 GameFrame.DrawString()이 이 클래스를 사용하며<br>
+ * TextBox의 textCache 필드에 GameFrame.textCache를 넣어 두면 TextBox도 이 클래스를 사용합니다.<br>
+ * 글자 색이 Color가 아니거나 붓이 확대 / 회전된 상태(Layer 안 등)라면 보관하지 않고 그냥 적습니다.<br>
+ * <br>
+ * 이 클래스의 메서드들은 화면을 그리는 스레드(Draw() 안)에서만 호출하세요. 단, Get...() 메서드들은 어디서든 호출할 수 있습니다.
+ *
+ * @author Racin
+ *
+ */
+public class TextCache
+{
+	/**
+	 * 글자 가장자리가 잘리지 않도록 Image의 각 방향에 더 두는 여백(픽셀 수)
+	 */
+	private static final int padding = 1;
+
+	/**
+	 * Image 외에 보관한 문자열 하나마다 드는 크기(Key, Sprite, 목록 항목 등)의 대략적인 값(byte 수)<br>
+	 * --> 공백만 있는 문자열처럼 Image가 없는 항목도 이만큼은 차지한 것으로 계산해야 한도를 넘었을 때 함께 버려짐
+	 */
+	private static final long entryOverhead_bytes = 128;
+
+	/**
+	 * 보관해 둔 Image 하나를 찾기 위한 값 - 글자체, 색, 문자열과 글자 모양에 영향을 주는 힌트들
+	 */
+	private static class Key
+	{
+		Font font;
+		int rgb;
+		Object hint_antialiasing;
+		Object hint_fractionalMetrics;
+
+		/**
+		 * 문자열 - 보관하는 Key는 string을, 찾기용 Key는 string 또는 chars의 앞 length개를 사용
+		 */
+		String string;
+		char[] chars;
+		int length;
+
+		int hash;
+
+		char CharAt(int index)
+		{
+			return string != null ? string.charAt(index) : chars[index];
+		}
+
+		/**
+		 * 현재 값들로 hash를 다시 계산합니다. 문자열 부분은 String.hashCode()와 같은 방법으로 계산합니다.
+		 */
+		void UpdateHash()
+		{
+			int h_text;
+
+			if ( string != null )
+			{
+				h_text = string.hashCode();
+			}
+			else
+			{
+				h_text = 0;
+
+				for ( int iChar = 0; iChar < length; ++iChar )
+					h_text = 31 * h_text + chars[iChar];
+			}
+
+			hash = ( ( font.hashCode() * 31 + rgb ) * 31 + System.identityHashCode(hint_antialiasing) ) * 31 + h_text;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if ( obj instanceof Key == false )
+				return false;
+
+			Key other = (Key)obj;
+
+			if ( hash != other.hash || length != other.length || rgb != other.rgb ||
+					hint_antialiasing != other.hint_antialiasing || hint_fractionalMetrics != other.hint_fractionalMetrics ||
+					font.equals(other.font) == false )
+				return false;
+
+			for ( int iChar = 0; iChar < length; ++iChar )
+				if ( CharAt(iChar) != other.CharAt(iChar) )
+					return false;
+
+			return true;
+		}
+	}
+
+	/**
+	 * 미리 그려 둔 문자열 하나 - image를 (기준선 왼쪽 끝 + offset) 위치에 그림, 공백만 있는 문자열이라면 image는 null<br>
+	 * bytes는 Image의 크기에 entryOverhead_bytes와 문자열 자체의 크기를 더한 값
+	 */
+	private static class Sprite
+	{
+		BufferedImage image;
+		int offset_x;
+		int offset_y;
+		long bytes;
+	}
+
+	/**
+	 * 보관해 둔 Image들 - 가장 오래 전에 사용한 것이 맨 앞에 오도록 사용한 순서대로 정렬
+	 */
+	private LinkedHashMap<Key, Sprite> sprites;
+
+	/**
+	 * 매번 새로 만들지 않도록 재사용하는 찾기용 Key
+	 */
+	private Key probe;
+
+	private volatile long maxBytes;
+	private volatile long usedBytes;
+
+	private volatile long numberOfHits;
+	private volatile long numberOfMisses;
+	private volatile long numberOfEvictions;
+
+	/**
+	 * 새로운 TextCache class의 인스턴스를 생성합니다.
+	 *
+	 * @param maxBytes 보관할 Image들의 크기 합의 최댓값(byte 수)입니다. 0 이하라면 아무것도 보관하지 않고 그냥 적습니다.
+	 */
+	public TextCache(long maxBytes)
+	{
+		this.maxBytes = maxBytes;
+		sprites = new LinkedHashMap<>(16, 0.75f, true);
+		probe = new Key();
+	}
+
+	/**
+	 * g에 설정되어 있는 글자체와 색으로 주어진 문자열을 적습니다. Graphics2D.drawString()과 같은 위치에 적힙니다.
+	 *
+	 * @param left 문자열의 왼쪽 끝 x좌표입니다.
+	 * @param bottom 문자열의 기준선 y좌표입니다.
+	 */
+	public void Draw(Graphics2D g, String text, int left, int bottom)
+	{
+		if ( IsCachable(g) == false )
+		{
+			g.drawString(text, left, bottom);
+			return;
+		}
+
+		probe.string = text;
+		probe.chars = null;
+		probe.length = text.length();
+		DrawProbe(g, left, bottom);
+	}
+
+	/**
+	 * g에 설정되어 있는 글자체와 색으로 주어진 배열의 앞 length개 글자를 적습니다. Graphics2D.drawChars()와 같은 위치에 적힙니다.
+	 *
+	 * @param left 문자열의 왼쪽 끝 x좌표입니다.
+	 * @param bottom 문자열의 기준선 y좌표입니다.
+	 */
+	public void Draw(Graphics2D g, char[] chars, int length, int left, int bottom)
+	{
+		if ( IsCachable(g) == false )
+		{
+			g.drawChars(chars, 0, length, left, bottom);
+			return;
+		}
+
+		probe.string = null;
+		probe.chars = chars;
+		probe.length = length;
+		DrawProbe(g, left, bottom);
+	}
+
+	/**
+	 * 지금 g로 적는 문자열을 Image로 대신할 수 있는지 확인합니다.
+	 */
+	private boolean IsCachable(Graphics2D g)
+	{
+		if ( maxBytes <= 0 || g.getPaint() instanceof Color == false )
+			return false;
+
+		//LCD용 안티앨리어싱은 투명한 Image에 미리 그려 둘 수 없음
+		Object hint_antialiasing = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+
+		if ( hint_antialiasing != RenderingHints.VALUE_TEXT_ANTIALIAS_ON &&
+				hint_antialiasing != RenderingHints.VALUE_TEXT_ANTIALIAS_OFF &&
+				hint_antialiasing != RenderingHints.VALUE_TEXT_ANTIALIAS_DEFAULT )
+			return false;
+
+		//정수 픽셀만큼 이동하기만 한 붓이어야 미리 그려 둔 Image와 픽셀 단위로 똑같이 칠해짐
+		AffineTransform transform = g.getTransform();
+
+		return ( transform.getType() & ~AffineTransform.TYPE_TRANSLATION ) == 0 &&
+				transform.getTranslateX() == Math.rint(transform.getTranslateX()) &&
+				transform.getTranslateY() == Math.rint(transform.getTranslateY());
+	}
+
+	/**
+	 * probe에 담아 둔 문자열을 g의 글자체와 색으로 찾아 그립니다. 보관해 둔 Image가 없다면 새로 만듭니다.
+	 */
+	private void DrawProbe(Graphics2D g, int left, int bottom)
+	{
+		probe.font = g.getFont();
+		probe.rgb = g.getColor().getRGB();
+		probe.hint_antialiasing = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+		probe.hint_fractionalMetrics = g.getRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS);
+		probe.UpdateHash();
+
+		Sprite sprite = sprites.get(probe);
+
+		if ( sprite != null )
+		{
+			++numberOfHits;
+		}
+		else
+		{
+			++numberOfMisses;
+			sprite = CreateSprite(g);
+
+			//혼자서도 한도를 넘는 큰 문자열은 보관하지 않고 그냥 적음
+			if ( sprite.bytes > maxBytes )
+			{
+				if ( probe.string != null )
+					g.drawString(probe.string, left, bottom);
+				else
+					g.drawChars(probe.chars, 0, probe.length, left, bottom);
+
+				probe.string = null;
+				probe.chars = null;
+				return;
+			}
+
+			Key key = new Key();
+			key.font = probe.font;
+			key.rgb = probe.rgb;
+			key.hint_antialiasing = probe.hint_antialiasing;
+			key.hint_fractionalMetrics = probe.hint_fractionalMetrics;
+			key.string = probe.string != null ? probe.string : new String(probe.chars, 0, probe.length);
+			key.length = probe.length;
+			key.hash = probe.hash;
+
+			sprites.put(key, sprite);
+			usedBytes += sprite.bytes;
+			Evict(maxBytes);
+		}
+
+		//다음에 찾을 때 이전 문자열을 붙잡고 있지 않도록 비움
+		probe.string = null;
+		probe.chars = null;
+
+		if ( sprite.image != null )
+			g.drawImage(sprite.image, left + sprite.offset_x, bottom + sprite.offset_y, null);
+	}
+
+	/**
+	 * probe에 담아 둔 문자열을 g의 글자체와 색으로 새 Image에 그립니다.<br>
+	 * 크기를 먼저 계산하여 혼자서도 한도를 넘는다면 Image는 만들지 않고 크기만 채워 return합니다.
+	 */
+	private Sprite CreateSprite(Graphics2D g)
+	{
+		Sprite sprite = new Sprite();
+		String text = probe.string != null ? probe.string : new String(probe.chars, 0, probe.length);
+
+		sprite.bytes = entryOverhead_bytes + (long)probe.length * 2;
+
+		FontRenderContext frc = new FontRenderContext(null, probe.hint_antialiasing, probe.hint_fractionalMetrics);
+		Rectangle bounds = probe.font.createGlyphVector(frc, text).getPixelBounds(frc, 0, 0);
+
+		if ( bounds.isEmpty() == true )
+			return sprite;
+
+		int width = bounds.width + padding * 2;
+		int height = bounds.height + padding * 2;
+
+		sprite.offset_x = bounds.x - padding;
+		sprite.offset_y = bounds.y - padding;
+		sprite.bytes += (long)width * height * 4;
+
+		//어차피 보관하지 않을 것이므로 매번 버려질 Image를 만들지 않음
+		if ( sprite.bytes > maxBytes )
+			return sprite;
+
+		sprite.image = g.getDeviceConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+
+		Graphics2D g_sprite = sprite.image.createGraphics();
+		g_sprite.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, probe.hint_antialiasing);
+		g_sprite.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, probe.hint_fractionalMetrics);
+		g_sprite.setFont(probe.font);
+		g_sprite.setColor(g.getColor());
+		g_sprite.drawString(text, -sprite.offset_x, -sprite.offset_y);
+		g_sprite.dispose();
+
+		return sprite;
+	}
+
+	/**
+	 * 보관한 Image들의 크기 합이 주어진 값 이하가 될 때까지 가장 오래 전에 사용한 것부터 버립니다.
+	 */
+	private void Evict(long limit)
+	{
+		Iterator<Sprite> iterator = sprites.values().iterator();
+
+		while ( usedBytes > limit && iterator.hasNext() == true )
+		{
+			Sprite sprite = iterator.next();
+			iterator.remove();
+			usedBytes -= sprite.bytes;
+
+			if ( sprite.image != null )
+				sprite.image.flush();
+
+			++numberOfEvictions;
+		}
+	}
+
+	/**
+	 * 보관할 Image들의 크기 합의 최댓값을 바꿉니다. 지금 보관한 양이 새 값보다 많다면 오래 전에 사용한 것부터 버립니다.<br>
+	 * 0 이하로 설정하면 모두 버리고 이후로는 그냥 적습니다.
+	 */
+	public void SetMaxBytes(long maxBytes)
+	{
+		this.maxBytes = maxBytes;
+		Evict(Math.max(maxBytes, 0));
+	}
+
+	/**
+	 * 보관해 둔 Image를 모두 버립니다. 적은 횟수 기록은 그대로 남습니다.
+	 */
+	public void Clear()
+	{
+		Evict(-1);
+	}
+
+	/**
+	 * 보관할 Image들의 크기 합의 최댓값(byte 수)을 return합니다.
+	 */
+	public long GetMaxBytes()
+	{
+		return maxBytes;
+	}
+
+	/**
+	 * 지금 보관하고 있는 Image들의 크기 합(byte 수)을 return합니다.
+	 */
+	public long GetUsedBytes()
+	{
+		return usedBytes;
+	}
+
+	/**
+	 * 보관해 둔 Image를 찾아 그대로 칠한 횟수를 return합니다.
+	 */
+	public long GetNumberOfHits()
+	{
+		return numberOfHits;
+	}
+
+	/**
+	 * 보관해 둔 Image가 없어 새로 그린 횟수를 return합니다.
+	 */
+	public long GetNumberOfMisses()
+	{
+		return numberOfMisses;
+	}
+
+	/**
+	 * 한도를 넘어 버린 Image 수를 return합니다.
+	 */
+	public long GetNumberOfEvictions()
+	{
+		return numberOfEvictions;
+	}
+
+	/**
+	 * 적은 횟수 기록을 모두 0으로 되돌립니다.
+	 */
+	public void ResetCounters()
+	{
+		numberOfHits = 0;
+		numberOfMisses = 0;
+		numberOfEvictions = 0;
+	}
+}
@@ -86,19 +86,54 @@ public class Viewport extends Layer
 		g.clipRect(x, y, width, height);
 
 		//변환 행렬 및 역행렬 작성
-		transform_out.setToIdentity();
-		transform_out.translate(x, y);
-		transform_out.scale(width / view_width, height / view_height);
-		transform_out.translate(view_width * view_origin_x, view_height * view_origin_y);
-
-		transform_in.setToIdentity();
-		transform_in.translate(-view_width * view_origin_x, -view_height * view_origin_y);
-		transform_in.scale(view_width / width, view_height / height);	//'a/b배'의 역연산은 'b/a배' 
-		transform_in.translate(-x, -y);									//'(a, b)만큼 이동'의 역연산은 '(-a, -b)만큼 이동'
+		UpdateTransforms();
 
 		//그리기 작업을 위해 변환 행렬을 g에 적용
 		g.transform(transform_out);
 		
+		//각 내부 요소의 2차원 위치 계산 및 그리기 순서 결정(화질을 낮춘 상태라면 생략해도 되는 요소는 제외)
+		PrepareChildren(OptionalHint.IsSkipped(g));
+		
+		for ( ListIterator<VisualObject3D> iterator_3d = children_3d_sorted.listIterator(children_3d_sorted.size()); iterator_3d.hasPrevious() == true; )
+			iterator_3d.previous().Draw(g);
+		
+		for ( ListIterator<VisualObject> iterator_2d = children_2d.listIterator(children_2d.size()); iterator_2d.hasPrevious() == true;  )
+			iterator_2d.previous().Draw(g);
+		
+		g.dispose();		
+	}
+	
+	/**
+	 * 현재 Viewport의 변환 행렬과 내부 요소들의 상태를 주어진 복사본에 추가합니다.<br>
+	 * 내부 요소들의 2차원 위치 계산 및 그리기 순서는 Draw(g)와 동일합니다.
+	 * 
+	 * @param snapshot 상태를 추가할 복사본입니다.
+	 */
+	@Override
+	public void Capture(VisualSnapshot snapshot)
+	{
+		UpdateTransforms();
+		PrepareChildren(snapshot.isOptionalSkipped);
+		
+		snapshot.PushTransform(transform_out, true, x, y, width, height);
+		
+		for ( ListIterator<VisualObject3D> iterator_3d = children_3d_sorted.listIterator(children_3d_sorted.size()); iterator_3d.hasPrevious() == true; )
+			iterator_3d.previous().Capture(snapshot);
+		
+		for ( ListIterator<VisualObject> iterator_2d = children_2d.listIterator(children_2d.size()); iterator_2d.hasPrevious() == true;  )
+			iterator_2d.previous().Capture(snapshot);
+		
+		snapshot.Pop();
+	}
+	
+	/**
+	 * 각 내부 요소의 2차원 위치를 계산하고 children_3d_sorted, children_2d 목록을 그리기 순서에 맞게 채웁니다.<br>
+	 * 이 메서드는 Viewport 내부에서 자동으로 호출되며 여러분은 이 메서드를 사용할 수 없습니다.
+	 * 
+	 * @param isOptionalSkipped true인 경우 trigger_optional이 true인 요소는 목록에 넣지 않습니다.
+	 */
+	private void PrepareChildren(boolean isOptionalSkipped)
+	{
 		children_3d_sorted.clear();
 		children_2d.clear();
 		
@@ -112,7 +147,7 @@ public class Viewport extends Layer
 				continue;
 			}
 			
-			if ( child.trigger_hide == true )
+			if ( child.trigger_hide == true || child.trigger_optional == true && isOptionalSkipped == true )
 				continue;
 			
 			if ( VisualObject3D.class.isInstance(child) == true )
@@ -144,14 +179,6 @@ public class Viewport extends Layer
 		}
 
 		SortChildren();
-		
-		for ( ListIterator<VisualObject3D> iterator_3d = children_3d_sorted.listIterator(children_3d_sorted.size()); iterator_3d.hasPrevious() == true; )
-			iterator_3d.previous().Draw(g);
-		
-		for ( ListIterator<VisualObject> iterator_2d = children_2d.listIterator(children_2d.size()); iterator_2d.hasPrevious() == true;  )
-			iterator_2d.previous().Draw(g);
-		
-		g.dispose();		
 	}
 	
 	/**
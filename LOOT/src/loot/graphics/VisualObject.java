@@ -57,6 +57,29 @@ public abstract class VisualObject
 	 */
 	public boolean trigger_remove;
 	
+	/**
+	 * 이 필드를 true로 설정해 두면 QualityGovernor가 화질을 낮춘 상태(Level.Low 이하)에서는 Layer가 이 요소를 그리지 않습니다.<br>
+	 * 배경 장식처럼 없어도 게임 진행에 지장이 없는 요소에 사용하세요.<br>
+	 * 만약 이 요소가 어떤 Layer에도 포함되어 있지 않는 경우 이 필드는 아무 영향도 주지 않습니다.
+	 */
+	public boolean trigger_optional;
+	
+	/**
+	 * DirtyRegion이 마지막으로 확인했을 때의 위치, 크기, 숨김 여부<br>
+	 * 다음에 확인할 때 이 값들과 다르다면 이전 영역과 새 영역을 다시 그림
+	 */
+	int checked_x;
+	int checked_y;
+	int checked_width;
+	int checked_height;
+	boolean checked_hide;
+	boolean isChecked;
+	
+	/**
+	 * MarkDirty()로 다시 그리도록 표시했는지 여부
+	 */
+	private boolean isMarkedDirty;
+	
 	public VisualObject()
 	{
 	}
@@ -82,6 +105,7 @@ public abstract class VisualObject
 		width = other.width;
 		height = other.height;
 		trigger_hide = other.trigger_hide;
+		trigger_optional = other.trigger_optional;
 	}
 	
 	/**
@@ -94,6 +118,58 @@ public abstract class VisualObject
 	 * 		여러분이 Draw(g)를 직접 호출할 때(게임 화면에 직접 그릴 때)는 더 고민하지 말고 그 필드를 그냥 넣으면 됩니다.
 	 */
 	public abstract void Draw(Graphics2D g);
+	
+	/**
+	 * 이 요소를 DirtyRegion에 등록해 둔 경우, 다음 프레임에 이 요소의 영역을 다시 그리도록 표시합니다.<br>
+	 * 위치, 크기, Image, trigger_hide가 바뀐 경우는 자동으로 감지하므로<br>
+	 * 그 밖의 이유로(예: 하위 클래스에 추가한 필드가 바뀜) 모습이 달라진 경우에만 호출하면 됩니다.
+	 */
+	public void MarkDirty()
+	{
+		isMarkedDirty = true;
+	}
+	
+	/**
+	 * DirtyRegion이 마지막으로 확인한 이후 이 요소의 모습이 바뀌었는지 여부를 return합니다.<br>
+	 * 하위 클래스에서 모습에 영향을 주는 필드를 추가했다면 이 메서드와 SaveCheckedState()를 함께 재정의합니다.<br>
+	 * 재정의할 때는 super.IsDirty()의 결과도 함께 확인하세요.
+	 */
+	public boolean IsDirty()
+	{
+		return	isMarkedDirty || isChecked == false ||
+				x != checked_x || y != checked_y ||
+				width != checked_width || height != checked_height ||
+				trigger_hide != checked_hide;
+	}
+	
+	/**
+	 * 현재 상태를 '마지막으로 확인한 상태'로 기록합니다. 이 메서드는 DirtyRegion이 호출합니다.<br>
+	 * 하위 클래스에서 IsDirty()와 함께 재정의하여 추가한 필드의 값을 기록하되, 반드시 super.SaveCheckedState()를 먼저 호출하세요.
+	 */
+	protected void SaveCheckedState()
+	{
+		checked_x = x;
+		checked_y = y;
+		checked_width = width;
+		checked_height = height;
+		checked_hide = trigger_hide;
+		isChecked = true;
+		isMarkedDirty = false;
+	}
+
+	/**
+	 * 요소의 현재 상태를 주어진 복사본에 추가합니다.<br>
+	 * 게임 루프를 분리 그리기 모드로 실행할 때 Update()와 Draw()가 같은 요소를 동시에 다루지 않도록 하기 위해 사용됩니다.<br>
+	 * <br>
+	 * 기본 구현은 상태를 복사하지 않고 요소 자체를 추가하므로(그리기 스레드가 이 요소의 Draw(g)를 직접 호출하므로)<br>
+	 * VisualObject를 직접 상속받아 새 요소를 만든 경우 이 메서드를 재정의하여 필요한 값들을 복사하도록 만드는 것이 좋습니다.
+	 * 
+	 * @param snapshot 상태를 추가할 복사본입니다.
+	 */
+	public void Capture(VisualSnapshot snapshot)
+	{
+		snapshot.AddObject(this);
+	}
 
 	
 	/* ---------------------------------------------------
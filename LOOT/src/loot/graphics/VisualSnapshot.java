@@ -0,0 +1,340 @@
+package loot.graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+
+/**
+ * 한 프레임에 그릴 요소들의 상태(위치, 크기, Image, 문자열 등)를 그대로 복사해 담아 두는 클래스입니다.<br>
+ * <br>
+ * 게임 루프를 '분리 그리기 모드'로 실행하면 Update()와 Draw()가 서로 다른 스레드에서 동시에 실행되므로<br>
+ * Draw()가 요소들을 직접 읽으면 Update()가 바꾸고 있는 중간 상태를 그리게 될 수 있습니다.<br>
+ * 그래서 이 모드에서는 Update()가 끝날 때마다 각 요소의 Capture()를 호출하여 그 순간의 상태를 이 클래스에 복사해 두고,<br>
+ * 그리기 스레드는 요소 대신 이 복사본을 그립니다.<br>
+ * <br>
+ * 한 번 만들어진 내부 항목들은 다음 프레임에 다시 사용되므로 매 프레임마다 새로운 객체가 만들어지지는 않습니다.
+ *
+ * @author Racin
+ *
+ */
+public class VisualSnapshot
+{
+	/**
+	 * 복사본 안의 항목 하나를 나타냅니다.<br>
+	 * 종류에 따라 일부 필드만 사용됩니다.
+	 */
+	private static class Entry
+	{
+		static final int kind_image = 0;
+		static final int kind_textBox = 1;
+		static final int kind_string = 2;
+		static final int kind_pushTransform = 3;
+		static final int kind_pop = 4;
+		static final int kind_object = 5;
+
+		int kind;
+
+		Image image;
+		int x;
+		int y;
+		int width;
+		int height;
+
+		String text;
+		Font font;
+		Color color;
+
+		TextBox textBox;
+
+		AffineTransform transform = new AffineTransform();
+		boolean hasClip;
+
+		VisualObject object;
+	}
+
+	/**
+	 * 이 복사본을 만들 때 Update()가 받은 timeStamp 값입니다.
+	 */
+	public long timeStamp;
+
+	/**
+	 * 이 복사본을 만들 때의 보간 비율입니다.<br>
+	 * 고정 간격 모드가 아닌 경우 항상 0입니다.
+	 */
+	public double alpha;
+
+	/**
+	 * 이 복사본을 만들 때 QualityGovernor가 화질을 낮춰 trigger_optional이 true인 요소를 생략하던 중이었는지 여부입니다.<br>
+	 * 게임 루프가 Capture를 시작하기 전에 설정하며, 이 값이 true라면 Add()는 그런 요소를 추가하지 않습니다.
+	 */
+	public boolean isOptionalSkipped;
+
+	/**
+	 * 항목 목록 - 크기는 줄어들지 않으며 count까지만 이번 프레임의 항목으로 사용됨
+	 */
+	private ArrayList<Entry> entries = new ArrayList<>();
+	private int count;
+
+	/**
+	 * 지금까지 추가한 PushTransform() 중 아직 Pop()으로 해제되지 않은 것의 수
+	 */
+	private int depth_recorded;
+
+	/**
+	 * Draw(g) 안에서 PushTransform() 항목을 만날 때마다 바깥쪽 g를 쌓아 두기 위한 공간
+	 */
+	private Graphics2D[] stack = new Graphics2D[8];
+
+	/**
+	 * 새로운 VisualSnapshot class의 인스턴스를 생성합니다.<br>
+	 * 복사본은 게임 루프가 분리 그리기 모드를 시작할 때 만들어 두고 계속 재사용하므로 여러분이 직접 만들 일은 없습니다.<br>
+	 * (게임 루프가 다른 package에 있으므로 public으로 둡니다)
+	 */
+	public VisualSnapshot()
+	{
+	}
+
+	/**
+	 * 항목 목록을 비웁니다.<br>
+	 * 게임 루프는 Capture를 시작하기 전에 이 메서드를 자동으로 호출합니다.
+	 */
+	public void Clear()
+	{
+		//이전 프레임에서 참조하던 요소들은 놓아 줌
+		for ( int iEntry = 0; iEntry < count; ++iEntry )
+		{
+			Entry entry = entries.get(iEntry);
+			entry.image = null;
+			entry.text = null;
+			entry.object = null;
+		}
+
+		count = 0;
+		depth_recorded = 0;
+		timeStamp = 0;
+		alpha = 0;
+		isOptionalSkipped = false;
+	}
+
+	/**
+	 * 복사본에 들어 있는 항목 수를 return합니다.
+	 */
+	public int GetCount()
+	{
+		return count;
+	}
+
+	/**
+	 * 다음에 사용할 항목을 가져옵니다. 이미 만들어 둔 항목이 있으면 재사용합니다.
+	 */
+	private Entry NextEntry(int kind)
+	{
+		Entry entry;
+
+		if ( count == entries.size() )
+		{
+			entry = new Entry();
+			entries.add(entry);
+		}
+		else
+			entry = entries.get(count);
+
+		++count;
+		entry.kind = kind;
+		return entry;
+	}
+
+	/**
+	 * 주어진 요소(및 하위 요소들)의 현재 상태를 복사본에 추가합니다.<br>
+	 * trigger_hide가 true인 요소와, isOptionalSkipped가 true일 때 trigger_optional이 true인 요소는 추가하지 않습니다.
+	 *
+	 * @param obj 상태를 복사할 요소입니다.
+	 */
+	public void Add(VisualObject obj)
+	{
+		if ( obj.trigger_hide == true || obj.trigger_optional == true && isOptionalSkipped == true )
+			return;
+
+		obj.Capture(this);
+	}
+
+	/**
+	 * 주어진 영역에 Image를 그리는 항목을 추가합니다.
+	 */
+	public void AddImage(Image image, int x, int y, int width, int height)
+	{
+		Entry entry = NextEntry(Entry.kind_image);
+		entry.image = image;
+		entry.x = x;
+		entry.y = y;
+		entry.width = width;
+		entry.height = height;
+	}
+
+	/**
+	 * 주어진 TextBox의 현재 상태를 그대로 그리는 항목을 추가합니다.
+	 */
+	public void AddTextBox(TextBox source)
+	{
+		Entry entry = NextEntry(Entry.kind_textBox);
+
+		if ( entry.textBox == null )
+			entry.textBox = new TextBox(source);
+		else
+			entry.textBox.CopyFrom(source);
+	}
+
+	/**
+	 * 주어진 위치에 문자열을 그리는 항목을 추가합니다.
+	 *
+	 * @param left 문자열을 그리기 시작할 위치(첫 글자의 왼쪽 모서리)를 나타내는 x좌표입니다.
+	 * @param bottom 문자열을 그리기 시작할 위치(첫 글자의 아랫 모서리)를 나타내는 y좌표입니다.
+	 * @param text 그릴 문자열입니다.
+	 * @param font 사용할 글자체입니다. null인 경우 그리기 시점에 설정되어 있는 글자체를 사용합니다.
+	 * @param color 사용할 색입니다. null인 경우 그리기 시점에 설정되어 있는 색을 사용합니다.
+	 */
+	public void AddString(int left, int bottom, String text, Font font, Color color)
+	{
+		Entry entry = NextEntry(Entry.kind_string);
+		entry.x = left;
+		entry.y = bottom;
+		entry.text = text;
+		entry.font = font;
+		entry.color = color;
+	}
+
+	/**
+	 * 이후에 추가되는 항목들을 주어진 변환 행렬(및 선택적인 잘라내기 영역)을 적용하여 그리도록 합니다.<br>
+	 * 반드시 같은 수의 Pop()과 짝을 이루어야 합니다.
+	 *
+	 * @param transform 적용할 변환 행렬입니다. 이 메서드는 값을 복사해 두므로 이후 원본을 바꾸어도 괜찮습니다.
+	 * @param hasClip true인 경우 변환 행렬을 적용하기 전에 (x, y, width, height) 영역 밖은 그리지 않도록 잘라냅니다.
+	 */
+	public void PushTransform(AffineTransform transform, boolean hasClip, int x, int y, int width, int height)
+	{
+		Entry entry = NextEntry(Entry.kind_pushTransform);
+		entry.transform.setTransform(transform);
+		entry.hasClip = hasClip;
+		entry.x = x;
+		entry.y = y;
+		entry.width = width;
+		entry.height = height;
+		++depth_recorded;
+	}
+
+	/**
+	 * 가장 마지막으로 적용한 PushTransform()을 해제합니다.<br>
+	 * 해제할 PushTransform()이 없는 경우 오류 메시지를 출력하고 아무 것도 추가하지 않습니다.
+	 */
+	public void Pop()
+	{
+		if ( depth_recorded == 0 )
+		{
+			System.err.println("Error. VisualSnapshot에 PushTransform() 없이 Pop()을 호출했습니다. 이 Pop()은 무시합니다.");
+			return;
+		}
+
+		NextEntry(Entry.kind_pop);
+		--depth_recorded;
+	}
+
+	/**
+	 * 상태를 복사할 수 없는 요소를 그대로 추가합니다.<br>
+	 * 이 항목은 그리기 시점에 요소의 Draw(g)를 직접 호출하므로<br>
+	 * Update()가 이 요소를 바꾸는 도중에 그려질 수도 있다는 점에 유의하세요.
+	 */
+	public void AddObject(VisualObject obj)
+	{
+		Entry entry = NextEntry(Entry.kind_object);
+		entry.object = obj;
+	}
+
+	/**
+	 * 복사해 둔 항목들을 순서대로 화면에 그립니다.
+	 *
+	 * @param g_origin
+	 * 		GameFrame에는 g 라는 필드가 들어 있습니다.<br>
+	 * 		여러분이 Draw(g)를 직접 호출할 때(게임 화면에 직접 그릴 때)는 더 고민하지 말고 그 필드를 그냥 넣으면 됩니다.
+	 */
+	public void Draw(Graphics2D g_origin)
+	{
+		//PushTransform()이 중첩될 때마다 g를 하나씩 만들어 쌓아 둠
+		int depth = 0;
+		Graphics2D g = g_origin;
+
+		for ( int iEntry = 0; iEntry < count; ++iEntry )
+		{
+			Entry entry = entries.get(iEntry);
+
+			switch ( entry.kind )
+			{
+			case Entry.kind_image:
+				g.drawImage(entry.image, entry.x, entry.y, entry.width, entry.height, null);
+				break;
+
+			case Entry.kind_textBox:
+				entry.textBox.Draw(g);
+				break;
+
+			case Entry.kind_string:
+				Color original_color = g.getColor();
+				Font original_font = g.getFont();
+
+				if ( entry.color != null )
+					g.setColor(entry.color);
+
+				if ( entry.font != null )
+					g.setFont(entry.font);
+
+				g.drawString(entry.text, entry.x, entry.y);
+
+				g.setFont(original_font);
+				g.setColor(original_color);
+				break;
+
+			case Entry.kind_pushTransform:
+				if ( depth == stack.length )
+				{
+					Graphics2D[] newStack = new Graphics2D[depth * 2];
+					System.arraycopy(stack, 0, newStack, 0, depth);
+					stack = newStack;
+				}
+
+				stack[depth] = g;
+				++depth;
+
+				g = (Graphics2D)g.create();
+
+				if ( entry.hasClip )
+					g.clipRect(entry.x, entry.y, entry.width, entry.height);
+
+				g.transform(entry.transform);
+				break;
+
+			case Entry.kind_pop:
+				g.dispose();
+				--depth;
+				g = stack[depth];
+				break;
+
+			case Entry.kind_object:
+				entry.object.Draw(g);
+				break;
+			}
+		}
+
+		//짝이 맞지 않는 PushTransform()이 남아 있다면 정리
+		while ( depth > 0 )
+		{
+			g.dispose();
+			--depth;
+			g = stack[depth];
+		}
+
+		for ( int iStack = 0; iStack < stack.length && stack[iStack] != null; ++iStack )
+			stack[iStack] = null;
+	}
+}
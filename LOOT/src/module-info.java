@@ -3,4 +3,6 @@ module LOOT {
 	exports loot.graphics;
 	
 	requires java.desktop;
+	requires java.management;
+	requires jdk.jfr;
 }
\ No newline at end of file